@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.liblldp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flyweight view of an Ethernet frame held in a {@link ByteBuffer}. This is the allocation-free counterpart of
+ * {@link Ethernet}: header fields are read from fixed offsets on each access instead of being copied into arrays,
+ * and the LLDP payload is exposed through a reusable {@link LLDPView}.
+ * <p/>
+ * The buffer position and limit are never modified. Instances are not thread-safe and are meant to be reused via
+ * {@link #wrap(ByteBuffer)}, typically one per thread.
+ */
+public final class EthernetView {
+    /**
+     * Size of the Ethernet header in bytes
+     */
+    public static final int HEADER_LENGTH = 14;
+
+    private static final int DMAC_OFFSET = 0;
+    private static final int SMAC_OFFSET = 6;
+    private static final int ETHT_OFFSET = 12;
+
+    private final LLDPView lldp = new LLDPView();
+    private ByteBuffer buffer;
+    private int offset;
+    private int limit;
+
+    /**
+     * Wraps the frame between the position and the limit of a buffer.
+     *
+     * @param buffer buffer holding the frame
+     * @return this view
+     * @throws PacketException if the buffer is too short to hold an Ethernet header
+     */
+    public EthernetView wrap(final ByteBuffer buffer) throws PacketException {
+        return wrap(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Wraps the frame stored in a buffer at specified absolute offsets.
+     *
+     * @param buffer buffer holding the frame
+     * @param offset offset of the first byte of the frame
+     * @param limit offset past the last byte of the frame
+     * @return this view
+     * @throws PacketException if the range is too short to hold an Ethernet header
+     */
+    public EthernetView wrap(final ByteBuffer buffer, final int offset, final int limit) throws PacketException {
+        if (offset < 0 || limit > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Invalid frame range " + offset + "-" + limit);
+        }
+        if (limit - offset < HEADER_LENGTH) {
+            throw new PacketException("Frame length " + (limit - offset) + " is shorter than Ethernet header");
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Gets the destination MAC address in the format of {@link NetUtils#byteArray6ToLong(byte[])}
+     * @return long - the destinationMACAddress
+     */
+    public long getDestinationMACAddress() {
+        return getMACAddress(offset + DMAC_OFFSET);
+    }
+
+    /**
+     * Gets the source MAC address in the format of {@link NetUtils#byteArray6ToLong(byte[])}
+     * @return long - the sourceMACAddress
+     */
+    public long getSourceMACAddress() {
+        return getMACAddress(offset + SMAC_OFFSET);
+    }
+
+    /**
+     * Gets the etherType stored
+     * @return short - the etherType
+     */
+    public short getEtherType() {
+        return (short) ((buffer.get(offset + ETHT_OFFSET) & 0xff) << 8 | buffer.get(offset + ETHT_OFFSET + 1) & 0xff);
+    }
+
+    public boolean isBroadcast() {
+        for (int i = 0; i < NetUtils.MACAddrLengthInBytes; ++i) {
+            if (buffer.get(offset + DMAC_OFFSET + i) != (byte) 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isMulticast() {
+        return (buffer.get(offset + DMAC_OFFSET) & 1) != 0 && !isBroadcast();
+    }
+
+    public boolean isLLDP() {
+        return getEtherType() == EtherTypes.LLDP.shortValue();
+    }
+
+    /**
+     * @return int - absolute offset of the payload in the underlying buffer
+     */
+    public int getPayloadOffset() {
+        return offset + HEADER_LENGTH;
+    }
+
+    /**
+     * Returns the payload as an LLDP PDU. The view is shared and remains valid until this instance is re-wrapped.
+     *
+     * @return the LLDP view, or null if this frame does not carry LLDP
+     */
+    public LLDPView getLLDP() {
+        return isLLDP() ? lldp.wrap(buffer, getPayloadOffset(), limit) : null;
+    }
+
+    private long getMACAddress(final int start) {
+        long num = 0L;
+        for (int i = 0; i < NetUtils.MACAddrLengthInBytes; ++i) {
+            num = num << NetUtils.NumBitsInAByte | buffer.get(start + i) & 0xff;
+        }
+        return num;
+    }
+
+    /**
+     * Writes an Ethernet header at the current position of a buffer, advancing it.
+     *
+     * @param buffer target buffer
+     * @param destinationMACAddress the destinationMACAddress
+     * @param sourceMACAddress the sourceMACAddress
+     * @param etherType the etherType
+     * @return the target buffer
+     */
+    public static ByteBuffer putHeader(final ByteBuffer buffer, final byte[] destinationMACAddress,
+            final byte[] sourceMACAddress, final short etherType) {
+        return buffer.put(destinationMACAddress, 0, NetUtils.MACAddrLengthInBytes)
+                .put(sourceMACAddress, 0, NetUtils.MACAddrLengthInBytes)
+                .put((byte) (etherType >>> 8)).put((byte) etherType);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.liblldp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flyweight cursor over the TLVs of an LLDP PDU held in a {@link ByteBuffer}. Unlike {@link LLDPTLV}, fields are
+ * read directly from the buffer on each access and no per-TLV objects or arrays are created while iterating.
+ * An instance is positioned before the first TLV by {@link LLDPView#tlvs()} and advanced by {@link #next()}.
+ * <p/>
+ * The buffer position and limit are never modified. Instances are not thread-safe and are meant to be reused.
+ */
+public final class LLDPTLVView {
+    /**
+     * Size of the TLV header in bytes: 7 bits of type and 9 bits of length
+     */
+    public static final int HEADER_LENGTH = 2;
+
+    /**
+     * Maximum length of a TLV value in bytes
+     */
+    public static final int MAX_VALUE_LENGTH = 0x1ff;
+
+    private static final int OFOUI_VALUE = (LLDPTLV.OFOUI[0] & 0xff) << 16 | (LLDPTLV.OFOUI[1] & 0xff) << 8
+            | LLDPTLV.OFOUI[2] & 0xff;
+
+    private ByteBuffer buffer;
+    private int limit;
+    private int nextOffset;
+    private int offset = -1;
+    private byte type;
+    private int length;
+
+    LLDPTLVView reset(final ByteBuffer buffer, final int offset, final int limit) {
+        this.buffer = buffer;
+        this.limit = limit;
+        this.nextOffset = offset;
+        this.offset = -1;
+        return this;
+    }
+
+    /**
+     * Advances this cursor to the next TLV.
+     *
+     * @return true if the cursor is positioned on a TLV, false if the End Of LLDPDU TLV or the end of the buffer
+     *         has been reached
+     * @throws PacketException if the next TLV is truncated
+     */
+    public boolean next() throws PacketException {
+        if (nextOffset + HEADER_LENGTH > limit) {
+            offset = -1;
+            return false;
+        }
+
+        final int header = (buffer.get(nextOffset) & 0xff) << 8 | buffer.get(nextOffset + 1) & 0xff;
+        if (header == 0) {
+            offset = -1;
+            return false;
+        }
+
+        final int tlvLength = header & MAX_VALUE_LENGTH;
+        if (nextOffset + HEADER_LENGTH + tlvLength > limit) {
+            offset = -1;
+            throw new PacketException("TLV at offset " + nextOffset + " with length " + tlvLength
+                    + " exceeds buffer limit " + limit);
+        }
+
+        offset = nextOffset;
+        type = (byte) (header >>> 9);
+        length = tlvLength;
+        nextOffset = offset + HEADER_LENGTH + tlvLength;
+        return true;
+    }
+
+    /**
+     * @return byte - the type of TLV
+     */
+    public byte getType() {
+        checkPositioned();
+        return type;
+    }
+
+    /**
+     * @return int - the length of the TLV value in bytes
+     */
+    public int getLength() {
+        checkPositioned();
+        return length;
+    }
+
+    /**
+     * Returns the absolute offset of the TLV value in the underlying buffer.
+     *
+     * @return int - offset of the first value byte
+     */
+    public int getValueOffset() {
+        checkPositioned();
+        return offset + HEADER_LENGTH;
+    }
+
+    /**
+     * @param index index within the value
+     * @return byte - the value byte at specified index
+     */
+    public byte getValueByte(final int index) {
+        checkValueRange(index, 1);
+        return buffer.get(offset + HEADER_LENGTH + index);
+    }
+
+    /**
+     * Copies the TLV value into a caller-supplied array.
+     *
+     * @param dst destination array
+     * @param dstOffset offset in the destination array
+     * @return int - number of bytes copied
+     */
+    public int copyValue(final byte[] dst, final int dstOffset) {
+        checkPositioned();
+        final int valueOffset = offset + HEADER_LENGTH;
+        for (int i = 0; i < length; ++i) {
+            dst[dstOffset + i] = buffer.get(valueOffset + i);
+        }
+        return length;
+    }
+
+    /**
+     * Returns a copy of the TLV value. This allocates, prefer {@link #copyValue(byte[], int)} or
+     * {@link #valueEquals(byte[])} on hot paths.
+     *
+     * @return byte[] - the value field of TLV
+     */
+    public byte[] getValue() {
+        final byte[] value = new byte[getLength()];
+        copyValue(value, 0);
+        return value;
+    }
+
+    /**
+     * @param expected expected value
+     * @return true if the TLV value matches expected bytes
+     */
+    public boolean valueEquals(final byte[] expected) {
+        checkPositioned();
+        if (expected.length != length) {
+            return false;
+        }
+        final int valueOffset = offset + HEADER_LENGTH;
+        for (int i = 0; i < length; ++i) {
+            if (buffer.get(valueOffset + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the OUI of a custom TLV, equivalent to {@link LLDPTLV#extractCustomOUI(LLDPTLV)}.
+     *
+     * @return int - the organizationally unique identifier
+     */
+    public int getCustomOUI() {
+        checkValueRange(0, LLDPTLV.OFOUI.length);
+        final int valueOffset = offset + HEADER_LENGTH;
+        return (buffer.get(valueOffset) & 0xff) << 16 | (buffer.get(valueOffset + 1) & 0xff) << 8
+                | buffer.get(valueOffset + 2) & 0xff;
+    }
+
+    /**
+     * Returns the subtype of a custom TLV, equivalent to {@link LLDPTLV#extractCustomSubtype(LLDPTLV)}.
+     *
+     * @return byte - the organizationally defined subtype
+     */
+    public byte getCustomSubtype() {
+        return getValueByte(LLDPTLV.OFOUI.length);
+    }
+
+    /**
+     * Decodes the string carried by an OpenFlow custom TLV, equivalent to
+     * {@link LLDPTLV#getCustomString(byte[], int)}.
+     *
+     * @return the custom string, or an empty string if the TLV does not carry the OpenFlow OUI
+     */
+    public String getCustomString() {
+        if (getLength() < LLDPTLV.customTlvOffset || getCustomOUI() != OFOUI_VALUE) {
+            return "";
+        }
+
+        final int stringLength = length - LLDPTLV.customTlvOffset;
+        final byte[] bytes = new byte[stringLength];
+        final int valueOffset = offset + HEADER_LENGTH + LLDPTLV.customTlvOffset;
+        for (int i = 0; i < stringLength; ++i) {
+            bytes[i] = buffer.get(valueOffset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void checkPositioned() {
+        if (offset < 0) {
+            throw new IllegalStateException("Cursor is not positioned on a TLV");
+        }
+    }
+
+    private void checkValueRange(final int index, final int size) {
+        checkPositioned();
+        if (index < 0 || index + size > length) {
+            throw new IndexOutOfBoundsException("Value range " + index + "+" + size + " outside of TLV length "
+                    + length);
+        }
+    }
+
+    /**
+     * Writes a TLV at the current position of a buffer, advancing it.
+     *
+     * @param buffer target buffer
+     * @param type the type of TLV
+     * @param value the value of TLV
+     * @return the target buffer
+     */
+    public static ByteBuffer put(final ByteBuffer buffer, final byte type, final byte[] value) {
+        putHeader(buffer, type, value.length);
+        return buffer.put(value);
+    }
+
+    /**
+     * Writes an OpenFlow custom TLV at the current position of a buffer, advancing it. The value layout matches
+     * {@link LLDPTLV#createCustomTLVValue(byte[], byte[])}.
+     *
+     * @param buffer target buffer
+     * @param subtype openflow subtype
+     * @param customValue custom value
+     * @return the target buffer
+     */
+    public static ByteBuffer putCustom(final ByteBuffer buffer, final byte subtype, final byte[] customValue) {
+        putHeader(buffer, LLDPTLV.TLVType.Custom.getValue(), LLDPTLV.customTlvOffset + customValue.length);
+        return buffer.put(LLDPTLV.OFOUI).put(subtype).put(customValue);
+    }
+
+    /**
+     * Writes the End Of LLDPDU TLV at the current position of a buffer, advancing it.
+     *
+     * @param buffer target buffer
+     * @return the target buffer
+     */
+    public static ByteBuffer putEnd(final ByteBuffer buffer) {
+        return buffer.put((byte) 0).put((byte) 0);
+    }
+
+    private static void putHeader(final ByteBuffer buffer, final byte type, final int length) {
+        if (length > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("TLV value length " + length + " exceeds " + MAX_VALUE_LENGTH);
+        }
+        buffer.put((byte) (type << 1 | length >>> 8)).put((byte) length);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.liblldp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flyweight view of an LLDP PDU held in a {@link ByteBuffer}. This is the allocation-free counterpart of
+ * {@link LLDP}: TLVs are not decoded upfront, but are located on demand through a reusable {@link LLDPTLVView}.
+ * <p/>
+ * TLV views returned from this class are shared and remain valid only until the next call on the same instance.
+ * Instances are not thread-safe and are meant to be reused via {@link #wrap(ByteBuffer, int, int)}.
+ */
+public final class LLDPView {
+    private final LLDPTLVView cursor = new LLDPTLVView();
+    private final LLDPTLVView lookup = new LLDPTLVView();
+    private ByteBuffer buffer;
+    private int offset;
+    private int limit;
+
+    /**
+     * Wraps the LLDP PDU between the position and the limit of a buffer.
+     *
+     * @param buffer buffer holding the PDU
+     * @return this view
+     */
+    public LLDPView wrap(final ByteBuffer buffer) {
+        return wrap(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Wraps the LLDP PDU stored in a buffer at specified absolute offsets.
+     *
+     * @param buffer buffer holding the PDU
+     * @param offset offset of the first TLV
+     * @param limit offset past the last byte of the PDU
+     * @return this view
+     */
+    public LLDPView wrap(final ByteBuffer buffer, final int offset, final int limit) {
+        if (offset < 0 || offset > limit || limit > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Invalid PDU range " + offset + "-" + limit);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Returns a cursor positioned before the first TLV, to be advanced by {@link LLDPTLVView#next()}.
+     *
+     * @return the shared TLV cursor
+     */
+    public LLDPTLVView tlvs() {
+        return cursor.reset(buffer, offset, limit);
+    }
+
+    /**
+     * Looks up the first TLV of a particular type.
+     *
+     * @param type the type of TLV
+     * @return shared view of the TLV, or null if not present
+     * @throws PacketException if the PDU is truncated
+     */
+    public LLDPTLVView getTLV(final byte type) throws PacketException {
+        lookup.reset(buffer, offset, limit);
+        while (lookup.next()) {
+            if (lookup.getType() == type) {
+                return lookup;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a custom TLV, equivalent to {@link LLDP#getCustomTLV(CustomTLVKey)}.
+     *
+     * @param oui the organizationally unique identifier
+     * @param subtype the organizationally defined subtype
+     * @return shared view of the TLV, or null if not present
+     * @throws PacketException if the PDU is truncated
+     */
+    public LLDPTLVView getCustomTLV(final int oui, final byte subtype) throws PacketException {
+        final byte customType = LLDPTLV.TLVType.Custom.getValue();
+        lookup.reset(buffer, offset, limit);
+        while (lookup.next()) {
+            if (lookup.getType() == customType && lookup.getLength() >= LLDPTLV.customTlvOffset
+                    && lookup.getCustomOUI() == oui && lookup.getCustomSubtype() == subtype) {
+                return lookup;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the chassisId TLV, or null if not present
+     * @throws PacketException if the PDU is truncated
+     */
+    public LLDPTLVView getChassisId() throws PacketException {
+        return getTLV(LLDPTLV.TLVType.ChassisID.getValue());
+    }
+
+    /**
+     * @return the portId TLV, or null if not present
+     * @throws PacketException if the PDU is truncated
+     */
+    public LLDPTLVView getPortId() throws PacketException {
+        return getTLV(LLDPTLV.TLVType.PortID.getValue());
+    }
+
+    /**
+     * @return the ttl TLV, or null if not present
+     * @throws PacketException if the PDU is truncated
+     */
+    public LLDPTLVView getTtl() throws PacketException {
+        return getTLV(LLDPTLV.TLVType.TTL.getValue());
+    }
+
+    /**
+     * @return the SystemName TLV, or null if not present
+     * @throws PacketException if the PDU is truncated
+     */
+    public LLDPTLVView getSystemNameId() throws PacketException {
+        return getTLV(LLDPTLV.TLVType.SystemName.getValue());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.liblldp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Test of {@link EthernetView}, {@link LLDPView} and {@link LLDPTLVView} against {@link Ethernet} and {@link LLDP}.
+ */
+public class EthernetViewTest {
+    private static final byte[] SOURCE_MAC = { 0x00, 0x11, 0x22, 0x33, 0x44, 0x55 };
+    private static final String NODE_ID = "openflow:1";
+    private static final String PORT_ID = "openflow:1:2";
+    private static final byte[] TTL_VALUE = { 0, 120 };
+
+    private static byte[] legacyFrame() throws PacketException {
+        final LLDP lldp = new LLDP();
+        lldp.setChassisId(tlv(LLDPTLV.TLVType.ChassisID, LLDPTLV.createChassisIDTLVValue("00:00:00:00:00:01")));
+        lldp.setSystemNameId(tlv(LLDPTLV.TLVType.SystemName, LLDPTLV.createSystemNameTLVValue(NODE_ID)));
+        lldp.setPortId(tlv(LLDPTLV.TLVType.PortID, LLDPTLV.createPortIDTLVValue("2")));
+        lldp.setTtl(tlv(LLDPTLV.TLVType.TTL, TTL_VALUE));
+        lldp.addCustomTLV(tlv(LLDPTLV.TLVType.Custom, LLDPTLV.createCustomTLVValue(PORT_ID)));
+
+        final Ethernet ethernet = new Ethernet();
+        ethernet.setSourceMACAddress(SOURCE_MAC).setDestinationMACAddress(LLDP.LLDPMulticastMac)
+            .setEtherType(EtherTypes.LLDP.shortValue()).setPayload(lldp);
+        return ethernet.serialize();
+    }
+
+    private static LLDPTLV tlv(final LLDPTLV.TLVType type, final byte[] value) {
+        return new LLDPTLV().setType(type.getValue()).setLength((short) value.length).setValue(value);
+    }
+
+    @Test
+    public void testRead() throws PacketException {
+        final byte[] frame = legacyFrame();
+        final Ethernet ethernet = (Ethernet) new Ethernet().deserialize(frame, 0,
+            frame.length * NetUtils.NumBitsInAByte);
+        final LLDP lldp = (LLDP) ethernet.getPayload();
+
+        final EthernetView view = new EthernetView().wrap(ByteBuffer.wrap(frame));
+        assertEquals(NetUtils.byteArray6ToLong(ethernet.getDestinationMACAddress()),
+            view.getDestinationMACAddress());
+        assertEquals(NetUtils.byteArray6ToLong(SOURCE_MAC), view.getSourceMACAddress());
+        assertEquals(ethernet.getEtherType(), view.getEtherType());
+        assertEquals(ethernet.isMulticast(), view.isMulticast());
+        assertEquals(ethernet.isBroadcast(), view.isBroadcast());
+
+        final LLDPView lldpView = view.getLLDP();
+        assertArrayEquals(lldp.getChassisId().getValue(), lldpView.getChassisId().getValue());
+        assertTrue(lldpView.getPortId().valueEquals(lldp.getPortId().getValue()));
+        assertEquals(lldp.getTtl().getLength(), lldpView.getTtl().getLength());
+        assertEquals(NODE_ID, new String(lldpView.getSystemNameId().getValue()));
+
+        final LLDPTLVView custom = lldpView.getCustomTLV(BitBufferHelper.getInt(LLDPTLV.OFOUI),
+            LLDPTLV.CUSTOM_TLV_SUB_TYPE_NODE_CONNECTOR_ID[0]);
+        assertEquals(PORT_ID, custom.getCustomString());
+        assertNull(lldpView.getCustomTLV(BitBufferHelper.getInt(LLDPTLV.OFOUI),
+            LLDPTLV.CUSTOM_TLV_SUB_TYPE_CUSTOM_SEC[0]));
+
+        int count = 0;
+        final LLDPTLVView tlv = lldpView.tlvs();
+        while (tlv.next()) {
+            ++count;
+        }
+        assertEquals(5, count);
+    }
+
+    @Test
+    public void testReadAtOffset() throws PacketException {
+        final byte[] frame = legacyFrame();
+        final ByteBuffer buffer = ByteBuffer.allocate(frame.length + 10);
+        buffer.position(10);
+        buffer.put(frame).flip().position(10);
+
+        final EthernetView view = new EthernetView().wrap(buffer);
+        assertEquals(NetUtils.byteArray6ToLong(SOURCE_MAC), view.getSourceMACAddress());
+        assertEquals(NODE_ID, new String(view.getLLDP().getSystemNameId().getValue()));
+        assertEquals(10, buffer.position());
+    }
+
+    @Test
+    public void testNonLLDP() throws PacketException {
+        final ByteBuffer buffer = EthernetView.putHeader(ByteBuffer.allocate(EthernetView.HEADER_LENGTH),
+            NetUtils.getBroadcastMACAddr(), SOURCE_MAC, (short) 0x0800);
+        buffer.flip();
+
+        final EthernetView view = new EthernetView().wrap(buffer);
+        assertTrue(view.isBroadcast());
+        assertFalse(view.isMulticast());
+        assertFalse(view.isLLDP());
+        assertNull(view.getLLDP());
+    }
+
+    @Test(expected = PacketException.class)
+    public void testShortFrame() throws PacketException {
+        new EthernetView().wrap(ByteBuffer.allocate(EthernetView.HEADER_LENGTH - 1));
+    }
+
+    @Test(expected = PacketException.class)
+    public void testTruncatedTLV() throws PacketException {
+        final byte[] frame = legacyFrame();
+        final LLDPView lldpView = new EthernetView().wrap(ByteBuffer.wrap(frame, 0, 20)).getLLDP();
+        lldpView.getTtl();
+    }
+
+    @Test
+    public void testWrite() throws PacketException {
+        final byte[] expected = legacyFrame();
+
+        final ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+        EthernetView.putHeader(buffer, LLDP.LLDPMulticastMac, SOURCE_MAC, EtherTypes.LLDP.shortValue());
+        LLDPTLVView.put(buffer, LLDPTLV.TLVType.ChassisID.getValue(),
+            LLDPTLV.createChassisIDTLVValue("00:00:00:00:00:01"));
+        // LLDP serializes mandatory TLVs first
+        LLDPTLVView.put(buffer, LLDPTLV.TLVType.PortID.getValue(), LLDPTLV.createPortIDTLVValue("2"));
+        LLDPTLVView.put(buffer, LLDPTLV.TLVType.TTL.getValue(), TTL_VALUE);
+        LLDPTLVView.put(buffer, LLDPTLV.TLVType.SystemName.getValue(), LLDPTLV.createSystemNameTLVValue(NODE_ID));
+        LLDPTLVView.putCustom(buffer, LLDPTLV.CUSTOM_TLV_SUB_TYPE_NODE_CONNECTOR_ID[0], PORT_ID.getBytes());
+        LLDPTLVView.putEnd(buffer);
+
+        assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+}
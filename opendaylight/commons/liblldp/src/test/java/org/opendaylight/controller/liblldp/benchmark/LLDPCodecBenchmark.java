@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.liblldp.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.liblldp.BitBufferHelper;
+import org.opendaylight.controller.liblldp.CustomTLVKey;
+import org.opendaylight.controller.liblldp.EtherTypes;
+import org.opendaylight.controller.liblldp.Ethernet;
+import org.opendaylight.controller.liblldp.EthernetView;
+import org.opendaylight.controller.liblldp.LLDP;
+import org.opendaylight.controller.liblldp.LLDPTLV;
+import org.opendaylight.controller.liblldp.LLDPTLVView;
+import org.opendaylight.controller.liblldp.NetUtils;
+import org.opendaylight.controller.liblldp.PacketException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares decoding and encoding of an LLDP frame, as used by topology discovery, between {@link Ethernet}/{@link LLDP}
+ * and {@link EthernetView}/{@link LLDPTLVView}. Run with the gc profiler to compare allocation rates, e.g. via
+ * {@link #main(String[])}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class LLDPCodecBenchmark {
+    private static final byte[] SOURCE_MAC = { 0x00, 0x11, 0x22, 0x33, 0x44, 0x55 };
+    private static final byte[] CHASSIS_ID = LLDPTLV.createChassisIDTLVValue("00:00:00:00:00:01");
+    private static final byte[] SYSTEM_NAME = LLDPTLV.createSystemNameTLVValue("openflow:1");
+    private static final byte[] PORT_ID = LLDPTLV.createPortIDTLVValue("2");
+    private static final byte[] TTL = { 0, 120 };
+    private static final byte[] NODE_CONNECTOR_ID = "openflow:1:2".getBytes();
+    private static final int OUI = BitBufferHelper.getInt(LLDPTLV.OFOUI);
+    private static final byte SUBTYPE = LLDPTLV.CUSTOM_TLV_SUB_TYPE_NODE_CONNECTOR_ID[0];
+
+    private final EthernetView ethernetView = new EthernetView();
+    private byte[] frame;
+    private ByteBuffer frameBuffer;
+    private ByteBuffer outputBuffer;
+
+    @Setup
+    public void setUp() throws PacketException {
+        frame = newLegacyFrame().serialize();
+        frameBuffer = ByteBuffer.wrap(frame);
+        outputBuffer = ByteBuffer.allocate(frame.length);
+    }
+
+    private static Ethernet newLegacyFrame() {
+        final LLDP lldp = new LLDP();
+        lldp.setChassisId(tlv(LLDPTLV.TLVType.ChassisID, CHASSIS_ID));
+        lldp.setSystemNameId(tlv(LLDPTLV.TLVType.SystemName, SYSTEM_NAME));
+        lldp.setPortId(tlv(LLDPTLV.TLVType.PortID, PORT_ID));
+        lldp.setTtl(tlv(LLDPTLV.TLVType.TTL, TTL));
+        lldp.addCustomTLV(tlv(LLDPTLV.TLVType.Custom,
+            LLDPTLV.createCustomTLVValue(LLDPTLV.CUSTOM_TLV_SUB_TYPE_NODE_CONNECTOR_ID, NODE_CONNECTOR_ID)));
+
+        final Ethernet ethernet = new Ethernet();
+        ethernet.setSourceMACAddress(SOURCE_MAC).setDestinationMACAddress(LLDP.LLDPMulticastMac)
+            .setEtherType(EtherTypes.LLDP.shortValue()).setPayload(lldp);
+        return ethernet;
+    }
+
+    private static LLDPTLV tlv(final LLDPTLV.TLVType type, final byte[] value) {
+        return new LLDPTLV().setType(type.getValue()).setLength((short) value.length).setValue(value);
+    }
+
+    @Benchmark
+    public void decodeLegacy(final Blackhole bh) throws PacketException {
+        final Ethernet ethernet = (Ethernet) new Ethernet().deserialize(frame, 0,
+            frame.length * NetUtils.NumBitsInAByte);
+        bh.consume(NetUtils.byteArray6ToLong(ethernet.getSourceMACAddress()));
+
+        final LLDP lldp = (LLDP) ethernet.getPayload();
+        bh.consume(lldp.getSystemNameId().getValue());
+        bh.consume(lldp.getCustomTLV(new CustomTLVKey(OUI, SUBTYPE)).getValue());
+    }
+
+    @Benchmark
+    public void decodeView(final Blackhole bh) throws PacketException {
+        final EthernetView ethernet = ethernetView.wrap(frameBuffer);
+        bh.consume(ethernet.getSourceMACAddress());
+
+        final LLDPTLVView systemName = ethernet.getLLDP().getSystemNameId();
+        bh.consume(systemName.getValueOffset());
+        bh.consume(systemName.getLength());
+        final LLDPTLVView custom = ethernet.getLLDP().getCustomTLV(OUI, SUBTYPE);
+        bh.consume(custom.getValueOffset());
+        bh.consume(custom.getLength());
+    }
+
+    @Benchmark
+    public byte[] encodeLegacy() throws PacketException {
+        return newLegacyFrame().serialize();
+    }
+
+    @Benchmark
+    public ByteBuffer encodeView() {
+        outputBuffer.clear();
+        EthernetView.putHeader(outputBuffer, LLDP.LLDPMulticastMac, SOURCE_MAC, EtherTypes.LLDP.shortValue());
+        LLDPTLVView.put(outputBuffer, LLDPTLV.TLVType.ChassisID.getValue(), CHASSIS_ID);
+        LLDPTLVView.put(outputBuffer, LLDPTLV.TLVType.PortID.getValue(), PORT_ID);
+        LLDPTLVView.put(outputBuffer, LLDPTLV.TLVType.TTL.getValue(), TTL);
+        LLDPTLVView.put(outputBuffer, LLDPTLV.TLVType.SystemName.getValue(), SYSTEM_NAME);
+        LLDPTLVView.putCustom(outputBuffer, SUBTYPE, NODE_CONNECTOR_ID);
+        return LLDPTLVView.putEnd(outputBuffer);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LLDPCodecBenchmark.class.getSimpleName()).addProfiler("gc").build())
+            .run();
+    }
+}
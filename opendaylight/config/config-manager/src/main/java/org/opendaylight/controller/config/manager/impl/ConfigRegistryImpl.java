@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.config.manager.impl;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
 import java.util.ArrayList;
@@ -21,10 +22,12 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.management.InstanceAlreadyExistsException;
@@ -109,6 +112,10 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
 
     private final Lock configTransactionLock = new ReentrantLock();
 
+    // Pool used to instantiate independent modules concurrently, null if disabled
+    @Nullable
+    private final ForkJoinPool commitPool;
+
     // Used for finding new factory instances for default module functionality
     @GuardedBy("configTransactionLock")
     private List<ModuleFactory> lastListOfFactories = Collections.emptyList();
@@ -129,6 +136,18 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
     public ConfigRegistryImpl(final ModuleFactoriesResolver resolver,
                               final MBeanServer configMBeanServer,
                               final BaseJMXRegistrator baseJMXRegistrator, final BindingContextProvider bindingContextProvider) {
+        this(resolver, configMBeanServer, baseJMXRegistrator, bindingContextProvider, 0);
+    }
+
+    /**
+     * @param commitParallelism number of threads used to instantiate independent modules during commit, 0 to
+     *                          instantiate all modules on the committing thread
+     */
+    public ConfigRegistryImpl(final ModuleFactoriesResolver resolver,
+                              final MBeanServer configMBeanServer,
+                              final BaseJMXRegistrator baseJMXRegistrator, final BindingContextProvider bindingContextProvider,
+                              final int commitParallelism) {
+        Preconditions.checkArgument(commitParallelism >= 0, "Invalid commit parallelism %s", commitParallelism);
         this.resolver = resolver;
         this.beanToOsgiServiceManager = new BeanToOsgiServiceManager();
         this.configMBeanServer = configMBeanServer;
@@ -138,6 +157,12 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
                 .createMBeanServer("ConfigRegistry" + configMBeanServer.getDefaultDomain());
         this.transactionsMBeanServer = MBeanServerFactory
                 .createMBeanServer("ConfigTransactions" + configMBeanServer.getDefaultDomain());
+        if (commitParallelism > 0) {
+            commitPool = new ForkJoinPool(commitParallelism);
+            LOG.info("Instantiating independent modules using {} threads", commitParallelism);
+        } else {
+            commitPool = null;
+        }
     }
 
     /**
@@ -221,7 +246,7 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
         ConfigTransactionControllerInternal transactionController = new ConfigTransactionControllerImpl(
                 txLookupRegistry, version, bindingContextProvider,
                 versionCounter, allCurrentFactories, transactionsMBeanServer,
-                configMBeanServer, blankTransaction, writableRegistry);
+                configMBeanServer, blankTransaction, writableRegistry, commitPool);
         try {
             txLookupRegistry.registerMBean(transactionController, transactionController.getControllerObjectName());
         } catch (final InstanceAlreadyExistsException e) {
@@ -515,6 +540,9 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
         // remove jmx servers
         MBeanServerFactory.releaseMBeanServer(registryMBeanServer);
         MBeanServerFactory.releaseMBeanServer(transactionsMBeanServer);
+        if (commitPool != null) {
+            commitPool.shutdown();
+        }
 
         LOG.info("ConfigRegistry closed");
     }
@@ -527,6 +555,15 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
         return version;
     }
 
+    /**
+     * Returns the number of transactions begun so far. A transaction begun after this value was obtained sees all
+     * factories registered before that point, hence once {@link #getVersion()} exceeds it, such factories have been
+     * processed by a committed transaction.
+     */
+    public long getVersionCounter() {
+        return versionCounter;
+    }
+
     /**
      * {@inheritDoc}
      */
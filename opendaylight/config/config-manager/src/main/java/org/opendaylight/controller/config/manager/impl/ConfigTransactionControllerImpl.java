@@ -8,14 +8,19 @@
 package org.opendaylight.controller.config.manager.impl;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -86,11 +91,25 @@ class ConfigTransactionControllerImpl implements
     @GuardedBy("this")
     private final SearchableServiceReferenceWritableRegistry writableSRRegistry;
 
+    // Pool used to instantiate independent modules concurrently, null if disabled
+    @Nullable
+    private final ForkJoinPool commitPool;
+
     public ConfigTransactionControllerImpl(final ConfigTransactionLookupRegistry txLookupRegistry,
                                            final long parentVersion, final BindingContextProvider bindingContextProvider, final long currentVersion,
                                            final Map<String, Entry<ModuleFactory, BundleContext>> currentlyRegisteredFactories,
                                            final MBeanServer transactionsMBeanServer, final MBeanServer configMBeanServer,
                                            final boolean blankTransaction, final SearchableServiceReferenceWritableRegistry  writableSRRegistry) {
+        this(txLookupRegistry, parentVersion, bindingContextProvider, currentVersion, currentlyRegisteredFactories,
+                transactionsMBeanServer, configMBeanServer, blankTransaction, writableSRRegistry, null);
+    }
+
+    public ConfigTransactionControllerImpl(final ConfigTransactionLookupRegistry txLookupRegistry,
+                                           final long parentVersion, final BindingContextProvider bindingContextProvider, final long currentVersion,
+                                           final Map<String, Entry<ModuleFactory, BundleContext>> currentlyRegisteredFactories,
+                                           final MBeanServer transactionsMBeanServer, final MBeanServer configMBeanServer,
+                                           final boolean blankTransaction, final SearchableServiceReferenceWritableRegistry  writableSRRegistry,
+                                           @Nullable final ForkJoinPool commitPool) {
         this.txLookupRegistry = txLookupRegistry;
         String transactionName = txLookupRegistry.getTransactionIdentifier().getName();
         this.controllerON = ObjectNameUtil.createTransactionControllerON(transactionName);
@@ -105,6 +124,7 @@ class ConfigTransactionControllerImpl implements
         this.configMBeanServer = configMBeanServer;
         this.blankTransaction = blankTransaction;
         this.writableSRRegistry = writableSRRegistry;
+        this.commitPool = commitPool;
     }
 
     @Override
@@ -430,22 +450,17 @@ class ConfigTransactionControllerImpl implements
         // The source of a dependency closes itself and calls getInstance recursively on the dependencies (in case of reconfiguration)
         // This makes close() calls from top to bottom while createInstance() calls are performed bottom to top
         List<ModuleIdentifier> sortedModuleIdentifiers = Lists.reverse(dependencyResolverManager.getSortedModuleIdentifiers());
-        for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
-            Module module = allModules.get(moduleIdentifier);
-
-            try {
-                LOG.debug("About to commit {} in transaction {}",
-                        moduleIdentifier, getTransactionIdentifier());
-                AutoCloseable instance = module.getInstance();
-                Preconditions.checkNotNull(instance, "Instance is null:%s in transaction %s", moduleIdentifier, getTransactionIdentifier());
-            } catch (Exception e) {
-                LOG.error("Commit failed on {} in transaction {}", moduleIdentifier,
-                        getTransactionIdentifier(), e);
-                internalAbort();
-                throw new IllegalStateException(
-                        String.format("Error - getInstance() failed for %s in transaction %s",
-                                moduleIdentifier, getTransactionIdentifier()), e);
+        try {
+            if (commitPool == null) {
+                for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
+                    instantiateModule(moduleIdentifier, allModules.get(moduleIdentifier));
+                }
+            } else {
+                instantiateModulesConcurrently(allModules, sortedModuleIdentifiers);
             }
+        } catch (final IllegalStateException e) {
+            internalAbort();
+            throw e;
         }
 
         LOG.trace("Committed configuration {}", getTransactionIdentifier());
@@ -454,6 +469,79 @@ class ConfigTransactionControllerImpl implements
         return sortedModuleIdentifiers;
     }
 
+    /**
+     * Instantiate modules using {@link #commitPool}. Modules which have an old instance close it from within
+     * getInstance() before their dependencies are instantiated, hence old instances are closed from top to bottom.
+     * To retain that order these modules are instantiated one after another, as in the serial case. Remaining modules
+     * are new, and each of them is instantiated as soon as all of its dependencies have been instantiated.
+     */
+    private void instantiateModulesConcurrently(final Map<ModuleIdentifier, Module> allModules,
+            final List<ModuleIdentifier> sortedModuleIdentifiers) {
+        for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
+            if (dependencyResolverManager.findModuleInternalTransactionalInfo(moduleIdentifier).hasOldModule()) {
+                instantiateModule(moduleIdentifier, allModules.get(moduleIdentifier));
+            }
+        }
+
+        // Modules may rely on the thread context class loader, make sure they see the same one as in the serial case
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        // Walk the modules from bottom to top, so that futures of dependencies are always known
+        final Map<ModuleIdentifier, CompletableFuture<Void>> futures = new HashMap<>();
+        for (ModuleIdentifier moduleIdentifier : Lists.reverse(sortedModuleIdentifiers)) {
+            if (dependencyResolverManager.findModuleInternalTransactionalInfo(moduleIdentifier).hasOldModule()) {
+                continue;
+            }
+
+            final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+            for (ModuleIdentifier dependency : dependencyResolverManager.getDependencies(moduleIdentifier)) {
+                final CompletableFuture<Void> future = futures.get(dependency);
+                if (future != null) {
+                    dependencies.add(future);
+                }
+            }
+
+            final Module module = allModules.get(moduleIdentifier);
+            futures.put(moduleIdentifier, CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> {
+                    final Thread currentThread = Thread.currentThread();
+                    final ClassLoader previous = currentThread.getContextClassLoader();
+                    currentThread.setContextClassLoader(contextClassLoader);
+                    try {
+                        instantiateModule(moduleIdentifier, module);
+                    } finally {
+                        currentThread.setContextClassLoader(previous);
+                    }
+                }, commitPool));
+        }
+
+        LOG.debug("Instantiating {} modules concurrently in transaction {}", futures.size(),
+            getTransactionIdentifier());
+
+        // Completes only once all modules have been instantiated or failed, so aborting does not race with them
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        }
+    }
+
+    private void instantiateModule(final ModuleIdentifier moduleIdentifier, final Module module) {
+        try {
+            LOG.debug("About to commit {} in transaction {}",
+                    moduleIdentifier, getTransactionIdentifier());
+            AutoCloseable instance = module.getInstance();
+            Preconditions.checkNotNull(instance, "Instance is null:%s in transaction %s", moduleIdentifier, getTransactionIdentifier());
+        } catch (Exception e) {
+            LOG.error("Commit failed on {} in transaction {}", moduleIdentifier,
+                    getTransactionIdentifier(), e);
+            throw new IllegalStateException(
+                    String.format("Error - getInstance() failed for %s in transaction %s",
+                            moduleIdentifier, getTransactionIdentifier()), e);
+        }
+    }
+
     @Override
     public void abortConfig() {
         transactionStatus.checkNotCommitStarted();
@@ -8,10 +8,15 @@
 
 package org.opendaylight.controller.config.manager.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.config.api.ModuleIdentifier;
 import org.slf4j.Logger;
@@ -24,10 +29,9 @@ public class DeadlockMonitor implements AutoCloseable {
 
     private final TransactionIdentifier transactionIdentifier;
     private final DeadlockMonitorRunnable thread;
+    // Modules may be instantiated concurrently, hence each thread has its own stack
     @GuardedBy("this")
-    private final Deque<ModuleIdentifierWithNanos> moduleIdentifierWithNanosStack = new LinkedList<>();
-    @GuardedBy("this")
-    private ModuleIdentifierWithNanos top = ModuleIdentifierWithNanos.empty;
+    private final Map<Thread, Deque<ModuleIdentifierWithNanos>> moduleIdentifierWithNanosStacks = new HashMap<>();
 
     public DeadlockMonitor(final TransactionIdentifier transactionIdentifier) {
         this.transactionIdentifier = transactionIdentifier;
@@ -36,21 +40,27 @@ public class DeadlockMonitor implements AutoCloseable {
     }
 
     public synchronized void setCurrentlyInstantiatedModule(final ModuleIdentifier currentlyInstantiatedModule) {
-
+        final Thread currentThread = Thread.currentThread();
         boolean popping = currentlyInstantiatedModule == null;
         if (popping) {
-            moduleIdentifierWithNanosStack.pop();
-            if (moduleIdentifierWithNanosStack.isEmpty()) {
-                top = ModuleIdentifierWithNanos.empty;
-            } else {
-                top = moduleIdentifierWithNanosStack.peekLast();
+            Deque<ModuleIdentifierWithNanos> stack = moduleIdentifierWithNanosStacks.get(currentThread);
+            stack.pop();
+            if (stack.isEmpty()) {
+                moduleIdentifierWithNanosStacks.remove(currentThread);
             }
         } else {
-            ModuleIdentifierWithNanos current = new ModuleIdentifierWithNanos(currentlyInstantiatedModule);
-            moduleIdentifierWithNanosStack.push(current);
-            top = current;
+            moduleIdentifierWithNanosStacks.computeIfAbsent(currentThread, k -> new LinkedList<>())
+                    .push(new ModuleIdentifierWithNanos(currentlyInstantiatedModule));
+        }
+        LOG.trace("setCurrentlyInstantiatedModule {} on {}", currentlyInstantiatedModule, currentThread);
+    }
+
+    private synchronized Collection<ModuleIdentifierWithNanos> currentlyInstantiatedModules() {
+        Collection<ModuleIdentifierWithNanos> result = new ArrayList<>(moduleIdentifierWithNanosStacks.size());
+        for (Deque<ModuleIdentifierWithNanos> stack : moduleIdentifierWithNanosStacks.values()) {
+            result.add(stack.peek());
         }
-        LOG.trace("setCurrentlyInstantiatedModule {}, top {}", currentlyInstantiatedModule, top);
+        return result;
     }
 
     public boolean isAlive() {
@@ -75,24 +85,20 @@ public class DeadlockMonitor implements AutoCloseable {
 
         @Override
         public void run() {
-            // null moduleId
-            ModuleIdentifierWithNanos old = new ModuleIdentifierWithNanos();
+            Set<ModuleIdentifierWithNanos> old = new HashSet<>();
             while (!this.isInterrupted()) {
-                ModuleIdentifierWithNanos copy;
-                synchronized(this) {
-                    copy = new ModuleIdentifierWithNanos(DeadlockMonitor.this.top);
-                }
-
-                if (old.moduleIdentifier == null || !old.equals(copy)) {
-                    // started
-                    old = copy;
-                } else {
-                    // is the getInstance() running longer than WARN_AFTER_MILLIS ?
-                    long runningTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - copy.nanoTime);
-                    if (runningTime > WARN_AFTER_MILLIS) {
-                        LOG.warn("{} did not finish after {} ms", copy.moduleIdentifier, runningTime);
+                Set<ModuleIdentifierWithNanos> current = new HashSet<>(currentlyInstantiatedModules());
+                for (ModuleIdentifierWithNanos copy : current) {
+                    // is the getInstance() which was already running in the previous round running longer than
+                    // WARN_AFTER_MILLIS ?
+                    if (old.contains(copy)) {
+                        long runningTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - copy.nanoTime);
+                        if (runningTime > WARN_AFTER_MILLIS) {
+                            LOG.warn("{} did not finish after {} ms", copy.moduleIdentifier, runningTime);
+                        }
                     }
                 }
+                old = current;
                 try {
                     sleep(WARN_AFTER_MILLIS);
                 } catch (final InterruptedException e) {
@@ -109,26 +115,15 @@ public class DeadlockMonitor implements AutoCloseable {
     }
 
     private static class ModuleIdentifierWithNanos {
-        private static ModuleIdentifierWithNanos empty = new ModuleIdentifierWithNanos();
-        @Nullable
         private final ModuleIdentifier moduleIdentifier;
 
         private final long nanoTime;
 
-        private ModuleIdentifierWithNanos() {
-            this((ModuleIdentifier)null);
-        }
-
         private ModuleIdentifierWithNanos(final ModuleIdentifier moduleIdentifier) {
             this.moduleIdentifier = moduleIdentifier;
             nanoTime = System.nanoTime();
         }
 
-        private ModuleIdentifierWithNanos(final ModuleIdentifierWithNanos copy) {
-            moduleIdentifier = copy.moduleIdentifier;
-            nanoTime = copy.nanoTime;
-        }
-
         @Override
         public boolean equals(final Object o) {
             if (this == o) {
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.config.manager.impl.dependencyresolver;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -234,6 +235,15 @@ final class DependencyResolverImpl implements DependencyResolver,
                 o.getMaxDependencyDepth());
     }
 
+    /**
+     * Get the identifiers of the modules this module depends on, as tracked by this resolver.
+     *
+     * @return snapshot of the dependencies
+     */
+    synchronized Set<ModuleIdentifier> getDependencies() {
+        return ImmutableSet.copyOf(this.dependencies);
+    }
+
     int getMaxDependencyDepth() {
         if (this.maxDependencyDepth == null) {
             throw new IllegalStateException("Dependency depth was not computed");
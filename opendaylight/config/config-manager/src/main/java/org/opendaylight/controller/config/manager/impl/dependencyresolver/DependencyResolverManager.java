@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.concurrent.GuardedBy;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanServer;
@@ -107,6 +108,18 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
         return result;
     }
 
+    /**
+     * Get the identifiers of the modules a module depends on. Dependencies are discovered during validation, hence
+     * this information is complete only once the second phase commit has started.
+     *
+     * @param moduleIdentifier identifier of the dependent module
+     * @return snapshot of the dependencies
+     */
+    public Set<ModuleIdentifier> getDependencies(final ModuleIdentifier moduleIdentifier) {
+        transactionStatus.checkCommitStarted();
+        return getOrCreate(moduleIdentifier).getDependencies();
+    }
+
     public ModuleInternalTransactionalInfo destroyModule(
             final ModuleIdentifier moduleIdentifier) {
         transactionStatus.checkNotCommitted();
@@ -125,7 +138,7 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
 
         // optimization: subsequent calls to getInstance MUST return the same value during transaction,
         // so it is safe to cache the response
-        private Object cachedInstance;
+        private volatile Object cachedInstance;
 
         ModuleInvocationHandler(final DeadlockMonitor deadlockMonitor, final ModuleIdentifier moduleIdentifier, final Module module) {
             this.deadlockMonitor = Preconditions.checkNotNull(deadlockMonitor);
@@ -141,21 +154,35 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
                     return cachedInstance;
                 }
 
-                Preconditions.checkState(deadlockMonitor.isAlive(), "Deadlock monitor is not alive");
-                deadlockMonitor.setCurrentlyInstantiatedModule(moduleIdentifier);
+                // Modules may be instantiated concurrently, make sure a shared dependency is created only once
+                synchronized (this) {
+                    return getInstance(method, args);
+                }
             }
+
+            try {
+                return method.invoke(module, args);
+            } catch(final InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @GuardedBy("this")
+        private Object getInstance(final Method method, final Object[] args) throws Throwable {
+            if (cachedInstance != null) {
+                return cachedInstance;
+            }
+
+            Preconditions.checkState(deadlockMonitor.isAlive(), "Deadlock monitor is not alive");
+            deadlockMonitor.setCurrentlyInstantiatedModule(moduleIdentifier);
             try {
                 Object response = method.invoke(module, args);
-                if (isGetInstance) {
-                    cachedInstance = response;
-                }
+                cachedInstance = response;
                 return response;
             } catch(final InvocationTargetException e) {
                 throw e.getCause();
             } finally {
-                if (isGetInstance) {
-                    deadlockMonitor.setCurrentlyInstantiatedModule(null);
-                }
+                deadlockMonitor.setCurrentlyInstantiatedModule(null);
             }
         }
     }
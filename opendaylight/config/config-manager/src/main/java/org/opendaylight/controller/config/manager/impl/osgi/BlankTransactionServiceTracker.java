@@ -11,6 +11,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.management.ObjectName;
 import org.opendaylight.controller.config.api.ConflictingVersionException;
 import org.opendaylight.controller.config.api.ValidationException;
@@ -26,34 +28,68 @@ import org.slf4j.LoggerFactory;
  * Every time factory is added or removed, blank transaction is triggered to handle
  * {@link org.opendaylight.controller.config.spi.ModuleFactory#getDefaultModules(org.opendaylight.controller.config.api.DependencyResolverFactory, org.osgi.framework.BundleContext)}
  * functionality.
+ * <p/>
+ * Factories typically come and go in bursts, e.g. while the container is starting up. Requests are therefore
+ * coalesced: a blank transaction is run only once no new request has arrived for a quiet period, and a single
+ * transaction serves all requests made before it started. If some other transaction, such as one pushed by the
+ * config persister, has begun and committed after the last request, the blank transaction is skipped altogether.
  */
 public class BlankTransactionServiceTracker implements ServiceTrackerCustomizer<ModuleFactory, Object> {
     private static final Logger LOG = LoggerFactory.getLogger(BlankTransactionServiceTracker.class);
 
     public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    public static final long DEFAULT_QUIET_PERIOD_MILLIS = 100;
 
+    // Upper bound on how long a continuous stream of requests can postpone the blank transaction
+    private static final int MAX_QUIET_PERIODS = 20;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
     private final BlankTransaction blankTransaction;
     private final ExecutorService txExecutor;
     private final int maxAttempts;
+    private final long quietPeriodNanos;
+
+    private volatile long lastRequestSequence;
+    private volatile long lastRequestNanos;
 
     public BlankTransactionServiceTracker(final ConfigRegistryImpl configRegistry) {
-        this(() -> {
-            ObjectName tx = configRegistry.beginConfig(true);
-            return configRegistry.commitConfig(tx);
-         });
+        this(new BlankTransaction() {
+            @Override
+            public CommitStatus hit() throws ValidationException, ConflictingVersionException {
+                ObjectName tx = configRegistry.beginConfig(true);
+                return configRegistry.commitConfig(tx);
+            }
+
+            @Override
+            public long beginSequence() {
+                return configRegistry.getVersionCounter();
+            }
+
+            @Override
+            public boolean committedSince(final long sequence) {
+                return configRegistry.getVersion() > sequence;
+            }
+        });
     }
 
     public BlankTransactionServiceTracker(final BlankTransaction blankTransaction) {
         this(blankTransaction, DEFAULT_MAX_ATTEMPTS, Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
-                .setNameFormat("config-blank-txn-%d").build()));
+                .setNameFormat("config-blank-txn-%d").build()), DEFAULT_QUIET_PERIOD_MILLIS);
     }
 
     @VisibleForTesting
     BlankTransactionServiceTracker(final BlankTransaction blankTx, final int maxAttempts,
             final ExecutorService txExecutor) {
+        this(blankTx, maxAttempts, txExecutor, 0);
+    }
+
+    @VisibleForTesting
+    BlankTransactionServiceTracker(final BlankTransaction blankTx, final int maxAttempts,
+            final ExecutorService txExecutor, final long quietPeriodMillis) {
         this.blankTransaction = blankTx;
         this.maxAttempts = maxAttempts;
         this.txExecutor = txExecutor;
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
     }
 
     @Override
@@ -63,10 +99,54 @@ public class BlankTransactionServiceTracker implements ServiceTrackerCustomizer<
     }
 
     private void blankTransactionAsync() {
-        txExecutor.execute(this::blankTransactionSync);
+        lastRequestSequence = blankTransaction.beginSequence();
+        lastRequestNanos = System.nanoTime();
+        if (scheduled.compareAndSet(false, true)) {
+            txExecutor.execute(this::blankTransactionCoalesced);
+        }
+    }
+
+    private void blankTransactionCoalesced() {
+        if (!awaitQuietPeriod()) {
+            scheduled.set(false);
+            return;
+        }
+
+        // Requests arriving from now on schedule another run, as this one may not observe their factories
+        scheduled.set(false);
+        final long sequence = lastRequestSequence;
+        if (blankTransaction.committedSince(sequence)) {
+            LOG.debug("Skipping blank transaction, factories were processed by a later commit");
+            return;
+        }
+
+        blankTransactionSync(sequence);
+    }
+
+    private boolean awaitQuietPeriod() {
+        final long deadline = System.nanoTime() + MAX_QUIET_PERIODS * quietPeriodNanos;
+        while (true) {
+            final long now = System.nanoTime();
+            final long remaining = Math.min(lastRequestNanos + quietPeriodNanos, deadline) - now;
+            if (remaining <= 0) {
+                return true;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.debug("blankTransactionCoalesced was interrupted");
+                return false;
+            }
+        }
     }
 
     void blankTransactionSync() {
+        blankTransactionSync(blankTransaction.beginSequence());
+    }
+
+    private void blankTransactionSync(final long sequence) {
         // race condition check: config-persister might push new configuration while server is starting up.
         ConflictingVersionException lastException = null;
         for (int i = 0; i < maxAttempts; i++) {
@@ -76,6 +156,12 @@ public class BlankTransactionServiceTracker implements ServiceTrackerCustomizer<
                 LOG.debug("Committed blank transaction with status {}", commitStatus);
                 return;
             } catch (final ConflictingVersionException e) {
+                // the conflicting commit may have been begun late enough to take care of our factories
+                if (blankTransaction.committedSince(sequence)) {
+                    LOG.debug("Conflicting commit processed the factories, blank transaction not needed");
+                    return;
+                }
+
                 lastException = e;
                 try {
                     Thread.sleep(1000);
@@ -106,5 +192,20 @@ public class BlankTransactionServiceTracker implements ServiceTrackerCustomizer<
     @VisibleForTesting
     interface BlankTransaction {
         CommitStatus hit() throws ValidationException, ConflictingVersionException;
+
+        /**
+         * Returns a sequence number such that transactions begun after it was obtained observe the current state of
+         * factories.
+         */
+        default long beginSequence() {
+            return 0;
+        }
+
+        /**
+         * Checks whether a transaction begun after {@code sequence} was obtained has been committed.
+         */
+        default boolean committedSince(final long sequence) {
+            return false;
+        }
     }
 }
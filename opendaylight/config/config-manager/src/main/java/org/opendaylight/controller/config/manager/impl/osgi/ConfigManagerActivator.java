@@ -16,6 +16,7 @@ import javax.management.MBeanServer;
 import org.opendaylight.controller.config.api.ConfigRegistry;
 import org.opendaylight.controller.config.api.ConfigSystemService;
 import org.opendaylight.controller.config.manager.impl.ConfigRegistryImpl;
+import org.opendaylight.controller.config.manager.impl.jmx.BaseJMXRegistrator;
 import org.opendaylight.controller.config.manager.impl.jmx.ConfigRegistryJMXRegistrator;
 import org.opendaylight.controller.config.manager.impl.jmx.JMXNotifierConfigRegistry;
 import org.opendaylight.controller.config.manager.impl.osgi.mapping.BindingContextProvider;
@@ -43,6 +44,12 @@ public class ConfigManagerActivator implements BundleActivator, SynchronousBundl
 
     private static final long SYSTEM_BUNDLE_ID = 0;
 
+    /**
+     * Number of threads used to instantiate independent modules when committing a transaction. Modules are instantiated
+     * one after another by default.
+     */
+    public static final String COMMIT_PARALLELISM_PROPERTY = "org.opendaylight.controller.config.commitParallelism";
+
     private final MBeanServer configMBeanServer = ManagementFactory.getPlatformMBeanServer();
 
     private AutoCloseable autoCloseable;
@@ -68,7 +75,8 @@ public class ConfigManagerActivator implements BundleActivator, SynchronousBundl
             final BundleContextBackedModuleFactoriesResolver bundleContextBackedModuleFactoriesResolver =
                     new BundleContextBackedModuleFactoriesResolver(context);
             this.configRegistry = new ConfigRegistryImpl(bundleContextBackedModuleFactoriesResolver,
-                this.configMBeanServer, bindingContextProvider);
+                this.configMBeanServer, new BaseJMXRegistrator(this.configMBeanServer), bindingContextProvider,
+                getCommitParallelism(context));
 
             // track bundles containing factories
             final BlankTransactionServiceTracker blankTransactionServiceTracker = new BlankTransactionServiceTracker(
@@ -145,6 +153,29 @@ public class ConfigManagerActivator implements BundleActivator, SynchronousBundl
         LOG.info("Config manager start complete");
     }
 
+    private static int getCommitParallelism(final BundleContext context) {
+        final String parallelismProperty = context.getProperty(COMMIT_PARALLELISM_PROPERTY);
+        if (parallelismProperty == null) {
+            return 0;
+        }
+
+        final int parallelism;
+        try {
+            parallelism = Integer.parseInt(parallelismProperty.trim());
+        } catch (final NumberFormatException e) {
+            LOG.warn("Invalid value {} of property {}, modules will be instantiated one after another",
+                parallelismProperty, COMMIT_PARALLELISM_PROPERTY, e);
+            return 0;
+        }
+
+        if (parallelism < 0) {
+            LOG.warn("Negative value {} of property {}, modules will be instantiated one after another",
+                parallelism, COMMIT_PARALLELISM_PROPERTY);
+            return 0;
+        }
+        return parallelism;
+    }
+
     @Override
     public void stop(final BundleContext context) throws Exception {
         LOG.info("Config manager stopping");
@@ -106,6 +106,13 @@ public abstract class AbstractConfigTest extends AbstractLockedPlatformMBeanServ
         return this.currentBundleContextServiceRegistrationHandler;
     }
 
+    /**
+     * Number of threads used to instantiate modules during commit, 0 meaning the committing thread is used.
+     */
+    protected int getCommitParallelism() {
+        return 0;
+    }
+
     // this method should be called in @Before
     protected void initConfigTransactionManagerImpl(final ModuleFactoriesResolver resolver) {
 
@@ -126,7 +133,7 @@ public abstract class AbstractConfigTest extends AbstractLockedPlatformMBeanServ
             public synchronized BindingRuntimeContext getBindingContext() {
                 return getBindingRuntimeContext();
             }
-        });
+        }, getCommitParallelism());
         this.notifyingConfigRegistry = new JMXNotifierConfigRegistry(this.configRegistry, platformMBeanServer);
 
         try {
@@ -8,14 +8,22 @@
 
 package org.opendaylight.controller.config.manager.impl.osgi;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import javax.management.ObjectName;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,6 +46,8 @@ public class BlankTransactionServiceTrackerTest {
         MockitoAnnotations.initMocks(this);
         doReturn(new CommitStatus(Collections.<ObjectName>emptyList(), Collections.<ObjectName>emptyList(),
                 Collections.<ObjectName>emptyList())).when(blankTx).hit();
+        doReturn(0L).when(blankTx).beginSequence();
+        doReturn(false).when(blankTx).committedSince(anyLong());
         tracker = new BlankTransactionServiceTracker(blankTx, 10, MoreExecutors.newDirectExecutorService());
     }
 
@@ -71,6 +81,44 @@ public class BlankTransactionServiceTrackerTest {
         verify(blankTx, times(maxAttempts)).hit();
     }
 
+    @Test
+    public void testCoalescedRequests() throws Exception {
+        final List<Runnable> queued = new ArrayList<>();
+        final ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> queued.add((Runnable) invocation.getArguments()[0])).when(executor)
+            .execute(any(Runnable.class));
+        tracker = new BlankTransactionServiceTracker(blankTx, 10, executor);
+
+        tracker.addingService(getMockServiceReference());
+        tracker.modifiedService(getMockServiceReference(), null);
+        tracker.removedService(getMockServiceReference(), null);
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        verify(blankTx, times(1)).hit();
+
+        tracker.addingService(getMockServiceReference());
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    public void testSharedCommit() throws Exception {
+        doReturn(5L).when(blankTx).beginSequence();
+        doReturn(true).when(blankTx).committedSince(5L);
+
+        tracker.addingService(getMockServiceReference());
+        verify(blankTx, never()).hit();
+    }
+
+    @Test
+    public void testConflictingCommitShared() throws Exception {
+        doThrow(new ConflictingVersionException()).when(blankTx).hit();
+        doReturn(false, true).when(blankTx).committedSince(anyLong());
+
+        tracker.addingService(getMockServiceReference());
+        verify(blankTx, times(1)).hit();
+    }
+
     private static ServiceReference<ModuleFactory> getMockServiceReference() {
         return mock(ServiceReference.class);
     }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.config.manager.testingservices.parallelapsp.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javax.management.ObjectName;
+import org.junit.Test;
+import org.opendaylight.controller.config.manager.testingservices.parallelapsp.TestingParallelAPSPImpl;
+import org.opendaylight.controller.config.util.ConfigTransactionJMXClient;
+
+/**
+ * Runs {@link DependentWiringTest} with modules instantiated on a commit pool.
+ */
+public class ParallelCommitDependentWiringTest extends DependentWiringTest {
+    @Override
+    protected int getCommitParallelism() {
+        return 2;
+    }
+
+    @Test
+    public void testFailedInstantiationAbortsTransaction() throws Exception {
+        ConfigTransactionJMXClient transaction = configRegistryClient.createTransaction();
+        // apsp-parallel passes validation, but fails in getInstance() as fixed1 does not have enough threads
+        ObjectName threadPoolON = createFixed1(transaction, TestingParallelAPSPImpl.MINIMAL_NUMBER_OF_THREADS - 1);
+        createParallelAPSP(transaction, threadPoolON);
+        assertEquals(1, configRegistryClient.getOpenConfigs().size());
+
+        try {
+            transaction.commit();
+            fail();
+        } catch (final RuntimeException e) {
+            // expected
+        }
+
+        assertEquals(0, configRegistryClient.getOpenConfigs().size());
+        assertTrue(configRegistryClient.lookupConfigBeans().isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Ticker;
+import com.google.common.primitives.UnsignedLong;
+import com.google.common.util.concurrent.FutureCallback;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the {@link ShardDataTree} commit pipeline: each invocation readies a batch of transactions, each
+ * writing a single outer list entry, and takes them through canCommit, preCommit and commit. The shard is a mock
+ * which replicates payloads immediately, hence the results include encoding of the {@link
+ * org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload}, but no persistence or
+ * replication.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ShardCommitPipelineBenchmark {
+    private static final int OUTER_LIST_SIZE = 1000;
+    private static final LocalHistoryIdentifier HISTORY_ID = new LocalHistoryIdentifier(ClientIdentifier.create(
+        FrontendIdentifier.create(MemberName.forName("member-1"), FrontendType.forName("benchmark")), 0), 0);
+
+    private static final FutureCallback<Object> NOOP_CALLBACK = new FutureCallback<Object>() {
+        @Override
+        public void onSuccess(final Object result) {
+            // No-op
+        }
+
+        @Override
+        public void onFailure(final Throwable cause) {
+            throw new IllegalStateException("Transaction failed", cause);
+        }
+    };
+
+    @Param({"1", "10"})
+    public int transactionsPerBatch;
+
+    private final MapEntryNode[] entries = new MapEntryNode[OUTER_LIST_SIZE];
+    private ShardDataTree shardDataTree;
+    private ShardDataTreeCohort[] cohorts;
+    private long nextTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final Shard shard = mock(Shard.class);
+        doReturn(Ticker.systemTicker()).when(shard).ticker();
+        doReturn(mock(ShardStats.class)).when(shard).getShardMBean();
+
+        shardDataTree = new ShardDataTree(shard, TestModel.createTestContext(), TreeType.OPERATIONAL);
+        ShardDataTreeMocking.immediatePayloadReplication(shardDataTree, shard);
+
+        final ReadWriteShardDataTreeTransaction tx = shardDataTree.newReadWriteTransaction(nextTransactionId());
+        tx.getSnapshot().write(TestModel.TEST_PATH, TestModel.testNodeWithOuter());
+        commit(shardDataTree.finishTransaction(tx));
+
+        for (int i = 0; i < OUTER_LIST_SIZE; i++) {
+            entries[i] = TestModel.outerNodeEntry(i, TestModel.innerNode("one", "two"));
+        }
+        cohorts = new ShardDataTreeCohort[transactionsPerBatch];
+    }
+
+    @Benchmark
+    public void commitBatch() {
+        for (int i = 0; i < transactionsPerBatch; i++) {
+            final int id = (int) (nextTransaction % OUTER_LIST_SIZE);
+            final ReadWriteShardDataTreeTransaction tx = shardDataTree.newReadWriteTransaction(nextTransactionId());
+            tx.getSnapshot().write(TestModel.outerEntryPath(id), entries[id]);
+            cohorts[i] = shardDataTree.finishTransaction(tx);
+        }
+
+        for (ShardDataTreeCohort cohort : cohorts) {
+            commit(cohort);
+        }
+    }
+
+    private static void commit(final ShardDataTreeCohort cohort) {
+        cohort.canCommit(ShardCommitPipelineBenchmark.<Void>noopCallback());
+        cohort.preCommit(ShardCommitPipelineBenchmark.<DataTreeCandidate>noopCallback());
+        cohort.commit(ShardCommitPipelineBenchmark.<UnsignedLong>noopCallback());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> FutureCallback<T> noopCallback() {
+        return (FutureCallback<T>) NOOP_CALLBACK;
+    }
+
+    private TransactionIdentifier nextTransactionId() {
+        return new TransactionIdentifier(HISTORY_ID, nextTransaction++);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Data used by the benchmarks, based on {@link TestModel}.
+ */
+final class BenchmarkData {
+    private BenchmarkData() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Create a test container with the specified number of outer list entries, each of which has a two-entry inner
+     * list.
+     *
+     * @param outerListSize number of outer list entries
+     * @return test container
+     */
+    static NormalizedNode<?, ?> testNode(final int outerListSize) {
+        final MapEntryNode[] entries = new MapEntryNode[outerListSize];
+        for (int i = 0; i < outerListSize; i++) {
+            entries[i] = TestModel.outerNodeEntry(i, TestModel.innerNode("one", "two"));
+        }
+
+        return TestModel.testNodeWithOuter(TestModel.outerNode(entries));
+    }
+}
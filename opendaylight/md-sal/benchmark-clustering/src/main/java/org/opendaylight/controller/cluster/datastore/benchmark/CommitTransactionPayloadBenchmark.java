@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of serializing a {@link DataTreeCandidate} into a {@link CommitTransactionPayload}, which a shard leader
+ * does for each committed transaction, and of the follower-side decoding of the payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class CommitTransactionPayloadBenchmark {
+    private static final TransactionIdentifier TX_ID = new TransactionIdentifier(new LocalHistoryIdentifier(
+        ClientIdentifier.create(FrontendIdentifier.create(MemberName.forName("member-1"),
+            FrontendType.forName("benchmark")), 0), 0), 0);
+
+    @Param({"1", "100"})
+    public int outerListSize;
+
+    private TipProducingDataTree dataTree;
+    private DataTreeCandidate candidate;
+    private CommitTransactionPayload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DataValidationFailedException, IOException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, BenchmarkData.testNode(outerListSize));
+        mod.ready();
+        dataTree.validate(mod);
+        candidate = dataTree.prepare(mod);
+        payload = CommitTransactionPayload.create(TX_ID, candidate);
+    }
+
+    @Benchmark
+    public CommitTransactionPayload create() throws IOException {
+        return CommitTransactionPayload.create(TX_ID, candidate);
+    }
+
+    @Benchmark
+    public Entry<TransactionIdentifier, DataTreeCandidate> getCandidate() throws IOException {
+        return payload.getCandidate();
+    }
+
+    @Benchmark
+    public TransactionIdentifier applyCandidate() throws IOException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        return payload.applyCandidate(mod);
+    }
+}
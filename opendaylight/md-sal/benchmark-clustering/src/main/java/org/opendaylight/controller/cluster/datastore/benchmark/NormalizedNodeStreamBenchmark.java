@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.benchmark;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the NormalizedNode stream codecs, for both the Lithium and the Nitrogen stream formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NormalizedNodeStreamBenchmark {
+    @Param({"LITHIUM", "NITROGEN"})
+    public NormalizedNodeStreamVersion format;
+
+    @Param({"10", "1000"})
+    public int outerListSize;
+
+    private NormalizedNode<?, ?> node;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        node = BenchmarkData.testNode(outerListSize);
+        serialized = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput stream = NormalizedNodeInputOutput.newDataOutput(out, format)) {
+            stream.writeNormalizedNode(node);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> read() throws IOException {
+        return NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(serialized)).readNormalizedNode();
+    }
+}
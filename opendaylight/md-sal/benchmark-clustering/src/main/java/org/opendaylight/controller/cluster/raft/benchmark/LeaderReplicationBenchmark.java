@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.testkit.JavaTestKit;
+import com.typesafe.config.ConfigFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.raft.DefaultConfigParamsImpl;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
+import org.opendaylight.controller.cluster.raft.behaviors.Leader;
+import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Benchmark of the leader side of replication: each invocation appends an entry to the leader's journal and feeds
+ * the leader a successful AppendEntriesReply from each follower. This exercises the follower bookkeeping, the commit
+ * index update, applying the entry to the state machine and trimming the in-memory journal. Persistence is provided
+ * by an in-memory {@link org.opendaylight.controller.cluster.NonPersistentDataProvider} and the peers are
+ * {@link SinkActor}s, hence the results do not include any I/O or serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class LeaderReplicationBenchmark {
+    private static final MockPayload PAYLOAD = new MockPayload("benchmark", 100);
+    private static final FiniteDuration NEVER = new FiniteDuration(1, TimeUnit.DAYS);
+
+    @Param({"2", "4"})
+    public int followerCount;
+
+    private ActorSystem system;
+    private MockRaftActorContext context;
+    private Leader leader;
+    private ActorRef[] followerActors;
+    private String[] followerIds;
+    private long term;
+    private long lastIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = ActorSystem.create("raft-benchmark", ConfigFactory.parseString("akka.loglevel = WARNING")
+            .withFallback(ConfigFactory.defaultReference()));
+
+        final ActorRef leaderActor = system.actorOf(SinkActor.props(), "leader");
+        context = new MockRaftActorContext("leader", system, leaderActor);
+
+        // Keep the timers out of the way, we are interested in the message processing only
+        final DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(NEVER);
+        configParams.setIsolatedLeaderCheckInterval(NEVER);
+        context.setConfigParams(configParams);
+
+        final Map<String, String> peerAddresses = new HashMap<>();
+        followerActors = new ActorRef[followerCount];
+        followerIds = new String[followerCount];
+        for (int i = 0; i < followerCount; i++) {
+            followerIds[i] = "follower-" + i;
+            followerActors[i] = system.actorOf(SinkActor.props(), followerIds[i]);
+            peerAddresses.put(followerIds[i], followerActors[i].path().toString());
+        }
+        context.setPeerAddresses(peerAddresses);
+
+        term = context.getTermInformation().getCurrentTerm();
+        leader = new Leader(context);
+        context.setCurrentBehavior(leader);
+
+        lastIndex = context.getReplicatedLog().lastIndex();
+        for (int i = 0; i < followerCount; i++) {
+            leader.handleMessage(followerActors[i], reply(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        leader.close();
+        JavaTestKit.shutdownActorSystem(system);
+    }
+
+    @Benchmark
+    public long replicateEntry() {
+        context.getReplicatedLog().append(new SimpleReplicatedLogEntry(++lastIndex, term, PAYLOAD));
+        for (int i = 0; i < followerCount; i++) {
+            leader.handleMessage(followerActors[i], reply(i));
+        }
+
+        return context.getCommitIndex();
+    }
+
+    private AppendEntriesReply reply(final int follower) {
+        return new AppendEntriesReply(followerIds[follower], term, true, lastIndex, term, (short) 0);
+    }
+}
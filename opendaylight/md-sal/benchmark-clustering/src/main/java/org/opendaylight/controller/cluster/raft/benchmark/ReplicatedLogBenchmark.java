@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext.SimpleReplicatedLog;
+import org.opendaylight.controller.cluster.raft.ReplicatedLog;
+import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the in-memory journal kept by {@link org.opendaylight.controller.cluster.raft.AbstractReplicatedLogImpl}.
+ * The log is kept at roughly the configured size by trimming it the same way a leader does once entries have been
+ * replicated to all followers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ReplicatedLogBenchmark {
+    private static final long TERM = 1;
+    private static final MockPayload PAYLOAD = new MockPayload("benchmark", 100);
+
+    @Param({"100", "10000"})
+    public int logSize;
+
+    private ReplicatedLog log;
+    private long lastIndex;
+    private long lookupIndex;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        log = new SimpleReplicatedLog();
+        for (int i = 0; i < logSize; i++) {
+            log.append(newEntry(i));
+        }
+        lastIndex = logSize - 1;
+        lookupIndex = 0;
+    }
+
+    @Benchmark
+    public long appendAndTrim() {
+        log.append(newEntry(++lastIndex));
+
+        // Trim half of the log once it reaches twice the configured size
+        if (log.size() >= 2 * logSize) {
+            final long trimIndex = lastIndex - logSize;
+            log.snapshotPreCommit(trimIndex, TERM);
+            log.snapshotCommit();
+        }
+
+        return log.size();
+    }
+
+    @Benchmark
+    public ReplicatedLogEntry get() {
+        final long index = log.getSnapshotIndex() + 1 + lookupIndex++ % log.size();
+        return log.get(index);
+    }
+
+    @Benchmark
+    public long getFrom() {
+        return log.getFrom(lastIndex - Math.min(100, log.size() - 1)).size();
+    }
+
+    private static ReplicatedLogEntry newEntry(final long index) {
+        return new SimpleReplicatedLogEntry(index, TERM, PAYLOAD);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.benchmark;
+
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+
+/**
+ * Actor which discards all messages sent to it. Used in place of peers, so that messages sent by the benchmarked
+ * code do not accumulate anywhere.
+ */
+public final class SinkActor extends UntypedActor {
+    public static Props props() {
+        return Props.create(SinkActor.class);
+    }
+
+    @Override
+    public void onReceive(final Object message) {
+        // Discard
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of routed RPC registration updates and lookups in {@link AbstractDOMRpcRoutingTableEntry}, comparing
+ * the structurally-shared context index against rebuilding an {@link ImmutableMap} of all contexts on each update,
+ * which is how the routing table used to be maintained. Each context corresponds to a device mounted on the node.
+ *
+ * <p>
+ * The bucket update benchmarks measure the {@link DOMRpcRouter} work done by the remote RPC connector's registrar
+ * when a single context of a remote node changes, either registering all of the node's contexts again or only the
+ * group of contexts holding the changed one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class DOMRpcRoutingTableBenchmark {
+    private static final QName RPC = QName.create("urn:opendaylight:benchmark", "2017-01-01", "routed-rpc");
+    private static final QName INPUT = QName.create(RPC, "input");
+    private static final QName CONTEXT = QName.create(RPC, "context");
+    private static final QName NODE = QName.create(RPC, "node");
+    private static final QName NODE_ID = QName.create(RPC, "id");
+    private static final SchemaPath RPC_PATH = SchemaPath.create(true, RPC);
+    private static final CheckedFuture<DOMRpcResult, DOMRpcException> RESULT =
+            Futures.immediateCheckedFuture(new DefaultDOMRpcResult());
+    // Maximum number of contexts registered together by RpcRegistrar
+    private static final int REGISTRATION_GROUP_SIZE = 1000;
+
+    @Param({"1000", "50000"})
+    public int contexts;
+
+    private final DOMRpcImplementation implementation = new DOMRpcImplementation() {
+        @Override
+        public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final DOMRpcIdentifier rpc,
+                final NormalizedNode<?, ?> input) {
+            return RESULT;
+        }
+    };
+
+    private YangInstanceIdentifier[] identifiers;
+    private ContainerNode[] inputs;
+    private Map<YangInstanceIdentifier, List<DOMRpcImplementation>> immutableMap;
+    private AbstractDOMRpcRoutingTableEntry entry;
+    private YangInstanceIdentifier extra;
+    private int next;
+
+    private final List<Set<DOMRpcIdentifier>> allRpcs = new ArrayList<>(2);
+    private final List<Set<DOMRpcIdentifier>> groupRpcs = new ArrayList<>(2);
+    private Set<DOMRpcIdentifier> otherRpcs;
+    private DOMRpcRouter fullRouter;
+    private DOMRpcRouter incrementalRouter;
+    private DOMRpcImplementationRegistration<?> allReg;
+    private DOMRpcImplementationRegistration<?> groupReg;
+    private int bucketVersion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final RpcDefinition def = Mockito.mock(RpcDefinition.class);
+        Mockito.doReturn(RPC_PATH).when(def).getPath();
+
+        identifiers = new YangInstanceIdentifier[contexts];
+        inputs = new ContainerNode[contexts];
+        for (int i = 0; i < contexts; ++i) {
+            identifiers[i] = nodeIdentifier("device-" + i);
+            inputs[i] = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(INPUT))
+                    .withChild(ImmutableNodes.leafNode(CONTEXT, identifiers[i])).build();
+        }
+        extra = nodeIdentifier("extra-device");
+
+        final List<YangInstanceIdentifier> all = new ArrayList<>(contexts);
+        Collections.addAll(all, identifiers);
+
+        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> b = ImmutableMap.builder();
+        final List<DOMRpcImplementation> impls = Collections.singletonList(implementation);
+        all.forEach(id -> b.put(id, impls));
+        immutableMap = b.build();
+
+        entry = new RoutedDOMRpcRoutingTableEntry(def, YangInstanceIdentifier.of(CONTEXT), ImmutableMap.of())
+                .add(implementation, all);
+
+        // Two versions of a remote node's bucket, differing in their first context
+        for (int v = 0; v < 2; ++v) {
+            final YangInstanceIdentifier first = v == 0 ? identifiers[0] : extra;
+            final ImmutableSet.Builder<DOMRpcIdentifier> ab = ImmutableSet.builder();
+            final ImmutableSet.Builder<DOMRpcIdentifier> gb = ImmutableSet.builder();
+            final ImmutableSet.Builder<DOMRpcIdentifier> ob = ImmutableSet.builder();
+            for (int i = 0; i < contexts; ++i) {
+                final DOMRpcIdentifier rpc = DOMRpcIdentifier.create(RPC_PATH, i == 0 ? first : identifiers[i]);
+                ab.add(rpc);
+                if (i < REGISTRATION_GROUP_SIZE) {
+                    gb.add(rpc);
+                } else {
+                    ob.add(rpc);
+                }
+            }
+            allRpcs.add(ab.build());
+            groupRpcs.add(gb.build());
+            otherRpcs = ob.build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpRouters() {
+        bucketVersion = 0;
+        fullRouter = new DOMRpcRouter();
+        allReg = fullRouter.registerRpcImplementation(implementation, allRpcs.get(0));
+
+        // Contexts outside of the changed context's group stay registered throughout
+        incrementalRouter = new DOMRpcRouter();
+        incrementalRouter.registerRpcImplementation(implementation, otherRpcs);
+        groupReg = incrementalRouter.registerRpcImplementation(implementation, groupRpcs.get(0));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownRouters() {
+        fullRouter.close();
+        incrementalRouter.close();
+    }
+
+    private static YangInstanceIdentifier nodeIdentifier(final String id) {
+        return YangInstanceIdentifier.builder().node(NODE).nodeWithKey(NODE, NODE_ID, id).build();
+    }
+
+    private int nextIndex() {
+        final int ret = next++;
+        if (next == contexts) {
+            next = 0;
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public Map<YangInstanceIdentifier, List<DOMRpcImplementation>> immutableMapRegisterUnregister() {
+        return removeContext(addContext(immutableMap, extra), extra);
+    }
+
+    @Benchmark
+    public AbstractDOMRpcRoutingTableEntry indexRegisterUnregister() {
+        return entry.add(implementation, Collections.singletonList(extra))
+                .remove(implementation, Collections.singletonList(extra));
+    }
+
+    @Benchmark
+    public List<DOMRpcImplementation> immutableMapLookup() {
+        return immutableMap.get(identifiers[nextIndex()]);
+    }
+
+    @Benchmark
+    public List<DOMRpcImplementation> indexLookup() {
+        return entry.getImplementations(identifiers[nextIndex()]);
+    }
+
+    @Benchmark
+    public CheckedFuture<DOMRpcResult, DOMRpcException> indexInvokeRpc() {
+        return entry.invokeRpc(inputs[nextIndex()]);
+    }
+
+    @Benchmark
+    public DOMRpcImplementationRegistration<?> routerFullBucketUpdate() {
+        // Register all contexts of the new bucket version, then close the previous registration
+        bucketVersion ^= 1;
+        final DOMRpcImplementationRegistration<?> prev = allReg;
+        allReg = fullRouter.registerRpcImplementation(implementation, allRpcs.get(bucketVersion));
+        prev.close();
+        return allReg;
+    }
+
+    @Benchmark
+    public DOMRpcImplementationRegistration<?> routerIncrementalBucketUpdate() {
+        // Register the group holding the changed context again, then close its previous registration
+        bucketVersion ^= 1;
+        final DOMRpcImplementationRegistration<?> prev = groupReg;
+        groupReg = incrementalRouter.registerRpcImplementation(implementation, groupRpcs.get(bucketVersion));
+        prev.close();
+        return groupReg;
+    }
+
+    // The update algorithm AbstractDOMRpcRoutingTableEntry used before switching to TrieMap
+    private Map<YangInstanceIdentifier, List<DOMRpcImplementation>> addContext(
+            final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls, final YangInstanceIdentifier id) {
+        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
+        boolean found = false;
+        for (Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
+            if (id.equals(ve.getKey())) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+                i.add(implementation);
+                vb.put(id, i);
+                found = true;
+            } else {
+                vb.put(ve);
+            }
+        }
+        if (!found) {
+            final List<DOMRpcImplementation> i = new ArrayList<>(1);
+            i.add(implementation);
+            vb.put(id, i);
+        }
+        return vb.build();
+    }
+
+    private Map<YangInstanceIdentifier, List<DOMRpcImplementation>> removeContext(
+            final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls, final YangInstanceIdentifier id) {
+        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
+        for (Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
+            if (id.equals(ve.getKey())) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+                i.remove(implementation);
+                if (!i.isEmpty()) {
+                    vb.put(id, i);
+                }
+            } else {
+                vb.put(ve);
+            }
+        }
+        return vb.build();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.benchmark;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeListener;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStore;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for resolution of data change events in the presence of a large number of listeners, modeling
+ * one subtree listener per device. Each commit modifies a single outer list entry, hence its cost should depend
+ * on the size of the change rather than on the number of registrations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class DataChangeListenerResolutionBenchmark extends AbstractInMemoryWriteTransactionBenchmark {
+    private static final AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>> NOOP_LISTENER =
+        change -> { };
+
+    @Param({ "0", "10000" })
+    public int registrations;
+
+    private InMemoryDOMDataStore domStore;
+    private int nextEntry;
+
+    @Setup(Level.Trial)
+    @Override
+    public void setUp() throws Exception {
+        domStore = new InMemoryDOMDataStore("DCL_BENCHMARK", LogicalDatastoreType.OPERATIONAL,
+            MoreExecutors.newDirectExecutorService(), OUTER_LIST_10K, false);
+        schemaContext = BenchmarkModel.createTestContext();
+        domStore.onGlobalContextUpdated(schemaContext);
+
+        final DOMStoreWriteTransaction writeTx = domStore.newWriteOnlyTransaction();
+        writeTx.write(BenchmarkModel.TEST_PATH, provideOuterListNode());
+        for (int i = 0; i < OUTER_LIST_10K; ++i) {
+            writeTx.write(OUTER_LIST_10K_PATHS[i], OUTER_LIST_TEN_ITEM_INNER_LIST[i]);
+        }
+        commit(writeTx);
+
+        for (int i = 0; i < registrations; ++i) {
+            domStore.registerChangeListener(OUTER_LIST_10K_PATHS[i % OUTER_LIST_10K], NOOP_LISTENER,
+                DataChangeScope.SUBTREE);
+        }
+    }
+
+    @TearDown
+    @Override
+    public void tearDown() {
+        domStore.close();
+        schemaContext = null;
+        domStore = null;
+    }
+
+    private static void commit(final DOMStoreWriteTransaction writeTx) throws Exception {
+        final DOMStoreThreePhaseCommitCohort cohort = writeTx.ready();
+        cohort.canCommit().get();
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void commitSingleEntryReplace() throws Exception {
+        final int entry = nextEntry++ % OUTER_LIST_10K;
+        final DOMStoreWriteTransaction writeTx = domStore.newWriteOnlyTransaction();
+        writeTx.write(OUTER_LIST_10K_PATHS[entry].node(BenchmarkModel.INNER_LIST_QNAME),
+            nextEntry % 2 == 0 ? ONE_ITEM_INNER_LIST : TWO_ITEM_INNER_LIST);
+        commit(writeTx);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.concepts;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.List;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * A batch of {@link RequestEnvelope}s sent to the backend as a single message. The backend is expected to process
+ * the enclosed envelopes in the order in which they appear in the batch, as if they were received individually.
+ *
+ * <p>
+ * Batching the requests allows the transport to amortize per-message framing and serialization overheads, such as
+ * the serialized form of the reply-to actor, which is usually shared by all requests in the batch.
+ */
+@Beta
+public final class BatchedRequestEnvelope implements Immutable, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<RequestEnvelope> envelopes;
+
+    public BatchedRequestEnvelope(final List<RequestEnvelope> envelopes) {
+        this.envelopes = ImmutableList.copyOf(envelopes);
+        Preconditions.checkArgument(!this.envelopes.isEmpty(), "Batch has to contain at least one envelope");
+    }
+
+    /**
+     * Get the enclosed envelopes.
+     *
+     * @return Enclosed envelopes, in transmission order
+     */
+    public List<RequestEnvelope> getEnvelopes() {
+        return envelopes;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(BatchedRequestEnvelope.class).add("size", envelopes.size())
+                .add("envelopes", envelopes).toString();
+    }
+
+    private Object writeReplace() {
+        return new BatchedRequestEnvelopeProxy(this);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.concepts;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BatchedRequestEnvelopeProxy implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private List<RequestEnvelope> envelopes;
+
+    // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+    // be able to create instances via reflection.
+    @SuppressWarnings("checkstyle:RedundantModifier")
+    public BatchedRequestEnvelopeProxy() {
+        // for Externalizable
+    }
+
+    BatchedRequestEnvelopeProxy(final BatchedRequestEnvelope batch) {
+        envelopes = batch.getEnvelopes();
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeInt(envelopes.size());
+        for (RequestEnvelope envelope : envelopes) {
+            out.writeObject(envelope);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final int size = in.readInt();
+        envelopes = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            envelopes.add((RequestEnvelope) in.readObject());
+        }
+    }
+
+    private Object readResolve() {
+        return new BatchedRequestEnvelope(envelopes);
+    }
+}
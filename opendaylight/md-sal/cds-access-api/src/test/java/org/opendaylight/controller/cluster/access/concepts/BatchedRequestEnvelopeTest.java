@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.concepts;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.JavaSerializer;
+import akka.testkit.TestProbe;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.commands.TransactionPurgeRequest;
+
+public class BatchedRequestEnvelopeTest {
+    private static final FrontendIdentifier FRONTEND =
+            new FrontendIdentifier(MemberName.forName("test"), FrontendIdentifierTest.ONE_FRONTEND_TYPE);
+    private static final ClientIdentifier CLIENT = new ClientIdentifier(FRONTEND, 0);
+    private static final LocalHistoryIdentifier HISTORY = new LocalHistoryIdentifier(CLIENT, 0);
+
+    private ActorSystem system;
+    private ActorRef replyTo;
+
+    @Before
+    public void setUp() {
+        system = ActorSystem.apply();
+        JavaSerializer.currentSystem().value_$eq((ExtendedActorSystem) system);
+        replyTo = new TestProbe(system).ref();
+    }
+
+    @After
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @Test
+    public void testProxySerializationDeserialization() {
+        final List<RequestEnvelope> envelopes = ImmutableList.of(
+            new RequestEnvelope(new TransactionPurgeRequest(new TransactionIdentifier(HISTORY, 0), 0L, replyTo), 1L,
+                2L),
+            new RequestEnvelope(new TransactionPurgeRequest(new TransactionIdentifier(HISTORY, 1), 0L, replyTo), 1L,
+                3L),
+            new RequestEnvelope(new TransactionPurgeRequest(new TransactionIdentifier(HISTORY, 2), 1L, replyTo), 1L,
+                4L));
+        final BatchedRequestEnvelope batch = new BatchedRequestEnvelope(envelopes);
+
+        final BatchedRequestEnvelope deserialized = (BatchedRequestEnvelope) SerializationUtils.deserialize(
+            SerializationUtils.serialize(batch));
+
+        final List<RequestEnvelope> actual = deserialized.getEnvelopes();
+        Assert.assertEquals(envelopes.size(), actual.size());
+        for (int i = 0; i < envelopes.size(); ++i) {
+            final RequestEnvelope expected = envelopes.get(i);
+            Assert.assertEquals(expected.getSessionId(), actual.get(i).getSessionId());
+            Assert.assertEquals(expected.getTxSequence(), actual.get(i).getTxSequence());
+            Assert.assertEquals(expected.getMessage().getTarget(), actual.get(i).getMessage().getTarget());
+            Assert.assertEquals(expected.getMessage().getSequence(), actual.get(i).getMessage().getSequence());
+            Assert.assertEquals(replyTo, actual.get(i).getMessage().getReplyTo());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyBatch() {
+        new BatchedRequestEnvelope(ImmutableList.of());
+    }
+}
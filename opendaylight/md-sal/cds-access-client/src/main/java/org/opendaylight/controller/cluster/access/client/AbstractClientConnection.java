@@ -82,6 +82,9 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
     @GuardedBy("lock")
     private boolean haveTimer;
 
+    @GuardedBy("lock")
+    private boolean haveFlush;
+
     /**
      * Time reference when we saw any activity from the backend.
      */
@@ -116,7 +119,8 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
     // This constructor is only to be called (indirectly) by ConnectedClientConnection constructor.
     // Do not allow subclassing outside of this package
     AbstractClientConnection(final AbstractClientConnection<T> oldConn, final T newBackend, final int queueDepth) {
-        this(oldConn, new TransmitQueue.Transmitting(oldConn.queue, queueDepth, newBackend, oldConn.currentTime()));
+        this(oldConn, new TransmitQueue.Transmitting(oldConn.queue, queueDepth, newBackend, oldConn.currentTime(),
+            oldConn.context.config().getMaximumRequestBatchSize(), oldConn.context.requestBatchStats()));
     }
 
     public final ClientActorContext context() {
@@ -179,7 +183,9 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
                 // The queue is becoming non-empty, schedule a timer.
                 scheduleTimer(entry.getEnqueuedTicks() + context.config().getRequestTimeout() - now);
             }
-            return queue.enqueue(entry, now);
+            final long delay = queue.enqueue(entry, now);
+            scheduleFlush();
+            return delay;
         } finally {
             lock.unlock();
         }
@@ -282,6 +288,32 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
         haveTimer = true;
     }
 
+    /**
+     * Schedule a flush of the queue on the actor thread, if the queue has entries waiting to be batched. The flush
+     * runs after the messages already in the actor's mailbox have been processed, hence requests enqueued and responses
+     * received until then are coalesced into as few request messages as possible.
+     */
+    @GuardedBy("lock")
+    private void scheduleFlush() {
+        if (!haveFlush && queue.needsFlush()) {
+            context.executeInActor(this::runFlush);
+            haveFlush = true;
+        }
+    }
+
+    @VisibleForTesting
+    final ClientActorBehavior<T> runFlush(final ClientActorBehavior<T> current) {
+        lock.lock();
+        try {
+            haveFlush = false;
+            queue.tryTransmit(currentTime());
+        } finally {
+            lock.unlock();
+        }
+
+        return current;
+    }
+
     /**
      * Check this queue for timeout and initiate reconnection if that happened. If the queue has not made progress
      * in {@link #DEFAULT_NO_PROGRESS_TIMEOUT_NANOS} nanoseconds, it will be aborted.
@@ -429,6 +461,7 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
         lock.lock();
         try {
             maybeEntry = queue.complete(envelope, now);
+            scheduleFlush();
         } finally {
             lock.unlock();
         }
@@ -57,4 +57,12 @@ public interface ClientActorConfig {
      * @return the timeout interval in nanoseconds.
      */
     long getNoProgressTimeout();
+
+    /**
+     * Returns the maximum number of requests which are sent to the back-end as a single message. A value of 1 disables
+     * request batching.
+     *
+     * @return the maximum number of requests in a batch
+     */
+    int getMaximumRequestBatchSize();
 }
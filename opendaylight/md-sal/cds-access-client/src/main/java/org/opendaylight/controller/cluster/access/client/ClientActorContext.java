@@ -40,6 +40,7 @@ public class ClientActorContext extends AbstractClientActorContext implements Id
     private final Scheduler scheduler;
     private final Dispatchers dispatchers;
     private final ClientActorConfig config;
+    private final RequestBatchStats requestBatchStats = new RequestBatchStats();
 
     // Hidden to avoid subclassing
     ClientActorContext(final ActorRef self, final String persistenceId, final ActorSystem system,
@@ -63,6 +64,16 @@ public class ClientActorContext extends AbstractClientActorContext implements Id
         return config;
     }
 
+    /**
+     * Return the statistics of request batches transmitted by this client actor.
+     *
+     * @return Request batch statistics
+     */
+    @Nonnull
+    public RequestBatchStats requestBatchStats() {
+        return requestBatchStats;
+    }
+
     @Nonnull
     public Dispatchers dispatchers() {
         return dispatchers;
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Queue of {@link TransmittedConnectionEntry}s which have been transmitted to the backend and are waiting for
+ * a response. Entries are indexed by their transmit sequence, which allows responses to be matched to their entries
+ * in constant time regardless of the queue depth and of the order in which responses arrive. Iteration order is
+ * the order in which the entries were added, which is the order in which they need to be replayed on reconnect.
+ *
+ * <p>
+ * The entries are kept in a ring buffer, where each entry occupies the slot corresponding to its transmit sequence.
+ * Entries need to be added in ascending transmit sequence order, which is the order in which
+ * {@link TransmitQueue.Transmitting} allocates them. Removing an entry leaves its slot empty until all preceding
+ * entries have been removed, hence the buffer needs to cover the distance between the oldest and the newest entry.
+ * It is grown as needed.
+ *
+ * <p>
+ * This class is not thread-safe, as it is expected to be guarded by {@link AbstractClientConnection}.
+ */
+@NotThreadSafe
+final class InflightQueue extends AbstractCollection<TransmittedConnectionEntry> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private TransmittedConnectionEntry[] slots = new TransmittedConnectionEntry[DEFAULT_CAPACITY];
+    // Transmit sequence of the first entry, valid only when size > 0
+    private long headSequence;
+    // Transmit sequence following the last entry
+    private long tailSequence;
+    private int size;
+    private int modCount;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean add(final TransmittedConnectionEntry entry) {
+        addLast(entry);
+        return true;
+    }
+
+    /**
+     * Append an entry to the queue.
+     *
+     * @param entry Entry to append
+     * @throws IllegalArgumentException if the entry's transmit sequence is not greater than the transmit sequence
+     *                                  of the last entry in the queue
+     */
+    void addLast(final TransmittedConnectionEntry entry) {
+        final long sequence = entry.getTxSequence();
+        if (size == 0) {
+            headSequence = sequence;
+        } else {
+            Preconditions.checkArgument(sequence >= tailSequence, "Entry %s is out of sequence, expected at least %s",
+                entry, tailSequence);
+            ensureCapacity(sequence - headSequence + 1);
+        }
+
+        slots[slotIndex(sequence)] = entry;
+        tailSequence = sequence + 1;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Return the first entry in the queue, without removing it.
+     *
+     * @return First entry, or null if the queue is empty
+     */
+    @Nullable
+    TransmittedConnectionEntry peek() {
+        return size == 0 ? null : slots[slotIndex(headSequence)];
+    }
+
+    /**
+     * Remove and return the first entry in the queue.
+     *
+     * @return First entry, or null if the queue is empty
+     */
+    @Nullable
+    TransmittedConnectionEntry poll() {
+        return size == 0 ? null : remove(headSequence);
+    }
+
+    /**
+     * Remove and return the last entry in the queue.
+     *
+     * @return Last entry
+     * @throws NoSuchElementException if the queue is empty
+     */
+    TransmittedConnectionEntry removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return remove(tailSequence - 1);
+    }
+
+    /**
+     * Return the entry with specified transmit sequence, without removing it.
+     *
+     * @param sequence Transmit sequence
+     * @return Matching entry, or null if no such entry is present
+     */
+    @Nullable
+    TransmittedConnectionEntry get(final long sequence) {
+        return contains(sequence) ? slots[slotIndex(sequence)] : null;
+    }
+
+    /**
+     * Remove and return the entry with specified transmit sequence.
+     *
+     * @param sequence Transmit sequence
+     * @return Removed entry, or null if no such entry is present
+     */
+    @Nullable
+    TransmittedConnectionEntry remove(final long sequence) {
+        if (!contains(sequence)) {
+            return null;
+        }
+
+        final int index = slotIndex(sequence);
+        final TransmittedConnectionEntry ret = slots[index];
+        if (ret == null) {
+            return null;
+        }
+
+        slots[index] = null;
+        size--;
+        modCount++;
+
+        if (size == 0) {
+            headSequence = tailSequence;
+        } else {
+            // Skip over entries which have already been removed, so head and tail always point to present entries
+            while (slots[slotIndex(headSequence)] == null) {
+                headSequence++;
+            }
+            while (slots[slotIndex(tailSequence - 1)] == null) {
+                tailSequence--;
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, null);
+        headSequence = tailSequence;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<TransmittedConnectionEntry> iterator() {
+        return new Iterator<TransmittedConnectionEntry>() {
+            private final int expectedModCount = modCount;
+            private long nextSequence = headSequence;
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public TransmittedConnectionEntry next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                TransmittedConnectionEntry entry = slots[slotIndex(nextSequence++)];
+                while (entry == null) {
+                    entry = slots[slotIndex(nextSequence++)];
+                }
+
+                remaining--;
+                return entry;
+            }
+        };
+    }
+
+    private boolean contains(final long sequence) {
+        return size != 0 && sequence >= headSequence && sequence < tailSequence;
+    }
+
+    private int slotIndex(final long sequence) {
+        return (int) sequence & slots.length - 1;
+    }
+
+    private void ensureCapacity(final long span) {
+        if (span <= slots.length) {
+            return;
+        }
+
+        Preconditions.checkState(span <= Integer.MAX_VALUE / 2, "Inflight queue span %s is too large", span);
+        int newCapacity = slots.length;
+        while (newCapacity < span) {
+            newCapacity <<= 1;
+        }
+
+        final TransmittedConnectionEntry[] newSlots = new TransmittedConnectionEntry[newCapacity];
+        for (long sequence = headSequence; sequence < tailSequence; ++sequence) {
+            newSlots[(int) sequence & newCapacity - 1] = slots[slotIndex(sequence)];
+        }
+        slots = newSlots;
+    }
+}
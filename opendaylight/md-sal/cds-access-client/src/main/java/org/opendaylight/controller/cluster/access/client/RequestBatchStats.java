@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Statistics about the sizes of request batches transmitted by a client actor, across all of its connections. An
+ * instance can be obtained via {@link ClientActorContext#requestBatchStats()}.
+ */
+@Beta
+@ThreadSafe
+public final class RequestBatchStats {
+    private long messageCount;
+    private long requestCount;
+    private int maxBatchSize;
+
+    synchronized void recordBatch(final int batchSize) {
+        messageCount++;
+        requestCount += batchSize;
+        if (batchSize > maxBatchSize) {
+            maxBatchSize = batchSize;
+        }
+    }
+
+    /**
+     * Return the number of messages transmitted, counting each batch as a single message.
+     *
+     * @return Number of messages
+     */
+    public synchronized long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Return the total number of requests transmitted.
+     *
+     * @return Number of requests
+     */
+    public synchronized long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * Return the size of the largest batch transmitted.
+     *
+     * @return Largest batch size
+     */
+    public synchronized int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Return the average number of requests per transmitted message.
+     *
+     * @return Average batch size, 0 if nothing has been transmitted
+     */
+    public synchronized double getAverageBatchSize() {
+        return messageCount == 0 ? 0 : (double) requestCount / messageCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("messages", messageCount).add("requests", requestCount)
+                .add("maxBatchSize", maxBatchSize).add("averageBatchSize", getAverageBatchSize()).toString();
+    }
+}
@@ -11,14 +11,15 @@ import akka.actor.ActorRef;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
-import java.util.Queue;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.access.concepts.BatchedRequestEnvelope;
 import org.opendaylight.controller.cluster.access.concepts.Request;
 import org.opendaylight.controller.cluster.access.concepts.RequestEnvelope;
 import org.opendaylight.controller.cluster.access.concepts.RequestException;
@@ -39,7 +40,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * For memory efficiency we want to pre-allocate both queues -- which points to ArrayDeque, but that is very
  * inefficient when entries are removed from the middle. In the typical case we expect the number of in-flight
- * entries to be an order of magnitude lower than the number of enqueued entries, hence the split.
+ * entries to be an order of magnitude lower than the number of enqueued entries, hence the split. In-flight entries
+ * are kept in an {@link InflightQueue}, which is indexed by transmit sequence, so that completing an entry does not
+ * depend on the number of entries in flight.
  *
  * <p>
  * Note that in transient case of reconnect, when the backend gives us a lower number of maximum in-flight entries
@@ -47,6 +50,12 @@ import org.slf4j.LoggerFactory;
  * scenario, hence we consciously ignore it to keep the design relatively simple.
  *
  * <p>
+ * When request batching is enabled, entries are not transmitted as soon as they are enqueued or a slot frees up.
+ * They are left in the pending queue until {@link #tryTransmit(long)} is invoked, which the connection arranges to
+ * happen once the client actor has processed the messages already in its mailbox (see {@link #needsFlush()}), so
+ * that requests enqueued and slots freed up in the meantime are sent in as few messages as possible.
+ *
+ * <p>
  * This class is not thread-safe, as it is expected to be guarded by {@link AbstractClientConnection}.
  *
  * @author Robert Varga
@@ -76,13 +85,32 @@ abstract class TransmitQueue {
     }
 
     static final class Transmitting extends TransmitQueue {
+        private final RequestBatchStats batchStats;
         private final BackendInfo backend;
+        private final int maxBatchSize;
         private long nextTxSequence;
 
-        // For ConnectedClientConnection.
         Transmitting(final TransmitQueue oldQueue, final int targetDepth, final BackendInfo backend, final long now) {
+            this(oldQueue, targetDepth, backend, now, 1);
+        }
+
+        Transmitting(final TransmitQueue oldQueue, final int targetDepth, final BackendInfo backend, final long now,
+                final int maxBatchSize) {
+            this(oldQueue, targetDepth, backend, now, maxBatchSize, new RequestBatchStats());
+        }
+
+        // For ConnectedClientConnection.
+        Transmitting(final TransmitQueue oldQueue, final int targetDepth, final BackendInfo backend, final long now,
+                final int maxBatchSize, final RequestBatchStats batchStats) {
             super(oldQueue, targetDepth, now);
             this.backend = Preconditions.checkNotNull(backend);
+            this.maxBatchSize = maxBatchSize;
+            this.batchStats = Preconditions.checkNotNull(batchStats);
+        }
+
+        @Override
+        boolean defersTransmit() {
+            return maxBatchSize > 1;
         }
 
         @Override
@@ -92,19 +120,61 @@ abstract class TransmitQueue {
 
         @Override
         TransmittedConnectionEntry transmit(final ConnectionEntry entry, final long now) {
-            final RequestEnvelope env = new RequestEnvelope(entry.getRequest().toVersion(backend.getVersion()),
-                backend.getSessionId(), nextTxSequence++);
+            final RequestEnvelope env = newEnvelope(entry);
 
             final TransmittedConnectionEntry ret = new TransmittedConnectionEntry(entry, env.getSessionId(),
                 env.getTxSequence(), now);
             backend.getActor().tell(env, ActorRef.noSender());
+            batchStats.recordBatch(1);
+            return ret;
+        }
+
+        @Override
+        Collection<TransmittedConnectionEntry> transmit(final Collection<ConnectionEntry> entries, final long now) {
+            if (maxBatchSize <= 1) {
+                return super.transmit(entries, now);
+            }
+
+            final Collection<TransmittedConnectionEntry> ret = new ArrayList<>(entries.size());
+            final List<RequestEnvelope> batch = new ArrayList<>(Math.min(entries.size(), maxBatchSize));
+            for (ConnectionEntry entry : entries) {
+                final RequestEnvelope env = newEnvelope(entry);
+                ret.add(new TransmittedConnectionEntry(entry, env.getSessionId(), env.getTxSequence(), now));
+                batch.add(env);
+                if (batch.size() == maxBatchSize) {
+                    sendBatch(batch);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+            }
             return ret;
         }
+
+        @Override
+        RequestBatchStats getBatchStats() {
+            return batchStats;
+        }
+
+        private RequestEnvelope newEnvelope(final ConnectionEntry entry) {
+            return new RequestEnvelope(entry.getRequest().toVersion(backend.getVersion()), backend.getSessionId(),
+                nextTxSequence++);
+        }
+
+        private void sendBatch(final List<RequestEnvelope> batch) {
+            final int size = batch.size();
+            final Object message = size == 1 ? batch.get(0) : new BatchedRequestEnvelope(batch);
+            backend.getActor().tell(message, ActorRef.noSender());
+            batchStats.recordBatch(size);
+            LOG.trace("Queue {} sent {} requests in a single message, {}", this, size, batchStats);
+        }
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(TransmitQueue.class);
 
-    private final Deque<TransmittedConnectionEntry> inflight = new ArrayDeque<>();
+    private final InflightQueue inflight = new InflightQueue();
     private final Deque<ConnectionEntry> pending = new ArrayDeque<>();
     private final AveragingProgressTracker tracker;  // Cannot be just ProgressTracker as we are inheriting limits.
     private ReconnectForwarder successor;
@@ -163,26 +233,31 @@ abstract class TransmitQueue {
 
     // If a matching request was found, this will track a task was closed.
     final Optional<TransmittedConnectionEntry> complete(final ResponseEnvelope<?> envelope, final long now) {
-        Optional<TransmittedConnectionEntry> maybeEntry = findMatchingEntry(inflight, envelope);
-        if (maybeEntry == null) {
-            LOG.debug("Request for {} not found in inflight queue, checking pending queue", envelope);
-            maybeEntry = findMatchingEntry(pending, envelope);
-        }
-
-        if (maybeEntry == null || !maybeEntry.isPresent()) {
-            LOG.warn("No request matching {} found, ignoring response", envelope);
+        final TransmittedConnectionEntry entry = findMatchingEntry(envelope);
+        if (entry == null) {
             return Optional.empty();
         }
 
-        final TransmittedConnectionEntry entry = maybeEntry.get();
         tracker.closeTask(now, entry.getEnqueuedTicks(), entry.getTxTicks(), envelope.getExecutionTimeNanos());
 
-        // We have freed up a slot, try to transmit something
-        tryTransmit(now);
+        // We have freed up a slot, try to transmit something, unless that is left to the next flush
+        if (!defersTransmit()) {
+            tryTransmit(now);
+        }
 
         return Optional.of(entry);
     }
 
+    /**
+     * Check whether {@link #tryTransmit(long)} needs to be invoked to make progress, because entries are left in the
+     * pending queue even though they could be transmitted.
+     *
+     * @return True if a flush is needed
+     */
+    final boolean needsFlush() {
+        return defersTransmit() && !pending.isEmpty() && canTransmitCount(inflight.size()) > 0;
+    }
+
     final void tryTransmit(final long now) {
         final int toSend = canTransmitCount(inflight.size());
         if (toSend > 0 && !pending.isEmpty()) {
@@ -191,17 +266,21 @@ abstract class TransmitQueue {
     }
 
     private void transmitEntries(final int maxTransmit, final long now) {
-        for (int i = 0; i < maxTransmit; ++i) {
-            final ConnectionEntry e = pending.poll();
-            if (e == null) {
-                LOG.debug("Queue {} transmitted {} requests", this, i);
-                return;
+        final int toTransmit = Math.min(maxTransmit, pending.size());
+        if (toTransmit == 1) {
+            transmitEntry(pending.poll(), now);
+        } else {
+            final Collection<ConnectionEntry> entries = new ArrayList<>(toTransmit);
+            for (int i = 0; i < toTransmit; ++i) {
+                entries.add(pending.poll());
             }
 
-            transmitEntry(e, now);
+            LOG.debug("Queue {} transmitting entries {}", this, entries);
+            // Same as transmitEntry(), we are relying on external guards
+            inflight.addAll(transmit(entries, now));
         }
 
-        LOG.debug("Queue {} transmitted {} requests", this, maxTransmit);
+        LOG.debug("Queue {} transmitted {} requests", this, toTransmit);
     }
 
     private void transmitEntry(final ConnectionEntry entry, final long now) {
@@ -230,6 +309,12 @@ abstract class TransmitQueue {
         // Reserve an entry before we do anything that can fail
         final long delay = tracker.openTask(now);
 
+        if (defersTransmit()) {
+            // Transmission is left to the next flush, so this entry can be batched with others
+            pending.addLast(entry);
+            return delay;
+        }
+
         /*
          * This is defensive to make sure we do not do the wrong thing here and reorder messages if we ever happen
          * to have available send slots and non-empty pending queue.
@@ -258,6 +343,38 @@ abstract class TransmitQueue {
 
     abstract TransmittedConnectionEntry transmit(ConnectionEntry entry, long now);
 
+    /**
+     * Return true if entries should not be transmitted as soon as possible, but rather accumulated until the next
+     * {@link #tryTransmit(long)}, so they can be sent in batches.
+     */
+    boolean defersTransmit() {
+        return false;
+    }
+
+    /**
+     * Transmit a number of entries, preserving their order. Implementations may send multiple entries in a single
+     * message. The default implementation transmits the entries one by one.
+     *
+     * @return Transmitted entries, in the same order as the supplied entries
+     */
+    Collection<TransmittedConnectionEntry> transmit(final Collection<ConnectionEntry> entries, final long now) {
+        final Collection<TransmittedConnectionEntry> ret = new ArrayList<>(entries.size());
+        for (ConnectionEntry entry : entries) {
+            ret.add(transmit(entry, now));
+        }
+        return ret;
+    }
+
+    /**
+     * Return the statistics of request batches transmitted by this queue.
+     *
+     * @return Batch statistics, or null if this queue does not transmit requests
+     */
+    @Nullable
+    RequestBatchStats getBatchStats() {
+        return null;
+    }
+
     final boolean isEmpty() {
         return inflight.isEmpty() && pending.isEmpty();
     }
@@ -301,7 +418,7 @@ abstract class TransmitQueue {
             count++;
         }
 
-        LOG.debug("Connection {} queue spliced {} messages", this, count);
+        LOG.debug("Connection {} queue spliced {} messages, transmitted batches {}", this, count, getBatchStats());
     }
 
     final void remove(final long now) {
@@ -315,7 +432,7 @@ abstract class TransmitQueue {
     }
 
     @VisibleForTesting
-    Deque<TransmittedConnectionEntry> getInflight() {
+    InflightQueue getInflight() {
         return inflight;
     }
 
@@ -325,60 +442,44 @@ abstract class TransmitQueue {
     }
 
     /*
-     * We are using tri-state return here to indicate one of three conditions:
-     * - if a matching entry is found, return an Optional containing it
-     * - if a matching entry is not found, but it makes sense to keep looking at other queues, return null
-     * - if a conflicting entry is encountered, indicating we should ignore this request, return an empty Optional
+     * Entries in the pending queue have never been transmitted, hence they cannot be matched by a response. Responses
+     * may legally come back in a different order, so we look the request up by its transmit sequence.
      */
-    @SuppressFBWarnings(value = "NP_OPTIONAL_RETURN_NULL",
-            justification = "Returning null Optional is documented in the API contract.")
-    private static Optional<TransmittedConnectionEntry> findMatchingEntry(final Queue<? extends ConnectionEntry> queue,
-            final ResponseEnvelope<?> envelope) {
-        // Try to find the request in a queue. Responses may legally come back in a different order, hence we need
-        // to use an iterator
-        final Iterator<? extends ConnectionEntry> it = queue.iterator();
-        while (it.hasNext()) {
-            final ConnectionEntry e = it.next();
-            final Request<?, ?> request = e.getRequest();
-            final Response<?, ?> response = envelope.getMessage();
-
-            // First check for matching target, or move to next entry
-            if (!request.getTarget().equals(response.getTarget())) {
-                continue;
-            }
-
-            // Sanity-check logical sequence, ignore any out-of-order messages
-            if (request.getSequence() != response.getSequence()) {
-                LOG.debug("Expecting sequence {}, ignoring response {}", request.getSequence(), envelope);
-                return Optional.empty();
-            }
-
-            // Check if the entry has (ever) been transmitted
-            if (!(e instanceof TransmittedConnectionEntry)) {
-                return Optional.empty();
-            }
+    @Nullable
+    private TransmittedConnectionEntry findMatchingEntry(final ResponseEnvelope<?> envelope) {
+        final TransmittedConnectionEntry entry = inflight.get(envelope.getTxSequence());
+        if (entry == null) {
+            LOG.warn("No request matching {} found, ignoring response", envelope);
+            return null;
+        }
 
-            final TransmittedConnectionEntry te = (TransmittedConnectionEntry) e;
+        // Check session match
+        if (envelope.getSessionId() != entry.getSessionId()) {
+            LOG.debug("Expecting session {}, ignoring response {}", entry.getSessionId(), envelope);
+            return null;
+        }
 
-            // Now check session match
-            if (envelope.getSessionId() != te.getSessionId()) {
-                LOG.debug("Expecting session {}, ignoring response {}", te.getSessionId(), envelope);
-                return Optional.empty();
-            }
-            if (envelope.getTxSequence() != te.getTxSequence()) {
-                LOG.warn("Expecting txSequence {}, ignoring response {}", te.getTxSequence(), envelope);
-                return Optional.empty();
-            }
+        // Check matching target
+        final Request<?, ?> request = entry.getRequest();
+        final Response<?, ?> response = envelope.getMessage();
+        if (!request.getTarget().equals(response.getTarget())) {
+            LOG.warn("Expecting target {}, ignoring response {}", request.getTarget(), envelope);
+            return null;
+        }
 
-            LOG.debug("Completing request {} with {}", request, envelope);
-            it.remove();
-            return Optional.of(te);
+        // Sanity-check logical sequence, ignore any out-of-order messages
+        if (request.getSequence() != response.getSequence()) {
+            LOG.debug("Expecting sequence {}, ignoring response {}", request.getSequence(), envelope);
+            return null;
         }
 
-        return null;
+        LOG.debug("Completing request {} with {}", request, envelope);
+        inflight.remove(envelope.getTxSequence());
+        return entry;
     }
 
-    private static void poisonQueue(final Queue<? extends ConnectionEntry> queue, final RequestException cause) {
+    private static void poisonQueue(final Collection<? extends ConnectionEntry> queue,
+            final RequestException cause) {
         for (ConnectionEntry e : queue) {
             final Request<?, ?> request = e.getRequest();
             LOG.trace("Poisoning request {}", request, cause);
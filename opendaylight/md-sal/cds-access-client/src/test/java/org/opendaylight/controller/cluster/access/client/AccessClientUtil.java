@@ -39,6 +39,7 @@ public class AccessClientUtil {
         doReturn(AbstractClientConnection.DEFAULT_REQUEST_TIMEOUT_NANOS).when(mockConfig).getRequestTimeout();
         doReturn(AbstractClientConnection.DEFAULT_NO_PROGRESS_TIMEOUT_NANOS)
                  .when(mockConfig).getNoProgressTimeout();
+        doReturn(1).when(mockConfig).getMaximumRequestBatchSize();
         return mockConfig;
     }
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.concepts.Request;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+
+public class InflightQueueTest {
+    private final List<TransmittedConnectionEntry> entries = new ArrayList<>();
+    private InflightQueue queue;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final ConnectionEntry entry = new ConnectionEntry(mock(Request.class), mock(Consumer.class), 0);
+        for (int i = 0; i < 100; ++i) {
+            entries.add(new TransmittedConnectionEntry(entry, 0, i, 0));
+        }
+        queue = new InflightQueue();
+    }
+
+    @Test
+    public void testAddAndPoll() {
+        for (int i = 0; i < 3; ++i) {
+            queue.addLast(entries.get(i));
+        }
+        assertEquals(3, queue.size());
+        assertSame(entries.get(0), queue.peek());
+        assertSame(entries.get(0), queue.poll());
+        assertSame(entries.get(1), queue.poll());
+        assertSame(entries.get(2), queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemoveOutOfOrder() {
+        for (int i = 0; i < 5; ++i) {
+            queue.addLast(entries.get(i));
+        }
+
+        assertSame(entries.get(2), queue.remove(2));
+        assertNull(queue.remove(2));
+        assertNull(queue.get(2));
+        assertSame(entries.get(3), queue.get(3));
+        assertEquals(ImmutableList.of(entries.get(0), entries.get(1), entries.get(3), entries.get(4)),
+            ImmutableList.copyOf(queue));
+
+        assertSame(entries.get(0), queue.remove(0));
+        assertSame(entries.get(1), queue.remove(1));
+        assertSame(entries.get(3), queue.peek());
+        assertSame(entries.get(4), queue.removeLast());
+        assertEquals(ImmutableList.of(entries.get(3)), ImmutableList.copyOf(queue));
+
+        // Unknown sequences are ignored
+        assertNull(queue.remove(0));
+        assertNull(queue.remove(50));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testGrowWithStalledHead() {
+        // Head entry does not complete, while others do, forcing the ring to grow past its initial capacity
+        queue.addLast(entries.get(0));
+        for (int i = 1; i < entries.size(); ++i) {
+            queue.addLast(entries.get(i));
+            if (i % 2 == 0) {
+                assertSame(entries.get(i), queue.remove(i));
+            }
+        }
+
+        // Entry 0 and all odd entries remain
+        assertEquals(entries.size() / 2 + 1, queue.size());
+        assertSame(entries.get(0), queue.peek());
+        int expected = 0;
+        for (TransmittedConnectionEntry entry : queue) {
+            assertSame(entries.get(expected), entry);
+            expected = expected == 0 ? 1 : expected + 2;
+        }
+    }
+
+    @Test
+    public void testClear() {
+        queue.addAll(entries.subList(0, 10));
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        assertNull(queue.get(5));
+
+        queue.addLast(entries.get(20));
+        assertSame(entries.get(20), queue.get(20));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOutOfSequence() {
+        queue.addLast(entries.get(5));
+        queue.addLast(entries.get(4));
+    }
+}
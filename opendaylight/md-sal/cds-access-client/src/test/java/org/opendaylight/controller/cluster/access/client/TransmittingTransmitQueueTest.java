@@ -30,6 +30,7 @@ import org.junit.Test;
 import org.opendaylight.controller.cluster.access.ABIVersion;
 import org.opendaylight.controller.cluster.access.commands.TransactionPurgeRequest;
 import org.opendaylight.controller.cluster.access.commands.TransactionPurgeResponse;
+import org.opendaylight.controller.cluster.access.concepts.BatchedRequestEnvelope;
 import org.opendaylight.controller.cluster.access.concepts.FailureEnvelope;
 import org.opendaylight.controller.cluster.access.concepts.Request;
 import org.opendaylight.controller.cluster.access.concepts.RequestEnvelope;
@@ -138,6 +139,81 @@ public class TransmittingTransmitQueueTest extends AbstractTransmitQueueTest<Tra
         assertEquals(request, requestEnvelope.getMessage());
     }
 
+    @Test
+    public void testTransmitBatch() throws Exception {
+        final TransmitQueue.Transmitting batchingQueue = new TransmitQueue.Transmitting(new TransmitQueue.Halted(0), 0,
+            backendInfo, now(), 2);
+        final Request<?, ?> req0 = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 0L, probe.ref());
+        final Request<?, ?> req1 = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 1L, probe.ref());
+        final Request<?, ?> req2 = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 2L, probe.ref());
+        final Consumer<Response<?, ?>> callback = createConsumerMock();
+        final long now = now();
+
+        final Collection<TransmittedConnectionEntry> transmitted = batchingQueue.transmit(Arrays.asList(
+            new ConnectionEntry(req0, callback, now), new ConnectionEntry(req1, callback, now),
+            new ConnectionEntry(req2, callback, now)), now);
+        assertEqualRequests(transmitted, req0, req1, req2);
+
+        final BatchedRequestEnvelope batch = probe.expectMsgClass(BatchedRequestEnvelope.class);
+        assertEquals(2, batch.getEnvelopes().size());
+        assertEquals(req0, batch.getEnvelopes().get(0).getMessage());
+        assertEquals(0L, batch.getEnvelopes().get(0).getTxSequence());
+        assertEquals(req1, batch.getEnvelopes().get(1).getMessage());
+        assertEquals(1L, batch.getEnvelopes().get(1).getTxSequence());
+
+        final RequestEnvelope last = probe.expectMsgClass(RequestEnvelope.class);
+        assertEquals(req2, last.getMessage());
+        assertEquals(2L, last.getTxSequence());
+
+        final RequestBatchStats stats = batchingQueue.getBatchStats();
+        assertEquals(2, stats.getMessageCount());
+        assertEquals(3, stats.getRequestCount());
+        assertEquals(2, stats.getMaxBatchSize());
+    }
+
+    @Test
+    public void testBatchUnderLoad() throws Exception {
+        final RequestBatchStats stats = new RequestBatchStats();
+        final TransmitQueue.Transmitting batchingQueue = new TransmitQueue.Transmitting(new TransmitQueue.Halted(0), 0,
+            backendInfo, now(), 3, stats);
+        final Consumer<Response<?, ?>> callback = createConsumerMock();
+        final long now = now();
+
+        // Requests enqueued within a single actor turn are not sent until the queue is flushed
+        for (long i = 0; i < 5; i++) {
+            batchingQueue.enqueue(new ConnectionEntry(new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, i,
+                probe.ref()), callback, now), now);
+        }
+        probe.expectNoMsg();
+        assertTrue(batchingQueue.needsFlush());
+
+        batchingQueue.tryTransmit(now);
+        final BatchedRequestEnvelope first = probe.expectMsgClass(BatchedRequestEnvelope.class);
+        assertEquals(3, first.getEnvelopes().size());
+        assertEquals(2, batchingQueue.getPending().size());
+        assertFalse("Backend is full", batchingQueue.needsFlush());
+
+        // Slots freed up by responses are not refilled one by one ...
+        for (long i = 0; i < 2; i++) {
+            final RequestSuccess<?, ?> success = new TransactionPurgeResponse(TRANSACTION_IDENTIFIER, i);
+            assertTrue(batchingQueue.complete(new SuccessEnvelope(success, 0L, i, 1L), now).isPresent());
+        }
+        probe.expectNoMsg();
+        assertTrue(batchingQueue.needsFlush());
+
+        // ... but by the next flush, in a single message
+        batchingQueue.tryTransmit(now);
+        final BatchedRequestEnvelope second = probe.expectMsgClass(BatchedRequestEnvelope.class);
+        assertEquals(2, second.getEnvelopes().size());
+        assertEquals(3L, second.getEnvelopes().get(0).getTxSequence());
+        assertEquals(4L, second.getEnvelopes().get(1).getTxSequence());
+        assertFalse(batchingQueue.needsFlush());
+
+        assertEquals(2, stats.getMessageCount());
+        assertEquals(5, stats.getRequestCount());
+        assertEquals(3, stats.getMaxBatchSize());
+    }
+
     @Test
     public void testSetForwarder() throws Exception {
         final FakeTicker ticker = new FakeTicker();
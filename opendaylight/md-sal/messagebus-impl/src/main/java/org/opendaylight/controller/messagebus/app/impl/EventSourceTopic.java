@@ -13,16 +13,20 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
-import org.opendaylight.controller.md.sal.binding.api.DataBroker;
-import org.opendaylight.controller.md.sal.binding.api.DataChangeListener;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
-import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.eventaggregator.rev141202.NotificationPattern;
@@ -36,35 +40,51 @@ import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.even
 import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeRef;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
-import org.opendaylight.yangtools.concepts.ListenerRegistration;
-import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcError;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.slf4j.LoggerFactory;
 
-public class EventSourceTopic implements DataChangeListener, AutoCloseable {
+/**
+ * A topic joined by all event sources whose node identifier matches a pattern. Matching nodes are joined
+ * asynchronously, with at most {@link #MAX_CONCURRENT_JOINS} join requests outstanding at any time, so that creating
+ * a topic over a large topology neither blocks the caller nor floods event sources with requests. Nodes are matched
+ * against topics by {@link EventSourceTopology}.
+ */
+public class EventSourceTopic implements AutoCloseable {
     private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(EventSourceTopic.class);
+
+    static final int MAX_CONCURRENT_JOINS = Integer.getInteger(
+        "org.opendaylight.controller.messagebus.maxConcurrentJoins", 64);
+
     private final NotificationPattern notificationPattern;
     private final EventSourceService sourceService;
     private final Pattern nodeIdPattern;
     private final TopicId topicId;
-    private ListenerRegistration<DataChangeListener> listenerRegistration;
     private final CopyOnWriteArraySet<InstanceIdentifier<?>> joinedEventSources = new CopyOnWriteArraySet<>();
 
+    private final Queue<InstanceIdentifier<?>> pendingJoins = new ConcurrentLinkedQueue<>();
+    private final Set<InstanceIdentifier<?>> pendingNodes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlightJoins = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final EventSourceTopologyStats stats;
+    private volatile boolean closed;
+
     public static EventSourceTopic create(final NotificationPattern notificationPattern, final String nodeIdRegexPattern, final EventSourceTopology eventSourceTopology){
-        final EventSourceTopic est = new EventSourceTopic(notificationPattern, nodeIdRegexPattern, eventSourceTopology.getEventSourceService());
-        est.registerListner(eventSourceTopology);
+        final EventSourceTopic est = new EventSourceTopic(notificationPattern, nodeIdRegexPattern,
+            eventSourceTopology.getEventSourceService(), eventSourceTopology.getStats());
+        eventSourceTopology.registerTopic(est);
         est.notifyExistingNodes(eventSourceTopology);
         return est;
     }
 
-    private EventSourceTopic(final NotificationPattern notificationPattern, final String nodeIdRegexPattern, final EventSourceService sourceService) {
+    private EventSourceTopic(final NotificationPattern notificationPattern, final String nodeIdRegexPattern,
+            final EventSourceService sourceService, final EventSourceTopologyStats stats) {
         this.notificationPattern = Preconditions.checkNotNull(notificationPattern);
         this.sourceService = Preconditions.checkNotNull(sourceService);
+        this.stats = Preconditions.checkNotNull(stats);
         this.nodeIdPattern = Pattern.compile(nodeIdRegexPattern);
         this.topicId = new TopicId(getUUIDIdent());
-        this.listenerRegistration = null;
         LOG.info("EventSourceTopic created - topicId {}", topicId.getValue());
     }
 
@@ -72,44 +92,91 @@ public class EventSourceTopic implements DataChangeListener, AutoCloseable {
         return topicId;
     }
 
-    @Override
-    public void onDataChanged(final AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> event) {
-
-        for (final Map.Entry<InstanceIdentifier<?>, DataObject> createdEntry : event.getCreatedData().entrySet()) {
-            if (createdEntry.getValue() instanceof Node) {
-                final Node node = (Node) createdEntry.getValue();
-                LOG.debug("Create node...");
-                if (getNodeIdRegexPattern().matcher(node.getNodeId().getValue()).matches()) {
-                    LOG.debug("Matched...");
-                    notifyNode(EventSourceTopology.EVENT_SOURCE_TOPOLOGY_PATH.child(Node.class, node.getKey()));
-                }
-            }
+    /**
+     * Requests the event source at specified path to join this topic. The request is queued if too many joins are
+     * already outstanding, and is coalesced with a request for the same node which is still queued.
+     *
+     * @param nodeId event source node path
+     */
+    public void notifyNode(final InstanceIdentifier<?> nodeId) {
+        LOG.debug("Notify node: {}", nodeId);
+        if (!closed && pendingNodes.add(nodeId)) {
+            pendingJoins.add(nodeId);
+            startPendingJoins();
         }
+    }
 
-        for (final Map.Entry<InstanceIdentifier<?>, DataObject> changeEntry : event.getUpdatedData().entrySet()) {
-            if (changeEntry.getValue() instanceof Node) {
-                final Node node = (Node) changeEntry.getValue();
-                if (getNodeIdRegexPattern().matcher(node.getNodeId().getValue()).matches()) {
-                    notifyNode(changeEntry.getKey());
-                }
+    private void startPendingJoins() {
+        // Joins may complete synchronously and call back into this method, make sure only one thread drains the
+        // queue at a time and that it does not recurse.
+        int missed = drainRequests.incrementAndGet();
+        if (missed != 1) {
+            return;
+        }
+
+        do {
+            drainPendingJoins();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainPendingJoins() {
+        while (inFlightJoins.get() < MAX_CONCURRENT_JOINS) {
+            final InstanceIdentifier<?> nodeId = pendingJoins.poll();
+            if (nodeId == null) {
+                return;
             }
+
+            pendingNodes.remove(nodeId);
+            inFlightJoins.incrementAndGet();
+            startJoin(nodeId);
         }
     }
 
-    public void notifyNode(final InstanceIdentifier<?> nodeId) {
-        LOG.debug("Notify node: {}", nodeId);
+    private void startJoin(final InstanceIdentifier<?> nodeId) {
+        final long startNanos = System.nanoTime();
+        final ListenableFuture<RpcResult<JoinTopicOutput>> future;
         try {
-            final RpcResult<JoinTopicOutput> rpcResultJoinTopic = sourceService.joinTopic(getJoinTopicInputArgument(nodeId)).get();
-            if(rpcResultJoinTopic.isSuccessful() == false){
-                for(final RpcError err : rpcResultJoinTopic.getErrors()){
-                    LOG.error("Can not join topic: [{}] on node: [{}]. Error: {}",getTopicId().getValue(),nodeId.toString(),err.toString());
+            future = JdkFutureAdapters.listenInPoolThread(sourceService.joinTopic(getJoinTopicInputArgument(nodeId)));
+        } catch (final Exception e) {
+            LOG.error("Could not invoke join topic for node {}", nodeId, e);
+            joinCompleted(startNanos, false);
+            return;
+        }
+
+        Futures.addCallback(future, new FutureCallback<RpcResult<JoinTopicOutput>>() {
+            @Override
+            public void onSuccess(final RpcResult<JoinTopicOutput> rpcResultJoinTopic) {
+                if (rpcResultJoinTopic.isSuccessful() == false) {
+                    for (final RpcError err : rpcResultJoinTopic.getErrors()) {
+                        LOG.error("Can not join topic: [{}] on node: [{}]. Error: {}", getTopicId().getValue(),
+                            nodeId.toString(), err.toString());
+                    }
+                    joinCompleted(startNanos, false);
+                    return;
                 }
-            } else {
+
                 joinedEventSources.add(nodeId);
+                if (closed && joinedEventSources.remove(nodeId)) {
+                    // the topic has been closed while the join was in flight
+                    disJoin(nodeId);
+                }
+                joinCompleted(startNanos, true);
             }
-        } catch (final Exception e) {
-            LOG.error("Could not invoke join topic for node {}", nodeId);
-        }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                LOG.error("Could not invoke join topic for node {}", nodeId, t);
+                joinCompleted(startNanos, false);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void joinCompleted(final long startNanos, final boolean success) {
+        stats.joinCompleted(System.nanoTime() - startNanos, success);
+
+        inFlightJoins.decrementAndGet();
+        startPendingJoins();
     }
 
     private void notifyExistingNodes(final EventSourceTopology eventSourceTopology){
@@ -147,6 +214,20 @@ public class EventSourceTopic implements DataChangeListener, AutoCloseable {
 
     }
 
+    /**
+     * @return number of nodes waiting for a join request to be sent
+     */
+    int getPendingJoins() {
+        return pendingNodes.size();
+    }
+
+    /**
+     * @return number of join requests sent, but not yet completed
+     */
+    int getInFlightJoins() {
+        return inFlightJoins.get();
+    }
+
     private JoinTopicInput getJoinTopicInputArgument(final InstanceIdentifier<?> path) {
         final NodeRef nodeRef = new NodeRef(path);
         final JoinTopicInput jti =
@@ -171,33 +252,29 @@ public class EventSourceTopic implements DataChangeListener, AutoCloseable {
         return dji;
     }
 
-    private void registerListner(final EventSourceTopology eventSourceTopology) {
-        this.listenerRegistration =
-                eventSourceTopology.getDataBroker().registerDataChangeListener(
-                        LogicalDatastoreType.OPERATIONAL,
-                        EventSourceTopology.EVENT_SOURCE_TOPOLOGY_PATH,
-                        this,
-                        DataBroker.DataChangeScope.SUBTREE);
+    private void disJoin(final InstanceIdentifier<?> eventSourceNodeId) {
+        try {
+            final RpcResult<Void> result = sourceService.disJoinTopic(getDisJoinTopicInputArgument(eventSourceNodeId)).get();
+            if(result.isSuccessful() == false){
+                for(final RpcError err : result.getErrors()){
+                    LOG.error("Can not destroy topic: [{}] on node: [{}]. Error: {}",getTopicId().getValue(),eventSourceNodeId,err.toString());
+                }
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            LOG.error("Can not close event source topic / destroy topic {} on node {}.", this.topicId.getValue(), eventSourceNodeId, ex);
+        }
     }
 
     @Override
     public void close() {
-        if(this.listenerRegistration != null){
-            this.listenerRegistration.close();
-        }
+        closed = true;
+        pendingJoins.clear();
+        pendingNodes.clear();
         for(final InstanceIdentifier<?> eventSourceNodeId : joinedEventSources){
-            try {
-                final RpcResult<Void> result = sourceService.disJoinTopic(getDisJoinTopicInputArgument(eventSourceNodeId)).get();
-                if(result.isSuccessful() == false){
-                    for(final RpcError err : result.getErrors()){
-                        LOG.error("Can not destroy topic: [{}] on node: [{}]. Error: {}",getTopicId().getValue(),eventSourceNodeId,err.toString());
-                    }
-                }
-            } catch (InterruptedException | ExecutionException ex) {
-                LOG.error("Can not close event source topic / destroy topic {} on node {}.", this.topicId.getValue(), eventSourceNodeId, ex);
+            if (joinedEventSources.remove(eventSourceNodeId)) {
+                disJoin(eventSourceNodeId);
             }
         }
-        joinedEventSources.clear();
     }
 
     private static String getUUIDIdent(){
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.messagebus.app.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Matches event source node identifiers against the node id patterns of all topics in a single pass. Topics sharing
+ * a pattern are grouped, so each distinct pattern is evaluated at most once per node, and patterns which do not use
+ * any regular expression constructs are matched by a hash lookup.
+ *
+ * <p>
+ * Topics are added and removed rarely compared to how often nodes are matched, hence the matching state is kept as
+ * an immutable snapshot which is rebuilt on each modification.
+ */
+final class EventSourceTopicMatcher {
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(ImmutableListMultimap.of(), ImmutableList.of());
+
+        final ImmutableListMultimap<String, EventSourceTopic> literals;
+        final List<Map.Entry<Pattern, List<EventSourceTopic>>> regexes;
+
+        Snapshot(final ImmutableListMultimap<String, EventSourceTopic> literals,
+                final List<Map.Entry<Pattern, List<EventSourceTopic>>> regexes) {
+            this.literals = literals;
+            this.regexes = regexes;
+        }
+    }
+
+    // Guarded by this
+    private final Map<EventSourceTopic, Pattern> topics = new LinkedHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    synchronized void add(final EventSourceTopic topic) {
+        topics.put(topic, topic.getNodeIdRegexPattern());
+        rebuild();
+    }
+
+    synchronized void remove(final EventSourceTopic topic) {
+        if (topics.remove(topic) != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the topics whose node id pattern matches a node identifier.
+     *
+     * @param nodeId node identifier
+     * @return matching topics
+     */
+    Collection<EventSourceTopic> match(final String nodeId) {
+        final Snapshot current = snapshot;
+        final List<EventSourceTopic> literalMatches = current.literals.get(nodeId);
+        if (current.regexes.isEmpty()) {
+            return literalMatches;
+        }
+
+        List<EventSourceTopic> result = null;
+        for (Map.Entry<Pattern, List<EventSourceTopic>> entry : current.regexes) {
+            if (entry.getKey().matcher(nodeId).matches()) {
+                if (result == null) {
+                    result = new ArrayList<>(literalMatches);
+                }
+                result.addAll(entry.getValue());
+            }
+        }
+        return result != null ? result : literalMatches;
+    }
+
+    private void rebuild() {
+        final ImmutableListMultimap.Builder<String, EventSourceTopic> literals = ImmutableListMultimap.builder();
+        final ListMultimap<String, EventSourceTopic> regexTopics = Multimaps.newListMultimap(new LinkedHashMap<>(),
+            ArrayList::new);
+        final Map<String, Pattern> regexPatterns = new LinkedHashMap<>();
+
+        for (Map.Entry<EventSourceTopic, Pattern> entry : topics.entrySet()) {
+            final String pattern = entry.getValue().pattern();
+            if (isLiteral(pattern)) {
+                literals.put(pattern, entry.getKey());
+            } else {
+                regexTopics.put(pattern, entry.getKey());
+                regexPatterns.putIfAbsent(pattern, entry.getValue());
+            }
+        }
+
+        final List<Map.Entry<Pattern, List<EventSourceTopic>>> regexes = new ArrayList<>(regexPatterns.size());
+        for (Map.Entry<String, Pattern> entry : regexPatterns.entrySet()) {
+            regexes.add(Maps.immutableEntry(entry.getValue(),
+                ImmutableList.copyOf(regexTopics.get(entry.getKey()))));
+        }
+
+        snapshot = new Snapshot(literals.build(), Collections.unmodifiableList(regexes));
+    }
+
+    private static boolean isLiteral(final String pattern) {
+        for (int i = 0; i < pattern.length(); ++i) {
+            if (REGEX_METACHARACTERS.indexOf(pattern.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
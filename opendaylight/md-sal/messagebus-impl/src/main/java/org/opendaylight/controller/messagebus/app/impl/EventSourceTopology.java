@@ -14,7 +14,9 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataChangeListener;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.messagebus.app.util.Util;
 import org.opendaylight.controller.messagebus.spi.EventSource;
@@ -46,6 +48,7 @@ import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.TopologyTypes;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
@@ -53,8 +56,11 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-
-public class EventSourceTopology implements EventAggregatorService, EventSourceRegistry {
+/**
+ * Event source topology and the topics created on top of it. Node changes in the topology are observed by a single
+ * listener, which matches each node against all topics at once, see {@link EventSourceTopicMatcher}.
+ */
+public class EventSourceTopology implements EventAggregatorService, EventSourceRegistry, DataChangeListener {
     private static final Logger LOG = LoggerFactory.getLogger(EventSourceTopology.class);
 
     private static final String TOPOLOGY_ID = "EVENT-SOURCE-TOPOLOGY" ;
@@ -78,6 +84,9 @@ public class EventSourceTopology implements EventAggregatorService, EventSourceR
     private final RpcRegistration<EventAggregatorService> aggregatorRpcReg;
     private final EventSourceService eventSourceService;
     private final RpcProviderRegistry rpcRegistry;
+    private final EventSourceTopicMatcher topicMatcher = new EventSourceTopicMatcher();
+    private final ListenerRegistration<DataChangeListener> listenerRegistration;
+    private final EventSourceTopologyStats stats;
 
     public EventSourceTopology(final DataBroker dataBroker, final RpcProviderRegistry rpcRegistry) {
 
@@ -89,6 +98,12 @@ public class EventSourceTopology implements EventAggregatorService, EventSourceR
         final TopologyEventSource topologySource = new TopologyEventSourceBuilder().build();
         final TopologyTypes1 topologyTypeAugment = new TopologyTypes1Builder().setTopologyEventSource(topologySource).build();
         putData(OPERATIONAL, TOPOLOGY_TYPE_PATH, topologyTypeAugment);
+
+        listenerRegistration = dataBroker.registerDataChangeListener(OPERATIONAL, EVENT_SOURCE_TOPOLOGY_PATH, this,
+            DataBroker.DataChangeScope.SUBTREE);
+
+        stats = new EventSourceTopologyStats(eventSourceTopicMap.values());
+        stats.registerMBean();
         LOG.info("EventSourceRegistry has been initialized");
     }
 
@@ -143,6 +158,37 @@ public class EventSourceTopology implements EventAggregatorService, EventSourceR
         deleteData(OPERATIONAL, augmentPath);
     }
 
+    @Override
+    public void onDataChanged(final AsyncDataChangeEvent<InstanceIdentifier<?>, DataObject> event) {
+        for (final Map.Entry<InstanceIdentifier<?>, DataObject> createdEntry : event.getCreatedData().entrySet()) {
+            if (createdEntry.getValue() instanceof Node) {
+                final Node node = (Node) createdEntry.getValue();
+                LOG.debug("Create node...");
+                for (final EventSourceTopic topic : topicMatcher.match(node.getNodeId().getValue())) {
+                    topic.notifyNode(EVENT_SOURCE_TOPOLOGY_PATH.child(Node.class, node.getKey()));
+                }
+            }
+        }
+
+        for (final Map.Entry<InstanceIdentifier<?>, DataObject> changeEntry : event.getUpdatedData().entrySet()) {
+            if (changeEntry.getValue() instanceof Node) {
+                final Node node = (Node) changeEntry.getValue();
+                for (final EventSourceTopic topic : topicMatcher.match(node.getNodeId().getValue())) {
+                    topic.notifyNode(changeEntry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes a topic eligible for notifications about nodes created or updated from now on.
+     *
+     * @param topic the topic
+     */
+    void registerTopic(final EventSourceTopic topic) {
+        topicMatcher.add(topic);
+    }
+
     @Override
     public Future<RpcResult<CreateTopicOutput>> createTopic(final CreateTopicInput input) {
         LOG.debug("Received Topic creation request: NotificationPattern -> {}, NodeIdPattern -> {}",
@@ -171,6 +217,7 @@ public class EventSourceTopology implements EventAggregatorService, EventSourceR
     public Future<RpcResult<Void>> destroyTopic(final DestroyTopicInput input) {
         final EventSourceTopic topicToDestroy = eventSourceTopicMap.remove(input.getTopicId());
         if(topicToDestroy != null){
+            topicMatcher.remove(topicToDestroy);
             topicToDestroy.close();
         }
         return Util.resultRpcSuccessFor((Void) null);
@@ -178,6 +225,10 @@ public class EventSourceTopology implements EventAggregatorService, EventSourceR
 
     @Override
     public void close() {
+        if (listenerRegistration != null) {
+            listenerRegistration.close();
+        }
+        stats.unregisterMBean();
         aggregatorRpcReg.close();
         for(final EventSourceTopic est : eventSourceTopicMap.values()){
             est.close();
@@ -219,5 +270,9 @@ public class EventSourceTopology implements EventAggregatorService, EventSourceR
     EventSourceService getEventSourceService() {
         return eventSourceService;
     }
+
+    EventSourceTopologyStats getStats() {
+        return stats;
+    }
 }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.messagebus.app.impl;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+
+/**
+ * Implementation of the EventSourceTopologyStatsMXBean interface. Pending and in-flight joins are summed over the
+ * existing topics, while completed joins are counted here, so that they survive the topics which issued them.
+ */
+final class EventSourceTopologyStats extends AbstractMXBean implements EventSourceTopologyStatsMXBean {
+    private final Collection<EventSourceTopic> topics;
+    private final AtomicLong succeededJoins = new AtomicLong();
+    private final AtomicLong failedJoins = new AtomicLong();
+    private final AtomicLong totalJoinNanos = new AtomicLong();
+    private final AtomicLong maxJoinNanos = new AtomicLong();
+
+    EventSourceTopologyStats(final Collection<EventSourceTopic> topics) {
+        super("EventSourceTopology", "MessageBus", null);
+        this.topics = topics;
+    }
+
+    /**
+     * Records a completed join request.
+     *
+     * @param elapsedNanos time taken by the request, in nanoseconds
+     * @param success true if the event source joined the topic
+     */
+    void joinCompleted(final long elapsedNanos, final boolean success) {
+        (success ? succeededJoins : failedJoins).incrementAndGet();
+        totalJoinNanos.addAndGet(elapsedNanos);
+        maxJoinNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    @Override
+    public int getTopicCount() {
+        return topics.size();
+    }
+
+    @Override
+    public int getPendingJoins() {
+        int ret = 0;
+        for (final EventSourceTopic topic : topics) {
+            ret += topic.getPendingJoins();
+        }
+        return ret;
+    }
+
+    @Override
+    public int getInFlightJoins() {
+        int ret = 0;
+        for (final EventSourceTopic topic : topics) {
+            ret += topic.getInFlightJoins();
+        }
+        return ret;
+    }
+
+    @Override
+    public long getSucceededJoins() {
+        return succeededJoins.get();
+    }
+
+    @Override
+    public long getFailedJoins() {
+        return failedJoins.get();
+    }
+
+    @Override
+    public long getAverageJoinMicros() {
+        final long joins = succeededJoins.get() + failedJoins.get();
+        return joins == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalJoinNanos.get() / joins);
+    }
+
+    @Override
+    public long getLongestJoinMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxJoinNanos.get());
+    }
+}
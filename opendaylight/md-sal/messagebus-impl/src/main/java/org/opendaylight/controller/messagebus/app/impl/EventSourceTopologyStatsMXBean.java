@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.messagebus.app.impl;
+
+/**
+ * MXBean interface for retrieving progress and latency of event source topic joins.
+ */
+public interface EventSourceTopologyStatsMXBean {
+
+    /**
+     * Returns the number of topics currently created.
+     */
+    int getTopicCount();
+
+    /**
+     * Returns the number of nodes waiting for a join request to be sent.
+     */
+    int getPendingJoins();
+
+    /**
+     * Returns the number of join requests sent, but not yet completed.
+     */
+    int getInFlightJoins();
+
+    /**
+     * Returns the number of join requests which completed successfully.
+     */
+    long getSucceededJoins();
+
+    /**
+     * Returns the number of join requests which failed.
+     */
+    long getFailedJoins();
+
+    /**
+     * Returns the average time taken by a completed join request, in microseconds.
+     */
+    long getAverageJoinMicros();
+
+    /**
+     * Returns the longest time taken by a completed join request, in microseconds.
+     */
+    long getLongestJoinMicros();
+}
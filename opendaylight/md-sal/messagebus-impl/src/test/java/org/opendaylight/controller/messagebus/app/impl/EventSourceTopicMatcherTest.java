@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.messagebus.app.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.regex.Pattern;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventSourceTopicMatcherTest {
+
+    EventSourceTopicMatcher matcher;
+    EventSourceTopic literalTopicMock;
+    EventSourceTopic regexTopicMock;
+    EventSourceTopic sharedRegexTopicMock;
+
+    @Before
+    public void setUp() {
+        matcher = new EventSourceTopicMatcher();
+        literalTopicMock = topicMock("node-1");
+        regexTopicMock = topicMock("node-.*");
+        sharedRegexTopicMock = topicMock("node-.*");
+        matcher.add(literalTopicMock);
+        matcher.add(regexTopicMock);
+        matcher.add(sharedRegexTopicMock);
+    }
+
+    private static EventSourceTopic topicMock(final String pattern) {
+        final EventSourceTopic topicMock = mock(EventSourceTopic.class);
+        doReturn(Pattern.compile(pattern)).when(topicMock).getNodeIdRegexPattern();
+        return topicMock;
+    }
+
+    @Test
+    public void matchTest() {
+        assertEquals(ImmutableSet.of(literalTopicMock, regexTopicMock, sharedRegexTopicMock),
+            ImmutableSet.copyOf(matcher.match("node-1")));
+        assertEquals(ImmutableSet.of(regexTopicMock, sharedRegexTopicMock),
+            ImmutableSet.copyOf(matcher.match("node-2")));
+        assertTrue(matcher.match("other").isEmpty());
+    }
+
+    @Test
+    public void removeTest() {
+        matcher.remove(regexTopicMock);
+        assertEquals(ImmutableSet.of(literalTopicMock, sharedRegexTopicMock),
+            ImmutableSet.copyOf(matcher.match("node-1")));
+
+        matcher.remove(literalTopicMock);
+        matcher.remove(sharedRegexTopicMock);
+        assertTrue(matcher.match("node-1").isEmpty());
+    }
+}
@@ -7,45 +7,53 @@
  */
 package org.opendaylight.controller.messagebus.app.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
-import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.eventaggregator.rev141202.NotificationPattern;
+import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.eventsource.rev141202.DisJoinTopicInput;
 import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.eventsource.rev141202.EventSourceService;
 import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.eventsource.rev141202.JoinTopicInput;
+import org.opendaylight.yang.gen.v1.urn.cisco.params.xml.ns.yang.messagebus.eventsource.rev141202.JoinTopicOutput;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NodeId;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 
 public class EventSourceTopicTest {
 
     EventSourceTopic eventSourceTopic;
-    Node dataObjectNodeMock;
-    NodeId nodeIdMock;
     DataBroker dataBrokerMock;
     EventSourceService eventSourceServiceMock;
     EventSourceTopology eventSourceTopologyMock;
+    EventSourceTopologyStats stats;
+    List<SettableFuture<RpcResult<JoinTopicOutput>>> joinFutures;
 
     @BeforeClass
     public static void initTestClass() throws IllegalAccessException, InstantiationException {
@@ -59,6 +67,8 @@ public class EventSourceTopicTest {
         dataBrokerMock = mock(DataBroker.class);
         doReturn(eventSourceServiceMock).when(eventSourceTopologyMock).getEventSourceService();
         doReturn(dataBrokerMock).when(eventSourceTopologyMock).getDataBroker();
+        stats = new EventSourceTopologyStats(Collections.<EventSourceTopic>emptyList());
+        doReturn(stats).when(eventSourceTopologyMock).getStats();
 
         WriteTransaction writeTransactionMock = mock(WriteTransaction.class);
         doReturn(writeTransactionMock).when(dataBrokerMock).newWriteOnlyTransaction();
@@ -84,32 +94,93 @@ public class EventSourceTopicTest {
     }
 
     @Test
-    public void onDataChangedTest() {
-        AsyncDataChangeEvent asyncDataChangeEventMock = mock(AsyncDataChangeEvent.class);
-        onDataChangedTestHelper(asyncDataChangeEventMock);
-        eventSourceTopic.onDataChanged(asyncDataChangeEventMock);
-        verify(dataObjectNodeMock, times(2)).getNodeId();
-        verify(nodeIdMock, times(2)).getValue();
+    public void notifyNodeTest() {
+        InstanceIdentifier instanceIdentifierMock = mock(InstanceIdentifier.class);
+        eventSourceTopic.notifyNode(instanceIdentifierMock);
+        verify(eventSourceServiceMock, times(1)).joinTopic(any(JoinTopicInput.class));
+        assertEquals(1, stats.getFailedJoins());
+        assertEquals(0, eventSourceTopic.getInFlightJoins());
     }
 
-    private void onDataChangedTestHelper(AsyncDataChangeEvent asyncDataChangeEventMock){
-        Map<InstanceIdentifier<?>, DataObject> map = new HashMap<>();
-        InstanceIdentifier instanceIdentifierMock = mock(InstanceIdentifier.class);
-        dataObjectNodeMock = mock(Node.class);
-        doReturn(getNodeKey("testNodeId01")).when(dataObjectNodeMock).getKey();
-        map.put(instanceIdentifierMock, dataObjectNodeMock);
-        doReturn(map).when(asyncDataChangeEventMock).getUpdatedData();
-        doReturn(map).when(asyncDataChangeEventMock).getCreatedData();
-        nodeIdMock = mock(NodeId.class);
-        doReturn(nodeIdMock).when(dataObjectNodeMock).getNodeId();
-        doReturn("nodeIdPattern1").when(nodeIdMock).getValue();
+    @Test
+    public void maxConcurrentJoinsTest() {
+        setUpPendingJoins();
+        for (int i = 0; i < EventSourceTopic.MAX_CONCURRENT_JOINS + 2; i++) {
+            eventSourceTopic.notifyNode(getNodePath("node" + i));
+        }
+
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS, joinFutures.size());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS, eventSourceTopic.getInFlightJoins());
+        assertEquals(2, eventSourceTopic.getPendingJoins());
+
+        // Each completed join makes room for a queued one
+        joinFutures.get(0).set(RpcResultBuilder.<JoinTopicOutput>success().build());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS + 1, joinFutures.size());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS, eventSourceTopic.getInFlightJoins());
+        assertEquals(1, eventSourceTopic.getPendingJoins());
+
+        joinFutures.get(1).set(RpcResultBuilder.<JoinTopicOutput>failed().build());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS + 2, joinFutures.size());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS, eventSourceTopic.getInFlightJoins());
+        assertEquals(0, eventSourceTopic.getPendingJoins());
+        assertEquals(1, stats.getSucceededJoins());
+        assertEquals(1, stats.getFailedJoins());
     }
 
     @Test
-    public void notifyNodeTest() {
-        InstanceIdentifier instanceIdentifierMock = mock(InstanceIdentifier.class);
-        eventSourceTopic.notifyNode(instanceIdentifierMock);
-        verify(eventSourceServiceMock, times(1)).joinTopic(any(JoinTopicInput.class));
+    public void duplicateQueuedJoinTest() {
+        setUpPendingJoins();
+        for (int i = 0; i < EventSourceTopic.MAX_CONCURRENT_JOINS; i++) {
+            eventSourceTopic.notifyNode(getNodePath("node" + i));
+        }
+
+        // A node which is still queued is joined only once
+        final InstanceIdentifier<Node> queuedNode = getNodePath("queued");
+        eventSourceTopic.notifyNode(queuedNode);
+        eventSourceTopic.notifyNode(queuedNode);
+        assertEquals(1, eventSourceTopic.getPendingJoins());
+
+        joinFutures.get(0).set(RpcResultBuilder.<JoinTopicOutput>success().build());
+        joinFutures.get(1).set(RpcResultBuilder.<JoinTopicOutput>success().build());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS + 1, joinFutures.size());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS - 1, eventSourceTopic.getInFlightJoins());
+        assertEquals(0, eventSourceTopic.getPendingJoins());
+    }
+
+    @Test
+    public void joinCompletedAfterCloseTest() {
+        setUpPendingJoins();
+        doReturn(Futures.immediateFuture(RpcResultBuilder.<Void>success().build())).when(eventSourceServiceMock)
+            .disJoinTopic(any(DisJoinTopicInput.class));
+        for (int i = 0; i < EventSourceTopic.MAX_CONCURRENT_JOINS + 1; i++) {
+            eventSourceTopic.notifyNode(getNodePath("node" + i));
+        }
+
+        eventSourceTopic.close();
+        verify(eventSourceServiceMock, never()).disJoinTopic(any(DisJoinTopicInput.class));
+        assertEquals(0, eventSourceTopic.getPendingJoins());
+
+        // The node is disjoined as soon as its join completes and the queued node is not joined at all
+        joinFutures.get(0).set(RpcResultBuilder.<JoinTopicOutput>success().build());
+        verify(eventSourceServiceMock, times(1)).disJoinTopic(any(DisJoinTopicInput.class));
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS, joinFutures.size());
+        assertEquals(EventSourceTopic.MAX_CONCURRENT_JOINS - 1, eventSourceTopic.getInFlightJoins());
+
+        // Completed joins are still accounted for once the topic is closed
+        assertEquals(1, stats.getSucceededJoins());
+    }
+
+    private void setUpPendingJoins() {
+        joinFutures = new ArrayList<>();
+        doAnswer(invocation -> {
+            final SettableFuture<RpcResult<JoinTopicOutput>> future = SettableFuture.create();
+            joinFutures.add(future);
+            return future;
+        }).when(eventSourceServiceMock).joinTopic(any(JoinTopicInput.class));
+    }
+
+    private InstanceIdentifier<Node> getNodePath(final String nodeId) {
+        return EventSourceTopology.EVENT_SOURCE_TOPOLOGY_PATH.child(Node.class, getNodeKey(nodeId));
     }
 
     public NodeKey getNodeKey(String nodeId){
@@ -13,19 +13,23 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataChangeListener;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeEvent;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.messagebus.spi.EventSource;
 import org.opendaylight.controller.sal.binding.api.BindingAwareBroker;
@@ -118,7 +122,7 @@ public class EventSourceTopologyTest {
         listenerRegistrationMock = mock(ListenerRegistration.class);
         doReturn(listenerRegistrationMock).when(dataBrokerMock).registerDataChangeListener(eq(LogicalDatastoreType.OPERATIONAL),
                 any(InstanceIdentifier.class),
-                any(EventSourceTopic.class),
+                any(DataChangeListener.class),
                 eq(DataBroker.DataChangeScope.SUBTREE));
 
         ReadOnlyTransaction readOnlyTransactionMock = mock(ReadOnlyTransaction.class);
@@ -142,6 +146,31 @@ public class EventSourceTopologyTest {
         doReturn(nodeId).when(nodeMock).getNodeId();
     }
 
+    @Test
+    public void onDataChangedTest() throws Exception {
+        topicTestHelper();
+        EventSourceTopic matchingTopicMock = mock(EventSourceTopic.class);
+        doReturn(java.util.regex.Pattern.compile("nodeIdValue.*")).when(matchingTopicMock).getNodeIdRegexPattern();
+        EventSourceTopic otherTopicMock = mock(EventSourceTopic.class);
+        doReturn(java.util.regex.Pattern.compile("otherNodeId")).when(otherTopicMock).getNodeIdRegexPattern();
+        eventSourceTopology.registerTopic(matchingTopicMock);
+        eventSourceTopology.registerTopic(otherTopicMock);
+
+        Map<InstanceIdentifier<?>, DataObject> map = new HashMap<>();
+        InstanceIdentifier instanceIdentifierMock = mock(InstanceIdentifier.class);
+        Node dataObjectNodeMock = mock(Node.class);
+        doReturn(new NodeKey(new NodeId("nodeIdValue1"))).when(dataObjectNodeMock).getKey();
+        doReturn(new NodeId("nodeIdValue1")).when(dataObjectNodeMock).getNodeId();
+        map.put(instanceIdentifierMock, dataObjectNodeMock);
+        AsyncDataChangeEvent asyncDataChangeEventMock = mock(AsyncDataChangeEvent.class);
+        doReturn(map).when(asyncDataChangeEventMock).getUpdatedData();
+        doReturn(map).when(asyncDataChangeEventMock).getCreatedData();
+
+        eventSourceTopology.onDataChanged(asyncDataChangeEventMock);
+        verify(matchingTopicMock, times(2)).notifyNode(any(InstanceIdentifier.class));
+        verify(otherTopicMock, never()).notifyNode(any(InstanceIdentifier.class));
+    }
+
     @Test
     public void closeTest() throws Exception{
         constructorTestHelper();
@@ -131,6 +131,11 @@ public class ExampleActor extends RaftActor implements RaftActorRecoveryCohort,
         }
     }
 
+    @Override
+    protected void onApplyStateBatchComplete() {
+        // State is applied as soon as it is received, there is nothing to complete
+    }
+
     @Override
     public void createSnapshot(ActorRef actorRef, java.util.Optional<OutputStream> installSnapshotStream) {
         try {
@@ -139,4 +139,30 @@ public interface ConfigParams {
      * @return the threshold in terms of number of journal entries.
      */
     long getSyncIndexThreshold();
+
+    /**
+     * Returns the maximum number of AppendEntries messages with log entries that the leader may have outstanding to a
+     * single follower before waiting for a reply. A value of 1 disables pipelining, ie the leader sends the next batch
+     * of entries only after the previous one has been acknowledged or the heart beat interval has elapsed.
+     *
+     * @return the maximum number of in-flight AppendEntries per follower.
+     */
+    int getMaxInflightAppendEntries();
+
+    /**
+     * Returns the maximum number of log entries that are coalesced into a single journal write. A value of 1 disables
+     * batching, ie each entry is written to the journal as soon as it is persisted.
+     *
+     * @return the maximum number of entries per journal write.
+     */
+    int getJournalWriteBatchMaxSize();
+
+    /**
+     * Returns the maximum time, in microseconds, that log entries are held back waiting for further entries to be
+     * coalesced into the same journal write. A value of 0 writes a batch as soon as the actor has finished processing
+     * the current message.
+     *
+     * @return the journal write batch window in microseconds.
+     */
+    long getJournalWriteBatchWindowInMicros();
 }
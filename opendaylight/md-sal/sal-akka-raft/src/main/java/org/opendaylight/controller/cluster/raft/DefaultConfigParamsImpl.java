@@ -74,6 +74,12 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private long syncIndexThreshold = 10;
 
+    private int maxInflightAppendEntries = 1;
+
+    private int journalWriteBatchMaxSize = 1;
+
+    private long journalWriteBatchWindowInMicros = 0;
+
     public void setHeartBeatInterval(final FiniteDuration heartBeatInterval) {
         this.heartBeatInterval = heartBeatInterval;
         electionTimeOutInterval = null;
@@ -206,6 +212,36 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.syncIndexThreshold = syncIndexThreshold;
     }
 
+    @Override
+    public int getMaxInflightAppendEntries() {
+        return maxInflightAppendEntries;
+    }
+
+    public void setMaxInflightAppendEntries(final int maxInflightAppendEntries) {
+        Preconditions.checkArgument(maxInflightAppendEntries > 0);
+        this.maxInflightAppendEntries = maxInflightAppendEntries;
+    }
+
+    @Override
+    public int getJournalWriteBatchMaxSize() {
+        return journalWriteBatchMaxSize;
+    }
+
+    public void setJournalWriteBatchMaxSize(final int journalWriteBatchMaxSize) {
+        Preconditions.checkArgument(journalWriteBatchMaxSize > 0);
+        this.journalWriteBatchMaxSize = journalWriteBatchMaxSize;
+    }
+
+    @Override
+    public long getJournalWriteBatchWindowInMicros() {
+        return journalWriteBatchWindowInMicros;
+    }
+
+    public void setJournalWriteBatchWindowInMicros(final long journalWriteBatchWindowInMicros) {
+        Preconditions.checkArgument(journalWriteBatchWindowInMicros >= 0);
+        this.journalWriteBatchWindowInMicros = journalWriteBatchWindowInMicros;
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private RaftPolicy getPolicy() {
         if (Strings.isNullOrEmpty(DefaultConfigParamsImpl.this.customRaftPolicyImplementationClass)) {
@@ -176,4 +176,35 @@ public interface FollowerLogInformation {
      * @return true if slicing is currently in progress, false otherwise
      */
     boolean isLogEntrySlicingInProgress();
+
+    /**
+     * Returns the index of the highest log entry sent to the follower. When AppendEntries pipelining is enabled this
+     * may run ahead of the match index by up to {@link ConfigParams#getMaxInflightAppendEntries()} batches, otherwise
+     * it is always one less than the next index.
+     *
+     * @return the index of the highest log entry sent.
+     */
+    long getSentIndex();
+
+    /**
+     * Records that an AppendEntries with log entries up to and including the given index was sent to the follower.
+     * This is a no-op unless AppendEntries pipelining is enabled.
+     *
+     * @param lastIndex the index of the last log entry sent.
+     */
+    void markEntriesSent(long lastIndex);
+
+    /**
+     * Returns the number of AppendEntries messages with log entries sent to the follower that have not been
+     * acknowledged yet.
+     *
+     * @return the number of in-flight AppendEntries.
+     */
+    int getInflightAppendEntriesCount();
+
+    /**
+     * Discards all in-flight AppendEntries such that the next replication starts again from the next index. This
+     * should be called when the follower rejects an AppendEntries.
+     */
+    void clearInflightAppendEntries();
 }
@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.raft;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -48,6 +50,16 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
     private long slicedLogEntryIndex = NO_INDEX;
 
+    /**
+     * The last log index of each AppendEntries sent to the follower which has not been acknowledged yet, in the order
+     * they were sent. Only used when AppendEntries pipelining is enabled.
+     */
+    private final Deque<Long> inflightAppendEntries = new ArrayDeque<>();
+
+    private final Stopwatch inflightStopwatch = Stopwatch.createUnstarted();
+
+    private long sentIndex = NO_INDEX;
+
     /**
      * Constructs an instance.
      *
@@ -71,6 +83,7 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
     public boolean decrNextIndex() {
         if (nextIndex >= 0) {
             nextIndex--;
+            clearInflightAppendEntries();
             return true;
         }
 
@@ -80,6 +93,11 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
     @Override
     public boolean setNextIndex(long nextIndex) {
         if (this.nextIndex != nextIndex) {
+            if (nextIndex < this.nextIndex) {
+                // The follower is behind what we thought - anything in-flight past the new index is stale.
+                clearInflightAppendEntries();
+            }
+
             this.nextIndex = nextIndex;
             return true;
         }
@@ -102,6 +120,7 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
         if (this.matchIndex != matchIndex) {
             this.matchIndex = matchIndex;
+            acknowledgeInflightAppendEntries(matchIndex);
             return true;
         }
 
@@ -160,6 +179,10 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
             return false;
         }
 
+        if (isPipeliningEnabled()) {
+            return okToPipeline();
+        }
+
         // Return false if we are trying to send duplicate data before the heartbeat interval
         if (getNextIndex() == lastReplicatedIndex && lastReplicatedStopwatch.elapsed(TimeUnit.MILLISECONDS)
                 < context.getConfigParams().getHeartBeatInterval().toMillis()) {
@@ -170,6 +193,23 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
         return true;
     }
 
+    private boolean okToPipeline() {
+        if (!inflightAppendEntries.isEmpty() && (inflightAppendEntries.size() >= maxInflightAppendEntries()
+                || getSentIndex() >= context.getReplicatedLog().lastIndex())) {
+            // Either the window is full or everything has already been sent - wait for a reply unless none has been
+            // received within the heartbeat interval, in which case we assume the in-flight messages were lost and
+            // start over from the next index.
+            if (inflightStopwatch.elapsed(TimeUnit.MILLISECONDS)
+                    < context.getConfigParams().getHeartBeatInterval().toMillis()) {
+                return false;
+            }
+
+            clearInflightAppendEntries();
+        }
+
+        return true;
+    }
+
     private void resetLastReplicated() {
         lastReplicatedIndex = getNextIndex();
         if (lastReplicatedStopwatch.isRunning()) {
@@ -228,10 +268,72 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
         return slicedLogEntryIndex != NO_INDEX;
     }
 
+    @Override
+    public long getSentIndex() {
+        if (isPipeliningEnabled()) {
+            return Math.max(sentIndex, nextIndex - 1);
+        }
+
+        return nextIndex - 1;
+    }
+
+    @Override
+    public void markEntriesSent(long lastIndex) {
+        if (!isPipeliningEnabled() || lastIndex <= getSentIndex()) {
+            return;
+        }
+
+        if (inflightAppendEntries.isEmpty()) {
+            restartInflightStopwatch();
+        }
+
+        inflightAppendEntries.addLast(lastIndex);
+        sentIndex = lastIndex;
+    }
+
+    @Override
+    public int getInflightAppendEntriesCount() {
+        return inflightAppendEntries.size();
+    }
+
+    @Override
+    public void clearInflightAppendEntries() {
+        inflightAppendEntries.clear();
+        sentIndex = NO_INDEX;
+    }
+
+    private void acknowledgeInflightAppendEntries(long ackIndex) {
+        boolean acked = false;
+        while (!inflightAppendEntries.isEmpty() && inflightAppendEntries.peekFirst() <= ackIndex) {
+            inflightAppendEntries.removeFirst();
+            acked = true;
+        }
+
+        if (acked) {
+            restartInflightStopwatch();
+        }
+    }
+
+    private void restartInflightStopwatch() {
+        if (inflightStopwatch.isRunning()) {
+            inflightStopwatch.reset();
+        }
+        inflightStopwatch.start();
+    }
+
+    private boolean isPipeliningEnabled() {
+        return maxInflightAppendEntries() > 1;
+    }
+
+    private int maxInflightAppendEntries() {
+        return context.getConfigParams().getMaxInflightAppendEntries();
+    }
+
     @Override
     public String toString() {
         return "FollowerLogInformationImpl [id=" + getId() + ", nextIndex=" + nextIndex + ", matchIndex=" + matchIndex
-                + ", lastReplicatedIndex=" + lastReplicatedIndex + ", votingState=" + peerInfo.getVotingState()
+                + ", lastReplicatedIndex=" + lastReplicatedIndex + ", sentIndex=" + getSentIndex()
+                + ", inflightAppendEntries=" + inflightAppendEntries.size() + ", votingState=" + peerInfo.getVotingState()
                 + ", stopwatch=" + stopwatch.elapsed(TimeUnit.MILLISECONDS) + ", followerTimeoutMillis="
                 + context.getConfigParams().getElectionTimeOutInterval().toMillis() + "]";
     }
@@ -27,10 +27,10 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.opendaylight.controller.cluster.BatchingPersistentDataProvider;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.DelegatingPersistentDataProvider;
 import org.opendaylight.controller.cluster.NonPersistentDataProvider;
-import org.opendaylight.controller.cluster.PersistentDataProvider;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedPersistentActor;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.controller.cluster.notifications.RoleChanged;
@@ -111,7 +111,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
     private final DelegatingPersistentDataProvider delegatingPersistenceProvider;
 
-    private final PersistentDataProvider persistentProvider;
+    private final BatchingPersistentDataProvider persistentProvider;
 
     private final BehaviorStateTracker behaviorStateTracker = new BehaviorStateTracker();
 
@@ -126,7 +126,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     protected RaftActor(String id, Map<String, String> peerAddresses,
          Optional<ConfigParams> configParams, short payloadVersion) {
 
-        persistentProvider = new PersistentDataProvider(this);
+        persistentProvider = new BatchingPersistentDataProvider(this);
         delegatingPersistenceProvider = new RaftActorDelegatingPersistentDataProvider(null, persistentProvider);
 
         context = new RaftActorContextImpl(this.getSelf(),
@@ -135,8 +135,10 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             configParams.isPresent() ? configParams.get() : new DefaultConfigParamsImpl(),
             delegatingPersistenceProvider, this::handleApplyState, LOG);
 
+        context.setApplyStateBatchCallback(this::onApplyStateBatchComplete);
         context.setPayloadVersion(payloadVersion);
         context.setReplicatedLog(ReplicatedLogImpl.newInstance(context));
+        updateJournalWriteBatching();
     }
 
     @Override
@@ -153,6 +155,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     @Override
     public void postStop() {
         context.close();
+        persistentProvider.close();
         super.postStop();
     }
 
@@ -219,6 +222,17 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     @Override
     // FIXME: make this method final once our unit tests do not need to override it
     protected void handleCommand(final Object message) {
+        try {
+            if (!persistentProvider.handleMessage(message)) {
+                handleRaftCommand(message);
+            }
+        } finally {
+            // Write out the journal entries persisted while processing this message
+            persistentProvider.onMessageProcessed();
+        }
+    }
+
+    private void handleRaftCommand(final Object message) {
         if (serverConfigurationSupport.handleMessage(message, getSender())) {
             return;
         }
@@ -485,7 +499,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
                 final FollowerLogInformation info = leader.getFollower(id);
                 followerInfoList.add(new FollowerInfo(id, info.getNextIndex(), info.getMatchIndex(),
                         info.isFollowerActive(), DurationFormatUtils.formatDurationHMS(info.timeSinceLastActivity()),
-                        context.getPeerInfo(info.getId()).isVoting()));
+                        context.getPeerInfo(info.getId()).isVoting(), info.getSentIndex(),
+                        info.getInflightAppendEntriesCount()));
             }
 
             builder.followerInfoList(followerInfoList);
@@ -606,6 +621,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
                 // Apply the state immediately.
                 handleApplyState(new ApplyState(clientActor, identifier, persistedLogEntry));
+                onApplyStateBatchComplete();
 
                 // Send a ApplyJournalEntries message so that we write the fact that we applied
                 // the state to durable storage
@@ -713,6 +729,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         LOG.debug("{}: RaftPolicy used with prev.config {}, RaftPolicy used with newConfig {}", persistenceId(),
             oldRaftPolicy, newRaftPolicy);
         context.setConfigParams(configParams);
+        updateJournalWriteBatching();
         if (!Objects.equals(oldRaftPolicy, newRaftPolicy)) {
             // The RaftPolicy was modified. If the current behavior is Follower then re-initialize to Follower
             // but transfer the previous leaderId so it doesn't immediately try to schedule an election. This
@@ -732,6 +749,12 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         }
     }
 
+    private void updateJournalWriteBatching() {
+        final ConfigParams configParams = context.getConfigParams();
+        persistentProvider.setBatchingParameters(configParams.getJournalWriteBatchMaxSize(),
+                configParams.getJournalWriteBatchWindowInMicros());
+    }
+
     public final DataPersistenceProvider persistence() {
         return delegatingPersistenceProvider.getDelegate();
     }
@@ -743,7 +766,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
     protected void setPersistence(boolean persistent) {
         DataPersistenceProvider currentPersistence = persistence();
         if (persistent && (currentPersistence == null || !currentPersistence.isRecoveryApplicable())) {
-            setPersistence(new PersistentDataProvider(this));
+            setPersistence(persistentProvider);
 
             if (getCurrentBehavior() != null) {
                 LOG.info("{}: Persistence has been enabled - capturing snapshot", persistenceId());
@@ -809,6 +832,13 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
      */
     protected abstract void applyState(ActorRef clientActor, Identifier identifier, Object data);
 
+    /**
+     * This method is called by the RaftActor once it has passed a run of committed log entries to
+     * {@link #applyState(ActorRef, Identifier, Object)}, e.g. all the entries committed by a single AppendEntries.
+     * Derived actors which defer applying some of the state until the end of the run must complete it here.
+     */
+    protected abstract void onApplyStateBatchComplete();
+
     /**
      * Returns the RaftActorRecoveryCohort to participate in persistence recovery.
      */
@@ -328,6 +328,15 @@ public interface RaftActorContext {
      */
     Consumer<ApplyState> getApplyStateConsumer();
 
+    /**
+     * Returns the callback invoked by a behavior once it has passed a run of committed log entries to the
+     * {@link #getApplyStateConsumer() ApplyState consumer}. This allows the consumer to defer work common to all
+     * entries in the run until the end of the run.
+     *
+     * @return the callback
+     */
+    Runnable getApplyStateBatchCallback();
+
     /**
      * Returns the {@link FileBackedOutputStreamFactory} instance with a common configuration.
      *
@@ -89,6 +89,8 @@ public class RaftActorContextImpl implements RaftActorContext {
 
     private final Consumer<ApplyState> applyStateConsumer;
 
+    private Runnable applyStateBatchCallback = () -> { };
+
     private final FileBackedOutputStreamFactory fileBackedOutputStreamFactory;
 
     private RaftActorLeadershipTransferCohort leadershipTransferCohort;
@@ -408,6 +410,15 @@ public class RaftActorContextImpl implements RaftActorContext {
         return applyStateConsumer;
     }
 
+    @Override
+    public Runnable getApplyStateBatchCallback() {
+        return applyStateBatchCallback;
+    }
+
+    public void setApplyStateBatchCallback(@Nonnull final Runnable applyStateBatchCallback) {
+        this.applyStateBatchCallback = Preconditions.checkNotNull(applyStateBatchCallback);
+    }
+
     @Override
     public FileBackedOutputStreamFactory getFileBackedOutputStreamFactory() {
         return fileBackedOutputStreamFactory;
@@ -282,6 +282,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             log.info("{}: handleAppendEntriesReply - received unsuccessful reply: {}, leader snapshotIndex: {}",
                     logName(), appendEntriesReply, context.getReplicatedLog().getSnapshotIndex());
 
+            // Any AppendEntries pipelined after the rejected one will be rejected as well so fall back to sending
+            // from the follower's next index once it has been adjusted below.
+            followerLogInformation.clearInflightAppendEntries();
+
             if (appendEntriesReply.isForceInstallSnapshot()) {
                 // Reset the followers match and next index. This is to signal that this follower has nothing
                 // in common with this Leader and so would require a snapshot to be installed
@@ -731,7 +735,8 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         // message.
         int maxEntries = (int) context.getReplicatedLog().size();
         final int maxDataSize = context.getConfigParams().getSnapshotChunkSize();
-        final long followerNextIndex = followerLogInfo.getNextIndex();
+        // With AppendEntries pipelining enabled, entries that are already in-flight to the follower are skipped.
+        final long followerNextIndex = followerLogInfo.getSentIndex() + 1;
         List<ReplicatedLogEntry> entries = context.getReplicatedLog().getFrom(followerNextIndex,
                 maxEntries, maxDataSize);
 
@@ -810,7 +815,9 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         long leaderCommitIndex = isInstallingSnaphot || followerLogInformation.isLogEntrySlicingInProgress()
                 || !followerLogInformation.isFollowerActive() ? -1 : context.getCommitIndex();
 
-        long followerNextIndex = followerLogInformation.getNextIndex();
+        // The entries start at the follower's next index unless previous entries are still in-flight to the
+        // follower, in which case they start right after the last entry sent.
+        long followerNextIndex = entries.isEmpty() ? followerLogInformation.getNextIndex() : entries.get(0).getIndex();
         AppendEntries appendEntries = new AppendEntries(currentTerm(), context.getId(),
             getLogEntryIndex(followerNextIndex - 1),
             getLogEntryTerm(followerNextIndex - 1), entries,
@@ -822,6 +829,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
 
         followerActor.tell(appendEntries, actor());
+
+        if (!entries.isEmpty()) {
+            followerLogInformation.markEntriesSent(entries.get(entries.size() - 1).getIndex());
+        }
     }
 
     /**
@@ -368,6 +368,20 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
      * @param index the log index
      */
     protected void applyLogToStateMachine(final long index) {
+        try {
+            applyLogEntries(index);
+        } finally {
+            context.getApplyStateBatchCallback().run();
+        }
+
+        // send a message to persist a ApplyLogEntries marker message into akka's persistent journal
+        // will be used during recovery
+        //in case if the above code throws an error and this message is not sent, it would be fine
+        // as the  append entries received later would initiate add this message to the journal
+        actor().tell(new ApplyJournalEntries(context.getLastApplied()), actor());
+    }
+
+    private void applyLogEntries(final long index) {
         // Now maybe we apply to the state machine
         for (long i = context.getLastApplied() + 1; i < index + 1; i++) {
 
@@ -396,12 +410,6 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
                 break;
             }
         }
-
-        // send a message to persist a ApplyLogEntries marker message into akka's persistent journal
-        // will be used during recovery
-        //in case if the above code throws an error and this message is not sent, it would be fine
-        // as the  append entries received later would initiate add this message to the journal
-        actor().tell(new ApplyJournalEntries(context.getLastApplied()), actor());
     }
 
     @Override
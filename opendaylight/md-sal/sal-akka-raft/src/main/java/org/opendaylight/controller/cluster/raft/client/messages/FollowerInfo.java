@@ -21,16 +21,21 @@ public class FollowerInfo {
     private final boolean isActive;
     private final String timeSinceLastActivity;
     private final boolean isVoting;
+    private final long sentIndex;
+    private final int inflightAppendEntries;
 
-    @ConstructorProperties({"id","nextIndex", "matchIndex", "isActive", "timeSinceLastActivity", "isVoting"})
+    @ConstructorProperties({"id","nextIndex", "matchIndex", "isActive", "timeSinceLastActivity", "isVoting",
+        "sentIndex", "inflightAppendEntries"})
     public FollowerInfo(String id, long nextIndex, long matchIndex, boolean isActive, String timeSinceLastActivity,
-            boolean isVoting) {
+            boolean isVoting, long sentIndex, int inflightAppendEntries) {
         this.id = id;
         this.nextIndex = nextIndex;
         this.matchIndex = matchIndex;
         this.isActive = isActive;
         this.timeSinceLastActivity = timeSinceLastActivity;
         this.isVoting = isVoting;
+        this.sentIndex = sentIndex;
+        this.inflightAppendEntries = inflightAppendEntries;
     }
 
     public String getId() {
@@ -56,4 +61,12 @@ public class FollowerInfo {
     public boolean isVoting() {
         return isVoting;
     }
+
+    public long getSentIndex() {
+        return sentIndex;
+    }
+
+    public int getInflightAppendEntries() {
+        return inflightAppendEntries;
+    }
 }
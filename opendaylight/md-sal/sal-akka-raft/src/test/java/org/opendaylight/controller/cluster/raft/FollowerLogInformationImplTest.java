@@ -130,4 +130,64 @@ public class FollowerLogInformationImplTest {
         assertFalse(followerLogInformation.decrNextIndex());
         assertEquals("getNextIndex", -1, followerLogInformation.getNextIndex());
     }
+
+    @Test
+    public void testInflightAppendEntries() {
+        MockRaftActorContext context = new MockRaftActorContext();
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(new FiniteDuration(100, TimeUnit.MILLISECONDS));
+        configParams.setMaxInflightAppendEntries(2);
+        context.setConfigParams(configParams);
+        context.setReplicatedLog(new MockRaftActorContext.MockReplicatedLogBuilder().createEntries(0, 10, 1).build());
+        context.setCommitIndex(0);
+
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl(new PeerInfo("follower1", null, VotingState.VOTING), -1, context);
+        assertEquals("getSentIndex", -1, followerLogInformation.getSentIndex());
+
+        assertTrue(followerLogInformation.okToReplicate());
+        followerLogInformation.markEntriesSent(3);
+        assertEquals("getSentIndex", 3, followerLogInformation.getSentIndex());
+        assertEquals("getInflightAppendEntriesCount", 1, followerLogInformation.getInflightAppendEntriesCount());
+
+        assertTrue(followerLogInformation.okToReplicate());
+        followerLogInformation.markEntriesSent(6);
+        assertEquals("getSentIndex", 6, followerLogInformation.getSentIndex());
+        assertEquals("getInflightAppendEntriesCount", 2, followerLogInformation.getInflightAppendEntriesCount());
+
+        // The window is full
+        assertFalse(followerLogInformation.okToReplicate());
+
+        // Acknowledge the first batch
+        followerLogInformation.setMatchIndex(3);
+        followerLogInformation.setNextIndex(4);
+        assertEquals("getInflightAppendEntriesCount", 1, followerLogInformation.getInflightAppendEntriesCount());
+        assertEquals("getSentIndex", 6, followerLogInformation.getSentIndex());
+        assertTrue(followerLogInformation.okToReplicate());
+
+        // A rejected reply falls back to the next index
+        followerLogInformation.clearInflightAppendEntries();
+        assertEquals("getInflightAppendEntriesCount", 0, followerLogInformation.getInflightAppendEntriesCount());
+        assertEquals("getSentIndex", 3, followerLogInformation.getSentIndex());
+
+        // No reply within the heartbeat interval resets the window
+        followerLogInformation.markEntriesSent(6);
+        followerLogInformation.markEntriesSent(9);
+        assertFalse(followerLogInformation.okToReplicate());
+        Uninterruptibles.sleepUninterruptibly(150, TimeUnit.MILLISECONDS);
+        assertTrue(followerLogInformation.okToReplicate());
+        assertEquals("getSentIndex", 3, followerLogInformation.getSentIndex());
+    }
+
+    @Test
+    public void testInflightAppendEntriesDisabled() {
+        MockRaftActorContext context = new MockRaftActorContext();
+        context.setCommitIndex(5);
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl(new PeerInfo("follower1", null, VotingState.VOTING), 4, context);
+
+        followerLogInformation.markEntriesSent(8);
+        assertEquals("getSentIndex", 4, followerLogInformation.getSentIndex());
+        assertEquals("getInflightAppendEntriesCount", 0, followerLogInformation.getInflightAppendEntriesCount());
+    }
 }
@@ -133,6 +133,11 @@ public class MockRaftActor extends RaftActor implements RaftActorRecoveryCohort,
         state.add(data);
     }
 
+    @Override
+    protected void onApplyStateBatchComplete() {
+        actorDelegate.onApplyStateBatchComplete();
+    }
+
     @Override
     @Nonnull
     protected RaftActorRecoveryCohort getRaftActorRecoveryCohort() {
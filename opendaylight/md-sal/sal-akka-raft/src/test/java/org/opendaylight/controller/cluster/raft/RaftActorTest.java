@@ -9,6 +9,7 @@
 package org.opendaylight.controller.cluster.raft;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -38,6 +39,7 @@ import akka.persistence.SnapshotMetadata;
 import akka.persistence.SnapshotOffer;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -50,6 +52,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.junit.After;
@@ -59,6 +62,7 @@ import org.mockito.ArgumentCaptor;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.NonPersistentDataProvider;
 import org.opendaylight.controller.cluster.PersistentDataProvider;
+import org.opendaylight.controller.cluster.common.actor.MeteringBehavior;
 import org.opendaylight.controller.cluster.notifications.LeaderStateChanged;
 import org.opendaylight.controller.cluster.notifications.RoleChanged;
 import org.opendaylight.controller.cluster.raft.MockRaftActor.MockSnapshotState;
@@ -88,6 +92,7 @@ import org.opendaylight.controller.cluster.raft.persisted.UpdateElectionTerm;
 import org.opendaylight.controller.cluster.raft.policy.DisableElectionsRaftPolicy;
 import org.opendaylight.controller.cluster.raft.utils.InMemoryJournal;
 import org.opendaylight.controller.cluster.raft.utils.InMemorySnapshotStore;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
 import org.opendaylight.yangtools.concepts.Identifier;
 import org.slf4j.Logger;
@@ -1353,4 +1358,126 @@ public class RaftActorTest extends AbstractActorTest {
         AppendEntries appendEntries = MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
         assertEquals("AppendEntries size", 3, appendEntries.getEntries().size());
     }
+
+    @Test
+    public void testJournalWriteBatching() throws Exception {
+        final String persistenceId = factory.generateActorId("leader-");
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setIsolatedLeaderCheckInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setJournalWriteBatchMaxSize(2);
+
+        TestActorRef<MockRaftActor> actorRef = factory.createTestActor(MockRaftActor.props(persistenceId,
+                Collections.<String, String>emptyMap(), config), persistenceId);
+        MockRaftActor mockRaftActor = actorRef.underlyingActor();
+        mockRaftActor.waitForInitializeBehaviorComplete();
+
+        InMemoryJournal.addWriteMessagesCompleteLatch(persistenceId, 3, ApplyJournalEntries.class);
+
+        final List<Long> persisted = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch persistedLatch = new CountDownLatch(3);
+        actorRef.tell((Runnable) () -> {
+            for (long i = 0; i < 3; i++) {
+                mockRaftActor.persistence().persistAsync(new ApplyJournalEntries(i), entry -> {
+                    persisted.add(entry.getToIndex());
+                    persistedLatch.countDown();
+                });
+            }
+        }, ActorRef.noSender());
+
+        InMemoryJournal.waitForWriteMessagesComplete(persistenceId);
+        assertEquals("ApplyJournalEntries entries", 3,
+                InMemoryJournal.get(persistenceId, ApplyJournalEntries.class).size());
+
+        assertTrue("Persist callbacks invoked", persistedLatch.await(5, TimeUnit.SECONDS));
+        assertEquals("Persist callback order", Arrays.asList(0L, 1L, 2L), persisted);
+    }
+
+    @Test
+    public void testJournalWriteBatchWindow() throws Exception {
+        final String persistenceId = factory.generateActorId("leader-");
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setIsolatedLeaderCheckInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setJournalWriteBatchMaxSize(10);
+        config.setJournalWriteBatchWindowInMicros(TimeUnit.MILLISECONDS.toMicros(200));
+
+        TestActorRef<MockRaftActor> actorRef = factory.createTestActor(MockRaftActor.props(persistenceId,
+                Collections.<String, String>emptyMap(), config), persistenceId);
+        MockRaftActor mockRaftActor = actorRef.underlyingActor();
+        mockRaftActor.waitForInitializeBehaviorComplete();
+
+        InMemoryJournal.addWriteMessagesCompleteLatch(persistenceId, 1, ApplyJournalEntries.class);
+
+        // No other message is processed by the actor, the batch has to be written once the window elapses
+        final CountDownLatch persistedLatch = new CountDownLatch(1);
+        actorRef.tell((Runnable) () -> mockRaftActor.persistence().persistAsync(new ApplyJournalEntries(0),
+            entry -> persistedLatch.countDown()), ActorRef.noSender());
+
+        InMemoryJournal.waitForWriteMessagesComplete(persistenceId);
+        assertTrue("Persist callback invoked", persistedLatch.await(5, TimeUnit.SECONDS));
+
+        final MetricRegistry registry = MetricsReporter.getInstance(MeteringBehavior.DOMAIN).getMetricsRegistry();
+        final String actorName = actorRef.path().toStringWithoutAddress();
+        assertTrue("Batch metrics registered", hasMetricsFor(registry, actorName));
+
+        factory.killActor(actorRef, new JavaTestKit(getSystem()));
+        assertFalse("Batch metrics removed", hasMetricsFor(registry, actorName));
+    }
+
+    @Test
+    public void testJournalWriteBatchingPersistFromCallback() throws Exception {
+        final String persistenceId = factory.generateActorId("leader-");
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setIsolatedLeaderCheckInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setJournalWriteBatchMaxSize(10);
+
+        TestActorRef<MockRaftActor> actorRef = factory.createTestActor(MockRaftActor.props(persistenceId,
+                Collections.<String, String>emptyMap(), config), persistenceId);
+        MockRaftActor mockRaftActor = actorRef.underlyingActor();
+        mockRaftActor.waitForInitializeBehaviorComplete();
+
+        InMemoryJournal.addWriteMessagesCompleteLatch(persistenceId, 2, ApplyJournalEntries.class);
+
+        // The second entry is persisted from the callback of the first one, no other message is processed by the
+        // actor afterwards
+        final CountDownLatch persistedLatch = new CountDownLatch(1);
+        actorRef.tell((Runnable) () -> mockRaftActor.persistence().persistAsync(new ApplyJournalEntries(0),
+            first -> mockRaftActor.persistence().persistAsync(new ApplyJournalEntries(1),
+                second -> persistedLatch.countDown())), ActorRef.noSender());
+
+        InMemoryJournal.waitForWriteMessagesComplete(persistenceId);
+        assertTrue("Persist callback invoked", persistedLatch.await(5, TimeUnit.SECONDS));
+        assertEquals("ApplyJournalEntries entries", 2,
+                InMemoryJournal.get(persistenceId, ApplyJournalEntries.class).size());
+    }
+
+    @Test
+    public void testJournalWriteBatchingDisabled() throws Exception {
+        final String persistenceId = factory.generateActorId("leader-");
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setIsolatedLeaderCheckInterval(new FiniteDuration(1, TimeUnit.DAYS));
+
+        TestActorRef<MockRaftActor> actorRef = factory.createTestActor(MockRaftActor.props(persistenceId,
+                Collections.<String, String>emptyMap(), config), persistenceId);
+        actorRef.underlyingActor().waitForInitializeBehaviorComplete();
+
+        final MetricRegistry registry = MetricsReporter.getInstance(MeteringBehavior.DOMAIN).getMetricsRegistry();
+        assertFalse("Batch metrics registered", hasMetricsFor(registry, actorRef.path().toStringWithoutAddress()));
+    }
+
+    private static boolean hasMetricsFor(final MetricRegistry registry, final String actorName) {
+        for (String name : registry.getNames()) {
+            if (name.startsWith(actorName + ".journal-")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
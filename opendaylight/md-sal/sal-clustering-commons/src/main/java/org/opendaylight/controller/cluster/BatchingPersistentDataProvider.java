@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster;
+
+import akka.actor.Cancellable;
+import akka.japi.Procedure;
+import akka.persistence.SnapshotSelectionCriteria;
+import akka.persistence.UntypedPersistentActor;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.common.actor.MeteringBehavior;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * A PersistentDataProvider which coalesces entries persisted via {@link #persistAsync(Object, Procedure)} into a
+ * single journal write. Entries are buffered until the owning actor has finished processing the current message
+ * (see {@link #onMessageProcessed()}) or, if a batch window is configured, until the window has elapsed since the
+ * first buffered entry. Persistence callbacks are not processed as messages by the owning actor, hence entries
+ * persisted from a callback are handled the same way once the callback returns. The window is enforced by a flush scheduled on the actor system scheduler, and is also
+ * checked whenever an entry is persisted. A batch is also written once it reaches the maximum batch size.
+ * The per-entry callbacks are invoked in the order the entries were persisted.
+ *
+ * <p>
+ * Any other persistence operation first writes out the buffered entries so the journal order is preserved.
+ * Batching is disabled by default, ie with a maximum batch size of 1 every entry is written immediately.
+ *
+ * <p>
+ * While batching is enabled, the batch size and the time from submitting a batch to the journal until its last
+ * callback is invoked are reported via {@link MetricsReporter}. The owning actor must invoke {@link #close()} when it
+ * stops, so these metrics are removed from the registry.
+ */
+public class BatchingPersistentDataProvider extends PersistentDataProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingPersistentDataProvider.class);
+    private static final String BATCH_SIZE = "journal-batch-size";
+    private static final String FLUSH_LATENCY = "journal-flush-latency";
+
+    /**
+     * Message scheduled to the actor itself to flush a batch whose window has not elapsed by the time the actor
+     * finished processing the message which started it.
+     */
+    private static final class FlushBatch {
+        static final FlushBatch INSTANCE = new FlushBatch();
+
+        private FlushBatch() {
+            // Hidden on purpose
+        }
+    }
+
+    private final UntypedPersistentActor persistentActor;
+    private final List<Object> pendingEntries = new ArrayList<>();
+    private final List<Procedure<Object>> pendingProcedures = new ArrayList<>();
+    private final MetricRegistry registry;
+    private final String batchSizeName;
+    private final String flushLatencyName;
+
+    // Registered only while batching is enabled
+    private Histogram batchSizeHistogram;
+    private Timer flushLatencyTimer;
+
+    private int maxBatchSize = 1;
+    private long batchWindowNanos;
+    private long batchStartNanos;
+    private Cancellable scheduledFlush;
+
+    public BatchingPersistentDataProvider(final UntypedPersistentActor persistentActor) {
+        super(persistentActor);
+        this.persistentActor = persistentActor;
+
+        registry = MetricsReporter.getInstance(MeteringBehavior.DOMAIN).getMetricsRegistry();
+        final String actorName = persistentActor.getSelf().path().toStringWithoutAddress();
+        batchSizeName = MetricRegistry.name(actorName, BATCH_SIZE);
+        flushLatencyName = MetricRegistry.name(actorName, FLUSH_LATENCY);
+    }
+
+    /**
+     * Sets the batching parameters.
+     *
+     * @param newMaxBatchSize the maximum number of entries in a single journal write, 1 disables batching
+     * @param batchWindowMicros the maximum time in microseconds to wait for further entries before writing a batch,
+     *                          0 to write a batch as soon as the actor finished processing the current message
+     */
+    public void setBatchingParameters(final int newMaxBatchSize, final long batchWindowMicros) {
+        Preconditions.checkArgument(newMaxBatchSize > 0, "Invalid maximum batch size %s", newMaxBatchSize);
+        Preconditions.checkArgument(batchWindowMicros >= 0, "Invalid batch window %s", batchWindowMicros);
+
+        this.maxBatchSize = newMaxBatchSize;
+        this.batchWindowNanos = TimeUnit.MICROSECONDS.toNanos(batchWindowMicros);
+        if (pendingEntries.size() >= maxBatchSize) {
+            flush();
+        }
+
+        if (maxBatchSize > 1) {
+            if (batchSizeHistogram == null) {
+                batchSizeHistogram = registry.histogram(batchSizeName);
+                flushLatencyTimer = registry.timer(flushLatencyName);
+            }
+        } else {
+            removeMetrics();
+        }
+    }
+
+    private void removeMetrics() {
+        if (batchSizeHistogram != null) {
+            registry.remove(batchSizeName);
+            registry.remove(flushLatencyName);
+            batchSizeHistogram = null;
+            flushLatencyTimer = null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void persistAsync(final T entry, final Procedure<T> procedure) {
+        if (maxBatchSize <= 1) {
+            flush();
+            super.persistAsync(entry, procedure);
+            return;
+        }
+
+        if (pendingEntries.isEmpty()) {
+            batchStartNanos = System.nanoTime();
+        }
+
+        pendingEntries.add(entry);
+        pendingProcedures.add((Procedure<Object>) procedure);
+        if (pendingEntries.size() >= maxBatchSize || isBatchWindowElapsed()) {
+            flush();
+        }
+    }
+
+    private boolean isBatchWindowElapsed() {
+        return batchWindowNanos > 0 && System.nanoTime() - batchStartNanos >= batchWindowNanos;
+    }
+
+    @Override
+    public <T> void persist(final T entry, final Procedure<T> procedure) {
+        flush();
+        super.persist(entry, persisted -> {
+            try {
+                procedure.apply(persisted);
+            } finally {
+                onMessageProcessed();
+            }
+        });
+    }
+
+    @Override
+    public void saveSnapshot(final Object snapshot) {
+        flush();
+        super.saveSnapshot(snapshot);
+    }
+
+    @Override
+    public void deleteSnapshots(final SnapshotSelectionCriteria criteria) {
+        flush();
+        super.deleteSnapshots(criteria);
+    }
+
+    @Override
+    public void deleteMessages(final long sequenceNumber) {
+        flush();
+        super.deleteMessages(sequenceNumber);
+    }
+
+    /**
+     * Handles a message sent by this provider to the actor.
+     *
+     * @param message the message
+     * @return true if the message was handled, false otherwise
+     */
+    public boolean handleMessage(final Object message) {
+        if (message instanceof FlushBatch) {
+            scheduledFlush = null;
+            flush();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Invoked by the owning actor after it finished processing a message. Writes out the pending batch, unless
+     * a batch window is configured that has not elapsed yet, in which case a flush is scheduled for when the window
+     * elapses.
+     */
+    public void onMessageProcessed() {
+        if (pendingEntries.isEmpty()) {
+            return;
+        }
+
+        final long remainingNanos = batchWindowNanos - (System.nanoTime() - batchStartNanos);
+        if (remainingNanos <= 0) {
+            flush();
+        } else if (scheduledFlush == null) {
+            scheduledFlush = persistentActor.getContext().system().scheduler().scheduleOnce(
+                FiniteDuration.create(remainingNanos, TimeUnit.NANOSECONDS), persistentActor.getSelf(),
+                FlushBatch.INSTANCE, persistentActor.getContext().dispatcher(), persistentActor.getSelf());
+        }
+    }
+
+    /**
+     * Releases the resources held by this provider. Any buffered entries are discarded, as the owning actor is
+     * stopping and would not be able to write them out anymore.
+     */
+    public void close() {
+        cancelScheduledFlush();
+        if (!pendingEntries.isEmpty()) {
+            LOG.warn("{}: Discarding {} journal entries which have not been written out",
+                persistentActor.persistenceId(), pendingEntries.size());
+            LOG.debug("{}: Discarded journal entries: {}", persistentActor.persistenceId(), pendingEntries);
+            pendingEntries.clear();
+            pendingProcedures.clear();
+        }
+        removeMetrics();
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel();
+            scheduledFlush = null;
+        }
+    }
+
+    /**
+     * Writes out any buffered entries as a single journal write.
+     */
+    public void flush() {
+        cancelScheduledFlush();
+        final int size = pendingEntries.size();
+        if (size == 0) {
+            return;
+        }
+
+        final List<Object> entries = new ArrayList<>(pendingEntries);
+        final List<Procedure<Object>> procedures = new ArrayList<>(pendingProcedures);
+        pendingEntries.clear();
+        pendingProcedures.clear();
+
+        batchSizeHistogram.update(size);
+        final Timer.Context latencyContext = flushLatencyTimer.time();
+        final int[] index = {0};
+        persistentActor.persistAllAsync(entries, entry -> {
+            final int current = index[0]++;
+            if (current != size - 1) {
+                procedures.get(current).apply(entry);
+                return;
+            }
+
+            latencyContext.stop();
+            try {
+                procedures.get(current).apply(entry);
+            } finally {
+                // Write out the entries persisted by the callbacks of this batch
+                onMessageProcessed();
+            }
+        });
+    }
+}
@@ -53,11 +53,17 @@ public class MeteredBoundedMailbox implements MailboxType,
         return monitoredQueue::size;
     }
 
-    static <T extends Metric> void registerMetric(final scala.Option<ActorRef> owner, final String metricName,
+    /**
+     * Register a metric for an actor, unless a metric with the same name has already been registered for it.
+     *
+     * @return the registered metric, or the metric passed in if there is no actor or it could not be registered
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Metric> T registerMetric(final scala.Option<ActorRef> owner, final String metricName,
             final T metric) {
         if (owner.isEmpty()) {
            // there's no actor to monitor
-            return;
+            return metric;
         }
 
         String actorName = owner.get().path().toStringWithoutAddress();
@@ -65,16 +71,18 @@ public class MeteredBoundedMailbox implements MailboxType,
 
         MetricRegistry registry = MetricsReporter.getInstance(MeteringBehavior.DOMAIN).getMetricsRegistry();
 
-        if (registry.getMetrics().containsKey(fullName)) {
+        final Metric existing = registry.getMetrics().get(fullName);
+        if (existing != null) {
             // already registered
-            return;
+            return metric.getClass().isInstance(existing) ? (T) existing : metric;
         }
 
         try {
-            registry.register(fullName, metric);
+            return registry.register(fullName, metric);
         } catch (IllegalArgumentException e) {
             // already registered - shouldn't happen here since we check above...
             LOG.debug("Unable to register '{}' in metrics registry: {}", e);
+            return metric;
         }
     }
 
@@ -13,6 +13,9 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 
 /**
@@ -35,6 +38,13 @@ public class MeteringBehavior implements Procedure<Object> {
 
     private final MetricRegistry metricRegistry = MetricsReporter.getInstance(DOMAIN).getMetricsRegistry();
 
+    /**
+     * Per-message-type timers, keyed by message class. Metered actors typically handle a small, fixed set of message
+     * types, so caching the timers here saves us from building the metric name and looking it up in the registry
+     * for each message. Only accessed from the actor's thread.
+     */
+    private final Map<Class<?>, Timer> msgProcessingTimersByMsgType = new IdentityHashMap<>();
+
     private String actorQualifiedName;
     private Timer msgProcessingTimer;
 
@@ -70,7 +80,8 @@ public class MeteringBehavior implements Procedure<Object> {
 
     /**
      * Uses 2 timers to measure message processing rate. One for overall message processing rate and
-     * another to measure rate by message type. The timers are re-used if they were previously created.
+     * another to measure rate by message type. The timers are re-used if they were previously created and the timer
+     * for each message type is cached after its first use.
      *
      * <p>
      * {@link com.codahale.metrics.MetricRegistry} maintains a reservoir for different timers where
@@ -89,16 +100,10 @@ public class MeteringBehavior implements Procedure<Object> {
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public void apply(final Object message) throws Exception {
-        final String messageType = message.getClass().getSimpleName();
-
-        final String msgProcessingTimeByMsgType =
-                MetricRegistry.name(actorQualifiedName, MSG_PROCESSING_RATE, messageType);
+        final Timer msgProcessingTimerByMsgType = msgProcessingTimerByMsgType(message.getClass());
 
-        final Timer msgProcessingTimerByMsgType = metricRegistry.timer(msgProcessingTimeByMsgType);
-
-        //start timers
-        final Timer.Context context = msgProcessingTimer.time();
-        final Timer.Context contextByMsgType = msgProcessingTimerByMsgType.time();
+        // Both timers measure the same interval, hence we time it once instead of allocating a Timer.Context for each
+        final long startTime = System.nanoTime();
 
         try {
             meteredActor.onReceive(message);
@@ -106,9 +111,19 @@ public class MeteringBehavior implements Procedure<Object> {
             Throwables.propagateIfPossible(e, Exception.class);
             throw new RuntimeException(e);
         } finally {
-            //stop timers
-            contextByMsgType.stop();
-            context.stop();
+            final long elapsed = System.nanoTime() - startTime;
+            msgProcessingTimerByMsgType.update(elapsed, TimeUnit.NANOSECONDS);
+            msgProcessingTimer.update(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer msgProcessingTimerByMsgType(final Class<?> messageType) {
+        Timer timer = msgProcessingTimersByMsgType.get(messageType);
+        if (timer == null) {
+            timer = metricRegistry.timer(MetricRegistry.name(actorQualifiedName, MSG_PROCESSING_RATE,
+                messageType.getSimpleName()));
+            msgProcessingTimersByMsgType.put(messageType, timer);
         }
+        return timer;
     }
 }
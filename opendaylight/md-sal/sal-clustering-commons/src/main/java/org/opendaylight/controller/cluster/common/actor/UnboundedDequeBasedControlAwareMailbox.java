@@ -16,10 +16,14 @@ import akka.dispatch.MailboxType;
 import akka.dispatch.ProducesMessageQueue;
 import akka.dispatch.UnboundedControlAwareMailbox;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
 import com.typesafe.config.Config;
 import java.util.Deque;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.reporting.LogLinearReservoir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.Option;
@@ -28,6 +32,11 @@ import scala.Option;
  * An unbounded ControlAwareMailbox that also supports DequeBasedMessageQueueSemantics so it can be used with
  * persistent actors which use stashing.
  *
+ * <p>
+ * If mailbox-wait-time-metering is enabled in the mailbox configuration, the time each message spends in the queue
+ * is recorded in a mailbox-wait-time timer. This complements the processing time recorded by {@link MeteringBehavior}.
+ * Note this costs two allocations per enqueued message.
+ *
  * @author Thomas Pantelis
  */
 public class UnboundedDequeBasedControlAwareMailbox implements MailboxType,
@@ -36,15 +45,28 @@ public class UnboundedDequeBasedControlAwareMailbox implements MailboxType,
     private static final String NORMAL_QUEUE_SIZE = "normal-q-size";
     private static final String CONTROL_QUEUE_SIZE = "control-q-size";
     private static final String TOTAL_QUEUE_SIZE = "total-q-size";
+    private static final String MAILBOX_WAIT_TIME = "mailbox-wait-time";
+    static final String TAG_MAILBOX_WAIT_TIME_METERING = "mailbox-wait-time-metering";
+
+    private final boolean meterWaitTime;
 
     public UnboundedDequeBasedControlAwareMailbox(ActorSystem.Settings settings, Config config) {
+        meterWaitTime = config.hasPath(TAG_MAILBOX_WAIT_TIME_METERING)
+                && config.getBoolean(TAG_MAILBOX_WAIT_TIME_METERING);
     }
 
     @Override
     public MessageQueue create(Option<ActorRef> owner, Option<ActorSystem> system) {
         LOG.debug("Creating MessageQueue for {}", owner);
 
-        final MessageQueue queue = new MessageQueue();
+        final MessageQueue queue;
+        if (meterWaitTime && system.isDefined()) {
+            final Timer waitTime = MeteredBoundedMailbox.registerMetric(owner, MAILBOX_WAIT_TIME,
+                new Timer(new LogLinearReservoir()));
+            queue = new WaitTimeMeteringMessageQueue(system.get(), waitTime);
+        } else {
+            queue = new MessageQueue();
+        }
 
         MeteredBoundedMailbox.registerMetric(owner, NORMAL_QUEUE_SIZE, (Gauge<Integer>) () -> queue.queue().size());
         MeteredBoundedMailbox.registerMetric(owner, CONTROL_QUEUE_SIZE,
@@ -84,4 +106,55 @@ public class UnboundedDequeBasedControlAwareMailbox implements MailboxType,
             }
         }
     }
+
+    /**
+     * MessageQueue which wraps each enqueued envelope in a {@link TimestampedEnvelope}, so it can record the time
+     * the envelope spent in the queue when it is dequeued. Envelopes re-inserted at the head of the queue are not
+     * wrapped, as they have already been dequeued once.
+     */
+    static final class WaitTimeMeteringMessageQueue extends MessageQueue {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ActorSystem system;
+        private final transient Timer waitTime;
+
+        WaitTimeMeteringMessageQueue(final ActorSystem system, final Timer waitTime) {
+            this.system = Preconditions.checkNotNull(system);
+            this.waitTime = Preconditions.checkNotNull(waitTime);
+        }
+
+        @Override
+        public void enqueue(ActorRef receiver, Envelope handle) {
+            final Envelope timestamped = Envelope.apply(new TimestampedEnvelope(handle, System.nanoTime()),
+                handle.sender(), system);
+
+            // Our wrapper hides the message type, so we need to sort out control messages ourselves
+            if (handle.message() instanceof ControlMessage) {
+                controlQueue().add(timestamped);
+            } else {
+                queue().add(timestamped);
+            }
+        }
+
+        @Override
+        public Envelope dequeue() {
+            final Envelope envelope = super.dequeue();
+            if (envelope != null && envelope.message() instanceof TimestampedEnvelope) {
+                final TimestampedEnvelope timestamped = (TimestampedEnvelope) envelope.message();
+                waitTime.update(System.nanoTime() - timestamped.enqueuedAt, TimeUnit.NANOSECONDS);
+                return timestamped.envelope;
+            }
+            return envelope;
+        }
+    }
+
+    private static final class TimestampedEnvelope {
+        final Envelope envelope;
+        final long enqueuedAt;
+
+        TimestampedEnvelope(final Envelope envelope, final long enqueuedAt) {
+            this.envelope = envelope;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
 }
@@ -63,6 +63,36 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     protected abstract void writeString(String string) throws IOException;
 
+    /**
+     * Writes a non-negative count or length. The default implementation writes it as a fixed-width int.
+     *
+     * @param count the count to write
+     * @throws IOException if an error occurs writing to the output
+     */
+    protected void writeCount(final int count) throws IOException {
+        output.writeInt(count);
+    }
+
+    /**
+     * Writes the value of an int leaf. The default implementation writes it as a fixed-width int.
+     *
+     * @param value the value to write
+     * @throws IOException if an error occurs writing to the output
+     */
+    protected void writeIntValue(final int value) throws IOException {
+        output.writeInt(value);
+    }
+
+    /**
+     * Writes the value of a long leaf. The default implementation writes it as a fixed-width long.
+     *
+     * @param value the value to write
+     * @throws IOException if an error occurs writing to the output
+     */
+    protected void writeLongValue(final long value) throws IOException {
+        output.writeLong(value);
+    }
+
     @Override
     public final void write(final int value) throws IOException {
         ensureHeaderWritten();
@@ -339,7 +369,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
     }
 
     private void writeObjSet(final Set<?> set) throws IOException {
-        output.writeInt(set.size());
+        writeCount(set.size());
         for (Object o : set) {
             Preconditions.checkArgument(o instanceof String, "Expected value type to be String but was %s (%s)",
                 o.getClass(), o);
@@ -354,7 +384,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         output.writeBoolean(path.isAbsolute());
 
         final Collection<QName> qnames = path.getPath();
-        output.writeInt(qnames.size());
+        writeCount(qnames.size());
         for (QName qname : qnames) {
             writeQName(qname);
         }
@@ -368,7 +398,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     private void writeYangInstanceIdentifierInternal(final YangInstanceIdentifier identifier) throws IOException {
         Collection<PathArgument> pathArguments = identifier.getPathArguments();
-        output.writeInt(pathArguments.size());
+        writeCount(pathArguments.size());
 
         for (PathArgument pathArgument : pathArguments) {
             writePathArgument(pathArgument);
@@ -424,27 +454,27 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     private void writeKeyValueMap(final Map<QName, Object> keyValueMap) throws IOException {
         if (keyValueMap != null && !keyValueMap.isEmpty()) {
-            output.writeInt(keyValueMap.size());
+            writeCount(keyValueMap.size());
 
             for (Map.Entry<QName, Object> entry : keyValueMap.entrySet()) {
                 writeQName(entry.getKey());
                 writeObject(entry.getValue());
             }
         } else {
-            output.writeInt(0);
+            writeCount(0);
         }
     }
 
     private void writeQNameSet(final Set<QName> children) throws IOException {
         // Write each child's qname separately, if list is empty send count as 0
         if (children != null && !children.isEmpty()) {
-            output.writeInt(children.size());
+            writeCount(children.size());
             for (QName qname : children) {
                 writeQName(qname);
             }
         } else {
             LOG.debug("augmentation node does not have any child");
-            output.writeInt(0);
+            writeCount(0);
         }
     }
 
@@ -462,13 +492,13 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
                 writeQName((QName) value);
                 break;
             case ValueTypes.INT_TYPE:
-                output.writeInt((Integer) value);
+                writeIntValue((Integer) value);
                 break;
             case ValueTypes.BYTE_TYPE:
                 output.writeByte((Byte) value);
                 break;
             case ValueTypes.LONG_TYPE:
-                output.writeLong((Long) value);
+                writeLongValue((Long) value);
                 break;
             case ValueTypes.SHORT_TYPE:
                 output.writeShort((Short) value);
@@ -478,7 +508,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
                 break;
             case ValueTypes.BINARY_TYPE:
                 byte[] bytes = (byte[]) value;
-                output.writeInt(bytes.length);
+                writeCount(bytes.length);
                 output.write(bytes);
                 break;
             case ValueTypes.YANG_IDENTIFIER_TYPE:
@@ -488,7 +518,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
                 break;
             case ValueTypes.STRING_BYTES_TYPE:
                 final byte[] valueBytes = value.toString().getBytes(StandardCharsets.UTF_8);
-                output.writeInt(valueBytes.length);
+                writeCount(valueBytes.length);
                 output.write(valueBytes);
                 break;
             default:
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+
+/**
+ * NormalizedNodeDataOutput writing the {@link TokenTypes#NITROGEN_VERSION} stream format. Compared to
+ * {@link NormalizedNodeOutputStreamWriter}, counts and int/long values are written as variable-length integers and
+ * each distinct QName is written out only once per stream, with its QNameModule likewise being written only once.
+ */
+final class NitrogenNormalizedNodeOutputStreamWriter extends AbstractNormalizedNodeDataOutput {
+    private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
+    private final Map<QNameModule, Integer> moduleCodeMap = new HashMap<>();
+    private final Map<String, Integer> stringCodeMap = new HashMap<>();
+
+    NitrogenNormalizedNodeOutputStreamWriter(final DataOutput output) {
+        super(output);
+    }
+
+    @Override
+    protected short streamVersion() {
+        return TokenTypes.NITROGEN_VERSION;
+    }
+
+    @Override
+    protected void writeQName(final QName qname) throws IOException {
+        final Integer code = qnameCodeMap.get(qname);
+        if (code != null) {
+            writeVarInt(code + 1);
+            return;
+        }
+
+        qnameCodeMap.put(qname, qnameCodeMap.size());
+        writeVarInt(TokenTypes.NEW_QNAME);
+        writeModule(qname.getModule());
+        writeString(qname.getLocalName());
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer code = moduleCodeMap.get(module);
+        if (code != null) {
+            writeVarInt(code + 1);
+            return;
+        }
+
+        moduleCodeMap.put(module, moduleCodeMap.size());
+        writeVarInt(TokenTypes.NEW_MODULE);
+        writeString(module.getNamespace().toString());
+
+        // The formatted revision does not depend on the timezone the revision Date has been parsed in
+        writeString(module.getFormattedRevision());
+    }
+
+    @Override
+    protected void writeString(final String string) throws IOException {
+        if (string == null) {
+            writeVarInt(TokenTypes.NULL_STRING);
+            return;
+        }
+
+        final Integer code = stringCodeMap.get(string);
+        if (code != null) {
+            writeVarInt(code + 2);
+            return;
+        }
+
+        stringCodeMap.put(string, stringCodeMap.size());
+        writeVarInt(TokenTypes.NEW_STRING);
+
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        write(bytes);
+    }
+
+    @Override
+    protected void writeCount(final int count) throws IOException {
+        writeVarInt(count);
+    }
+
+    @Override
+    protected void writeIntValue(final int value) throws IOException {
+        // Zig-zag encode so small negative values are written compactly, too
+        writeVarInt(value << 1 ^ value >> 31);
+    }
+
+    @Override
+    protected void writeLongValue(final long value) throws IOException {
+        writeVarLong(value << 1 ^ value >> 63);
+    }
+
+    private void writeVarInt(final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7f) != 0) {
+            writeByte(remaining & 0x7f | 0x80);
+            remaining >>>= 7;
+        }
+        writeByte(remaining);
+    }
+
+    private void writeVarLong(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7fL) != 0) {
+            writeByte((int) remaining & 0x7f | 0x80);
+            remaining >>>= 7;
+        }
+        writeByte((int) remaining);
+    }
+}
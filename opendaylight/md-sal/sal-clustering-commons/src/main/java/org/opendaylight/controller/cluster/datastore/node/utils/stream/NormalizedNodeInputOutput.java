@@ -36,7 +36,8 @@ public final class NormalizedNodeInputOutput {
         final short version = input.readShort();
         switch (version) {
             case TokenTypes.LITHIUM_VERSION:
-                return new NormalizedNodeInputStreamReader(input, true);
+            case TokenTypes.NITROGEN_VERSION:
+                return new NormalizedNodeInputStreamReader(input, version);
             default:
                 throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
         }
@@ -54,7 +55,8 @@ public final class NormalizedNodeInputOutput {
     }
 
     /**
-     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output.
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output using the
+     * {@link NormalizedNodeStreamVersion#LITHIUM} stream version, which is readable by all releases.
      *
      * @param output the DataOutput to write to
      * @return a new {@link NormalizedNodeDataOutput} instance
@@ -62,4 +64,24 @@ public final class NormalizedNodeInputOutput {
     public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output) {
         return new NormalizedNodeOutputStreamWriter(output);
     }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output using the specified
+     * stream version. Callers must make sure the version is supported by whoever is going to read the output.
+     *
+     * @param output the DataOutput to write to
+     * @param version the stream version to write
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     */
+    public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final NormalizedNodeStreamVersion version) {
+        switch (version) {
+            case LITHIUM:
+                return new NormalizedNodeOutputStreamWriter(output);
+            case NITROGEN:
+                return new NitrogenNormalizedNodeOutputStreamWriter(output);
+            default:
+                throw new IllegalArgumentException("Unhandled stream version " + version);
+        }
+    }
 }
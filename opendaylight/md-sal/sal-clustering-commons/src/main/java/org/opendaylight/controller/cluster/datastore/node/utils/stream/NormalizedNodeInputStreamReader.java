@@ -15,9 +15,12 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,6 +31,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.cluster.datastore.node.utils.QNameFactory;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -62,6 +66,13 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
     private final Map<Integer, String> codedStringMap = new HashMap<>();
 
+    // Dictionaries used by TokenTypes.NITROGEN_VERSION streams
+    private final List<String> strings = new ArrayList<>();
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+
+    private short version;
+
     private QName lastLeafSetQName;
 
     private NormalizedNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifier,
@@ -77,6 +88,12 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     NormalizedNodeInputStreamReader(final DataInput input, final boolean versionChecked) {
         this.input = Preconditions.checkNotNull(input);
         readSignatureMarker = !versionChecked;
+        version = TokenTypes.LITHIUM_VERSION;
+    }
+
+    NormalizedNodeInputStreamReader(final DataInput input, final short version) {
+        this(input, true);
+        this.version = version;
     }
 
     @Override
@@ -95,10 +112,13 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
                         "Invalid signature marker: %d", marker));
             }
 
-            final short version = input.readShort();
-            if (version != TokenTypes.LITHIUM_VERSION) {
-                throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
+            final short streamVersion = input.readShort();
+            if (streamVersion != TokenTypes.LITHIUM_VERSION && streamVersion != TokenTypes.NITROGEN_VERSION) {
+                throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s",
+                        streamVersion));
             }
+
+            version = streamVersion;
         }
     }
 
@@ -236,6 +256,60 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private QName readQName() throws IOException {
+        return version == TokenTypes.NITROGEN_VERSION ? readCodedQName() : readLithiumQName();
+    }
+
+    private QName readCodedQName() throws IOException {
+        final int code = readVarInt();
+        if (code != TokenTypes.NEW_QNAME) {
+            return lookup(qnames, code - 1, "QName");
+        }
+
+        final QName qname = QName.create(readModule(), readCodedString()).intern();
+        qnames.add(qname);
+        return qname;
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int code = readVarInt();
+        if (code != TokenTypes.NEW_MODULE) {
+            return lookup(modules, code - 1, "QNameModule");
+        }
+
+        final String namespaceString = readCodedString();
+        if (namespaceString == null) {
+            throw new InvalidNormalizedNodeStreamException("Missing QNameModule namespace");
+        }
+
+        final URI namespace;
+        try {
+            namespace = new URI(namespaceString);
+        } catch (URISyntaxException e) {
+            throw new InvalidNormalizedNodeStreamException("Invalid QNameModule namespace " + namespaceString, e);
+        }
+
+        final String revisionString = readCodedString();
+        final Date revision;
+        try {
+            revision = revisionString != null ? QName.parseRevision(revisionString) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidNormalizedNodeStreamException("Invalid QNameModule revision " + revisionString, e);
+        }
+        final QNameModule module = QNameModule.create(namespace, revision);
+        modules.add(module);
+        return module;
+    }
+
+    private static <T> T lookup(final List<T> dictionary, final int index, final String what)
+            throws InvalidNormalizedNodeStreamException {
+        if (index < 0 || index >= dictionary.size()) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid %s reference %s", what, index));
+        }
+
+        return dictionary.get(index);
+    }
+
+    private QName readLithiumQName() throws IOException {
         // Read in the same sequence of writing
         String localName = readCodedString();
         String namespace = readCodedString();
@@ -255,6 +329,22 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
 
     private String readCodedString() throws IOException {
+        if (version == TokenTypes.NITROGEN_VERSION) {
+            final int code = readVarInt();
+            switch (code) {
+                case TokenTypes.NULL_STRING:
+                    return null;
+                case TokenTypes.NEW_STRING:
+                    final byte[] bytes = new byte[readVarInt()];
+                    input.readFully(bytes);
+                    final String value = new String(bytes, StandardCharsets.UTF_8).intern();
+                    strings.add(value);
+                    return value;
+                default:
+                    return lookup(strings, code - 2, "string");
+            }
+        }
+
         byte valueType = input.readByte();
         if (valueType == TokenTypes.IS_CODE_VALUE) {
             return codedStringMap.get(input.readInt());
@@ -269,7 +359,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
     private Set<QName> readQNameSet() throws IOException {
         // Read the children count
-        int count = input.readInt();
+        int count = readCount();
         Set<QName> children = new HashSet<>(count);
         for (int i = 0; i < count; i++) {
             children.add(readQName());
@@ -278,7 +368,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private Map<QName, Object> readKeyValueMap() throws IOException {
-        int count = input.readInt();
+        int count = readCount();
         Map<QName, Object> keyValueMap = new HashMap<>(count);
 
         for (int i = 0; i < count; i++) {
@@ -301,10 +391,10 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
                 return Byte.valueOf(input.readByte());
 
             case ValueTypes.INT_TYPE :
-                return Integer.valueOf(input.readInt());
+                return Integer.valueOf(readIntValue());
 
             case ValueTypes.LONG_TYPE :
-                return Long.valueOf(input.readLong());
+                return Long.valueOf(readLongValue());
 
             case ValueTypes.QNAME_TYPE :
                 return readQName();
@@ -325,7 +415,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
                 return new BigInteger(input.readUTF());
 
             case ValueTypes.BINARY_TYPE :
-                byte[] bytes = new byte[input.readInt()];
+                byte[] bytes = new byte[readCount()];
                 input.readFully(bytes);
                 return bytes;
 
@@ -338,17 +428,65 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private String readStringBytes() throws IOException {
-        byte[] bytes = new byte[input.readInt()];
+        byte[] bytes = new byte[readCount()];
         input.readFully(bytes);
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
+    private int readCount() throws IOException {
+        return version == TokenTypes.NITROGEN_VERSION ? readVarInt() : input.readInt();
+    }
+
+    private int readIntValue() throws IOException {
+        if (version == TokenTypes.NITROGEN_VERSION) {
+            final int zigzag = readVarInt();
+            return zigzag >>> 1 ^ -(zigzag & 1);
+        }
+
+        return input.readInt();
+    }
+
+    private long readLongValue() throws IOException {
+        if (version == TokenTypes.NITROGEN_VERSION) {
+            final long zigzag = readVarLong();
+            return zigzag >>> 1 ^ -(zigzag & 1);
+        }
+
+        return input.readLong();
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte next = input.readByte();
+            value |= (next & 0x7f) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length int");
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte next = input.readByte();
+            value |= (long) (next & 0x7f) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length long");
+    }
+
     @Override
     public SchemaPath readSchemaPath() throws IOException {
         readSignatureMarkerAndVersionIfNeeded();
 
         final boolean absolute = input.readBoolean();
-        final int size = input.readInt();
+        final int size = readCount();
         final Collection<QName> qnames = new ArrayList<>(size);
         for (int i = 0; i < size; ++i) {
             qnames.add(readQName());
@@ -364,7 +502,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private YangInstanceIdentifier readYangInstanceIdentifierInternal() throws IOException {
-        int size = input.readInt();
+        int size = readCount();
 
         List<PathArgument> pathArguments = new ArrayList<>(size);
 
@@ -375,7 +513,7 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private Set<String> readObjSet() throws IOException {
-        int count = input.readInt();
+        int count = readCount();
         Set<String> children = new HashSet<>(count);
         for (int i = 0; i < count; i++) {
             children.add(readCodedString());
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Enumeration of NormalizedNode stream versions which can be written via
+ * {@link NormalizedNodeInputOutput#newDataOutput(java.io.DataOutput, NormalizedNodeStreamVersion)}. All of them can
+ * be read by {@link NormalizedNodeInputOutput#newDataInput(java.io.DataInput)}, but older releases can only read
+ * {@link #LITHIUM}.
+ */
+@Beta
+public enum NormalizedNodeStreamVersion {
+    /**
+     * Original stream version, readable by all releases.
+     */
+    LITHIUM,
+    /**
+     * Compact stream version with variable-length integers and per-stream QName dictionaries. This version must only
+     * be used when the reader, be it a remote peer or a future recovery from persisted data, is known to support it.
+     */
+    NITROGEN;
+}
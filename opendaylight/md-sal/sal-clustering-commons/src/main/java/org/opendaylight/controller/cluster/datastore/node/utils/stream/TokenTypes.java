@@ -23,4 +23,19 @@ final class TokenTypes {
     static final byte IS_CODE_VALUE = 1;
     static final byte IS_STRING_VALUE = 2;
     static final byte IS_NULL_VALUE = 3;
+
+    /**
+     * Compact stream version. Counts, lengths and int/long values are written as variable-length integers. Strings,
+     * QNameModules and QNames each have a per-stream dictionary: the first occurrence is written out in full and
+     * subsequent occurrences are written as a reference to it.
+     */
+    static final short NITROGEN_VERSION = 2;
+
+    // Dictionary codes used in NITROGEN_VERSION. A QName or QNameModule code of 0 introduces a new entry, any other
+    // value N refers to entry N - 1. A string code of 0 is null, 1 introduces a new string and any other value N refers
+    // to string N - 2.
+    static final int NEW_QNAME = 0;
+    static final int NEW_MODULE = 0;
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
 }
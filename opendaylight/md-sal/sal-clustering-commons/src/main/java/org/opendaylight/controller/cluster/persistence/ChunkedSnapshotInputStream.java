@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.opendaylight.controller.cluster.persistence.ChunkedSnapshotOutputStream.CHUNK_HEADER_SIZE;
+import static org.opendaylight.controller.cluster.persistence.ChunkedSnapshotOutputStream.FLAG_COMPRESSED;
+import static org.opendaylight.controller.cluster.persistence.ChunkedSnapshotOutputStream.HEADER_SIZE;
+import static org.opendaylight.controller.cluster.persistence.ChunkedSnapshotOutputStream.MAGIC;
+import static org.opendaylight.controller.cluster.persistence.ChunkedSnapshotOutputStream.MAX_CHUNK_SIZE;
+import static org.opendaylight.controller.cluster.persistence.ChunkedSnapshotOutputStream.VERSION;
+
+import com.google.common.base.Preconditions;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * InputStream which reads a snapshot file written by {@link ChunkedSnapshotOutputStream} from a {@link FileChannel},
+ * one chunk at a time. Each chunk's checksum is verified before its data is returned.
+ */
+final class ChunkedSnapshotInputStream extends InputStream {
+    private final FileChannel channel;
+    private final String fileName;
+    private final ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final byte[] chunk;
+    private final byte[] stored;
+    private final Inflater inflater;
+
+    private int position;
+    private int count;
+    private boolean endOfSnapshot;
+
+    private ChunkedSnapshotInputStream(final FileChannel channel, final String fileName, final int chunkSize,
+            final boolean compressed) {
+        this.channel = channel;
+        this.fileName = fileName;
+        this.chunk = new byte[chunkSize];
+        if (compressed) {
+            stored = new byte[chunkSize];
+            inflater = new Inflater();
+        } else {
+            stored = null;
+            inflater = null;
+        }
+    }
+
+    /**
+     * Checks whether the given channel is positioned at the start of a snapshot in the chunked format. The channel
+     * position is left unchanged.
+     */
+    static boolean isChunkedSnapshot(final FileChannel channel) throws IOException {
+        final ByteBuffer magic = ByteBuffer.allocate(4);
+        final long start = channel.position();
+        while (magic.hasRemaining() && channel.read(magic, start + magic.position()) >= 0) {
+            // Keep reading
+        }
+
+        return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    }
+
+    /**
+     * Reads the header from the given channel and returns a stream positioned at the start of the snapshot data.
+     */
+    static ChunkedSnapshotInputStream open(final FileChannel channel, final String fileName) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, fileName);
+        header.flip();
+
+        final int magic = header.getInt();
+        final byte version = header.get();
+        final byte flags = header.get();
+        final int chunkSize = header.getInt();
+        if (magic != MAGIC || version != VERSION || chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IOException(String.format("Unsupported snapshot file %s: magic %08x, version %d, chunk size %d",
+                    fileName, magic, version, chunkSize));
+        }
+
+        return new ChunkedSnapshotInputStream(channel, fileName, chunkSize, (flags & FLAG_COMPRESSED) != 0);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+
+        return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len) throws IOException {
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+
+        final int toCopy = Math.min(len, count - position);
+        System.arraycopy(chunk, position, bytes, off, toCopy);
+        position += toCopy;
+        return toCopy;
+    }
+
+    @Override
+    public int available() {
+        return count - position;
+    }
+
+    /**
+     * Verifies that all the snapshot data has been consumed and the end marker chunk is present.
+     */
+    void verifyComplete() throws IOException {
+        if (ensureData()) {
+            throw new IOException("Unexpected data following the snapshot in " + fileName);
+        }
+    }
+
+    /**
+     * Releases resources held by this stream. The channel itself is not closed. Closing the stream more than once
+     * has no further effect.
+     */
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private boolean ensureData() throws IOException {
+        while (position == count) {
+            if (endOfSnapshot) {
+                return false;
+            }
+
+            readChunk();
+        }
+
+        return true;
+    }
+
+    private void readChunk() throws IOException {
+        chunkHeader.clear();
+        readFully(channel, chunkHeader, fileName);
+        chunkHeader.flip();
+
+        final int length = chunkHeader.getInt();
+        final int storedLength = chunkHeader.getInt();
+        final int checksum = chunkHeader.getInt();
+        if (length == 0) {
+            endOfSnapshot = true;
+            position = 0;
+            count = 0;
+            return;
+        }
+
+        if (length < 0 || length > chunk.length || storedLength <= 0 || storedLength > length
+                || storedLength < length && inflater == null) {
+            throw new IOException(String.format("Corrupt chunk in snapshot file %s: length %d, stored length %d",
+                    fileName, length, storedLength));
+        }
+
+        if (storedLength < length) {
+            readFully(channel, ByteBuffer.wrap(stored, 0, storedLength), fileName);
+            inflate(storedLength, length);
+        } else {
+            readFully(channel, ByteBuffer.wrap(chunk, 0, length), fileName);
+        }
+
+        crc.reset();
+        crc.update(chunk, 0, length);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch in snapshot file " + fileName);
+        }
+
+        position = 0;
+        count = length;
+    }
+
+    private void inflate(final int storedLength, final int length) throws IOException {
+        inflater.reset();
+        inflater.setInput(stored, 0, storedLength);
+
+        int inflated = 0;
+        try {
+            while (inflated < length) {
+                final int read = inflater.inflate(chunk, inflated, length - inflated);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed chunk in snapshot file " + fileName, e);
+        }
+
+        if (inflated != length) {
+            throw new IOException(String.format("Compressed chunk in snapshot file %s inflated to %d bytes, "
+                    + "expected %d", fileName, inflated, length));
+        }
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buf, final String fileName)
+            throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) {
+                throw new EOFException("Unexpected end of snapshot file " + fileName);
+            }
+        }
+    }
+}
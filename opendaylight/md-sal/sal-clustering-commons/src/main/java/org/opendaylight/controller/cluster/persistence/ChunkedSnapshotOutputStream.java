@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * OutputStream which writes a snapshot file in the chunked format directly to a {@link FileChannel}. The file
+ * starts with a header:
+ * <pre>
+ *   int  magic number
+ *   byte format version
+ *   byte flags - FLAG_COMPRESSED if chunks may be compressed
+ *   int  maximum (uncompressed) chunk size
+ * </pre>
+ * followed by chunks, each laid out as:
+ * <pre>
+ *   int  uncompressed length
+ *   int  stored length - if less than the uncompressed length, the chunk data is compressed
+ *   int  CRC32 of the uncompressed data
+ *   byte[stored length] chunk data
+ * </pre>
+ * The last chunk has an uncompressed length of 0 and marks the end of the snapshot, so a truncated file is detected
+ * on load. Only a single chunk is buffered at a time, regardless of the size of the snapshot.
+ */
+final class ChunkedSnapshotOutputStream extends OutputStream {
+    static final int MAGIC = 0x4F444C53;
+    static final byte VERSION = 1;
+    static final byte FLAG_COMPRESSED = 1;
+    static final int HEADER_SIZE = 10;
+    static final int CHUNK_HEADER_SIZE = 12;
+    // Chunks are buffered in memory when loading, hence we do not trust the file with anything larger
+    static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final byte[] chunk;
+    private final ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater;
+    private final byte[] compressed;
+
+    private int count;
+    private boolean closed;
+
+    ChunkedSnapshotOutputStream(final FileChannel channel, final int chunkSize, final boolean compress)
+            throws IOException {
+        Preconditions.checkArgument(chunkSize > 0 && chunkSize <= MAX_CHUNK_SIZE, "Invalid chunk size %s",
+            chunkSize);
+        this.channel = Preconditions.checkNotNull(channel);
+        this.chunk = new byte[chunkSize];
+        if (compress) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            compressed = new byte[chunkSize];
+        } else {
+            deflater = null;
+            compressed = null;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).put(compress ? FLAG_COMPRESSED : 0).putInt(chunkSize).flip();
+        writeFully(header);
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        if (count == chunk.length) {
+            writeChunk();
+        }
+
+        chunk[count++] = (byte) value;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        Preconditions.checkPositionIndexes(off, off + len, bytes.length);
+
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (count == chunk.length) {
+                writeChunk();
+            }
+
+            final int toCopy = Math.min(remaining, chunk.length - count);
+            System.arraycopy(bytes, offset, chunk, count, toCopy);
+            count += toCopy;
+            offset += toCopy;
+            remaining -= toCopy;
+        }
+    }
+
+    /**
+     * Writes any buffered data and the end marker chunk and forces the file content to the storage device. The
+     * channel itself is not closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            if (count > 0) {
+                writeChunk();
+            }
+
+            chunkHeader.clear();
+            chunkHeader.putInt(0).putInt(0).putInt(0).flip();
+            writeFully(chunkHeader);
+            channel.force(true);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        crc.reset();
+        crc.update(chunk, 0, count);
+
+        final ByteBuffer data;
+        final int compressedLength = compress();
+        if (compressedLength > 0) {
+            data = ByteBuffer.wrap(compressed, 0, compressedLength);
+        } else {
+            data = ByteBuffer.wrap(chunk, 0, count);
+        }
+
+        chunkHeader.clear();
+        chunkHeader.putInt(count).putInt(data.remaining()).putInt((int) crc.getValue()).flip();
+        writeFully(chunkHeader);
+        writeFully(data);
+        count = 0;
+    }
+
+    /**
+     * Compresses the current chunk.
+     *
+     * @return the compressed length or 0 if the chunk should be stored uncompressed
+     */
+    private int compress() {
+        if (deflater == null) {
+            return 0;
+        }
+
+        deflater.reset();
+        deflater.setInput(chunk, 0, count);
+        deflater.finish();
+
+        // Only use the compressed data if it is smaller than the original
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length >= count - 1) {
+                return 0;
+            }
+            length += deflater.deflate(compressed, length, count - 1 - length);
+        }
+
+        return length;
+    }
+
+    private void writeFully(final ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.dispatch.Futures;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+/**
+ * Flushes written {@link JournalSegment}s to the storage device on a dedicated thread. All flush requests that
+ * queue up while a flush is in progress are coalesced into a single flush of the distinct segments involved, so that
+ * concurrent writes from many persistenceIds share the cost of a single fsync per segment.
+ */
+final class JournalGroupCommitter implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(JournalGroupCommitter.class);
+
+    private static final class FlushRequest {
+        final Collection<JournalSegment> segments;
+        final Promise<Void> promise;
+
+        FlushRequest(final Collection<JournalSegment> segments, final Promise<Void> promise) {
+            this.segments = segments;
+            this.promise = promise;
+        }
+    }
+
+    private static final FlushRequest SHUTDOWN = new FlushRequest(null, null);
+
+    private final BlockingQueue<FlushRequest> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+
+    JournalGroupCommitter(final String name) {
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Requests the given segments to be flushed.
+     *
+     * @return a Future completed once the segments have been flushed
+     */
+    Future<Void> flush(final Collection<JournalSegment> segments) {
+        final Promise<Void> promise = Futures.promise();
+        queue.add(new FlushRequest(segments, promise));
+        return promise.future();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void run() {
+        final List<FlushRequest> batch = new ArrayList<>();
+        final Set<JournalSegment> toFlush = new LinkedHashSet<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                LOG.debug("{}: interrupted", thread.getName(), e);
+                return;
+            }
+            queue.drainTo(batch);
+
+            boolean shutdown = false;
+            for (FlushRequest request : batch) {
+                if (request == SHUTDOWN) {
+                    shutdown = true;
+                } else {
+                    toFlush.addAll(request.segments);
+                }
+            }
+
+            Exception failure = null;
+            try {
+                toFlush.forEach(JournalSegment::force);
+            } catch (Exception e) {
+                LOG.error("{}: failed to flush segments {}", thread.getName(), toFlush, e);
+                failure = e;
+            }
+
+            LOG.trace("{}: flushed {} segments for {} requests", thread.getName(), toFlush.size(), batch.size());
+
+            for (FlushRequest request : batch) {
+                if (request == SHUTDOWN) {
+                    continue;
+                }
+                if (failure == null) {
+                    request.promise.success(null);
+                } else {
+                    request.promise.failure(failure);
+                }
+            }
+
+            batch.clear();
+            toFlush.clear();
+
+            if (shutdown) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        queue.add(SHUTDOWN);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            LOG.debug("{}: interrupted while waiting for shutdown", thread.getName(), e);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
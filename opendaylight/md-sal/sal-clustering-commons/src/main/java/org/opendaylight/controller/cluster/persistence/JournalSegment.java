@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single append-only segment file of a {@link SegmentedJournalLog}. The file is pre-allocated to the segment size
+ * and memory-mapped while it is the active segment. Each entry is laid out as follows:
+ * <pre>
+ *   int  length of the serialized entry, written last so a torn write reads as the end of the segment
+ *   int  CRC32 of the sequence number and the serialized entry
+ *   long sequence number
+ *   byte[length] serialized entry
+ * </pre>
+ * A zero length marks the end of the written data. Once a segment is sealed it is only ever read.
+ *
+ * <p>
+ * Mappings are released explicitly once they are no longer needed instead of waiting for the buffers to be garbage
+ * collected, as they would otherwise keep the files of sealed and deleted segments mapped for an unbounded time.
+ */
+final class JournalSegment {
+    private static final Logger LOG = LoggerFactory.getLogger(JournalSegment.class);
+
+    static final int ENTRY_HEADER_SIZE = 16;
+
+    private static final Consumer<MappedByteBuffer> UNMAPPER = createUnmapper();
+
+    /**
+     * Callback invoked for each entry read from a segment.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        /**
+         * Consumes an entry.
+         *
+         * @param sequenceNr the entry's sequence number
+         * @param data the serialized entry
+         * @return true to continue reading, false to stop
+         */
+        boolean accept(long sequenceNr, byte[] data);
+    }
+
+    private final File file;
+    private final long firstSequenceNr;
+
+    // Only non-null while this is the active segment. Released under this object's lock, so it is not unmapped
+    // while being forced.
+    private volatile MappedByteBuffer buffer;
+    private long lastSequenceNr;
+
+    private JournalSegment(final File file, final long firstSequenceNr, final MappedByteBuffer buffer,
+            final long lastSequenceNr) {
+        this.file = file;
+        this.firstSequenceNr = firstSequenceNr;
+        this.buffer = buffer;
+        this.lastSequenceNr = lastSequenceNr;
+    }
+
+    static String fileName(final long firstSequenceNr) {
+        return String.format("%020d.log", firstSequenceNr);
+    }
+
+    static long parseFirstSequenceNr(final String fileName) {
+        if (!fileName.endsWith(".log")) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Creates a new active segment.
+     */
+    static JournalSegment create(final File dir, final long firstSequenceNr, final int size) throws IOException {
+        final File file = new File(dir, fileName(firstSequenceNr));
+        LOG.debug("Creating journal segment {} with size {}", file, size);
+
+        return new JournalSegment(file, firstSequenceNr, map(file, size), firstSequenceNr - 1);
+    }
+
+    /**
+     * Opens an existing segment as the active segment, positioning it after the last valid entry.
+     */
+    static JournalSegment openActive(final File file, final long firstSequenceNr) throws IOException {
+        final MappedByteBuffer buffer = map(file, (int) file.length());
+        final long[] last = {firstSequenceNr - 1};
+        final int end = scan(buffer, (seqNr, data) -> {
+            last[0] = seqNr;
+            return true;
+        });
+
+        buffer.position(end);
+        LOG.debug("Opened journal segment {} - last sequence number {}, position {}", file, last[0], end);
+
+        return new JournalSegment(file, firstSequenceNr, buffer, last[0]);
+    }
+
+    /**
+     * Opens an existing segment that will no longer be written to.
+     */
+    static JournalSegment openSealed(final File file, final long firstSequenceNr, final long lastSequenceNr) {
+        return new JournalSegment(file, firstSequenceNr, null, lastSequenceNr);
+    }
+
+    private static MappedByteBuffer map(final File file, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping remains valid after the channel is closed.
+            return channel.map(MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getFirstSequenceNr() {
+        return firstSequenceNr;
+    }
+
+    long getLastSequenceNr() {
+        return lastSequenceNr;
+    }
+
+    boolean isEmpty() {
+        return lastSequenceNr < firstSequenceNr;
+    }
+
+    /**
+     * Appends an entry to this segment.
+     *
+     * @return false if there is not enough room left in this segment
+     */
+    boolean append(final long sequenceNr, final byte[] data) {
+        final MappedByteBuffer local = buffer;
+        Preconditions.checkState(local != null, "Segment %s is sealed", file);
+        Preconditions.checkArgument(sequenceNr > lastSequenceNr, "Sequence number %s is not greater than %s",
+                sequenceNr, lastSequenceNr);
+
+        final int pos = local.position();
+        if (local.capacity() - pos < ENTRY_HEADER_SIZE + data.length) {
+            return false;
+        }
+
+        local.putLong(pos + 8, sequenceNr);
+        local.position(pos + ENTRY_HEADER_SIZE);
+        local.put(data);
+        local.putInt(pos + 4, checksum(sequenceNr, data));
+        local.putInt(pos, data.length);
+
+        lastSequenceNr = sequenceNr;
+        return true;
+    }
+
+    /**
+     * Flushes written data to the storage device. This may be called from any thread.
+     */
+    synchronized void force() {
+        final MappedByteBuffer local = buffer;
+        if (local != null) {
+            local.force();
+        }
+    }
+
+    /**
+     * Releases the mapping of this segment - it will no longer be written to.
+     *
+     * @param flush whether written data should be flushed to the storage device first
+     */
+    synchronized void seal(final boolean flush) {
+        final MappedByteBuffer local = buffer;
+        if (local != null) {
+            if (flush) {
+                local.force();
+            }
+            buffer = null;
+            UNMAPPER.accept(local);
+        }
+    }
+
+    /**
+     * Reads the entries of this segment in order.
+     */
+    void read(final EntryConsumer consumer) throws IOException {
+        final MappedByteBuffer local = buffer;
+        if (local != null) {
+            scan(local.duplicate(), consumer);
+            return;
+        }
+
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            mapped = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // Entries are copied out of the mapping, hence nothing refers to it once the scan is done
+        try {
+            scan(mapped, consumer);
+        } finally {
+            UNMAPPER.accept(mapped);
+        }
+    }
+
+    private static int scan(final ByteBuffer buf, final EntryConsumer consumer) {
+        int pos = 0;
+        final int limit = buf.limit();
+        while (limit - pos >= ENTRY_HEADER_SIZE) {
+            final int length = buf.getInt(pos);
+            if (length <= 0 || limit - pos - ENTRY_HEADER_SIZE < length) {
+                break;
+            }
+
+            final int crc = buf.getInt(pos + 4);
+            final long sequenceNr = buf.getLong(pos + 8);
+            final byte[] data = new byte[length];
+            final ByteBuffer src = buf.duplicate();
+            src.position(pos + ENTRY_HEADER_SIZE);
+            src.get(data);
+
+            if (crc != checksum(sequenceNr, data)) {
+                LOG.warn("Checksum mismatch for entry with sequence number {} at position {} - ignoring the rest "
+                        + "of the segment", sequenceNr, pos);
+                break;
+            }
+
+            pos += ENTRY_HEADER_SIZE + length;
+            if (!consumer.accept(sequenceNr, data)) {
+                break;
+            }
+        }
+
+        return pos;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private static Consumer<MappedByteBuffer> createUnmapper() {
+        // Java 8 exposes the buffer's cleaner, later versions only allow invoking it via Unsafe
+        try {
+            final Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return mapped -> {
+                try {
+                    final Object cleaner = cleanerMethod.invoke(mapped);
+                    if (cleaner != null) {
+                        cleanMethod.invoke(cleaner);
+                    }
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    LOG.debug("Failed to release mapped buffer", e);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.trace("Buffer cleaner not accessible", e);
+        }
+
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return mapped -> {
+                try {
+                    invokeCleaner.invoke(unsafe, mapped);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    LOG.debug("Failed to release mapped buffer", e);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Mapped journal segments cannot be released explicitly, relying on garbage collection", e);
+            return mapped -> { };
+        }
+    }
+
+    private static int checksum(final long sequenceNr, final byte[] data) {
+        final CRC32 crc = new CRC32();
+        for (int i = 0; i < 8; i++) {
+            crc.update((int) (sequenceNr >>> (i * 8)));
+        }
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSegment [file=" + file + ", firstSequenceNr=" + firstSequenceNr + ", lastSequenceNr="
+                + lastSequenceNr + ", active=" + (buffer != null) + "]";
+    }
+}
@@ -16,12 +16,12 @@ import akka.persistence.serialization.Snapshot;
 import akka.persistence.serialization.SnapshotSerializer;
 import akka.persistence.snapshot.japi.SnapshotStore;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.io.ByteStreams;
 import com.typesafe.config.Config;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
@@ -30,9 +30,11 @@ import java.io.ObjectOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
@@ -55,16 +57,25 @@ import scala.concurrent.Future;
  * to the file which will fail if the data reaches or exceeds Integer.MAX_VALUE in size. This class avoids that issue
  * by serializing the data directly to the file.
  *
+ * <p>
+ * Snapshots are written in a chunked format (see {@link ChunkedSnapshotOutputStream}) with a checksum per chunk and
+ * optional compression, configured via {@code chunk-size} and {@code compression}. Only a single chunk is buffered
+ * while saving or loading, so the memory needed is independent of the snapshot size. Snapshot files previously
+ * written as plain java serialized objects or by akka's LocalSnapshotStore can still be loaded.
+ *
  * @author Thomas Pantelis
  */
 public class LocalSnapshotStore extends SnapshotStore {
     private static final Logger LOG = LoggerFactory.getLogger(LocalSnapshotStore.class);
 
     private static final int PERSISTENCE_ID_START_INDEX = "snapshot-".length();
+    private static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
 
     private final ExecutionContext executionContext;
     private final int maxLoadAttempts;
     private final File snapshotDir;
+    private final int chunkSize;
+    private final boolean compression;
 
     public LocalSnapshotStore(final Config config) {
         this.executionContext = context().system().dispatchers().lookup(config.getString("stream-dispatcher"));
@@ -73,7 +84,15 @@ public class LocalSnapshotStore extends SnapshotStore {
         int localMaxLoadAttempts = config.getInt("max-load-attempts");
         maxLoadAttempts = localMaxLoadAttempts > 0 ? localMaxLoadAttempts : 1;
 
-        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}", snapshotDir, maxLoadAttempts);
+        long localChunkSize = config.hasPath("chunk-size") ? config.getBytes("chunk-size") : DEFAULT_CHUNK_SIZE;
+        Preconditions.checkArgument(localChunkSize > 0
+                && localChunkSize <= ChunkedSnapshotOutputStream.MAX_CHUNK_SIZE, "Invalid chunk-size %s",
+                localChunkSize);
+        chunkSize = (int) localChunkSize;
+        compression = config.hasPath("compression") && config.getBoolean("compression");
+
+        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}, chunkSize: {}, compression: {}",
+                snapshotDir, maxLoadAttempts, chunkSize, compression);
     }
 
     @Override
@@ -134,7 +153,13 @@ public class LocalSnapshotStore extends SnapshotStore {
     }
 
     private Object deserialize(final File file) throws IOException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (ChunkedSnapshotInputStream.isChunkedSnapshot(channel)) {
+                return deserializeChunked(channel, file);
+            }
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
             return in.readObject();
         } catch (ClassNotFoundException e) {
             throw new IOException("Error loading snapshot file " + file, e);
@@ -145,6 +170,19 @@ public class LocalSnapshotStore extends SnapshotStore {
         }
     }
 
+    private static Object deserializeChunked(final FileChannel channel, final File file) throws IOException {
+        try (ChunkedSnapshotInputStream chunked = ChunkedSnapshotInputStream.open(channel, file.getName())) {
+            // Closing the ObjectInputStream closes the chunked stream, hence its end has to be verified before that
+            try (ObjectInputStream in = new ObjectInputStream(chunked)) {
+                final Object data = in.readObject();
+                chunked.verifyComplete();
+                return data;
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Error loading snapshot file " + file, e);
+            }
+        }
+    }
+
     private Object tryDeserializeAkkaSnapshot(final File file) throws IOException {
         LOG.debug("tryDeserializeAkkaSnapshot {}", file);
 
@@ -172,7 +210,10 @@ public class LocalSnapshotStore extends SnapshotStore {
 
         LOG.debug("Saving to temp file: {}", temp);
 
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp))) {
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             ObjectOutputStream out = new ObjectOutputStream(
+                     new ChunkedSnapshotOutputStream(channel, chunkSize, compression))) {
             out.writeObject(snapshot);
         } catch (IOException e) {
             LOG.error("Error saving snapshot file {}. Deleting file..", temp, e);
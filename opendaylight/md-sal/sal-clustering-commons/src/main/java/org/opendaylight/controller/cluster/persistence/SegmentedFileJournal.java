@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import akka.persistence.AtomicWrite;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.google.common.base.Preconditions;
+import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.collection.Iterator;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+
+/**
+ * Akka journal implementation backed by append-only, memory-mapped segment files on the local file system. Each
+ * persistenceId has its own directory of segment files (see {@link SegmentedJournalLog}), so deleting messages
+ * simply removes whole segment files and recovery scans the segments sequentially. Unlike the LevelDB journal there
+ * is no background compaction which can stall writes.
+ *
+ * <p>
+ * Writes are copied into the active segment's mapping on the journal actor and then flushed to disk by a shared
+ * {@link JournalGroupCommitter}, which coalesces concurrent flush requests from all persistenceIds into a single
+ * fsync per segment. The write is only acknowledged once it has been flushed, unless {@code fsync} is disabled.
+ *
+ * <p>
+ * To use this journal, set {@code akka.persistence.journal.plugin = akka.persistence.journal.segmented-file} in
+ * akka.conf. Note that existing LevelDB journal data is not migrated.
+ */
+public class SegmentedFileJournal extends AsyncWriteJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileJournal.class);
+
+    private final Map<String, SegmentedJournalLog> logs = new ConcurrentHashMap<>();
+    private final ExecutionContext replayExecutionContext;
+    private final Serialization serialization;
+    private final File journalDir;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private JournalGroupCommitter groupCommitter;
+
+    public SegmentedFileJournal(final Config config) {
+        replayExecutionContext = context().system().dispatchers().lookup(config.getString("replay-dispatcher"));
+        serialization = SerializationExtension.get(context().system());
+        journalDir = new File(config.getString("dir"));
+
+        final long localSegmentSize = config.getBytes("segment-size");
+        Preconditions.checkArgument(localSegmentSize > 0 && localSegmentSize <= Integer.MAX_VALUE,
+                "Invalid segment-size %s", localSegmentSize);
+        segmentSize = (int) localSegmentSize;
+        fsync = config.getBoolean("fsync");
+
+        LOG.debug("SegmentedFileJournal ctor: journalDir: {}, segmentSize: {}, fsync: {}", journalDir, segmentSize,
+                fsync);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        if (!journalDir.isDirectory()) {
+            // Try to create the directory, on failure double check if someone else beat us to it.
+            if (!journalDir.mkdirs() && !journalDir.isDirectory()) {
+                throw new IOException("Failed to create journal directory " + journalDir.getCanonicalPath());
+            }
+        }
+
+        if (fsync) {
+            groupCommitter = new JournalGroupCommitter("segmented-journal-flusher-" + journalDir.getName());
+        }
+
+        super.preStart();
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (groupCommitter != null) {
+            groupCommitter.close();
+        }
+
+        logs.values().forEach(SegmentedJournalLog::close);
+        logs.clear();
+
+        super.postStop();
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(final Iterable<AtomicWrite> messages) {
+        final List<Optional<Exception>> results = new ArrayList<>();
+        final Set<JournalSegment> written = new LinkedHashSet<>();
+
+        for (AtomicWrite write : messages) {
+            // Serialize all the entries of an AtomicWrite first, so a non-serializable payload rejects the whole
+            // write without anything having been appended.
+            final int size = write.payload().size();
+            final long[] sequenceNrs = new long[size];
+            final List<byte[]> entries = new ArrayList<>(size);
+            try {
+                final Iterator<PersistentRepr> it = write.payload().iterator();
+                for (int i = 0; it.hasNext(); i++) {
+                    final PersistentRepr repr = it.next();
+                    sequenceNrs[i] = repr.sequenceNr();
+                    entries.add(serialization.findSerializerFor(repr).toBinary(repr));
+                }
+            } catch (Exception e) {
+                LOG.debug("Failed to serialize messages for {}", write.persistenceId(), e);
+                results.add(Optional.of(e));
+                continue;
+            }
+
+            try {
+                written.addAll(getLog(write.persistenceId()).append(sequenceNrs, entries));
+            } catch (IOException e) {
+                LOG.error("Failed to write messages for {}", write.persistenceId(), e);
+                return Futures.failed(e);
+            }
+
+            results.add(Optional.empty());
+        }
+
+        final Iterable<Optional<Exception>> ret = results;
+        if (groupCommitter == null || written.isEmpty()) {
+            return Futures.successful(ret);
+        }
+
+        return groupCommitter.flush(written).map(new Mapper<Void, Iterable<Optional<Exception>>>() {
+            @Override
+            public Iterable<Optional<Exception>> apply(final Void notUsed) {
+                return ret;
+            }
+        }, context().dispatcher());
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(final String persistenceId, final long toSequenceNr) {
+        LOG.debug("In doAsyncDeleteMessagesTo - persistenceId: {}, toSequenceNr: {}", persistenceId, toSequenceNr);
+
+        try {
+            getLog(persistenceId).deleteTo(toSequenceNr);
+        } catch (IOException e) {
+            LOG.error("Failed to delete messages for {} up to {}", persistenceId, toSequenceNr, e);
+            return Futures.failed(e);
+        }
+
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Consumer<PersistentRepr> replayCallback) {
+        LOG.debug("In doAsyncReplayMessages - persistenceId: {}, fromSequenceNr: {}, toSequenceNr: {}, max: {}",
+                persistenceId, fromSequenceNr, toSequenceNr, max);
+
+        return Futures.future(() -> {
+            final long count = getLog(persistenceId).replay(fromSequenceNr, toSequenceNr, max, (seqNr, data) -> {
+                replayCallback.accept(serialization.deserialize(data, PersistentRepr.class).get());
+                return true;
+            });
+
+            LOG.debug("Replayed {} messages for {}", count, persistenceId);
+            return null;
+        }, replayExecutionContext);
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, final long fromSequenceNr) {
+        return Futures.future(() -> getLog(persistenceId).highestSequenceNr(), replayExecutionContext);
+    }
+
+    private SegmentedJournalLog getLog(final String persistenceId) throws IOException {
+        SegmentedJournalLog log = logs.get(persistenceId);
+        if (log == null) {
+            synchronized (logs) {
+                log = logs.get(persistenceId);
+                if (log == null) {
+                    log = SegmentedJournalLog.open(new File(journalDir, encode(persistenceId)), segmentSize,
+                        fsync);
+                    logs.put(persistenceId, log);
+                }
+            }
+        }
+
+        return log;
+    }
+
+    private static String encode(final String str) {
+        try {
+            return URLEncoder.encode(str, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            // Shouldn't happen
+            LOG.warn("Error encoding {}", str, e);
+            return str;
+        }
+    }
+}
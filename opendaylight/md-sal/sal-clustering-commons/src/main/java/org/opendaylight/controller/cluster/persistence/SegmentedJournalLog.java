@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The journal of a single persistenceId, stored as a directory of {@link JournalSegment}s. Entries are only ever
+ * appended to the last (active) segment. When it fills up, it is sealed and a new segment is started. Deleting
+ * messages removes whole segments, with the deleted-to sequence number being recorded in a small marker file so
+ * that entries in partially deleted segments are skipped on replay.
+ *
+ * <p>
+ * Instances are thread-safe - writes happen on the journal actor while replays run on the replay dispatcher.
+ */
+final class SegmentedJournalLog {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedJournalLog.class);
+
+    private static final String DELETED_TO_FILE = "deleted-to";
+
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+    private final File dir;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private long deletedToSequenceNr;
+
+    private SegmentedJournalLog(final File dir, final int segmentSize, final boolean fsync) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the journal in the given directory, creating it if needed.
+     *
+     * @param dir the journal directory
+     * @param segmentSize the size of newly-created segments
+     * @param fsync whether segments are flushed to the storage device when they are sealed
+     */
+    static SegmentedJournalLog open(final File dir, final int segmentSize, final boolean fsync) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            throw new IOException("Failed to create journal directory " + dir.getCanonicalPath());
+        }
+
+        final SegmentedJournalLog log = new SegmentedJournalLog(dir, segmentSize, fsync);
+        log.load();
+        return log;
+    }
+
+    private void load() throws IOException {
+        final File deletedToFile = new File(dir, DELETED_TO_FILE);
+        if (deletedToFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(deletedToFile))) {
+                deletedToSequenceNr = in.readLong();
+            }
+        }
+
+        final File[] files = dir.listFiles();
+        final TreeMap<Long, File> segmentFiles = new TreeMap<>();
+        for (File file : files != null ? files : new File[0]) {
+            final long firstSequenceNr = JournalSegment.parseFirstSequenceNr(file.getName());
+            if (firstSequenceNr >= 0) {
+                segmentFiles.put(firstSequenceNr, file);
+            }
+        }
+
+        // All but the last segment are sealed - the last sequence number of each is derived from its successor.
+        for (Entry<Long, File> entry : segmentFiles.entrySet()) {
+            final Long next = segmentFiles.higherKey(entry.getKey());
+            final JournalSegment segment = next != null
+                    ? JournalSegment.openSealed(entry.getValue(), entry.getKey(), next - 1)
+                    : JournalSegment.openActive(entry.getValue(), entry.getKey());
+            segments.put(entry.getKey(), segment);
+        }
+
+        LOG.debug("Loaded journal {}: segments {}, deletedToSequenceNr {}", dir, segments.values(),
+                deletedToSequenceNr);
+    }
+
+    /**
+     * Appends serialized entries with consecutive sequence numbers.
+     *
+     * @param sequenceNrs the sequence numbers of the entries
+     * @param entries the serialized entries
+     * @return the segments that were written to and need to be flushed
+     */
+    synchronized List<JournalSegment> append(final long[] sequenceNrs, final List<byte[]> entries)
+            throws IOException {
+        final List<JournalSegment> written = new ArrayList<>(1);
+        for (int i = 0; i < sequenceNrs.length; i++) {
+            final long sequenceNr = sequenceNrs[i];
+            final byte[] data = entries.get(i);
+
+            JournalSegment active = activeSegment();
+            if (active == null || !active.append(sequenceNr, data)) {
+                active = rollSegment(active, sequenceNr, data.length);
+                if (!active.append(sequenceNr, data)) {
+                    throw new IOException("Failed to append entry " + sequenceNr + " to new segment " + active);
+                }
+            }
+
+            if (written.isEmpty() || written.get(written.size() - 1) != active) {
+                written.add(active);
+            }
+        }
+
+        return written;
+    }
+
+    private JournalSegment rollSegment(final JournalSegment current, final long sequenceNr, final int entrySize)
+            throws IOException {
+        if (current != null) {
+            if (current.isEmpty()) {
+                // A pre-allocated segment that was never written to - replace it with one that is large enough.
+                segments.remove(current.getFirstSequenceNr());
+                current.seal(false);
+                Files.deleteIfExists(current.getFile().toPath());
+            } else {
+                current.seal(fsync);
+            }
+        }
+
+        final JournalSegment segment = JournalSegment.create(dir, sequenceNr,
+                Math.max(segmentSize, JournalSegment.ENTRY_HEADER_SIZE + entrySize));
+        segments.put(sequenceNr, segment);
+        return segment;
+    }
+
+    private JournalSegment activeSegment() {
+        final Entry<Long, JournalSegment> last = segments.lastEntry();
+        return last != null ? last.getValue() : null;
+    }
+
+    /**
+     * Replays entries in the given range.
+     *
+     * @return the number of entries replayed
+     */
+    synchronized long replay(final long fromSequenceNr, final long toSequenceNr, final long max,
+            final JournalSegment.EntryConsumer consumer) throws IOException {
+        final long from = Math.max(fromSequenceNr, deletedToSequenceNr + 1);
+        if (max <= 0 || from > toSequenceNr) {
+            return 0;
+        }
+
+        // Start with the segment containing the first requested entry and scan sequentially from there.
+        final Long startKey = segments.floorKey(from);
+        final long[] count = {0};
+        final boolean[] done = {false};
+        for (JournalSegment segment : (startKey != null ? segments.tailMap(startKey, true) : segments).values()) {
+            if (segment.getFirstSequenceNr() > toSequenceNr) {
+                break;
+            }
+
+            segment.read((sequenceNr, data) -> {
+                if (sequenceNr > toSequenceNr) {
+                    done[0] = true;
+                    return false;
+                }
+                if (sequenceNr >= from) {
+                    if (!consumer.accept(sequenceNr, data) || ++count[0] >= max) {
+                        done[0] = true;
+                        return false;
+                    }
+                }
+                return true;
+            });
+
+            if (done[0]) {
+                break;
+            }
+        }
+
+        return count[0];
+    }
+
+    synchronized long highestSequenceNr() {
+        final JournalSegment active = activeSegment();
+        return Math.max(active != null ? active.getLastSequenceNr() : 0, deletedToSequenceNr);
+    }
+
+    /**
+     * Deletes all entries up to and including the given sequence number. Segments that only contain deleted entries
+     * are removed, except the active segment.
+     */
+    synchronized void deleteTo(final long toSequenceNr) throws IOException {
+        final JournalSegment active = activeSegment();
+        final long effective = Math.min(toSequenceNr, active != null ? active.getLastSequenceNr() : 0);
+        if (effective <= deletedToSequenceNr) {
+            return;
+        }
+
+        writeDeletedTo(effective);
+        deletedToSequenceNr = effective;
+
+        final Iterator<JournalSegment> it = segments.values().iterator();
+        while (it.hasNext()) {
+            final JournalSegment segment = it.next();
+            if (segment == active || segment.getLastSequenceNr() > effective) {
+                break;
+            }
+
+            LOG.debug("Deleting journal segment {}", segment);
+            it.remove();
+            Files.deleteIfExists(segment.getFile().toPath());
+        }
+    }
+
+    private void writeDeletedTo(final long sequenceNr) throws IOException {
+        final File actual = new File(dir, DELETED_TO_FILE);
+        final File temp = File.createTempFile(DELETED_TO_FILE, null, dir);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeLong(sequenceNr);
+            out.flush();
+        }
+
+        Files.move(temp.toPath(), actual.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    synchronized void close() {
+        final JournalSegment active = activeSegment();
+        if (active != null) {
+            active.seal(fsync);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedJournalLog [dir=" + dir + ", segments=" + Arrays.toString(segments.keySet().toArray())
+                + ", deletedToSequenceNr=" + deletedToSequenceNr + "]";
+    }
+}
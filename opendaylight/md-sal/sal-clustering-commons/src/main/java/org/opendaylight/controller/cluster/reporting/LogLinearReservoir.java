@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.reporting;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link Reservoir} which counts values in fixed log-linear buckets, in the style of HdrHistogram. Each power of two
+ * range is split into 32 equally-sized buckets, hence reported values are accurate to within about 3%. Recording
+ * a value is a single atomic increment and does not allocate, while the memory footprint is constant regardless of
+ * the number of recorded values.
+ *
+ * <p>
+ * Unlike the default reservoirs, this reservoir does not forget old values, i.e. it reports the distribution of all
+ * values recorded since its creation. Negative values are recorded as zero and values larger than 2<sup>40</sup> - 1
+ * are recorded as 2<sup>40</sup> - 1.
+ */
+public final class LogLinearReservoir implements Reservoir {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    // 2^40 nanoseconds is about 18 minutes, which is plenty for timing purposes
+    private static final long MAX_VALUE = (1L << 40) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            size += counts.get(i);
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(final long value) {
+        counts.getAndIncrement(bucketIndex(Math.min(Math.max(value, 0), MAX_VALUE)));
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            snapshot[i] = counts.get(i);
+        }
+        return new BucketSnapshot(snapshot);
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        // Keep the top SUB_BUCKET_BITS bits of the value, the rest determines the range the value falls into
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    }
+
+    static long lowestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        return (long) ((index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS) << shift;
+    }
+
+    static long highestValue(final int index) {
+        return lowestValue(index + 1) - 1;
+    }
+
+    private static long medianValue(final int index) {
+        final long lowest = lowestValue(index);
+        return lowest + (highestValue(index) - lowest) / 2;
+    }
+
+    private static final class BucketSnapshot extends Snapshot {
+        private final long[] counts;
+        private final long count;
+
+        BucketSnapshot(final long[] counts) {
+            this.counts = counts;
+
+            long sum = 0;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.count = sum;
+        }
+
+        @Override
+        public double getValue(final double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            if (count == 0) {
+                return 0.0;
+            }
+
+            // Rank of the requested value, counting from 1
+            final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return medianValue(i);
+                }
+            }
+
+            return getMax();
+        }
+
+        /**
+         * Returns the representative value of each non-empty bucket, as the individual values are not retained.
+         */
+        @Override
+        public long[] getValues() {
+            final long[] values = new long[counts.length];
+            int size = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                if (counts[i] != 0) {
+                    values[size++] = medianValue(i);
+                }
+            }
+            return Arrays.copyOf(values, size);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; --i) {
+                if (counts[i] != 0) {
+                    return highestValue(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public double getMean() {
+            if (count == 0) {
+                return 0;
+            }
+
+            double sum = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                sum += (double) medianValue(i) * counts[i];
+            }
+            return sum / count;
+        }
+
+        @Override
+        public long getMin() {
+            for (int i = 0; i < counts.length; ++i) {
+                if (counts[i] != 0) {
+                    return lowestValue(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public double getStdDev() {
+            if (count <= 1) {
+                return 0;
+            }
+
+            final double mean = getMean();
+            double variance = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                final double diff = medianValue(i) - mean;
+                variance += diff * diff * counts[i];
+            }
+            return Math.sqrt(variance / (count - 1));
+        }
+
+        @Override
+        public void dump(final OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (int i = 0; i < counts.length; ++i) {
+                    if (counts[i] != 0) {
+                        out.printf("%d %d%n", medianValue(i), counts[i]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -228,6 +233,82 @@ public class NormalizedNodeStreamReaderWriterTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testNitrogenStreamIsSmaller() throws IOException {
+        NormalizedNode<?, ?> testContainer = createTestContainer();
+
+        ByteArrayOutputStream lithiumBos = new ByteArrayOutputStream();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(lithiumBos))
+            .writeNormalizedNode(testContainer);
+        assertEquals("Default stream version", TokenTypes.LITHIUM_VERSION,
+            ByteStreams.newDataInput(lithiumBos.toByteArray(), 1).readShort());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos), NormalizedNodeStreamVersion.NITROGEN)
+            .writeNormalizedNode(testContainer);
+
+        Assert.assertTrue("Expected " + bos.size() + " < " + lithiumBos.size(), bos.size() < lithiumBos.size());
+        Assert.assertEquals(testContainer, NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            bos.toByteArray())).readNormalizedNode());
+    }
+
+    @Test
+    public void testIntAndLongValueStreaming() throws IOException {
+        final QName intLeaf = QName.create(TestModel.TEST_QNAME, "int-leaf");
+        final QName longLeaf = QName.create(TestModel.TEST_QNAME, "long-leaf");
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos),
+            NormalizedNodeStreamVersion.NITROGEN);
+
+        final Object[] values = {0, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE,
+            0L, -1L, 300L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (Object value : values) {
+            nnout.writeNormalizedNode(ImmutableNodes.leafNode(value instanceof Integer ? intLeaf : longLeaf, value));
+        }
+
+        NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            bos.toByteArray()));
+        for (Object value : values) {
+            assertEquals(value, nnin.readNormalizedNode().getValue());
+        }
+    }
+
+    @Test
+    public void testNitrogenRevisionAcrossTimeZones() throws Exception {
+        // Revision Dates are parsed in the default timezone, which is captured by the thread-local revision format
+        // when it is first used on a thread. Hence the writer and the reader each run on a fresh thread.
+        final TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            final byte[] bytes = callOnNewThread(() -> {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos),
+                    NormalizedNodeStreamVersion.NITROGEN).writeNormalizedNode(ImmutableNodes.leafNode(
+                        QName.create("urn:test", "2014-03-13", "leaf"), "value"));
+                return bos.toByteArray();
+            });
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Pago_Pago"));
+            final QName expected = callOnNewThread(() -> QName.create("urn:test", "2014-03-13", "leaf"));
+            final QName actual = callOnNewThread(() -> NormalizedNodeInputOutput.newDataInput(
+                ByteStreams.newDataInput(bytes)).readNormalizedNode().getNodeType());
+            assertEquals(expected, actual);
+            assertEquals("2014-03-13", callOnNewThread(actual::getFormattedRevision));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    private static <T> T callOnNewThread(final Callable<T> callable) throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(callable).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static String largeString(final int pow) {
         String str = "X";
         for (int i = 0; i < pow; i++) {
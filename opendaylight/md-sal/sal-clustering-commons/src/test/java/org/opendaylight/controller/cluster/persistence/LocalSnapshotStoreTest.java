@@ -9,7 +9,9 @@ package org.opendaylight.controller.cluster.persistence;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.opendaylight.controller.cluster.persistence.LocalSnapshotStoreSpecTest.SNAPSHOT_DIR;
 import static org.opendaylight.controller.cluster.persistence.LocalSnapshotStoreSpecTest.cleanSnapshotDir;
 import static org.opendaylight.controller.cluster.persistence.LocalSnapshotStoreSpecTest.createSnapshotDir;
@@ -18,23 +20,33 @@ import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.ExtendedActorSystem;
 import akka.persistence.Persistence;
+import akka.persistence.SaveSnapshotSuccess;
 import akka.persistence.SelectedSnapshot;
 import akka.persistence.SnapshotMetadata;
 import akka.persistence.SnapshotProtocol;
 import akka.persistence.SnapshotProtocol.LoadSnapshot;
 import akka.persistence.SnapshotProtocol.LoadSnapshotFailed;
 import akka.persistence.SnapshotProtocol.LoadSnapshotResult;
+import akka.persistence.SnapshotProtocol.SaveSnapshot;
 import akka.persistence.SnapshotSelectionCriteria;
 import akka.persistence.serialization.Snapshot;
 import akka.persistence.serialization.SnapshotSerializer;
 import akka.testkit.JavaTestKit;
 import com.typesafe.config.ConfigFactory;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.After;
@@ -185,6 +197,126 @@ public class LocalSnapshotStoreTest {
         assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
     }
 
+    @Test
+    public void testDoSaveAsyncWithChunkedSnapshot() throws IOException {
+        // Half random, half repeated data so there are both compressed and uncompressed chunks
+        final byte[] payload = new byte[100000];
+        new Random(1).nextBytes(payload);
+        Arrays.fill(payload, payload.length / 2, payload.length, (byte) 7);
+
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 1, 1000);
+
+        JavaTestKit probe = new JavaTestKit(system);
+        snapshotStore.tell(new SaveSnapshot(metadata, payload), probe.getRef());
+        probe.expectMsgClass(SaveSnapshotSuccess.class);
+
+        File file = new File(SNAPSHOT_DIR, toSnapshotName(PERSISTENCE_ID, 1, 1000));
+        assertTrue("Snapshot file is smaller than the payload", file.length() < payload.length);
+
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertArrayEquals("SelectedSnapshot snapshot", payload, (byte[]) possibleSnapshot.get().snapshot());
+    }
+
+    @Test
+    public void testDoLoadAsyncWithCorruptChunkedSnapshot() throws IOException {
+        final byte[] payload = new byte[10000];
+        new Random(2).nextBytes(payload);
+
+        JavaTestKit probe = new JavaTestKit(system);
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 0, 1000);
+        snapshotStore.tell(new SaveSnapshot(metadata, "one"), probe.getRef());
+        probe.expectMsgClass(SaveSnapshotSuccess.class);
+
+        snapshotStore.tell(new SaveSnapshot(new SnapshotMetadata(PERSISTENCE_ID, 1, 2000), payload),
+                probe.getRef());
+        probe.expectMsgClass(SaveSnapshotSuccess.class);
+
+        // Flip a byte in the middle of the latest snapshot so its chunk checksum no longer matches
+        File file = new File(SNAPSHOT_DIR, toSnapshotName(PERSISTENCE_ID, 1, 2000));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final long pos = file.length() / 2;
+            raf.seek(pos);
+            final int value = raf.read();
+            raf.seek(pos);
+            raf.write(value ^ 0xff);
+        }
+
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
+    }
+
+    @Test
+    public void testDoLoadAsyncWithTrailingDataInChunkedSnapshot() throws IOException {
+        JavaTestKit probe = new JavaTestKit(system);
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 0, 1000);
+        snapshotStore.tell(new SaveSnapshot(metadata, "one"), probe.getRef());
+        probe.expectMsgClass(SaveSnapshotSuccess.class);
+
+        // Size the payload so its serialized form fills the first chunk exactly, followed by a compressed chunk
+        final int chunkSize = 4096;
+        final ByteArrayOutputStream overhead = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(overhead)) {
+            out.writeObject(new byte[0]);
+        }
+
+        final File file = new File(SNAPSHOT_DIR, toSnapshotName(PERSISTENCE_ID, 1, 2000));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            final ChunkedSnapshotOutputStream chunked = new ChunkedSnapshotOutputStream(channel, chunkSize, true);
+            final ObjectOutputStream out = new ObjectOutputStream(chunked);
+            out.writeObject(new byte[chunkSize - overhead.size()]);
+            out.flush();
+            chunked.write(new byte[chunkSize]);
+            chunked.close();
+        }
+
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
+    }
+
+    @Test
+    public void testDoLoadAsyncWithOversizedChunkedSnapshotChunks() throws IOException {
+        JavaTestKit probe = new JavaTestKit(system);
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 0, 1000);
+        snapshotStore.tell(new SaveSnapshot(metadata, "one"), probe.getRef());
+        probe.expectMsgClass(SaveSnapshotSuccess.class);
+
+        // A header claiming huge chunks must be rejected before any chunk is allocated
+        final File file = new File(SNAPSHOT_DIR, toSnapshotName(PERSISTENCE_ID, 1, 2000));
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(ByteBuffer.allocate(ChunkedSnapshotOutputStream.HEADER_SIZE)
+                .putInt(ChunkedSnapshotOutputStream.MAGIC).put(ChunkedSnapshotOutputStream.VERSION).put((byte) 0)
+                .putInt(Integer.MAX_VALUE).array());
+        }
+
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
+    }
+
     private static void createSnapshotFile(final String persistenceId, final String payload, final int seqNr,
             final int timestamp) throws IOException {
         String name = toSnapshotName(persistenceId, seqNr, timestamp);
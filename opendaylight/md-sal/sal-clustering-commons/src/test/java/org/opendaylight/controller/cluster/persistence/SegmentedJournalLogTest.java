@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for SegmentedJournalLog.
+ */
+public class SegmentedJournalLogTest {
+    private static final File DIR = new File("target/segmented-journal-log");
+    private static final int SEGMENT_SIZE = 100;
+
+    @Before
+    public void setup() {
+        FileUtils.deleteQuietly(DIR);
+    }
+
+    @After
+    public void cleanup() {
+        FileUtils.deleteQuietly(DIR);
+    }
+
+    @Test
+    public void testAppendAndReplayAcrossSegments() throws IOException {
+        SegmentedJournalLog log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, true);
+        for (long i = 1; i <= 10; i++) {
+            append(log, i, "entry-" + i);
+        }
+
+        assertTrue("Expected multiple segments", segmentCount() > 1);
+        assertEquals("highestSequenceNr", 10, log.highestSequenceNr());
+        assertEquals(Arrays.asList("entry-3", "entry-4", "entry-5"), replay(log, 3, 7, 3));
+        assertEquals(10, replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE).size());
+
+        log.close();
+
+        // Reopen and verify the entries are recovered and appends continue after the last entry.
+        log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, true);
+        assertEquals("highestSequenceNr", 10, log.highestSequenceNr());
+        append(log, 11, "entry-11");
+        assertEquals(Arrays.asList("entry-9", "entry-10", "entry-11"), replay(log, 9, 11, Long.MAX_VALUE));
+        log.close();
+    }
+
+    @Test
+    public void testDeleteTo() throws IOException {
+        SegmentedJournalLog log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, true);
+        for (long i = 1; i <= 10; i++) {
+            append(log, i, "entry-" + i);
+        }
+
+        final int segmentsBefore = segmentCount();
+        log.deleteTo(8);
+        assertTrue("Expected segments to be deleted", segmentCount() < segmentsBefore);
+        assertEquals(Arrays.asList("entry-9", "entry-10"), replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE));
+
+        // Deleting everything retains the highest sequence number.
+        log.deleteTo(Long.MAX_VALUE);
+        assertEquals(0, replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE).size());
+        assertEquals("highestSequenceNr", 10, log.highestSequenceNr());
+        log.close();
+
+        log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, true);
+        assertEquals("highestSequenceNr", 10, log.highestSequenceNr());
+        assertEquals(0, replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE).size());
+        log.close();
+    }
+
+    @Test
+    public void testAppendEntryLargerThanSegment() throws IOException {
+        SegmentedJournalLog log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, true);
+        final String large = new String(new char[SEGMENT_SIZE * 2]).replace('\0', 'x');
+        append(log, 1, "small");
+        append(log, 2, large);
+        append(log, 3, "small");
+
+        assertEquals(Arrays.asList("small", large, "small"), replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE));
+        log.close();
+    }
+
+    @Test
+    public void testAppendAndReplayWithoutFsync() throws IOException {
+        SegmentedJournalLog log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, false);
+        for (long i = 1; i <= 10; i++) {
+            append(log, i, "entry-" + i);
+        }
+
+        // Sealed segments are no longer mapped, they are read from their files
+        assertTrue("Expected multiple segments", segmentCount() > 1);
+        assertEquals(Arrays.asList("entry-1", "entry-2"), replay(log, 1, 2, Long.MAX_VALUE));
+        log.close();
+
+        log = SegmentedJournalLog.open(DIR, SEGMENT_SIZE, false);
+        assertEquals("highestSequenceNr", 10, log.highestSequenceNr());
+        assertEquals(10, replay(log, 1, Long.MAX_VALUE, Long.MAX_VALUE).size());
+        log.close();
+    }
+
+    private static void append(final SegmentedJournalLog log, final long seqNr, final String data)
+            throws IOException {
+        log.append(new long[] {seqNr}, Arrays.asList(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> replay(final SegmentedJournalLog log, final long from, final long to, final long max)
+            throws IOException {
+        final List<String> entries = new ArrayList<>();
+        log.replay(from, to, max, (seqNr, data) -> entries.add(new String(data, StandardCharsets.UTF_8)));
+        return entries;
+    }
+
+    private static int segmentCount() {
+        return DIR.listFiles((dir, name) -> name.endsWith(".log")).length;
+    }
+}
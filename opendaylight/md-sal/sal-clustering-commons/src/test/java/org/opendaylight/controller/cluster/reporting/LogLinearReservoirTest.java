@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.reporting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.Test;
+
+public class LogLinearReservoirTest {
+
+    @Test
+    public void testBucketBoundaries() {
+        // Small values have their own buckets
+        for (int i = 0; i < 64; ++i) {
+            assertEquals(i, LogLinearReservoir.bucketIndex(i));
+            assertEquals(i, LogLinearReservoir.lowestValue(i));
+            assertEquals(i, LogLinearReservoir.highestValue(i));
+        }
+
+        // Larger values map to contiguous buckets, each of which covers at most 1/32 of its lowest value
+        int previous = LogLinearReservoir.bucketIndex(63);
+        for (long value = 64; value < 1L << 40; value += value / 7 + 1) {
+            final int index = LogLinearReservoir.bucketIndex(value);
+            assertTrue(index >= previous);
+            assertTrue(LogLinearReservoir.lowestValue(index) <= value);
+            assertTrue(LogLinearReservoir.highestValue(index) >= value);
+            assertTrue(LogLinearReservoir.highestValue(index) - LogLinearReservoir.lowestValue(index)
+                < LogLinearReservoir.lowestValue(index) / 32 + 1);
+            previous = index;
+        }
+
+        assertEquals(LogLinearReservoir.highestValue(95) + 1, LogLinearReservoir.lowestValue(96));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final LogLinearReservoir reservoir = new LogLinearReservoir();
+        assertEquals(0, reservoir.size());
+        assertEquals(0, reservoir.getSnapshot().getMax());
+
+        for (int i = 1; i <= 1000; ++i) {
+            reservoir.update(i * 1000L);
+        }
+        reservoir.update(-1);
+
+        assertEquals(1001, reservoir.size());
+
+        final Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(1001, snapshot.size());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(1000000, snapshot.getMax(), 1000000 / 32);
+        assertEquals(500000, snapshot.getMedian(), 500000 / 32);
+        assertEquals(990000, snapshot.get99thPercentile(), 990000 / 32);
+        assertEquals(500000, snapshot.getMean(), 500000 / 32);
+        assertEquals(0.0, snapshot.getValue(0.0), 0);
+
+        final long[] values = snapshot.getValues();
+        for (int i = 1; i < values.length; ++i) {
+            assertTrue(values[i] > values[i - 1]);
+        }
+    }
+
+    @Test
+    public void testLargeValue() {
+        final LogLinearReservoir reservoir = new LogLinearReservoir();
+        reservoir.update(Long.MAX_VALUE);
+
+        final Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals((1L << 40) - 1, snapshot.getMax());
+    }
+}
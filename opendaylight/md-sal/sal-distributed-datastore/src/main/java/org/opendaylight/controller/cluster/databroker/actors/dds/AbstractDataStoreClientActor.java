@@ -18,6 +18,7 @@ import org.opendaylight.controller.cluster.access.client.ClientActorConfig;
 import org.opendaylight.controller.cluster.access.client.ClientActorContext;
 import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
 import org.opendaylight.controller.cluster.common.actor.ExplicitAsk;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.FrontendRequestBatchStatsMXBeanImpl;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import scala.Function1;
 import scala.concurrent.Await;
@@ -27,6 +28,7 @@ public abstract class AbstractDataStoreClientActor extends AbstractClientActor {
     private static final Function1<ActorRef, ?> GET_CLIENT_FACTORY = ExplicitAsk.toScala(GetClientRequest::new);
 
     private final ActorContext actorContext;
+    private FrontendRequestBatchStatsMXBeanImpl batchStatsMBean;
 
     AbstractDataStoreClientActor(final FrontendIdentifier frontendId, final ActorContext actorContext) {
         super(frontendId);
@@ -40,9 +42,24 @@ public abstract class AbstractDataStoreClientActor extends AbstractClientActor {
 
     @Override
     protected final AbstractDataStoreClientBehavior initialBehavior(final ClientActorContext context) {
+        if (batchStatsMBean == null) {
+            batchStatsMBean = new FrontendRequestBatchStatsMXBeanImpl(persistenceId(),
+                actorContext.getDatastoreContext().getDataStoreMXBeanType(), context.requestBatchStats());
+            batchStatsMBean.registerMBean();
+        }
+
         return Verify.verifyNotNull(initialBehavior(context, actorContext));
     }
 
+    @Override
+    public void postStop() {
+        if (batchStatsMBean != null) {
+            batchStatsMBean.unregisterMBean();
+        }
+
+        super.postStop();
+    }
+
     abstract AbstractDataStoreClientBehavior initialBehavior(ClientActorContext context, ActorContext actorContext);
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+
+/**
+ * A {@link DataTreeModification} accumulating the candidates of multiple transactions, so they can be committed to
+ * the data tree in one go. The actual modifications are created and committed by the user-supplied functions.
+ *
+ * <p>
+ * Applying candidates one after another to the same modification is equivalent to committing them one by one, except
+ * when a candidate modifies the children of a node deleted by a preceding candidate. This happens when the node
+ * re-appears as a side effect of the children being written, in which case the deletion would take precedence over
+ * the child modifications. We therefore keep track of deleted paths and commit the accumulated modification before
+ * touching anything underneath them.
+ */
+@NotThreadSafe
+final class CoalescingDataTreeModification<T extends DataTreeModification> implements DataTreeModification {
+    private final Supplier<T> modificationFactory;
+    private final Consumer<T> committer;
+    private final Set<YangInstanceIdentifier> deletedPaths = new HashSet<>();
+
+    private T delegate;
+
+    CoalescingDataTreeModification(final Supplier<T> modificationFactory, final Consumer<T> committer) {
+        this.modificationFactory = Preconditions.checkNotNull(modificationFactory);
+        this.committer = Preconditions.checkNotNull(committer);
+    }
+
+    @Override
+    public void delete(final YangInstanceIdentifier path) {
+        checkDeletedAncestors(path);
+        delegate().delete(path);
+        deletedPaths.add(path);
+    }
+
+    @Override
+    public void merge(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        checkDeletedAncestors(path);
+        delegate().merge(path, data);
+        deletedPaths.remove(path);
+    }
+
+    @Override
+    public void write(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        checkDeletedAncestors(path);
+        delegate().write(path, data);
+        deletedPaths.remove(path);
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+        return delegate().readNode(path);
+    }
+
+    /**
+     * Commit the accumulated modification, if there is any.
+     */
+    void flush() {
+        if (delegate != null) {
+            final T mod = delegate;
+            delegate = null;
+            deletedPaths.clear();
+            committer.accept(mod);
+        }
+    }
+
+    /**
+     * Discard the accumulated modification, if there is any.
+     */
+    void discard() {
+        delegate = null;
+        deletedPaths.clear();
+    }
+
+    @Override
+    public void ready() {
+        throw new UnsupportedOperationException("Coalesced modifications are committed via flush()");
+    }
+
+    @Override
+    public void applyToCursor(final DataTreeModificationCursor cursor) {
+        throw new UnsupportedOperationException("Coalesced modifications cannot be applied to a cursor");
+    }
+
+    @Override
+    public DataTreeModification newModification() {
+        throw new UnsupportedOperationException("Coalesced modifications cannot be chained");
+    }
+
+    private T delegate() {
+        if (delegate == null) {
+            delegate = modificationFactory.get();
+        }
+        return delegate;
+    }
+
+    private void checkDeletedAncestors(final YangInstanceIdentifier path) {
+        if (deletedPaths.isEmpty()) {
+            return;
+        }
+
+        YangInstanceIdentifier parent = path.getParent();
+        while (parent != null) {
+            if (deletedPaths.contains(parent)) {
+                flush();
+                return;
+            }
+            parent = parent.getParent();
+        }
+    }
+}
@@ -61,6 +61,13 @@ public class DatastoreContext implements ClientActorConfig {
     public static final int DEFAULT_MAX_MESSAGE_SLICE_SIZE = 2048 * 1000; // 2MB
 
     public static final long DEFAULT_SYNC_INDEX_THRESHOLD = 10;
+    public static final int DEFAULT_MAX_INFLIGHT_APPEND_ENTRIES = 1;
+    public static final int DEFAULT_JOURNAL_WRITE_BATCH_MAX_SIZE = 1;
+    public static final long DEFAULT_JOURNAL_WRITE_BATCH_WINDOW_IN_MICROS = 0;
+    public static final int DEFAULT_MAX_REQUEST_BATCH_SIZE = 1;
+    public static final int DEFAULT_SHARD_CAN_COMMIT_PARALLELISM = 0;
+    public static final int DEFAULT_SHARD_NOTIFICATION_BATCH_MAX_SIZE = 1;
+    public static final long DEFAULT_SHARD_NOTIFICATION_BATCH_WINDOW_IN_MILLIS = 0;
 
     private static final Logger LOG = LoggerFactory.getLogger(DatastoreContext.class);
 
@@ -92,6 +99,11 @@ public class DatastoreContext implements ClientActorConfig {
     private long backendAlivenessTimerInterval = AbstractClientConnection.DEFAULT_BACKEND_ALIVE_TIMEOUT_NANOS;
     private long requestTimeout = AbstractClientConnection.DEFAULT_REQUEST_TIMEOUT_NANOS;
     private long noProgressTimeout = AbstractClientConnection.DEFAULT_NO_PROGRESS_TIMEOUT_NANOS;
+    private int maximumRequestBatchSize = DEFAULT_MAX_REQUEST_BATCH_SIZE;
+    private int shardCanCommitParallelism = DEFAULT_SHARD_CAN_COMMIT_PARALLELISM;
+    private boolean streamingRootReads = false;
+    private int shardNotificationBatchMaxSize = DEFAULT_SHARD_NOTIFICATION_BATCH_MAX_SIZE;
+    private long shardNotificationBatchWindowInMillis = DEFAULT_SHARD_NOTIFICATION_BATCH_WINDOW_IN_MILLIS;
 
     public static Set<String> getGlobalDatastoreNames() {
         return GLOBAL_DATASTORE_NAMES;
@@ -105,6 +117,9 @@ public class DatastoreContext implements ClientActorConfig {
         setSnapshotDataThresholdPercentage(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE);
         setElectionTimeoutFactor(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR);
         setSyncIndexThreshold(DEFAULT_SYNC_INDEX_THRESHOLD);
+        setMaxInflightAppendEntries(DEFAULT_MAX_INFLIGHT_APPEND_ENTRIES);
+        setJournalWriteBatchMaxSize(DEFAULT_JOURNAL_WRITE_BATCH_MAX_SIZE);
+        setJournalWriteBatchWindowInMicros(DEFAULT_JOURNAL_WRITE_BATCH_WINDOW_IN_MICROS);
         setMaximumMessageSliceSize(DEFAULT_MAX_MESSAGE_SLICE_SIZE);
     }
 
@@ -132,6 +147,11 @@ public class DatastoreContext implements ClientActorConfig {
         this.backendAlivenessTimerInterval = other.backendAlivenessTimerInterval;
         this.requestTimeout = other.requestTimeout;
         this.noProgressTimeout = other.noProgressTimeout;
+        this.maximumRequestBatchSize = other.maximumRequestBatchSize;
+        this.shardCanCommitParallelism = other.shardCanCommitParallelism;
+        this.streamingRootReads = other.streamingRootReads;
+        this.shardNotificationBatchMaxSize = other.shardNotificationBatchMaxSize;
+        this.shardNotificationBatchWindowInMillis = other.shardNotificationBatchWindowInMillis;
 
         setShardJournalRecoveryLogBatchSize(other.raftConfig.getJournalRecoveryLogBatchSize());
         setSnapshotBatchCount(other.raftConfig.getSnapshotBatchCount());
@@ -146,6 +166,9 @@ public class DatastoreContext implements ClientActorConfig {
         setTempFileDirectory(other.getTempFileDirectory());
         setFileBackedStreamingThreshold(other.getFileBackedStreamingThreshold());
         setSyncIndexThreshold(other.raftConfig.getSyncIndexThreshold());
+        setMaxInflightAppendEntries(other.raftConfig.getMaxInflightAppendEntries());
+        setJournalWriteBatchMaxSize(other.raftConfig.getJournalWriteBatchMaxSize());
+        setJournalWriteBatchWindowInMicros(other.raftConfig.getJournalWriteBatchWindowInMicros());
     }
 
     public static Builder newBuilder() {
@@ -297,6 +320,18 @@ public class DatastoreContext implements ClientActorConfig {
         raftConfig.setSyncIndexThreshold(syncIndexThreshold);
     }
 
+    private void setMaxInflightAppendEntries(final int maxInflightAppendEntries) {
+        raftConfig.setMaxInflightAppendEntries(maxInflightAppendEntries);
+    }
+
+    private void setJournalWriteBatchMaxSize(final int journalWriteBatchMaxSize) {
+        raftConfig.setJournalWriteBatchMaxSize(journalWriteBatchMaxSize);
+    }
+
+    private void setJournalWriteBatchWindowInMicros(final long journalWriteBatchWindowInMicros) {
+        raftConfig.setJournalWriteBatchWindowInMicros(journalWriteBatchWindowInMicros);
+    }
+
     public int getShardBatchedModificationCount() {
         return shardBatchedModificationCount;
     }
@@ -337,6 +372,27 @@ public class DatastoreContext implements ClientActorConfig {
         return noProgressTimeout;
     }
 
+    @Override
+    public int getMaximumRequestBatchSize() {
+        return maximumRequestBatchSize;
+    }
+
+    public int getShardCanCommitParallelism() {
+        return shardCanCommitParallelism;
+    }
+
+    public boolean isStreamingRootReads() {
+        return streamingRootReads;
+    }
+
+    public int getShardNotificationBatchMaxSize() {
+        return shardNotificationBatchMaxSize;
+    }
+
+    public long getShardNotificationBatchWindowInMillis() {
+        return shardNotificationBatchWindowInMillis;
+    }
+
     public static class Builder implements org.opendaylight.yangtools.concepts.Builder<DatastoreContext> {
         private final DatastoreContext datastoreContext;
         private int maxShardDataChangeExecutorPoolSize =
@@ -598,6 +654,21 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder maxInflightAppendEntries(final int maxInflightAppendEntries) {
+            datastoreContext.setMaxInflightAppendEntries(maxInflightAppendEntries);
+            return this;
+        }
+
+        public Builder journalWriteBatchMaxSize(final int journalWriteBatchMaxSize) {
+            datastoreContext.setJournalWriteBatchMaxSize(journalWriteBatchMaxSize);
+            return this;
+        }
+
+        public Builder journalWriteBatchWindowInMicros(final long journalWriteBatchWindowInMicros) {
+            datastoreContext.setJournalWriteBatchWindowInMicros(journalWriteBatchWindowInMicros);
+            return this;
+        }
+
         public Builder backendAlivenessTimerIntervalInSeconds(final long interval) {
             datastoreContext.backendAlivenessTimerInterval = TimeUnit.SECONDS.toNanos(interval);
             return this;
@@ -613,6 +684,35 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder frontendRequestBatchSize(final int batchSize) {
+            Preconditions.checkArgument(batchSize > 0, "Invalid request batch size %s", batchSize);
+            datastoreContext.maximumRequestBatchSize = batchSize;
+            return this;
+        }
+
+        public Builder shardCanCommitParallelism(final int parallelism) {
+            Preconditions.checkArgument(parallelism >= 0, "Invalid canCommit parallelism %s", parallelism);
+            datastoreContext.shardCanCommitParallelism = parallelism;
+            return this;
+        }
+
+        public Builder streamingRootReads(final boolean value) {
+            datastoreContext.streamingRootReads = value;
+            return this;
+        }
+
+        public Builder shardNotificationBatchMaxSize(final int maxSize) {
+            Preconditions.checkArgument(maxSize > 0, "Invalid notification batch size %s", maxSize);
+            datastoreContext.shardNotificationBatchMaxSize = maxSize;
+            return this;
+        }
+
+        public Builder shardNotificationBatchWindowInMillis(final long windowInMillis) {
+            Preconditions.checkArgument(windowInMillis >= 0, "Invalid notification batch window %s", windowInMillis);
+            datastoreContext.shardNotificationBatchWindowInMillis = windowInMillis;
+            return this;
+        }
+
         @Override
         public DatastoreContext build() {
             datastoreContext.dataStoreProperties = InMemoryDOMDataStoreConfigProperties.create(
@@ -8,7 +8,12 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Optional;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
@@ -32,6 +37,9 @@ final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStore
     private static final Logger LOG = LoggerFactory.getLogger(DefaultShardDataTreeChangeListenerPublisher.class);
     private String logContext;
 
+    // Changes accumulated for each listener while publishing a batch of candidates, null otherwise
+    private Map<AbstractDOMDataTreeChangeListenerRegistration<?>, List<DataTreeCandidate>> pendingChanges;
+
     DefaultShardDataTreeChangeListenerPublisher(String logContext) {
         this.logContext = logContext;
     }
@@ -47,9 +55,36 @@ final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStore
         processCandidateTree(candidate);
     }
 
+    @Override
+    public void publishChanges(final Collection<DataTreeCandidate> candidates) {
+        LOG.debug("{}: publishChanges: {} candidates", logContext, candidates.size());
+
+        pendingChanges = new LinkedHashMap<>();
+        try {
+            for (DataTreeCandidate candidate : candidates) {
+                LOG.trace("{}: publishChanges: {}", logContext, candidate);
+                processCandidateTree(candidate);
+            }
+
+            for (Entry<AbstractDOMDataTreeChangeListenerRegistration<?>, List<DataTreeCandidate>> e
+                    : pendingChanges.entrySet()) {
+                LOG.debug("{}: notifyListener: listener: {}, {} change(s)", logContext, e.getKey().getInstance(),
+                    e.getValue().size());
+                e.getKey().getInstance().onDataTreeChanged(e.getValue());
+            }
+        } finally {
+            pendingChanges = null;
+        }
+    }
+
     @Override
     protected void notifyListener(AbstractDOMDataTreeChangeListenerRegistration<?> registration,
             Collection<DataTreeCandidate> changes) {
+        if (pendingChanges != null) {
+            pendingChanges.computeIfAbsent(registration, reg -> new ArrayList<>()).addAll(changes);
+            return;
+        }
+
         LOG.debug("{}: notifyListener: listener: {}", logContext, registration.getInstance());
         registration.getInstance().onDataTreeChanged(changes);
     }
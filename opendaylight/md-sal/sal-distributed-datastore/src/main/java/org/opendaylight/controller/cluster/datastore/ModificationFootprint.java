@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.opendaylight.controller.cluster.datastore.util.AbstractDataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+
+/**
+ * The set of subtrees a {@link DataTreeModification} writes, merges or deletes. Two modifications whose footprints do
+ * not overlap can be validated independently of each other, as neither can affect the outcome of the other's
+ * validation. To keep overlap checks cheap, footprints with a large number of paths are collapsed to the common
+ * ancestor of those paths, which errs on the side of reporting an overlap.
+ *
+ * <p>
+ * List-level constraints, such as min-elements, max-elements and unique, are validated against all entries of a list.
+ * A path going through a list entry is therefore recorded as the list node itself, so that modifications of sibling
+ * entries are reported as overlapping.
+ */
+final class ModificationFootprint {
+    private static final int MAX_PATHS = 32;
+    private static final ModificationFootprint ROOT = new ModificationFootprint(
+        ImmutableList.of(YangInstanceIdentifier.EMPTY));
+
+    private final List<YangInstanceIdentifier> paths;
+
+    private ModificationFootprint(final List<YangInstanceIdentifier> paths) {
+        this.paths = ImmutableList.copyOf(paths);
+    }
+
+    static ModificationFootprint of(final DataTreeModification modification) {
+        final FootprintCursor cursor = new FootprintCursor();
+        try {
+            modification.applyToCursor(cursor);
+        } catch (RuntimeException e) {
+            // We cannot tell what the modification touches, assume it overlaps with everything
+            return ROOT;
+        }
+
+        return cursor.build();
+    }
+
+    boolean overlaps(final ModificationFootprint other) {
+        for (YangInstanceIdentifier path : paths) {
+            for (YangInstanceIdentifier otherPath : other.paths) {
+                if (path.contains(otherPath) || otherPath.contains(path)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return paths.toString();
+    }
+
+    private static YangInstanceIdentifier footprintPath(final YangInstanceIdentifier path) {
+        final List<PathArgument> args = path.getPathArguments();
+        for (int i = 0; i < args.size(); ++i) {
+            final PathArgument arg = args.get(i);
+            if (arg instanceof NodeIdentifierWithPredicates || arg instanceof NodeWithValue) {
+                return YangInstanceIdentifier.create(args.subList(0, i));
+            }
+        }
+
+        return path;
+    }
+
+    private static YangInstanceIdentifier commonAncestor(final YangInstanceIdentifier first,
+            final YangInstanceIdentifier second) {
+        final List<PathArgument> common = new ArrayList<>();
+        final Iterator<PathArgument> it = second.getPathArguments().iterator();
+        for (PathArgument arg : first.getPathArguments()) {
+            if (!it.hasNext() || !arg.equals(it.next())) {
+                break;
+            }
+            common.add(arg);
+        }
+
+        return YangInstanceIdentifier.create(common);
+    }
+
+    private static final class FootprintCursor extends AbstractDataTreeModificationCursor {
+        private final List<YangInstanceIdentifier> paths = new ArrayList<>();
+        private YangInstanceIdentifier collapsed;
+
+        @Override
+        public void delete(final PathArgument child) {
+            addPath(current().node(child));
+        }
+
+        @Override
+        public void merge(final PathArgument child, final NormalizedNode<?, ?> data) {
+            addPath(current().node(child));
+        }
+
+        @Override
+        public void write(final PathArgument child, final NormalizedNode<?, ?> data) {
+            addPath(current().node(child));
+        }
+
+        private void addPath(final YangInstanceIdentifier modifiedPath) {
+            final YangInstanceIdentifier path = footprintPath(modifiedPath);
+            if (collapsed != null) {
+                collapsed = commonAncestor(collapsed, path);
+                return;
+            }
+
+            if (paths.contains(path)) {
+                return;
+            }
+            if (paths.size() < MAX_PATHS) {
+                paths.add(path);
+                return;
+            }
+
+            collapsed = path;
+            for (YangInstanceIdentifier p : paths) {
+                collapsed = commonAncestor(collapsed, p);
+            }
+            paths.clear();
+        }
+
+        ModificationFootprint build() {
+            return collapsed != null ? new ModificationFootprint(ImmutableList.of(collapsed))
+                    : new ModificationFootprint(paths);
+        }
+    }
+}
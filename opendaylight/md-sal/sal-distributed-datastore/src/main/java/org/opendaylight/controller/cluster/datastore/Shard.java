@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +38,7 @@ import org.opendaylight.controller.cluster.access.commands.ConnectClientSuccess;
 import org.opendaylight.controller.cluster.access.commands.LocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.commands.NotLeaderException;
 import org.opendaylight.controller.cluster.access.commands.TransactionRequest;
+import org.opendaylight.controller.cluster.access.concepts.BatchedRequestEnvelope;
 import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
@@ -190,6 +192,9 @@ public class Shard extends RaftActor {
     private final MessageSlicer responseMessageSlicer;
     private final Dispatchers dispatchers;
 
+    // Pool used to validate queued transactions in parallel, null if disabled
+    private final ForkJoinPool canCommitPool;
+
     protected Shard(final AbstractBuilder<?, ?> builder) {
         super(builder.getId().toString(), builder.getPeerAddresses(),
                 Optional.of(builder.getDatastoreContext().getShardRaftConfig()), DataStoreVersions.CURRENT_VERSION);
@@ -204,7 +209,9 @@ public class Shard extends RaftActor {
         LOG.info("Shard created : {}, persistent : {}", name, datastoreContext.isPersistent());
 
         ShardDataTreeChangeListenerPublisherActorProxy treeChangeListenerPublisher =
-                new ShardDataTreeChangeListenerPublisherActorProxy(getContext(), name + "-DTCL-publisher", name);
+                new ShardDataTreeChangeListenerPublisherActorProxy(getContext(), name + "-DTCL-publisher", name,
+                    datastoreContext.getShardNotificationBatchMaxSize(),
+                    datastoreContext.getShardNotificationBatchWindowInMillis());
         ShardDataChangeListenerPublisherActorProxy dataChangeListenerPublisher =
                 new ShardDataChangeListenerPublisherActorProxy(getContext(), name + "-DCL-publisher", name);
         if (builder.getDataTree() != null) {
@@ -216,6 +223,15 @@ public class Shard extends RaftActor {
                     dataChangeListenerPublisher, name, frontendMetadata);
         }
 
+        final int canCommitParallelism = datastoreContext.getShardCanCommitParallelism();
+        if (canCommitParallelism > 0) {
+            canCommitPool = new ForkJoinPool(canCommitParallelism);
+            store.enableParallelCanCommit(canCommitPool, canCommitParallelism);
+            LOG.info("{}: validating non-overlapping transactions using {} threads", name, canCommitParallelism);
+        } else {
+            canCommitPool = null;
+        }
+
         shardMBean = ShardMBeanFactory.getShardStatsMBean(name, datastoreContext.getDataStoreMXBeanType(), this);
 
         if (isMetricsCaptureEnabled()) {
@@ -273,6 +289,10 @@ public class Shard extends RaftActor {
 
         commitCoordinator.abortPendingTransactions("Transaction aborted due to shutdown.", this);
 
+        if (canCommitPool != null) {
+            canCommitPool.shutdownNow();
+        }
+
         shardMBean.unregisterMBean();
     }
 
@@ -300,6 +320,8 @@ public class Shard extends RaftActor {
 
             if (message instanceof RequestEnvelope) {
                 handleRequestEnvelope((RequestEnvelope)message);
+            } else if (message instanceof BatchedRequestEnvelope) {
+                handleBatchedRequestEnvelope((BatchedRequestEnvelope)message);
             } else if (message instanceof ConnectClientRequest) {
                 handleConnectClient((ConnectClientRequest)message);
             } else if (CreateTransaction.isSerializedType(message)) {
@@ -361,6 +383,13 @@ public class Shard extends RaftActor {
         }
     }
 
+    private void handleBatchedRequestEnvelope(final BatchedRequestEnvelope batch) {
+        LOG.trace("{}: processing batch of {} requests", persistenceId(), batch.getEnvelopes().size());
+        for (RequestEnvelope envelope : batch.getEnvelopes()) {
+            handleRequestEnvelope(envelope);
+        }
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private void handleRequestEnvelope(final RequestEnvelope envelope) {
         final long now = ticker().read();
@@ -766,7 +795,7 @@ public class Shard extends RaftActor {
     @Nonnull
     protected RaftActorRecoveryCohort getRaftActorRecoveryCohort() {
         return new ShardRecoveryCoordinator(store,
-            restoreFromSnapshot != null ? restoreFromSnapshot.getSnapshot() : null, persistenceId(), LOG);
+            restoreFromSnapshot != null ? restoreFromSnapshot.getSnapshot() : null, persistenceId(), LOG, shardMBean);
     }
 
     @Override
@@ -800,6 +829,11 @@ public class Shard extends RaftActor {
         }
     }
 
+    @Override
+    protected void onApplyStateBatchComplete() {
+        store.commitReplicatedPayloads();
+    }
+
     @Override
     protected void onStateChanged() {
         boolean isLeader = isLeader();
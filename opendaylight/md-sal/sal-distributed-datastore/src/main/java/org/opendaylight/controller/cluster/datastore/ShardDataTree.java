@@ -28,10 +28,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -96,6 +98,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     private static final class CommitEntry {
         final SimpleShardDataTreeCohort cohort;
         long lastAccess;
+        ModificationFootprint footprint;
+        SpeculativeValidation validation;
 
         CommitEntry(final SimpleShardDataTreeCohort cohort, final long now) {
             this.cohort = Preconditions.checkNotNull(cohort);
@@ -114,6 +118,11 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      */
     private static final int MAX_TRANSACTION_BATCH = 100;
 
+    /**
+     * When parallel canCommit is enabled, look this many transactions per validation thread ahead in the queue.
+     */
+    private static final int SPECULATIVE_VALIDATIONS_PER_THREAD = 4;
+
     private final Map<LocalHistoryIdentifier, ShardDataTreeTransactionChain> transactionChains = new HashMap<>();
     private final DataTreeCohortActorRegistry cohortRegistry = new DataTreeCohortActorRegistry();
     private final Queue<CommitEntry> pendingTransactions = new ArrayDeque<>();
@@ -133,6 +142,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     private final Shard shard;
     private Runnable runOnPendingTransactionsComplete;
 
+    /**
+     * Publisher for listeners which need to observe each committed candidate before the shard processes its next
+     * message, created on first registration.
+     */
+    private DefaultShardDataTreeChangeListenerPublisher synchronousTreeChangeListenerPublisher;
+
     /**
      * Optimistic {@link DataTreeCandidate} preparation. Since our DataTree implementation is a
      * {@link TipProducingDataTree}, each {@link DataTreeCandidate} is also a {@link DataTreeTip}, e.g. another
@@ -145,6 +160,47 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     private int currentTransactionBatch;
 
+    /**
+     * Executor used to validate queued transactions ahead of them reaching the head of the queue, null if parallel
+     * canCommit is disabled.
+     */
+    private Executor canCommitExecutor;
+    private int speculativeValidationWindow;
+
+    /**
+     * Incremented whenever {@link #tip} is changed other than by preparing the transaction at the head of the queue,
+     * which invalidates any speculative validations performed against the previous tip.
+     */
+    private long tipEpoch;
+
+    /**
+     * Modification accumulating the transactions recovered in the current journal recovery batch, null if no batch
+     * is open.
+     */
+    private CoalescingDataTreeModification<PruningDataTreeModification> recoveryBatch;
+
+    /**
+     * Modification accumulating foreign transactions until the end of the current run of replicated payloads.
+     */
+    private final CoalescingDataTreeModification<DataTreeModification> replicatedBatch;
+
+    /**
+     * Foreign transactions fully applied to {@link #replicatedBatch}, so they can be applied one by one should the
+     * batch fail to validate.
+     */
+    private final List<CommitTransactionPayload> replicatedPayloads = new ArrayList<>();
+
+    /**
+     * Foreign transaction being applied to {@link #replicatedBatch}, null if there is none.
+     */
+    private CommitTransactionPayload currentReplicatedPayload;
+
+    /**
+     * Set when the batch failed to validate while {@link #currentReplicatedPayload} was being applied, hence that
+     * transaction needs to be applied on its own.
+     */
+    private boolean replayCurrentReplicatedPayload;
+
     ShardDataTree(final Shard shard, final SchemaContext schemaContext, final TipProducingDataTree dataTree,
             final ShardDataTreeChangeListenerPublisher treeChangeListenerPublisher,
             final ShardDataChangeListenerPublisher dataChangeListenerPublisher, final String logContext,
@@ -158,6 +214,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         this.logContext = Preconditions.checkNotNull(logContext);
         this.metadata = ImmutableList.copyOf(metadata);
         tip = dataTree;
+        replicatedBatch = new CoalescingDataTreeModification<>(() -> dataTree.takeSnapshot().newModification(),
+            this::commitReplicatedModification);
     }
 
     ShardDataTree(final Shard shard, final SchemaContext schemaContext, final TreeType treeType,
@@ -201,6 +259,20 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         currentTransactionBatch = 0;
     }
 
+    /**
+     * Enable parallel canCommit. Queued transactions whose footprint does not overlap with any transaction queued
+     * ahead of them are validated on the specified executor while they wait for their turn. The transactions still
+     * progress through preCommit and commit in order.
+     *
+     * @param executor Executor to use for validation
+     * @param parallelism Number of threads backing the executor
+     */
+    void enableParallelCanCommit(final Executor executor, final int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "Invalid parallelism %s", parallelism);
+        this.canCommitExecutor = Preconditions.checkNotNull(executor);
+        this.speculativeValidationWindow = parallelism * SPECULATIVE_VALIDATIONS_PER_THREAD;
+    }
+
     /**
      * Take a snapshot of current state for later recovery.
      *
@@ -264,6 +336,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         dataTree.validate(unwrapped);
         DataTreeCandidateTip candidate = dataTree.prepare(unwrapped);
         dataTree.commit(candidate);
+        tipEpoch++;
         notifyListeners(candidate);
 
         LOG.debug("{}: state snapshot applied in {}", logContext, elapsed);
@@ -302,10 +375,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         applySnapshot(snapshot, this::wrapWithPruning);
     }
 
+    private PruningDataTreeModification newRecoveryModification() {
+        return wrapWithPruning(dataTree.takeSnapshot().newModification());
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
-    private void applyRecoveryCandidate(final DataTreeCandidate candidate) throws DataValidationFailedException {
-        final PruningDataTreeModification mod = wrapWithPruning(dataTree.takeSnapshot().newModification());
-        DataTreeCandidates.applyToModification(mod, candidate);
+    private void commitRecoveryModification(final PruningDataTreeModification mod) {
         mod.ready();
 
         final DataTreeModification unwrapped = mod.delegate();
@@ -324,6 +399,40 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
     }
 
+    private TransactionIdentifier applyRecoveryCandidate(final CommitTransactionPayload payload) throws IOException {
+        if (recoveryBatch != null) {
+            return payload.applyCandidate(recoveryBatch);
+        }
+
+        final PruningDataTreeModification mod = newRecoveryModification();
+        final TransactionIdentifier txId = payload.applyCandidate(mod);
+        commitRecoveryModification(mod);
+        return txId;
+    }
+
+    /**
+     * Start a batch of recovered journal entries. Until {@link #applyRecoveryBatch()} is invoked, transactions passed
+     * to {@link #applyRecoveryPayload(Payload)} are accumulated into a single modification instead of being committed
+     * one by one, which saves us from rebuilding the path from the root for each of them.
+     */
+    void startRecoveryBatch() {
+        Preconditions.checkState(recoveryBatch == null, "%s: recovery batch already started", logContext);
+        recoveryBatch = new CoalescingDataTreeModification<>(this::newRecoveryModification,
+            this::commitRecoveryModification);
+    }
+
+    /**
+     * Commit the transactions accumulated since {@link #startRecoveryBatch()} to the data tree.
+     *
+     * @throws IllegalStateException if no batch has been started or the batch fails to apply
+     */
+    void applyRecoveryBatch() {
+        Preconditions.checkState(recoveryBatch != null, "%s: recovery batch not started", logContext);
+        final CoalescingDataTreeModification<?> batch = recoveryBatch;
+        recoveryBatch = null;
+        batch.flush();
+    }
+
     /**
      * Apply a payload coming from recovery. This method does not assume the SchemaContexts match and performs data
      * pruning in an attempt to adjust the state to our current SchemaContext.
@@ -334,10 +443,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      */
     void applyRecoveryPayload(final @Nonnull Payload payload) throws IOException, DataValidationFailedException {
         if (payload instanceof CommitTransactionPayload) {
-            final Entry<TransactionIdentifier, DataTreeCandidate> e =
-                    ((CommitTransactionPayload) payload).getCandidate();
-            applyRecoveryCandidate(e.getValue());
-            allMetadataCommittedTransaction(e.getKey());
+            allMetadataCommittedTransaction(applyRecoveryCandidate((CommitTransactionPayload) payload));
         } else if (payload instanceof AbortTransactionPayload) {
             allMetadataAbortedTransaction(((AbortTransactionPayload) payload).getIdentifier());
         } else if (payload instanceof PurgeTransactionPayload) {
@@ -353,25 +459,104 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
     }
 
-    private void applyReplicatedCandidate(final Identifier identifier, final DataTreeCandidate foreign)
-            throws DataValidationFailedException {
+    private TransactionIdentifier applyReplicatedCandidate(final CommitTransactionPayload payload)
+            throws IOException {
+        final TransactionIdentifier identifier;
+        currentReplicatedPayload = payload;
+        try {
+            identifier = payload.applyCandidate(replicatedBatch);
+        } finally {
+            currentReplicatedPayload = null;
+        }
         LOG.debug("{}: Applying foreign transaction {}", logContext, identifier);
 
+        if (replayCurrentReplicatedPayload) {
+            // The batch has been flushed and failed while we were applying this transaction. The batch now holds only
+            // the remainder of it, hence drop the batch and apply the whole transaction on its own.
+            replayCurrentReplicatedPayload = false;
+            replicatedBatch.discard();
+            applyReplicatedTransaction(payload);
+        } else {
+            replicatedPayloads.add(payload);
+        }
+        return identifier;
+    }
+
+    private void commitReplicatedModification(final DataTreeModification mod) {
+        final List<CommitTransactionPayload> payloads = ImmutableList.copyOf(replicatedPayloads);
+        replicatedPayloads.clear();
+
+        mod.ready();
+        LOG.trace("{}: Applying foreign modification {}", logContext, mod);
+
+        final DataTreeCandidate candidate;
+        try {
+            dataTree.validate(mod);
+            candidate = dataTree.prepare(mod);
+        } catch (DataValidationFailedException e) {
+            LOG.warn("{}: Failed to apply {} coalesced foreign transactions, applying them one by one", logContext,
+                payloads.size(), e);
+            payloads.forEach(this::applyReplicatedTransaction);
+            if (currentReplicatedPayload != null) {
+                replayCurrentReplicatedPayload = true;
+            }
+            return;
+        }
+
+        commitReplicatedCandidate(candidate);
+    }
+
+    /**
+     * Apply a single foreign transaction after the batch it was part of failed to validate. A transaction which
+     * fails to validate on its own is skipped.
+     *
+     * <p>
+     * If the batch has been flushed while a transaction was being applied, the part of that transaction applied
+     * before the flush may already be committed. Applying the entire transaction again yields the same data.
+     */
+    private void applyReplicatedTransaction(final CommitTransactionPayload payload) {
         final DataTreeModification mod = dataTree.takeSnapshot().newModification();
-        DataTreeCandidates.applyToModification(mod, foreign);
+        final TransactionIdentifier identifier;
+        try {
+            identifier = payload.applyCandidate(mod);
+        } catch (IOException e) {
+            LOG.error("{}: Failed to decode foreign transaction payload {}", logContext, payload, e);
+            return;
+        }
         mod.ready();
 
-        LOG.trace("{}: Applying foreign modification {}", logContext, mod);
-        dataTree.validate(mod);
-        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        final DataTreeCandidate candidate;
+        try {
+            dataTree.validate(mod);
+            candidate = dataTree.prepare(mod);
+        } catch (DataValidationFailedException e) {
+            LOG.error("{}: Failed to apply foreign transaction {}", logContext, identifier, e);
+            return;
+        }
+
+        commitReplicatedCandidate(candidate);
+    }
+
+    private void commitReplicatedCandidate(final DataTreeCandidate candidate) {
         dataTree.commit(candidate);
+        tipEpoch++;
 
         notifyListeners(candidate);
     }
 
+    /**
+     * Commit the foreign transactions applied by {@link #applyReplicatedPayload(Identifier, Payload)} since the last
+     * invocation of this method. Their changes are committed to the data tree as a single modification and are
+     * published to listeners as a single candidate.
+     */
+    void commitReplicatedPayloads() {
+        replicatedBatch.flush();
+    }
+
     /**
      * Apply a payload coming from the leader, which could actually be us. This method assumes the leader and follower
-     * SchemaContexts match and does not perform any pruning.
+     * SchemaContexts match and does not perform any pruning. Transactions originating with other members are not
+     * visible until {@link #commitReplicatedPayloads()} is invoked.
      *
      * @param identifier Payload identifier as returned from RaftActor
      * @param payload Payload
@@ -390,14 +575,19 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
          *
          * In any case, we know that this is an entry coming from replication, hence we can be sure we will not observe
          * pre-Boron state -- which limits the number of options here.
+         *
+         * Foreign transactions are accumulated until commitReplicatedPayloads() is invoked. Completing replication
+         * of our own payloads may touch the data tree, hence we need to commit the foreign transactions applied so far
+         * before doing that.
          */
+        if (identifier != null) {
+            commitReplicatedPayloads();
+        }
+
         if (payload instanceof CommitTransactionPayload) {
             final TransactionIdentifier txId;
             if (identifier == null) {
-                final Entry<TransactionIdentifier, DataTreeCandidate> e =
-                        ((CommitTransactionPayload) payload).getCandidate();
-                txId = e.getKey();
-                applyReplicatedCandidate(txId, e.getValue());
+                txId = applyReplicatedCandidate((CommitTransactionPayload) payload);
             } else {
                 Verify.verify(identifier instanceof TransactionIdentifier);
                 txId = (TransactionIdentifier) identifier;
@@ -553,6 +743,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     @VisibleForTesting
     public void notifyListeners(final DataTreeCandidate candidate) {
+        if (synchronousTreeChangeListenerPublisher != null) {
+            synchronousTreeChangeListenerPublisher.publishChanges(candidate);
+        }
         treeChangeListenerPublisher.publishChanges(candidate);
         dataChangeListenerPublisher.publishChanges(candidate);
     }
@@ -630,6 +823,25 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         treeChangeListenerPublisher.registerTreeChangeListener(path, listener, initialState, onRegistration);
     }
 
+    /**
+     * Register a listener which is notified of committed changes on the shard's actor thread, as part of the commit,
+     * as opposed to listeners registered through
+     * {@link #registerTreeChangeListener(YangInstanceIdentifier, DOMDataTreeChangeListener, Optional, Consumer)},
+     * which are notified asynchronously. This is meant for the shard's own state derived from the data tree and
+     * the listener must not block.
+     *
+     * @param path the path to listen on
+     * @param listener the listener
+     */
+    public void registerSynchronousTreeChangeListener(final YangInstanceIdentifier path,
+            final DOMDataTreeChangeListener listener) {
+        if (synchronousTreeChangeListenerPublisher == null) {
+            synchronousTreeChangeListenerPublisher = new DefaultShardDataTreeChangeListenerPublisher(logContext);
+        }
+        synchronousTreeChangeListenerPublisher.registerTreeChangeListener(path, listener, Optional.absent(),
+            noop -> { });
+    }
+
     int getQueueSize() {
         return pendingTransactions.size() + pendingCommits.size() + pendingFinishCommits.size();
     }
@@ -692,6 +904,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         pendingCommits.clear();
         pendingTransactions.clear();
         tip = dataTree;
+        tipEpoch++;
         return ret;
     }
 
@@ -712,10 +925,31 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
+        scheduleSpeculativeValidations();
+
         processNextPending(pendingTransactions, State.CAN_COMMIT_PENDING, entry -> {
             final SimpleShardDataTreeCohort cohort = entry.cohort;
             final DataTreeModification modification = cohort.getDataTreeModification();
 
+            final SpeculativeValidation validation = entry.validation;
+            if (validation != null) {
+                switch (validation.claim(tipEpoch)) {
+                    case IN_PROGRESS:
+                        // We will be resumed once the validation completes
+                        LOG.debug("{}: Transaction {} is being validated", logContext, cohort.getIdentifier());
+                        return;
+                    case VALIDATED:
+                        LOG.debug("{}: Transaction {} validated in parallel", logContext, cohort.getIdentifier());
+                        entry.validation = null;
+                        cohort.successfulCanCommit();
+                        entry.lastAccess = readTime();
+                        return;
+                    default:
+                        entry.validation = null;
+                        break;
+                }
+            }
+
             LOG.debug("{}: Validating transaction {}", logContext, cohort.getIdentifier());
             Exception cause;
             try {
@@ -752,6 +986,75 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         processNextPendingTransaction();
     }
 
+    /**
+     * Submit speculative validation of transactions queued behind the head of the queue, as long as they do not
+     * overlap with any transaction ahead of them. Since the transactions ahead will only ever modify the tip in
+     * places the validated transaction does not touch, validating against the current tip yields the same result as
+     * validating against the tip it will eventually be prepared on.
+     */
+    private void scheduleSpeculativeValidations() {
+        if (canCommitExecutor == null || pendingTransactions.size() < 2) {
+            return;
+        }
+
+        final List<ModificationFootprint> ahead = new ArrayList<>();
+        int examined = 0;
+        for (CommitEntry entry : pendingTransactions) {
+            if (examined++ > speculativeValidationWindow) {
+                break;
+            }
+
+            final SimpleShardDataTreeCohort cohort = entry.cohort;
+            if (cohort.isFailed()) {
+                // Will be removed without touching the tip
+                continue;
+            }
+
+            if (entry.footprint == null) {
+                entry.footprint = ModificationFootprint.of(cohort.getDataTreeModification());
+            }
+
+            if (!ahead.isEmpty() && needsSpeculativeValidation(entry) && !overlapsAny(entry.footprint, ahead)) {
+                LOG.trace("{}: Scheduling speculative validation of transaction {} footprint {}", logContext,
+                    cohort.getIdentifier(), entry.footprint);
+
+                final SpeculativeValidation validation = new SpeculativeValidation(tip,
+                    cohort.getDataTreeModification(), tipEpoch, shard::scheduleNextPendingTransaction);
+                try {
+                    canCommitExecutor.execute(validation);
+                    entry.validation = validation;
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("{}: Failed to schedule validation of transaction {}", logContext,
+                        cohort.getIdentifier(), e);
+                    return;
+                }
+            }
+
+            ahead.add(entry.footprint);
+        }
+    }
+
+    private boolean needsSpeculativeValidation(final CommitEntry entry) {
+        final State state = entry.cohort.getState();
+        if (state != State.READY && state != State.CAN_COMMIT_PENDING) {
+            return false;
+        }
+
+        // A stale validation can be replaced only if it is not running, as we must not validate concurrently
+        final SpeculativeValidation validation = entry.validation;
+        return validation == null || validation.getEpoch() != tipEpoch && validation.cancel();
+    }
+
+    private static boolean overlapsAny(final ModificationFootprint footprint,
+            final List<ModificationFootprint> others) {
+        for (ModificationFootprint other : others) {
+            if (footprint.overlaps(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void processNextPending(final Queue<CommitEntry> queue, final State allowedState,
             final Consumer<CommitEntry> processor) {
         while (!queue.isEmpty()) {
@@ -792,6 +1095,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
         if (!cohort.equals(head.cohort)) {
             LOG.debug("{}: Transaction {} scheduled for canCommit step", logContext, cohort.getIdentifier());
+            scheduleSpeculativeValidations();
             return;
         }
 
@@ -1086,6 +1390,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     @SuppressWarnings("checkstyle:IllegalCatch")
     private void rebaseTransactions(final Iterator<CommitEntry> iter, @Nonnull final TipProducingDataTreeTip newTip) {
         tip = Preconditions.checkNotNull(newTip);
+        tipEpoch++;
         while (iter.hasNext()) {
             final SimpleShardDataTreeCohort cohort = iter.next().cohort;
             if (cohort.getState() == State.CAN_COMMIT_COMPLETE) {
@@ -28,8 +28,14 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 class ShardDataTreeChangeListenerPublisherActorProxy extends AbstractShardDataTreeNotificationPublisherActorProxy
         implements ShardDataTreeChangeListenerPublisher {
 
-    ShardDataTreeChangeListenerPublisherActorProxy(ActorContext actorContext, String actorName, String logContext) {
+    private final int maxBatchSize;
+    private final long batchWindowInMillis;
+
+    ShardDataTreeChangeListenerPublisherActorProxy(ActorContext actorContext, String actorName, String logContext,
+            int maxBatchSize, long batchWindowInMillis) {
         super(actorContext, actorName, logContext);
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowInMillis = batchWindowInMillis;
     }
 
     @Override
@@ -44,6 +50,6 @@ class ShardDataTreeChangeListenerPublisherActorProxy extends AbstractShardDataTr
 
     @Override
     protected Props props() {
-        return ShardDataTreeChangePublisherActor.props(actorName(), logContext());
+        return ShardDataTreeChangePublisherActor.props(actorName(), logContext(), maxBatchSize, batchWindowInMillis);
     }
 }
@@ -24,8 +24,10 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 public class ShardDataTreeChangePublisherActor
         extends ShardDataTreeNotificationPublisherActor<ShardDataTreeChangeListenerPublisher> {
 
-    private ShardDataTreeChangePublisherActor(final String name, final String logContext) {
-        super(new DefaultShardDataTreeChangeListenerPublisher(logContext), name, logContext);
+    private ShardDataTreeChangePublisherActor(final String name, final String logContext, final int maxBatchSize,
+            final long batchWindowInMillis) {
+        super(new DefaultShardDataTreeChangeListenerPublisher(logContext), name, logContext, maxBatchSize,
+            batchWindowInMillis);
     }
 
     @Override
@@ -33,6 +35,10 @@ public class ShardDataTreeChangePublisherActor
         if (message instanceof RegisterListener) {
             RegisterListener reg = (RegisterListener)message;
             LOG.debug("{}: Received {}", logContext(), reg);
+
+            // The initial state includes everything committed so far, make sure the listener is not notified of it
+            // again by a pending batch
+            flushNotifications();
             if (reg.initialState.isPresent()) {
                 DefaultShardDataTreeChangeListenerPublisher.notifySingleListener(reg.path, reg.listener,
                         reg.initialState.get(), logContext());
@@ -44,8 +50,10 @@ public class ShardDataTreeChangePublisherActor
         }
     }
 
-    static Props props(final String name, final String logContext) {
-        return Props.create(ShardDataTreeChangePublisherActor.class, name, logContext);
+    static Props props(final String name, final String logContext, final int maxBatchSize,
+            final long batchWindowInMillis) {
+        return Props.create(ShardDataTreeChangePublisherActor.class, name, logContext, maxBatchSize,
+            batchWindowInMillis);
     }
 
     static class RegisterListener {
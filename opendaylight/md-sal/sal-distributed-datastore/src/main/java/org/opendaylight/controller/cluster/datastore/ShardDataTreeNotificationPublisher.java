@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
@@ -19,4 +20,16 @@ interface ShardDataTreeNotificationPublisher {
     long PUBLISH_DELAY_THRESHOLD_IN_MS = TimeUnit.MILLISECONDS.convert(1, TimeUnit.SECONDS);
 
     void publishChanges(DataTreeCandidate candidate);
+
+    /**
+     * Publish a batch of candidates, in the order they were committed. Implementations may combine the changes
+     * each listener is notified of into a single notification.
+     *
+     * @param candidates Committed candidates
+     */
+    default void publishChanges(final Collection<DataTreeCandidate> candidates) {
+        for (DataTreeCandidate candidate : candidates) {
+            publishChanges(candidate);
+        }
+    }
 }
@@ -7,28 +7,60 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import akka.actor.ActorRef;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Actor used to generate and publish data tree notifications. This is used to offload the potentially
  * expensive notification generation from the Shard actor.
  *
+ * <p>
+ * If configured with a maximum batch size greater than 1, candidates are not published as they arrive, but are
+ * accumulated until either the batch is full, or a flush message sent to ourselves is received. With a zero batch
+ * window the flush message is enqueued right behind the candidates already in our mailbox, hence a batch contains
+ * whatever was committed while we were busy publishing the previous one.
+ *
  * @author Thomas Pantelis
  */
 public class ShardDataTreeNotificationPublisherActor<T extends ShardDataTreeNotificationPublisher>
         extends AbstractUntypedActor {
+    private static final Object FLUSH_NOTIFICATIONS = new Object() {
+        @Override
+        public String toString() {
+            return "FlushNotifications";
+        }
+    };
+
+    private final List<DataTreeCandidate> pendingCandidates = new ArrayList<>();
     private final T publisher;
     private final Stopwatch timer = Stopwatch.createUnstarted();
     private final String name;
     private final String logContext;
+    private final int maxBatchSize;
+    private final FiniteDuration batchWindow;
+    private boolean flushScheduled;
 
     protected ShardDataTreeNotificationPublisherActor(final T publisher, final String name, final String logContext) {
+        this(publisher, name, logContext, 1, 0);
+    }
+
+    protected ShardDataTreeNotificationPublisherActor(final T publisher, final String name, final String logContext,
+            final int maxBatchSize, final long batchWindowInMillis) {
+        Preconditions.checkArgument(maxBatchSize > 0, "Invalid batch size %s", maxBatchSize);
         this.publisher = publisher;
         this.name = name;
         this.logContext = logContext;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindow = FiniteDuration.create(batchWindowInMillis, TimeUnit.MILLISECONDS);
     }
 
     protected T publisher() {
@@ -43,22 +75,67 @@ public class ShardDataTreeNotificationPublisherActor<T extends ShardDataTreeNoti
     protected void handleReceive(Object message) {
         if (message instanceof PublishNotifications) {
             PublishNotifications toPublish = (PublishNotifications)message;
-            timer.start();
+            if (maxBatchSize == 1) {
+                publish(Collections.singletonList(toPublish.candidate));
+                return;
+            }
+
+            pendingCandidates.add(toPublish.candidate);
+            if (pendingCandidates.size() >= maxBatchSize) {
+                flushNotifications();
+            } else if (!flushScheduled) {
+                scheduleFlush();
+            }
+        } else if (message == FLUSH_NOTIFICATIONS) {
+            flushScheduled = false;
+            flushNotifications();
+        }
+    }
 
-            try {
-                publisher.publishChanges(toPublish.candidate);
-            } finally {
-                long elapsedTime = timer.elapsed(TimeUnit.MILLISECONDS);
+    private void scheduleFlush() {
+        flushScheduled = true;
+        if (batchWindow.length() == 0) {
+            getSelf().tell(FLUSH_NOTIFICATIONS, ActorRef.noSender());
+        } else {
+            getContext().system().scheduler().scheduleOnce(batchWindow, getSelf(), FLUSH_NOTIFICATIONS,
+                getContext().dispatcher(), ActorRef.noSender());
+        }
+    }
 
-                if (elapsedTime >= ShardDataTreeNotificationPublisher.PUBLISH_DELAY_THRESHOLD_IN_MS) {
-                    LOG.warn("{}: Generation of change events for {} took longer than expected. Elapsed time: {}",
-                            logContext, name, timer);
-                } else {
-                    LOG.debug("{}: Elapsed time for generation of change events for {}: {}", logContext, name, timer);
-                }
+    /**
+     * Publish any candidates held back for batching. Subclasses must invoke this method before processing any
+     * message which affects the set of listeners, so that they are not notified of changes committed before they
+     * were registered.
+     */
+    protected final void flushNotifications() {
+        if (!pendingCandidates.isEmpty()) {
+            final List<DataTreeCandidate> candidates = new ArrayList<>(pendingCandidates);
+            pendingCandidates.clear();
+            publish(candidates);
+        }
+    }
 
-                timer.reset();
+    private void publish(final Collection<DataTreeCandidate> candidates) {
+        timer.start();
+
+        try {
+            if (candidates.size() == 1) {
+                publisher.publishChanges(candidates.iterator().next());
+            } else {
+                publisher.publishChanges(candidates);
+            }
+        } finally {
+            long elapsedTime = timer.elapsed(TimeUnit.MILLISECONDS);
+
+            if (elapsedTime >= ShardDataTreeNotificationPublisher.PUBLISH_DELAY_THRESHOLD_IN_MS) {
+                LOG.warn("{}: Generation of change events for {} took longer than expected. Elapsed time: {}",
+                        logContext, name, timer);
+            } else {
+                LOG.debug("{}: Elapsed time for generation of change events for {} from {} candidate(s): {}",
+                        logContext, name, candidates.size(), timer);
             }
+
+            timer.reset();
         }
     }
 
@@ -8,7 +8,11 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import java.io.File;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeXMLOutput;
@@ -19,11 +23,9 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 
 /**
- * Coordinates persistence recovery of journal log entries and snapshots for a shard. Each snapshot
- * and journal log entry batch are de-serialized and applied to their own write transaction
- * instance in parallel on a thread pool for faster recovery time. However the transactions are
- * committed to the data store in the order the corresponding snapshot or log batch are received
- * to preserve data store integrity.
+ * Coordinates persistence recovery of journal log entries and snapshots for a shard. The transactions contained in
+ * each journal log entry batch are accumulated into a single modification, which is committed to the data store once
+ * the batch is complete. Batches are committed in the order they are received to preserve data store integrity.
  *
  * @author Thomas Pantelis
  */
@@ -32,22 +34,36 @@ class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     private final String shardName;
     private final Logger log;
     private final Snapshot restoreFromSnapshot;
+    private final ShardStats shardStats;
+    private final Stopwatch recoveryTimer = Stopwatch.createUnstarted();
 
     private boolean open;
+    private long recoveredEntryCount;
+    private long recoveredDataSize;
 
     ShardRecoveryCoordinator(final ShardDataTree store,  final Snapshot restoreFromSnapshot, final String shardName,
             final Logger log) {
+        this(store, restoreFromSnapshot, shardName, log, null);
+    }
+
+    ShardRecoveryCoordinator(final ShardDataTree store,  final Snapshot restoreFromSnapshot, final String shardName,
+            final Logger log, @Nullable final ShardStats shardStats) {
         this.store = Preconditions.checkNotNull(store);
         this.shardName = Preconditions.checkNotNull(shardName);
         this.log = Preconditions.checkNotNull(log);
 
         this.restoreFromSnapshot = restoreFromSnapshot;
+        this.shardStats = shardStats;
     }
 
     @Override
     public void startLogRecoveryBatch(final int maxBatchSize) {
         log.debug("{}: starting log recovery batch with max size {}", shardName, maxBatchSize);
         open = true;
+        if (!recoveryTimer.isRunning()) {
+            recoveryTimer.start();
+        }
+        store.startRecoveryBatch();
     }
 
     @Override
@@ -62,6 +78,9 @@ class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
             throw new IllegalStateException(String.format("%s: Failed to apply recovery payload %s",
                 shardName, payload), e);
         }
+
+        recoveredEntryCount++;
+        recoveredDataSize += payload.size();
     }
 
     /**
@@ -71,6 +90,14 @@ class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     public void applyCurrentLogRecoveryBatch() {
         Preconditions.checkState(open, "call startLogRecovery before calling applyCurrentLogRecoveryBatch");
         open = false;
+        store.applyRecoveryBatch();
+
+        final long elapsedNanos = recoveryTimer.elapsed(TimeUnit.NANOSECONDS);
+        log.debug("{}: applied {} recovered journal entries ({} bytes) in {}", shardName, recoveredEntryCount,
+            recoveredDataSize, recoveryTimer);
+        if (shardStats != null) {
+            shardStats.setJournalRecoveryStats(recoveredEntryCount, recoveredDataSize, elapsedNanos);
+        }
     }
 
     private File writeRoot(final String kind, final NormalizedNode<?, ?> node) {
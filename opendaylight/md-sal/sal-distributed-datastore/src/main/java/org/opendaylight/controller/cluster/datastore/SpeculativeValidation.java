@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validation of a queued transaction's modification, performed off the shard actor thread ahead of the transaction
+ * reaching the head of the canCommit queue. The result is only meaningful if the data tree tip has not been changed
+ * in a way the transaction's footprint could observe, which {@link ShardDataTree} tracks via a tip epoch.
+ *
+ * <p>
+ * Only successful validations are trusted. If the validation failed, has not started yet or is stale, the shard
+ * performs the validation itself, so it can report the failure in the usual way.
+ */
+final class SpeculativeValidation implements Runnable {
+    enum Outcome {
+        /**
+         * The modification has been successfully validated against an equivalent tip.
+         */
+        VALIDATED,
+        /**
+         * The result is not usable, the modification needs to be validated by the caller.
+         */
+        NOT_VALIDATED,
+        /**
+         * The validation is still running, the completion callback will be invoked once it finishes.
+         */
+        IN_PROGRESS,
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpeculativeValidation.class);
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int AWAITED = 2;
+    private static final int SUCCEEDED = 3;
+    private static final int FAILED = 4;
+    private static final int CANCELLED = 5;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final DataTreeTip tip;
+    private final DataTreeModification modification;
+    private final Runnable onAwaitedCompletion;
+    private final long epoch;
+
+    SpeculativeValidation(final DataTreeTip tip, final DataTreeModification modification, final long epoch,
+            final Runnable onAwaitedCompletion) {
+        this.tip = Preconditions.checkNotNull(tip);
+        this.modification = Preconditions.checkNotNull(modification);
+        this.onAwaitedCompletion = Preconditions.checkNotNull(onAwaitedCompletion);
+        this.epoch = epoch;
+    }
+
+    long getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void run() {
+        if (!state.compareAndSet(PENDING, RUNNING)) {
+            return;
+        }
+
+        int result;
+        try {
+            tip.validate(modification);
+            result = SUCCEEDED;
+        } catch (DataValidationFailedException | RuntimeException e) {
+            LOG.debug("Speculative validation of {} failed", modification, e);
+            result = FAILED;
+        }
+
+        if (state.getAndSet(result) == AWAITED) {
+            onAwaitedCompletion.run();
+        }
+    }
+
+    /**
+     * Attempt to prevent this validation from running.
+     *
+     * @return True if the validation is not running, false if it is currently executing
+     */
+    boolean cancel() {
+        final int current = state.get();
+        return current == PENDING && state.compareAndSet(PENDING, CANCELLED) || current >= SUCCEEDED;
+    }
+
+    /**
+     * Claim the result of this validation. If the validation has not started yet, it is cancelled. If it is running,
+     * the completion callback will be invoked once it finishes.
+     *
+     * @param currentEpoch current tip epoch
+     * @return Outcome of the validation
+     */
+    Outcome claim(final long currentEpoch) {
+        while (true) {
+            switch (state.get()) {
+                case PENDING:
+                    if (state.compareAndSet(PENDING, CANCELLED)) {
+                        return Outcome.NOT_VALIDATED;
+                    }
+                    break;
+                case RUNNING:
+                    if (state.compareAndSet(RUNNING, AWAITED)) {
+                        return Outcome.IN_PROGRESS;
+                    }
+                    break;
+                case AWAITED:
+                    return Outcome.IN_PROGRESS;
+                case SUCCEEDED:
+                    return epoch == currentEpoch ? Outcome.VALIDATED : Outcome.NOT_VALIDATED;
+                default:
+                    return Outcome.NOT_VALIDATED;
+            }
+        }
+    }
+}
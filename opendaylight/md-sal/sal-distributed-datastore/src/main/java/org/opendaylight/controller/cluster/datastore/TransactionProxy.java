@@ -36,6 +36,7 @@ import org.opendaylight.controller.cluster.datastore.modification.MergeModificat
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregator;
+import org.opendaylight.controller.cluster.datastore.utils.StreamingRootNodeAggregator;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.sal.core.spi.data.AbstractDOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
@@ -120,7 +121,8 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
     }
 
     private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readAllData() {
-        final Set<String> allShardNames = txContextFactory.getActorContext().getConfiguration().getAllShardNames();
+        final ActorContext actorContext = txContextFactory.getActorContext();
+        final Set<String> allShardNames = actorContext.getConfiguration().getAllShardNames();
         final Collection<CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException>> futures =
                 new ArrayList<>(allShardNames.size());
 
@@ -128,19 +130,24 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             futures.add(singleShardRead(shardName, YangInstanceIdentifier.EMPTY));
         }
 
-        final ListenableFuture<List<Optional<NormalizedNode<?, ?>>>> listFuture = Futures.allAsList(futures);
         final ListenableFuture<Optional<NormalizedNode<?, ?>>> aggregateFuture;
-
-        aggregateFuture = Futures.transform(listFuture,
-            (Function<List<Optional<NormalizedNode<?, ?>>>, Optional<NormalizedNode<?, ?>>>) input -> {
-                try {
-                    return NormalizedNodeAggregator.aggregate(YangInstanceIdentifier.EMPTY, input,
-                            txContextFactory.getActorContext().getSchemaContext(),
-                            txContextFactory.getActorContext().getDatastoreContext().getLogicalStoreType());
-                } catch (DataValidationFailedException e) {
-                    throw new IllegalArgumentException("Failed to aggregate", e);
-                }
-            }, MoreExecutors.directExecutor());
+        if (actorContext.getDatastoreContext().isStreamingRootReads()) {
+            aggregateFuture = StreamingRootNodeAggregator.aggregate(futures, actorContext.getSchemaContext(),
+                actorContext.getDatastoreContext().getLogicalStoreType());
+        } else {
+            final ListenableFuture<List<Optional<NormalizedNode<?, ?>>>> listFuture = Futures.allAsList(futures);
+
+            aggregateFuture = Futures.transform(listFuture,
+                (Function<List<Optional<NormalizedNode<?, ?>>>, Optional<NormalizedNode<?, ?>>>) input -> {
+                    try {
+                        return NormalizedNodeAggregator.aggregate(YangInstanceIdentifier.EMPTY, input,
+                                actorContext.getSchemaContext(),
+                                actorContext.getDatastoreContext().getLogicalStoreType());
+                    } catch (DataValidationFailedException e) {
+                        throw new IllegalArgumentException("Failed to aggregate", e);
+                    }
+                }, MoreExecutors.directExecutor());
+        }
 
         return MappingCheckedFuture.create(aggregateFuture, ReadFailedException.MAPPER);
     }
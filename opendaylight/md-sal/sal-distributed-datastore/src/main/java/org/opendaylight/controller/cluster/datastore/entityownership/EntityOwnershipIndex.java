@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.entityownership;
+
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.CANDIDATE_NAME_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.CANDIDATE_NODE_ID;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNERS_PATH;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNER_NODE_ID;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_QNAME;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.ShardDataTree;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.clustering.entity.owners.rev150804.entity.owners.EntityType;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+
+/**
+ * EntityOwnershipIndex keeps track of which entities are owned by each member and which entities each member is a
+ * candidate for, so that reassigning owners when a member goes down does not require walking every entity in the
+ * entity ownership model. Entities without an owner are indexed under the empty owner name.
+ * <p/>
+ * The index is updated synchronously as each candidate is committed to the shard's data tree, hence it is always
+ * consistent with the data tree as seen from the shard's actor.
+ */
+class EntityOwnershipIndex implements DOMDataTreeChangeListener {
+    private static final YangInstanceIdentifier ENTITY_PATH = YangInstanceIdentifier.builder(ENTITY_OWNERS_PATH)
+            .node(EntityType.QNAME).node(EntityType.QNAME).node(ENTITY_QNAME).node(ENTITY_QNAME).build();
+
+    private final Map<String, Set<YangInstanceIdentifier>> ownerToEntities = new HashMap<>();
+    private final Map<String, Set<YangInstanceIdentifier>> candidateToEntities = new HashMap<>();
+
+    void init(final ShardDataTree shardDataTree) {
+        shardDataTree.registerSynchronousTreeChangeListener(ENTITY_PATH, this);
+    }
+
+    @Override
+    public void onDataTreeChanged(@Nonnull final Collection<DataTreeCandidate> changes) {
+        for (DataTreeCandidate change : changes) {
+            final YangInstanceIdentifier entityPath = change.getRootPath();
+            final DataTreeCandidateNode changeRoot = change.getRootNode();
+            final Optional<NormalizedNode<?, ?>> dataBefore = changeRoot.getDataBefore();
+            final Optional<NormalizedNode<?, ?>> dataAfter = changeRoot.getDataAfter();
+
+            final String origOwner = dataBefore.isPresent() ? extractOwner((MapEntryNode) dataBefore.get()) : null;
+            final String newOwner = dataAfter.isPresent() ? extractOwner((MapEntryNode) dataAfter.get()) : null;
+            if (!Objects.equals(origOwner, newOwner)) {
+                removeFromIndex(ownerToEntities, origOwner, entityPath);
+                addToIndex(ownerToEntities, newOwner, entityPath);
+            }
+
+            final Set<String> origCandidates = dataBefore.isPresent()
+                    ? extractCandidates((MapEntryNode) dataBefore.get()) : Collections.emptySet();
+            final Set<String> newCandidates = dataAfter.isPresent()
+                    ? extractCandidates((MapEntryNode) dataAfter.get()) : Collections.emptySet();
+            for (String candidate : origCandidates) {
+                if (!newCandidates.contains(candidate)) {
+                    removeFromIndex(candidateToEntities, candidate, entityPath);
+                }
+            }
+            for (String candidate : newCandidates) {
+                if (!origCandidates.contains(candidate)) {
+                    addToIndex(candidateToEntities, candidate, entityPath);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the paths of the entities owned by a member.
+     *
+     * @param owner the member name, or an empty string for entities without an owner
+     * @return a snapshot of the entity paths
+     */
+    Collection<YangInstanceIdentifier> entitiesOwnedBy(final String owner) {
+        return snapshotOf(ownerToEntities.get(owner));
+    }
+
+    /**
+     * Returns the paths of the entities for which a member is registered as a candidate.
+     *
+     * @param candidate the member name
+     * @return a snapshot of the entity paths
+     */
+    Collection<YangInstanceIdentifier> entitiesWithCandidate(final String candidate) {
+        return snapshotOf(candidateToEntities.get(candidate));
+    }
+
+    private static Collection<YangInstanceIdentifier> snapshotOf(final Set<YangInstanceIdentifier> entities) {
+        return entities != null ? ImmutableList.copyOf(entities) : ImmutableList.of();
+    }
+
+    private static void addToIndex(final Map<String, Set<YangInstanceIdentifier>> index,
+            final String key, final YangInstanceIdentifier entityPath) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(entityPath);
+        }
+    }
+
+    private static void removeFromIndex(final Map<String, Set<YangInstanceIdentifier>> index,
+            final String key, final YangInstanceIdentifier entityPath) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, entities) -> entities.remove(entityPath) && entities.isEmpty()
+                    ? null : entities);
+        }
+    }
+
+    private static String extractOwner(final MapEntryNode entityNode) {
+        final Optional<DataContainerChild<?, ?>> possibleOwner = entityNode.getChild(ENTITY_OWNER_NODE_ID);
+        if (possibleOwner.isPresent()) {
+            final Object value = possibleOwner.get().getValue();
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return "";
+    }
+
+    private static Set<String> extractCandidates(final MapEntryNode entityNode) {
+        final Optional<DataContainerChild<?, ?>> possibleCandidates = entityNode.getChild(CANDIDATE_NODE_ID);
+        if (!possibleCandidates.isPresent()) {
+            return Collections.emptySet();
+        }
+
+        final Collection<MapEntryNode> candidates = ((MapNode) possibleCandidates.get()).getValue();
+        final Set<String> candidateNames = new HashSet<>(candidates.size());
+        for (MapEntryNode candidate : candidates) {
+            candidateNames.add(candidate.getIdentifier().getKeyValues().get(CANDIDATE_NAME_QNAME).toString());
+        }
+        return candidateNames;
+    }
+}
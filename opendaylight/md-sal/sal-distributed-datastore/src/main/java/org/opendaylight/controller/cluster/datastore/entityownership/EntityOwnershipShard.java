@@ -17,8 +17,6 @@ import static org.opendaylight.controller.cluster.datastore.entityownership.Enti
 import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNER_QNAME;
 import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_TYPES_PATH;
 import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_TYPE_NODE_ID;
-import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_TYPE_QNAME;
-import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.candidateNodeKey;
 import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.candidatePath;
 import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityOwnersWithCandidate;
 
@@ -64,7 +62,6 @@ import org.opendaylight.controller.cluster.datastore.modification.WriteModificat
 import org.opendaylight.controller.cluster.raft.RaftState;
 import org.opendaylight.mdsal.eos.dom.api.DOMEntity;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
@@ -79,6 +76,13 @@ import scala.concurrent.duration.FiniteDuration;
  * @author Thomas Pantelis
  */
 class EntityOwnershipShard extends Shard {
+    private static final Object FLUSH_OWNER_WRITES_MESSAGE = new Object() {
+        @Override
+        public String toString() {
+            return "flushOwnerWrites";
+        }
+    };
+
     private final MemberName localMemberName;
     private final EntityOwnershipShardCommitCoordinator commitCoordinator;
     private final EntityOwnershipListenerSupport listenerSupport;
@@ -86,6 +90,9 @@ class EntityOwnershipShard extends Shard {
     private final EntityOwnerSelectionStrategyConfig strategyConfig;
     private final Map<YangInstanceIdentifier, Cancellable> entityToScheduledOwnershipTask = new HashMap<>();
     private final EntityOwnershipStatistics entityOwnershipStatistics;
+    private final EntityOwnershipIndex entityOwnershipIndex;
+    private final Map<String, EntityOwnerSelectionStrategy> entityTypeToStrategy = new HashMap<>();
+    private BatchedModifications pendingOwnerWrites;
     private boolean removeAllInitialCandidates = true;
 
     protected EntityOwnershipShard(final Builder builder) {
@@ -96,6 +103,8 @@ class EntityOwnershipShard extends Shard {
         this.strategyConfig = builder.ownerSelectionStrategyConfig;
         this.entityOwnershipStatistics = new EntityOwnershipStatistics();
         this.entityOwnershipStatistics.init(getDataStore());
+        this.entityOwnershipIndex = new EntityOwnershipIndex();
+        this.entityOwnershipIndex.init(getDataStore());
     }
 
     private static DatastoreContext noPersistenceDatastoreContext(final DatastoreContext datastoreContext) {
@@ -137,6 +146,8 @@ class EntityOwnershipShard extends Shard {
             onSelectOwner((SelectOwner) message);
         } else if (message instanceof RemoveAllCandidates) {
             onRemoveAllCandidates((RemoveAllCandidates) message);
+        } else if (FLUSH_OWNER_WRITES_MESSAGE.equals(message)) {
+            flushOwnerWrites();
         } else if (!commitCoordinator.handleMessage(message, this)) {
             super.handleNonRaftCommand(message);
         }
@@ -352,6 +363,7 @@ class EntityOwnershipShard extends Shard {
             // This allows the strategies to be re-initialized with existing statistics maintained by
             // EntityOwnershipStatistics
             strategyConfig.clearStrategies();
+            entityTypeToStrategy.clear();
 
             // Re-assign owners for all members that are known to be down. In a cluster which has greater than
             // 3 nodes it is possible for some node beside the leader being down when the leadership transitions
@@ -415,7 +427,8 @@ class EntityOwnershipShard extends Shard {
 
     private EntityOwnerSelectionStrategy getEntityOwnerElectionStrategy(final YangInstanceIdentifier entityPath) {
         final String entityType = EntityOwnersModel.entityTypeFromEntityPath(entityPath);
-        return strategyConfig.createStrategy(entityType, entityOwnershipStatistics.byEntityType(entityType));
+        return entityTypeToStrategy.computeIfAbsent(entityType,
+            type -> strategyConfig.createStrategy(type, entityOwnershipStatistics.byEntityType(type)));
     }
 
     private void onCandidateAdded(final CandidateAdded message) {
@@ -469,27 +482,26 @@ class EntityOwnershipShard extends Shard {
     }
 
     private void selectNewOwnerForEntitiesOwnedBy(final Set<String> ownedBy) {
-        final BatchedModifications modifications = commitCoordinator.newBatchedModifications();
-        searchForEntitiesOwnedBy(ownedBy, (entityTypeNode, entityNode) -> {
-            YangInstanceIdentifier entityPath = YangInstanceIdentifier.builder(ENTITY_TYPES_PATH)
-                    .node(entityTypeNode.getIdentifier()).node(ENTITY_NODE_ID).node(entityNode.getIdentifier())
-                    .node(ENTITY_OWNER_NODE_ID).build();
-            String newOwner = newOwner(getCurrentOwner(entityPath), getCandidateNames(entityNode),
-                    getEntityOwnerElectionStrategy(entityPath));
-
-            if (!newOwner.isEmpty()) {
-                LOG.debug("{}: Found entity {}, writing new owner {}", persistenceId(), entityPath, newOwner);
-
-                modifications.addModification(new WriteModification(entityPath,
-                        ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, newOwner)));
-
-            } else {
-                LOG.debug("{}: Found entity {} but no other candidates - not clearing owner", persistenceId(),
-                        entityPath, newOwner);
-            }
-        });
+        LOG.debug("{}: Searching for entities owned by {}", persistenceId(), ownedBy);
 
-        commitCoordinator.commitModifications(modifications, this);
+        for (String owner : ownedBy) {
+            for (YangInstanceIdentifier entityPath : entityOwnershipIndex.entitiesOwnedBy(owner)) {
+                final MapEntryNode entityNode = readEntity(entityPath);
+
+                // As before, the strategy does not account for the current owner losing the entity
+                String newOwner = newOwner(null, getCandidateNames(entityNode),
+                        getEntityOwnerElectionStrategy(entityPath));
+
+                if (!newOwner.isEmpty()) {
+                    LOG.debug("{}: Found entity {}, writing new owner {}", persistenceId(), entityPath, newOwner);
+
+                    writeNewOwner(entityPath, newOwner);
+                } else {
+                    LOG.debug("{}: Found entity {} but no other candidates - not clearing owner", persistenceId(),
+                            entityPath, newOwner);
+                }
+            }
+        }
     }
 
     private void onPeerUp(final PeerUp peerUp) {
@@ -524,44 +536,29 @@ class EntityOwnershipShard extends Shard {
         return candidateNames;
     }
 
-    private void searchForEntitiesOwnedBy(final Set<String> ownedBy, final EntityWalker walker) {
-        LOG.debug("{}: Searching for entities owned by {}", persistenceId(), ownedBy);
-
-        searchForEntities((entityTypeNode, entityNode) -> {
-            Optional<DataContainerChild<? extends PathArgument, ?>> possibleOwner =
-                    entityNode.getChild(ENTITY_OWNER_NODE_ID);
-            String currentOwner = possibleOwner.isPresent() ? possibleOwner.get().getValue().toString() : "";
-            if (ownedBy.contains(currentOwner)) {
-                walker.onEntity(entityTypeNode, entityNode);
-            }
-        });
+    /**
+     * Read an entity found through {@link EntityOwnershipIndex}. The index is updated as part of each commit, hence
+     * the entity is known to exist.
+     */
+    private MapEntryNode readEntity(final YangInstanceIdentifier entityPath) {
+        return (MapEntryNode) getDataStore().readNode(entityPath).get();
     }
 
     private void removeCandidateFromEntities(final MemberName member) {
         final BatchedModifications modifications = commitCoordinator.newBatchedModifications();
-        searchForEntities((entityTypeNode, entityNode) -> {
-            if (hasCandidate(entityNode, member)) {
-                YangInstanceIdentifier entityId =
-                        (YangInstanceIdentifier) entityNode.getIdentifier().getKeyValues().get(ENTITY_ID_QNAME);
-                YangInstanceIdentifier candidatePath = candidatePath(
-                        entityTypeNode.getIdentifier().getKeyValues().get(ENTITY_TYPE_QNAME).toString(),
-                        entityId, member.getName());
+        for (YangInstanceIdentifier entityPath : entityOwnershipIndex.entitiesWithCandidate(member.getName())) {
+            final MapEntryNode entityNode = readEntity(entityPath);
+            YangInstanceIdentifier candidatePath = candidatePath(entityPath, member.getName());
 
-                LOG.info("{}: Found entity {}, removing candidate {}, path {}", persistenceId(), entityId,
-                        member, candidatePath);
+            LOG.info("{}: Found entity {}, removing candidate {}, path {}", persistenceId(),
+                    entityNode.getIdentifier().getKeyValues().get(ENTITY_ID_QNAME), member, candidatePath);
 
-                modifications.addModification(new DeleteModification(candidatePath));
-            }
-        });
+            modifications.addModification(new DeleteModification(candidatePath));
+        }
 
         commitCoordinator.commitModifications(modifications, this);
     }
 
-    private static boolean hasCandidate(final MapEntryNode entity, final MemberName candidateName) {
-        return ((MapNode)entity.getChild(CANDIDATE_NODE_ID).get()).getChild(candidateNodeKey(candidateName.getName()))
-                .isPresent();
-    }
-
     private void searchForEntities(final EntityWalker walker) {
         Optional<NormalizedNode<?, ?>> possibleEntityTypes = getDataStore().readNode(ENTITY_TYPES_PATH);
         if (!possibleEntityTypes.isPresent()) {
@@ -581,11 +578,39 @@ class EntityOwnershipShard extends Shard {
         }
     }
 
+    /**
+     * Queue a write of the new owner of an entity. Owner writes resulting from the messages already in our mailbox are
+     * coalesced into a single BatchedModifications, which is committed when we receive FLUSH_OWNER_WRITES_MESSAGE.
+     */
     private void writeNewOwner(final YangInstanceIdentifier entityPath, final String newOwner) {
         LOG.debug("{}: Writing new owner {} for entity {}", persistenceId(), newOwner, entityPath);
 
-        commitCoordinator.commitModification(new WriteModification(entityPath.node(ENTITY_OWNER_QNAME),
-                ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, newOwner)), this);
+        if (pendingOwnerWrites == null) {
+            pendingOwnerWrites = commitCoordinator.newBatchedModifications();
+            getSelf().tell(FLUSH_OWNER_WRITES_MESSAGE, ActorRef.noSender());
+        }
+
+        pendingOwnerWrites.addModification(new WriteModification(entityPath.node(ENTITY_OWNER_QNAME),
+                ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, newOwner)));
+    }
+
+    private void flushOwnerWrites() {
+        final BatchedModifications modifications = pendingOwnerWrites;
+        pendingOwnerWrites = null;
+        if (modifications == null) {
+            return;
+        }
+
+        // Owner writes are only valid as long as we remain the leader which selected them - see also
+        // EntityOwnershipShardCommitCoordinator.possiblyPrunePendingCommits().
+        if (!isLeader()) {
+            LOG.debug("{}: No longer the leader - dropping {} owner writes", persistenceId(),
+                    modifications.getModifications().size());
+            return;
+        }
+
+        LOG.debug("{}: Committing {} owner writes", persistenceId(), modifications.getModifications().size());
+        commitCoordinator.commitModifications(modifications, this);
     }
 
     /**
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
+
+/**
+ * MXBean interface for retrieving statistics of request batches sent by a frontend client actor to the shards.
+ */
+public interface FrontendRequestBatchStatsMXBean {
+
+    /**
+     * Returns the number of messages sent, counting each batch as a single message.
+     */
+    long getMessageCount();
+
+    /**
+     * Returns the total number of requests sent.
+     */
+    long getRequestCount();
+
+    /**
+     * Returns the number of requests in the largest batch sent.
+     */
+    int getMaxBatchSize();
+
+    /**
+     * Returns the average number of requests per message sent.
+     */
+    double getAverageBatchSize();
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
+
+import com.google.common.base.Preconditions;
+import org.opendaylight.controller.cluster.access.client.RequestBatchStats;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+
+/**
+ * Implementation of FrontendRequestBatchStatsMXBean.
+ */
+public class FrontendRequestBatchStatsMXBeanImpl extends AbstractMXBean implements FrontendRequestBatchStatsMXBean {
+    private final RequestBatchStats stats;
+
+    public FrontendRequestBatchStatsMXBeanImpl(final String clientName, final String mxBeanType,
+            final RequestBatchStats stats) {
+        super(clientName, mxBeanType, "FrontendRequestBatches");
+        this.stats = Preconditions.checkNotNull(stats);
+    }
+
+    @Override
+    public long getMessageCount() {
+        return stats.getMessageCount();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return stats.getRequestCount();
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return stats.getMaxBatchSize();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        return stats.getAverageBatchSize();
+    }
+}
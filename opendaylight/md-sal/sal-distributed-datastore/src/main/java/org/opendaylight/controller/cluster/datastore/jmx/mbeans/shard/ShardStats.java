@@ -75,6 +75,12 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
     private long lastLeadershipChangeTime;
 
+    private long recoveredJournalEntryCount;
+
+    private long recoveredJournalDataSize;
+
+    private long journalRecoveryTimeNanos;
+
     public ShardStats(final String shardName, final String mxBeanType, @Nullable final Shard shard) {
         super(shardName, mxBeanType, JMX_CATEGORY_SHARD);
         this.shard = shard;
@@ -351,6 +357,44 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return formatMillis(lastLeadershipChangeTime);
     }
 
+    @Override
+    public long getRecoveredJournalEntryCount() {
+        return recoveredJournalEntryCount;
+    }
+
+    @Override
+    public long getRecoveredJournalDataSize() {
+        return recoveredJournalDataSize;
+    }
+
+    @Override
+    public double getJournalRecoveryEntriesPerSecond() {
+        return perSecond(recoveredJournalEntryCount);
+    }
+
+    @Override
+    public double getJournalRecoveryMegabytesPerSecond() {
+        return perSecond(recoveredJournalDataSize) / (1024 * 1024);
+    }
+
+    /**
+     * Update the journal recovery statistics.
+     *
+     * @param entryCount number of journal entries recovered so far
+     * @param dataSize total size of the recovered journal entries, in bytes
+     * @param elapsedNanos time spent recovering the journal so far, in nanoseconds
+     */
+    public void setJournalRecoveryStats(final long entryCount, final long dataSize, final long elapsedNanos) {
+        recoveredJournalEntryCount = entryCount;
+        recoveredJournalDataSize = dataSize;
+        journalRecoveryTimeNanos = elapsedNanos;
+    }
+
+    private double perSecond(final long value) {
+        return journalRecoveryTimeNanos > 0 ? value * (double) TimeUnit.SECONDS.toNanos(1) / journalRecoveryTimeNanos
+                : 0;
+    }
+
     @Override
     public int getPendingTxCommitQueueSize() {
         return shard != null ? shard.getPendingTxCommitQueueSize() : -1;
@@ -88,6 +88,14 @@ public interface ShardStatsMXBean {
 
     String getLastLeadershipChangeTime();
 
+    long getRecoveredJournalEntryCount();
+
+    long getRecoveredJournalDataSize();
+
+    double getJournalRecoveryEntriesPerSecond();
+
+    double getJournalRecoveryMegabytesPerSecond();
+
     int getPendingTxCommitQueueSize();
 
     int getTxCohortCacheSize();
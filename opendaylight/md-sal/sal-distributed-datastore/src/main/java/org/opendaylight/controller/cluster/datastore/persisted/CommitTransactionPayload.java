@@ -22,6 +22,7 @@ import java.util.Map.Entry;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 
 /**
  * Payload persisted when a transaction commits. It contains the transaction identifier and the
@@ -86,6 +87,22 @@ public final class CommitTransactionPayload extends Payload implements Serializa
                 DataTreeCandidateInputOutput.readDataTreeCandidate(in));
     }
 
+    /**
+     * Applies the candidate contained in this payload to a {@link DataTreeModification}, decoding it directly from
+     * its serialized form. This avoids instantiating the intermediate {@link DataTreeCandidate}, which makes it
+     * preferable to {@link #getCandidate()} when the candidate itself is not needed.
+     *
+     * @param modification modification to apply the candidate to
+     * @return the identifier of the transaction which produced the candidate
+     * @throws IOException if the payload cannot be decoded
+     */
+    public TransactionIdentifier applyCandidate(final DataTreeModification modification) throws IOException {
+        final DataInput in = ByteStreams.newDataInput(serialized);
+        final TransactionIdentifier transactionId = TransactionIdentifier.readFrom(in);
+        DataTreeCandidateInputOutput.applyDataTreeCandidate(in, modification);
+        return transactionId;
+    }
+
     @Override
     public int size() {
         return serialized.length;
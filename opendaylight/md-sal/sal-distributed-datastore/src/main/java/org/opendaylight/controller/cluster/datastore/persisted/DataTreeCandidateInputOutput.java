@@ -19,10 +19,12 @@ import org.opendaylight.controller.cluster.datastore.node.utils.stream.Normalize
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -130,6 +132,72 @@ public final class DataTreeCandidateInputOutput {
     }
 
 
+    /**
+     * Reads a serialized {@link DataTreeCandidate} and applies it to a {@link DataTreeModification} as it is being
+     * read. Unlike {@link #readDataTreeCandidate(DataInput)} this method does not instantiate the candidate and its
+     * {@link DataTreeCandidateNode}s, only the data being written is materialized.
+     *
+     * @param in input to read from
+     * @param modification modification to apply the candidate to
+     * @throws IOException if the candidate cannot be read
+     */
+    public static void applyDataTreeCandidate(final DataInput in, final DataTreeModification modification)
+            throws IOException {
+        final NormalizedNodeDataInput reader = NormalizedNodeInputOutput.newDataInput(in);
+        final YangInstanceIdentifier rootPath = reader.readYangInstanceIdentifier();
+        final byte type = reader.readByte();
+
+        switch (type) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                applyChildren(reader, rootPath, modification);
+                break;
+            case DELETE:
+                modification.delete(rootPath);
+                break;
+            case WRITE:
+                modification.write(rootPath, reader.readNormalizedNode());
+                break;
+            case UNMODIFIED:
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + type);
+        }
+    }
+
+    private static void applyChildren(final NormalizedNodeDataInput in, final YangInstanceIdentifier parentPath,
+            final DataTreeModification modification) throws IOException {
+        final int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            applyNode(in, parentPath, modification);
+        }
+    }
+
+    private static void applyNode(final NormalizedNodeDataInput in, final YangInstanceIdentifier parentPath,
+            final DataTreeModification modification) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case APPEARED:
+            case DISAPPEARED:
+            case SUBTREE_MODIFIED:
+                applyChildren(in, parentPath.node(in.readPathArgument()), modification);
+                break;
+            case DELETE:
+                modification.delete(parentPath.node(in.readPathArgument()));
+                break;
+            case UNMODIFIED:
+                break;
+            case WRITE:
+                final NormalizedNode<?, ?> data = in.readNormalizedNode();
+                modification.write(parentPath.node(data.getIdentifier()), data);
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + type);
+        }
+    }
+
+
     private static void writeChildren(final NormalizedNodeDataOutput out,
             final Collection<DataTreeCandidateNode> children) throws IOException {
         out.writeInt(children.size());
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Combines the data tree roots read from multiple shards into a single root node. Unlike
+ * {@link NormalizedNodeAggregator}, the top-level children of each shard's root are added to the result as soon as
+ * that shard replies and no temporary data tree is involved. This relies on each top-level node residing in exactly
+ * one shard, which is how shards partition the data tree. Should two shards report the same top-level node, we fall
+ * back to {@link NormalizedNodeAggregator} once all replies have been received.
+ */
+public final class StreamingRootNodeAggregator {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingRootNodeAggregator.class);
+
+    private final SettableFuture<Optional<NormalizedNode<?, ?>>> result = SettableFuture.create();
+    @GuardedBy("this")
+    private final List<Optional<NormalizedNode<?, ?>>> shardRoots;
+    @GuardedBy("this")
+    private final Set<PathArgument> children = new HashSet<>();
+    @GuardedBy("this")
+    private final DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder = Builders.containerBuilder();
+    private final SchemaContext schemaContext;
+    private final LogicalDatastoreType logicalDatastoreType;
+
+    @GuardedBy("this")
+    private NodeIdentifier rootIdentifier;
+    @GuardedBy("this")
+    private int remaining;
+    @GuardedBy("this")
+    private boolean mergeRequired;
+
+    private StreamingRootNodeAggregator(final int expected, final SchemaContext schemaContext,
+            final LogicalDatastoreType logicalDatastoreType) {
+        this.shardRoots = new ArrayList<>(expected);
+        this.remaining = expected;
+        this.schemaContext = Preconditions.checkNotNull(schemaContext);
+        this.logicalDatastoreType = Preconditions.checkNotNull(logicalDatastoreType);
+    }
+
+    /**
+     * Combine the data tree roots produced by the specified futures. The returned future fails with the cause of the
+     * first shard read which fails.
+     *
+     * @param shardReads Futures of reads of the data tree root from each shard
+     * @param schemaContext Schema context, used only when the shard roots have to be merged
+     * @param logicalDatastoreType Datastore type, used only when the shard roots have to be merged
+     * @return Future of the combined root node
+     */
+    public static ListenableFuture<Optional<NormalizedNode<?, ?>>> aggregate(
+            final Collection<? extends ListenableFuture<Optional<NormalizedNode<?, ?>>>> shardReads,
+            final SchemaContext schemaContext, final LogicalDatastoreType logicalDatastoreType) {
+        final StreamingRootNodeAggregator aggregator = new StreamingRootNodeAggregator(shardReads.size(),
+            schemaContext, logicalDatastoreType);
+        if (shardReads.isEmpty()) {
+            aggregator.complete();
+        }
+
+        for (ListenableFuture<Optional<NormalizedNode<?, ?>>> read : shardReads) {
+            Futures.addCallback(read, new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
+                @Override
+                public void onSuccess(final Optional<NormalizedNode<?, ?>> shardRoot) {
+                    aggregator.addShardRoot(shardRoot);
+                }
+
+                @Override
+                public void onFailure(final Throwable cause) {
+                    aggregator.result.setException(cause);
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+        return aggregator.result;
+    }
+
+    private void addShardRoot(final Optional<NormalizedNode<?, ?>> shardRoot) {
+        if (result.isDone()) {
+            // Another shard read has failed, there is no point in doing any more work
+            return;
+        }
+
+        synchronized (this) {
+            shardRoots.add(shardRoot);
+            if (shardRoot.isPresent() && !mergeRequired) {
+                addChildren(shardRoot.get());
+            }
+
+            if (--remaining != 0) {
+                return;
+            }
+        }
+
+        complete();
+    }
+
+    @GuardedBy("this")
+    private void addChildren(final NormalizedNode<?, ?> shardRoot) {
+        if (!(shardRoot instanceof ContainerNode)) {
+            LOG.debug("Unexpected shard root {}, falling back to merging shard roots", shardRoot);
+            mergeRequired = true;
+            return;
+        }
+
+        final ContainerNode container = (ContainerNode) shardRoot;
+        if (rootIdentifier == null) {
+            rootIdentifier = container.getIdentifier();
+        }
+
+        for (DataContainerChild<? extends PathArgument, ?> child : container.getValue()) {
+            if (!children.add(child.getIdentifier())) {
+                LOG.debug("Top-level node {} is present in multiple shards, falling back to merging shard roots",
+                    child.getIdentifier());
+                mergeRequired = true;
+                return;
+            }
+
+            builder.withChild(child);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private synchronized void complete() {
+        if (!mergeRequired) {
+            result.set(Optional.of(builder.withNodeIdentifier(rootIdentifier != null ? rootIdentifier
+                    : new NodeIdentifier(SchemaContext.NAME)).build()));
+            return;
+        }
+
+        try {
+            result.set(NormalizedNodeAggregator.aggregate(YangInstanceIdentifier.EMPTY, shardRoots, schemaContext,
+                logicalDatastoreType));
+        } catch (DataValidationFailedException | RuntimeException e) {
+            result.setException(new IllegalArgumentException("Failed to aggregate", e));
+        }
+    }
+}
@@ -99,9 +99,17 @@ public class DistributedOperationalDataStoreProviderModule
                 .maximumMessageSliceSize(props.getMaximumMessageSliceSize().getValue().intValue())
                 .useTellBasedProtocol(props.getUseTellBasedProtocol())
                 .syncIndexThreshold(props.getSyncIndexThreshold().getValue())
+                .maxInflightAppendEntries(props.getMaxInflightAppendEntries().getValue().intValue())
+                .journalWriteBatchMaxSize(props.getJournalWriteBatchMaxSize().getValue().intValue())
+                .journalWriteBatchWindowInMicros(props.getJournalWriteBatchWindowInMicros())
                 .backendAlivenessTimerIntervalInSeconds(props.getBackendAlivenessTimerIntervalInSeconds().getValue())
                 .frontendRequestTimeoutInSeconds(props.getFrontendRequestTimeoutInSeconds().getValue())
                 .frontendNoProgressTimeoutInSeconds(props.getFrontendNoProgressTimeoutInSeconds().getValue())
+                .frontendRequestBatchSize(props.getFrontendRequestBatchSize().getValue().intValue())
+                .shardCanCommitParallelism(props.getShardCanCommitParallelism().intValue())
+                .streamingRootReads(props.getStreamingRootReads())
+                .shardNotificationBatchMaxSize(props.getShardNotificationBatchMaxSize().getValue().intValue())
+                .shardNotificationBatchWindowInMillis(props.getShardNotificationBatchWindowInMillis())
                 .build();
     }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.controller.md.cluster.datastore.model.TestModel.TEST_PATH;
+
+import akka.actor.ActorRef;
+import com.google.common.base.Optional;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.cluster.datastore.ShardDataTreeChangePublisherActor.RegisterListener;
+import org.opendaylight.controller.cluster.datastore.ShardDataTreeNotificationPublisherActor.PublishNotifications;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ShardDataTreeChangePublisherActorTest extends AbstractActorTest {
+
+    private static DataTreeCandidate candidate() {
+        return DataTreeCandidates.fromNormalizedNode(TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+    }
+
+    private static void publish(final ActorRef publisher, final DataTreeCandidate candidate) {
+        publisher.tell(new PublishNotifications(candidate), ActorRef.noSender());
+    }
+
+    private static void register(final ActorRef publisher, final DOMDataTreeChangeListener listener) {
+        publisher.tell(new RegisterListener(TEST_PATH, listener, Optional.absent(), noop -> { }),
+            ActorRef.noSender());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchedNotifications() {
+        final ActorRef publisher = getSystem().actorOf(ShardDataTreeChangePublisherActor.props("test", "test", 3,
+            TimeUnit.HOURS.toMillis(1)), "testBatchedNotifications");
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        register(publisher, listener);
+
+        publish(publisher, candidate());
+        publish(publisher, candidate());
+        verify(listener, after(500).never()).onDataTreeChanged(anyCollectionOf(DataTreeCandidate.class));
+
+        // The batch is full, hence published without waiting for the window to expire
+        publish(publisher, candidate());
+
+        final ArgumentCaptor<Collection> changes = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(5000)).onDataTreeChanged(changes.capture());
+        assertEquals(3, changes.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPendingBatchPublishedBeforeRegistration() {
+        final ActorRef publisher = getSystem().actorOf(ShardDataTreeChangePublisherActor.props("test", "test", 10,
+            TimeUnit.HOURS.toMillis(1)), "testPendingBatchPublishedBeforeRegistration");
+        final DOMDataTreeChangeListener listener1 = mock(DOMDataTreeChangeListener.class);
+        final DOMDataTreeChangeListener listener2 = mock(DOMDataTreeChangeListener.class);
+        register(publisher, listener1);
+
+        publish(publisher, candidate());
+        register(publisher, listener2);
+
+        final ArgumentCaptor<Collection> changes = ArgumentCaptor.forClass(Collection.class);
+        verify(listener1, timeout(5000)).onDataTreeChanged(changes.capture());
+        assertEquals(1, changes.getValue().size());
+        verify(listener2, after(500).never()).onDataTreeChanged(anyCollectionOf(DataTreeCandidate.class));
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking.coordinatedCanCommit;
@@ -64,6 +65,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public class ShardDataTreeTest extends AbstractTest {
@@ -213,6 +215,79 @@ public class ShardDataTreeTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testCoalescedReplicatedPayloads() throws Exception {
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        shardDataTree.registerTreeChangeListener(CarsModel.CAR_LIST_PATH.node(CarsModel.CAR_QNAME), listener,
+                Optional.absent(), noop -> { });
+
+        ShardDataTree leaderDataTree = new ShardDataTree(mockShard, fullSchema, TreeType.OPERATIONAL);
+        immediatePayloadReplication(leaderDataTree, mockShard);
+        CommitTransactionPayload payload1 = CommitTransactionPayload.create(nextTransactionId(),
+            addCar(leaderDataTree, "optima"));
+        CommitTransactionPayload payload2 = CommitTransactionPayload.create(nextTransactionId(),
+            addCar(leaderDataTree, "sportage"));
+
+        shardDataTree.applyReplicatedPayload(null, payload1);
+        shardDataTree.applyReplicatedPayload(null, payload2);
+
+        assertEquals(false, shardDataTree.readNode(CarsModel.BASE_PATH).isPresent());
+        verify(listener, never()).onDataTreeChanged(any());
+
+        shardDataTree.commitReplicatedPayloads();
+
+        verify(listener, times(1)).onDataTreeChanged(any());
+        Map<YangInstanceIdentifier, ModificationType> expChanges = Maps.newHashMap();
+        expChanges.put(CarsModel.newCarPath("optima"), ModificationType.WRITE);
+        expChanges.put(CarsModel.newCarPath("sportage"), ModificationType.WRITE);
+        verifyOnDataTreeChanged(listener, dtc -> {
+            ModificationType expType = expChanges.remove(dtc.getRootPath());
+            assertNotNull("Got unexpected change for " + dtc.getRootPath(), expType);
+            assertEquals("getModificationType", expType, dtc.getRootNode().getModificationType());
+        });
+
+        if (!expChanges.isEmpty()) {
+            fail("Missing change notifications: " + expChanges);
+        }
+
+        assertEquals(getCars(leaderDataTree), getCars(shardDataTree));
+    }
+
+    @Test
+    public void testCoalescedReplicatedPayloadsWithInvalidTransaction() throws Exception {
+        DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        shardDataTree.registerTreeChangeListener(CarsModel.CAR_LIST_PATH.node(CarsModel.CAR_QNAME), listener,
+                Optional.absent(), noop -> { });
+
+        // Modifies a car which does not exist on the follower, hence it fails validation there
+        ShardDataTree otherDataTree = new ShardDataTree(mockShard, fullSchema, TreeType.OPERATIONAL);
+        immediatePayloadReplication(otherDataTree, mockShard);
+        addCar(otherDataTree, "altima");
+        CommitTransactionPayload invalidPayload = CommitTransactionPayload.create(nextTransactionId(),
+            doTransaction(otherDataTree, snapshot -> snapshot.write(
+                CarsModel.newCarPath("altima").node(CarsModel.CAR_PRICE_QNAME),
+                ImmutableNodes.leafNode(CarsModel.CAR_PRICE_QNAME, new BigInteger("200")))));
+
+        ShardDataTree leaderDataTree = new ShardDataTree(mockShard, fullSchema, TreeType.OPERATIONAL);
+        immediatePayloadReplication(leaderDataTree, mockShard);
+        CommitTransactionPayload payload1 = CommitTransactionPayload.create(nextTransactionId(),
+            addCar(leaderDataTree, "optima"));
+        CommitTransactionPayload payload3 = CommitTransactionPayload.create(nextTransactionId(),
+            addCar(leaderDataTree, "sportage"));
+
+        shardDataTree.applyReplicatedPayload(null, payload1);
+        shardDataTree.applyReplicatedPayload(null, invalidPayload);
+        shardDataTree.applyReplicatedPayload(null, payload3);
+        shardDataTree.commitReplicatedPayloads();
+
+        // The batch fails as a whole, the valid transactions are then applied one by one
+        verify(listener, times(2)).onDataTreeChanged(any());
+        assertEquals(getCars(leaderDataTree), getCars(shardDataTree));
+
+        shardDataTree.commitReplicatedPayloads();
+        verify(listener, times(2)).onDataTreeChanged(any());
+    }
+
     @Test
     public void testPipelinedTransactionsWithCoordinatedCommits() throws Exception {
         final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
@@ -308,6 +383,81 @@ public class ShardDataTreeTest extends AbstractTest {
         assertEquals("People node", peopleNode, optional.get());
     }
 
+    @Test
+    public void testPipelinedTransactionsWithParallelCanCommit() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+        addCar(shardDataTree);
+
+        final List<Runnable> validations = new ArrayList<>();
+        shardDataTree.enableParallelCanCommit(validations::add, 2);
+
+        final YangInstanceIdentifier optimaPath = CarsModel.newCarPath("optima");
+        final MapEntryNode optimaNode = CarsModel.newCarEntry("optima", new BigInteger("100"));
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot -> snapshot.write(optimaPath, optimaNode));
+
+        final NormalizedNode<?, ?> peopleNode = PeopleModel.create();
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(PeopleModel.BASE_PATH, peopleNode));
+
+        final YangInstanceIdentifier sportagePath = CarsModel.newCarPath("sportage");
+        final ShardDataTreeCohort cohort3 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(sportagePath, CarsModel.newCarEntry("sportage", new BigInteger("200"))));
+
+        final ShardDataTreeCohort cohort4 = newShardDataTreeCohort(snapshot ->
+            snapshot.merge(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+
+        final FutureCallback<Void> canCommitCallback1 = coordinatedCanCommit(cohort1);
+        final FutureCallback<Void> canCommitCallback2 = coordinatedCanCommit(cohort2);
+        final FutureCallback<Void> canCommitCallback3 = coordinatedCanCommit(cohort3);
+        final FutureCallback<Void> canCommitCallback4 = coordinatedCanCommit(cohort4);
+        verify(canCommitCallback1).onSuccess(null);
+
+        // cohort2 does not overlap with anything ahead of it. cohort3 writes an entry of the same list as cohort1 and
+        // cohort4 overlaps with both.
+        assertEquals("Speculative validations", 1, validations.size());
+        validations.forEach(Runnable::run);
+        validations.clear();
+
+        final FutureCallback<DataTreeCandidate> preCommitCallback1 = coordinatedPreCommit(cohort1);
+        verify(preCommitCallback1).onSuccess(cohort1.getCandidate());
+        verify(canCommitCallback2).onSuccess(null);
+
+        // cohort3 has been scheduled once cohort1 was prepared
+        assertEquals("Speculative validations", 1, validations.size());
+
+        final FutureCallback<DataTreeCandidate> preCommitCallback2 = coordinatedPreCommit(cohort2);
+        verify(preCommitCallback2).onSuccess(cohort2.getCandidate());
+
+        // cohort3's validation has not run, hence it is validated when it reaches the head of the queue
+        verify(canCommitCallback3).onSuccess(null);
+
+        final FutureCallback<DataTreeCandidate> preCommitCallback3 = coordinatedPreCommit(cohort3);
+        verify(preCommitCallback3).onSuccess(cohort3.getCandidate());
+        verify(canCommitCallback4).onSuccess(null);
+
+        final FutureCallback<DataTreeCandidate> preCommitCallback4 = coordinatedPreCommit(cohort4);
+        verify(preCommitCallback4).onSuccess(cohort4.getCandidate());
+
+        final InOrder inOrder = inOrder(mockShard);
+        coordinatedCommit(cohort1);
+        coordinatedCommit(cohort2);
+        coordinatedCommit(cohort3);
+        coordinatedCommit(cohort4);
+        inOrder.verify(mockShard).persistPayload(eq(cohort1.getIdentifier()), any(CommitTransactionPayload.class),
+                anyBoolean());
+        inOrder.verify(mockShard).persistPayload(eq(cohort2.getIdentifier()), any(CommitTransactionPayload.class),
+                anyBoolean());
+        inOrder.verify(mockShard).persistPayload(eq(cohort3.getIdentifier()), any(CommitTransactionPayload.class),
+                anyBoolean());
+        inOrder.verify(mockShard).persistPayload(eq(cohort4.getIdentifier()), any(CommitTransactionPayload.class),
+                anyBoolean());
+
+        final DataTreeSnapshot snapshot = shardDataTree.newReadOnlyTransaction(nextTransactionId()).getSnapshot();
+        assertEquals("Optima node", Optional.of(optimaNode), snapshot.readNode(optimaPath));
+        assertEquals("Sportage present", true, snapshot.readNode(sportagePath).isPresent());
+        assertEquals("People node", Optional.of(peopleNode), snapshot.readNode(PeopleModel.BASE_PATH));
+    }
+
     @Test
     public void testPipelinedTransactionsWithImmediateCommits() throws Exception {
         final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
@@ -13,9 +13,11 @@ import static org.junit.Assert.fail;
 
 import com.google.common.base.Optional;
 import java.io.IOException;
+import java.util.function.Consumer;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
@@ -90,6 +92,48 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testBatchedLogRecovery() throws IOException {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(peopleSchemaContext);
+
+        final CommitTransactionPayload first = CommitTransactionPayload.create(nextTransactionId(),
+            commit(dataTree, mod -> mod.write(PeopleModel.BASE_PATH, PeopleModel.create())));
+        final CommitTransactionPayload second = CommitTransactionPayload.create(nextTransactionId(),
+            commit(dataTree, mod -> mod.delete(PeopleModel.BASE_PATH)));
+        // Re-creates the people container as a side effect of writing the person list
+        final CommitTransactionPayload third = CommitTransactionPayload.create(nextTransactionId(),
+            commit(dataTree, mod -> mod.write(PeopleModel.PERSON_LIST_PATH, PeopleModel.newPersonMapNode())));
+
+        final ShardStats shardStats = new ShardStats("foobar", "DataStore", null);
+        final ShardRecoveryCoordinator coordinator = new ShardRecoveryCoordinator(peopleDataTree,
+                null, "foobar", LoggerFactory.getLogger("foo"), shardStats);
+        coordinator.startLogRecoveryBatch(10);
+        coordinator.appendRecoveredLogEntry(first);
+
+        // Nothing is committed until the batch is applied
+        assertEquals(false, readPeople(peopleDataTree).isPresent());
+
+        coordinator.appendRecoveredLogEntry(second);
+        coordinator.appendRecoveredLogEntry(third);
+        coordinator.applyCurrentLogRecoveryBatch();
+
+        assertEquals(dataTree.takeSnapshot().readNode(PeopleModel.BASE_PATH), readPeople(peopleDataTree));
+        assertEquals(3, shardStats.getRecoveredJournalEntryCount());
+        assertEquals(first.size() + second.size() + third.size(), shardStats.getRecoveredJournalDataSize());
+    }
+
+    private static DataTreeCandidateTip commit(final TipProducingDataTree dataTree,
+            final Consumer<DataTreeModification> operations) {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        operations.accept(modification);
+        modification.ready();
+
+        final DataTreeCandidateTip candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
     private DataTreeCandidateTip createCar() {
         final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
         dataTree.setSchemaContext(carsSchemaContext);
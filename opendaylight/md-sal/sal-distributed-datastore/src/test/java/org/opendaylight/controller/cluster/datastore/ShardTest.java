@@ -476,6 +476,7 @@ public class ShardTest extends AbstractShardTest {
 
         final TransactionIdentifier tx = nextTransactionId();
         shard.underlyingActor().applyState(null, null, payloadForModification(store, writeMod, tx));
+        shard.underlyingActor().onApplyStateBatchComplete();
 
         final Stopwatch sw = Stopwatch.createStarted();
         while (sw.elapsed(TimeUnit.SECONDS) <= 5) {
@@ -1406,6 +1406,20 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
     @Test
     public void testReadRoot() throws ReadFailedException, InterruptedException, ExecutionException,
             java.util.concurrent.TimeoutException {
+        verifyReadRoot();
+    }
+
+    @Test
+    public void testStreamingReadRoot() throws ReadFailedException, InterruptedException, ExecutionException,
+            java.util.concurrent.TimeoutException {
+        doReturn(dataStoreContextBuilder.streamingRootReads(true).build()).when(mockActorContext)
+                .getDatastoreContext();
+
+        verifyReadRoot();
+    }
+
+    private void verifyReadRoot() throws ReadFailedException, InterruptedException, ExecutionException,
+            java.util.concurrent.TimeoutException {
         SchemaContext schemaContext = SchemaContextHelper.full();
         Configuration configuration = mock(Configuration.class);
         doReturn(configuration).when(mockActorContext).getConfiguration();
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.entityownership;
+
+import static org.junit.Assert.assertEquals;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNERS_PATH;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.candidatePath;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityEntryWithOwner;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityOwnersWithCandidate;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityPath;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.datastore.AbstractActorTest;
+import org.opendaylight.controller.cluster.datastore.Shard;
+import org.opendaylight.controller.cluster.datastore.ShardDataTree;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+
+public class EntityOwnershipIndexTest extends AbstractActorTest {
+    private static final String LOCAL_MEMBER_NAME = "member-1";
+    private static final String REMOTE_MEMBER_NAME = "member-2";
+    private static final String ENTITY_TYPE = "test";
+    private static final YangInstanceIdentifier ENTITY_ID1 =
+            YangInstanceIdentifier.of(QName.create("test", "2015-08-14", "entity1"));
+    private static final YangInstanceIdentifier ENTITY_ID2 =
+            YangInstanceIdentifier.of(QName.create("test", "2015-08-14", "entity2"));
+    private static final YangInstanceIdentifier ENTITY_PATH1 = entityPath(ENTITY_TYPE, ENTITY_ID1);
+    private static final YangInstanceIdentifier ENTITY_PATH2 = entityPath(ENTITY_TYPE, ENTITY_ID2);
+
+    private final Shard mockShard = Mockito.mock(Shard.class);
+
+    private final ShardDataTree shardDataTree = new ShardDataTree(mockShard, SchemaContextHelper.entityOwners(),
+        TreeType.OPERATIONAL);
+    private EntityOwnershipIndex ownershipIndex;
+
+    @Before
+    public void setup() {
+        ownershipIndex = new EntityOwnershipIndex();
+        ownershipIndex.init(shardDataTree);
+    }
+
+    @Test
+    public void testOnDataTreeChanged() throws Exception {
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID1, LOCAL_MEMBER_NAME));
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID2, LOCAL_MEMBER_NAME));
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID1, REMOTE_MEMBER_NAME));
+
+        assertEntities(ownershipIndex.entitiesOwnedBy(""), ENTITY_PATH1, ENTITY_PATH2);
+        assertEntities(ownershipIndex.entitiesWithCandidate(LOCAL_MEMBER_NAME), ENTITY_PATH1, ENTITY_PATH2);
+        assertEntities(ownershipIndex.entitiesWithCandidate(REMOTE_MEMBER_NAME), ENTITY_PATH1);
+
+        // Write local member as owner for entity 1
+
+        writeNode(ENTITY_PATH1, entityEntryWithOwner(ENTITY_ID1, LOCAL_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesOwnedBy(LOCAL_MEMBER_NAME), ENTITY_PATH1);
+        assertEntities(ownershipIndex.entitiesOwnedBy(""), ENTITY_PATH2);
+        assertEntities(ownershipIndex.entitiesWithCandidate(REMOTE_MEMBER_NAME), ENTITY_PATH1);
+
+        // Change owner to the remote member for entity 1
+
+        writeNode(ENTITY_PATH1, entityEntryWithOwner(ENTITY_ID1, REMOTE_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesOwnedBy(LOCAL_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesOwnedBy(REMOTE_MEMBER_NAME), ENTITY_PATH1);
+
+        // Remove the remote member as a candidate for entity 1
+
+        deleteNode(candidatePath(ENTITY_PATH1, REMOTE_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesWithCandidate(REMOTE_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesWithCandidate(LOCAL_MEMBER_NAME), ENTITY_PATH1, ENTITY_PATH2);
+        assertEntities(ownershipIndex.entitiesOwnedBy(REMOTE_MEMBER_NAME), ENTITY_PATH1);
+
+        // Write and then clear the owner for entity 2
+
+        writeNode(ENTITY_PATH2, entityEntryWithOwner(ENTITY_ID2, LOCAL_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesOwnedBy(LOCAL_MEMBER_NAME), ENTITY_PATH2);
+        assertEntities(ownershipIndex.entitiesOwnedBy(""));
+
+        writeNode(ENTITY_PATH2, entityEntryWithOwner(ENTITY_ID2, null));
+        assertEntities(ownershipIndex.entitiesOwnedBy(LOCAL_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesOwnedBy(""), ENTITY_PATH2);
+
+        // Remove entity 1
+
+        deleteNode(ENTITY_PATH1);
+        assertEntities(ownershipIndex.entitiesWithCandidate(LOCAL_MEMBER_NAME), ENTITY_PATH2);
+        assertEntities(ownershipIndex.entitiesOwnedBy(REMOTE_MEMBER_NAME));
+        assertEntities(ownershipIndex.entitiesOwnedBy(""), ENTITY_PATH2);
+    }
+
+    private static void assertEntities(final Collection<YangInstanceIdentifier> actual,
+            final YangInstanceIdentifier... expected) {
+        assertEquals(ImmutableSet.copyOf(expected), ImmutableSet.copyOf(actual));
+    }
+
+    private void writeNode(final YangInstanceIdentifier path, final NormalizedNode<?, ?> node)
+            throws DataValidationFailedException {
+        AbstractEntityOwnershipTest.writeNode(path, node, shardDataTree);
+    }
+
+    private void deleteNode(final YangInstanceIdentifier path) throws DataValidationFailedException {
+        AbstractEntityOwnershipTest.deleteNode(path, shardDataTree);
+    }
+}
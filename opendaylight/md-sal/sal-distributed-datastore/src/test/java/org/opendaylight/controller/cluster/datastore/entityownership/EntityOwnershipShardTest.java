@@ -655,6 +655,68 @@ public class EntityOwnershipShardTest extends AbstractEntityOwnershipTest {
         testLog.info("testOwnerChangesOnPeerAvailabilityChanges ending");
     }
 
+    @Test
+    public void testPeerDownImmediatelyAfterCommit() throws Exception {
+        testLog.info("testPeerDownImmediatelyAfterCommit starting");
+
+        final ShardTestKit kit = new ShardTestKit(getSystem());
+
+        dataStoreContextBuilder.shardHeartbeatIntervalInMillis(100).shardElectionTimeoutFactor(4)
+                .shardIsolatedLeaderCheckIntervalInMillis(100000);
+
+        ShardIdentifier leaderId = newShardId(LOCAL_MEMBER_NAME);
+        ShardIdentifier peerId1 = newShardId(PEER_MEMBER_1_NAME);
+        ShardIdentifier peerId2 = newShardId(PEER_MEMBER_2_NAME);
+
+        TestActorRef<TestEntityOwnershipShard> peer1 = actorFactory.createTestActor(TestEntityOwnershipShard.props(
+                newShardBuilder(peerId1, peerMap(leaderId.toString(), peerId2.toString()), PEER_MEMBER_1_NAME)),
+                    peerId1.toString());
+        peer1.underlyingActor().startDroppingMessagesOfType(ElectionTimeout.class);
+
+        TestActorRef<TestEntityOwnershipShard> peer2 = actorFactory.createTestActor(TestEntityOwnershipShard.props(
+                newShardBuilder(peerId2, peerMap(leaderId.toString(), peerId1.toString()), PEER_MEMBER_2_NAME)),
+                    peerId2.toString());
+        peer2.underlyingActor().startDroppingMessagesOfType(ElectionTimeout.class);
+
+        TestActorRef<EntityOwnershipShard> leader = actorFactory.createTestActor(
+                newShardProps(leaderId, peerMap(peerId1.toString(), peerId2.toString()), LOCAL_MEMBER_NAME),
+                    leaderId.toString());
+
+        verifyRaftState(leader, state ->
+                assertEquals("getRaftState", RaftState.Leader.toString(), state.getRaftState()));
+
+        // Add candidates for entity1 with peerMember2 as the owner
+
+        peer2.tell(new RegisterCandidateLocal(new DOMEntity(ENTITY_TYPE, ENTITY_ID1)), kit.getRef());
+        kit.expectMsgClass(SuccessReply.class);
+        peer1.tell(new RegisterCandidateLocal(new DOMEntity(ENTITY_TYPE, ENTITY_ID1)), kit.getRef());
+        kit.expectMsgClass(SuccessReply.class);
+        verifyOwner(leader, ENTITY_TYPE, ENTITY_ID1, PEER_MEMBER_2_NAME);
+
+        // Send PeerDown right after the owner write is committed, without giving the shard's listeners a chance
+        // to catch up - the entity must still get a new owner selected
+
+        leader.tell(new PeerDown(peerId2.getMemberName(), peerId2.toString()), ActorRef.noSender());
+
+        verifyOwner(leader, ENTITY_TYPE, ENTITY_ID1, PEER_MEMBER_1_NAME);
+
+        // Likewise for an entity whose candidate was committed just before peerMember1 goes down
+
+        peer1.tell(new RegisterCandidateLocal(new DOMEntity(ENTITY_TYPE, ENTITY_ID2)), kit.getRef());
+        kit.expectMsgClass(SuccessReply.class);
+        leader.tell(new RegisterCandidateLocal(new DOMEntity(ENTITY_TYPE, ENTITY_ID2)), kit.getRef());
+        kit.expectMsgClass(SuccessReply.class);
+        verifyOwner(leader, ENTITY_TYPE, ENTITY_ID2, PEER_MEMBER_1_NAME);
+
+        leader.tell(new PeerDown(peerId1.getMemberName(), peerId1.toString()), ActorRef.noSender());
+
+        verifyOwner(leader, ENTITY_TYPE, ENTITY_ID2, LOCAL_MEMBER_NAME);
+        // no other live candidates for entity1 so peerMember1 should remain owner.
+        verifyOwner(leader, ENTITY_TYPE, ENTITY_ID1, PEER_MEMBER_1_NAME);
+
+        testLog.info("testPeerDownImmediatelyAfterCommit ending");
+    }
+
     @Test
     public void testLeaderIsolation() throws Exception {
         testLog.info("testLeaderIsolation starting");
@@ -17,6 +17,7 @@ import java.util.Collection;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.AbstractTest;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
@@ -193,4 +194,44 @@ public class CommitTransactionPayloadTest extends AbstractTest {
         CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate);
         assertCandidateEquals(candidate, payload.getCandidate().getValue());
     }
+
+    @Test
+    public void testApplyCandidate() throws Exception {
+        final TipProducingDataTree leaderTree = createTestDataTree();
+        final TipProducingDataTree followerTree = createTestDataTree();
+
+        final DataTreeModification modification = leaderTree.takeSnapshot().newModification();
+        modification.delete(TestModel.outerEntryPath(1));
+        modification.write(TestModel.outerEntryPath(3),
+                ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        modification.write(TestModel.TEST_PATH.node(TestModel.DESC_QNAME),
+                ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo"));
+        modification.ready();
+        candidate = leaderTree.prepare(modification);
+        leaderTree.commit(candidate);
+
+        final TransactionIdentifier transactionId = nextTransactionId();
+        final CommitTransactionPayload payload = CommitTransactionPayload.create(transactionId, candidate);
+
+        final DataTreeModification followerModification = followerTree.takeSnapshot().newModification();
+        assertEquals("transaction identifier", transactionId, payload.applyCandidate(followerModification));
+        followerModification.ready();
+        followerTree.validate(followerModification);
+        followerTree.commit(followerTree.prepare(followerModification));
+
+        assertEquals("data tree root", leaderTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY),
+                followerTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY));
+    }
+
+    private static TipProducingDataTree createTestDataTree() throws Exception {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, TestModel.testNodeWithOuter(1, 2));
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+        return dataTree;
+    }
 }
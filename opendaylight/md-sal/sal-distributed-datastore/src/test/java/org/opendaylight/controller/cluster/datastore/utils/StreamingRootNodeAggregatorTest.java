@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class StreamingRootNodeAggregatorTest {
+    private final SchemaContext schemaContext = SchemaContextHelper.full();
+
+    @Test
+    public void testAggregate() throws Exception {
+        final NormalizedNode<?, ?> expectedNode1 = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        final NormalizedNode<?, ?> expectedNode2 = ImmutableNodes.containerNode(CarsModel.CARS_QNAME);
+
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> shard1 = SettableFuture.create();
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> shard2 = SettableFuture.create();
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> shard3 = SettableFuture.create();
+        final ListenableFuture<Optional<NormalizedNode<?, ?>>> result = StreamingRootNodeAggregator.aggregate(
+            ImmutableList.of(shard1, shard2, shard3), schemaContext, LogicalDatastoreType.CONFIGURATION);
+
+        // Replies are processed in the order they arrive
+        shard2.set(Optional.of(NormalizedNodeAggregatorTest.getRootNode(expectedNode2, schemaContext)));
+        shard3.set(Optional.absent());
+        assertFalse(result.isDone());
+        shard1.set(Optional.of(NormalizedNodeAggregatorTest.getRootNode(expectedNode1, schemaContext)));
+
+        final Collection<NormalizedNode<?, ?>> children = children(result);
+        assertEquals(2, children.size());
+        assertEquals(expectedNode1, NormalizedNodeAggregatorTest.findChildWithQName(children, TestModel.TEST_QNAME));
+        assertEquals(expectedNode2, NormalizedNodeAggregatorTest.findChildWithQName(children, CarsModel.BASE_QNAME));
+    }
+
+    @Test
+    public void testAggregateOverlapping() throws Exception {
+        final NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        final NormalizedNode<?, ?> shardRoot = NormalizedNodeAggregatorTest.getRootNode(expectedNode, schemaContext);
+
+        final ListenableFuture<Optional<NormalizedNode<?, ?>>> result = StreamingRootNodeAggregator.aggregate(
+            ImmutableList.of(immediate(shardRoot), immediate(shardRoot)), schemaContext,
+            LogicalDatastoreType.CONFIGURATION);
+
+        final Collection<NormalizedNode<?, ?>> children = children(result);
+        assertEquals(1, children.size());
+        assertEquals(expectedNode, NormalizedNodeAggregatorTest.findChildWithQName(children, TestModel.TEST_QNAME));
+    }
+
+    @Test
+    public void testAggregateNoShards() throws Exception {
+        final ListenableFuture<Optional<NormalizedNode<?, ?>>> result = StreamingRootNodeAggregator.aggregate(
+            ImmutableList.of(), schemaContext, LogicalDatastoreType.CONFIGURATION);
+
+        assertTrue(children(result).isEmpty());
+    }
+
+    @Test
+    public void testShardReadFailure() throws Exception {
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> shard1 = SettableFuture.create();
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> shard2 = SettableFuture.create();
+        final ListenableFuture<Optional<NormalizedNode<?, ?>>> result = StreamingRootNodeAggregator.aggregate(
+            ImmutableList.of(shard1, shard2), schemaContext, LogicalDatastoreType.CONFIGURATION);
+
+        final RuntimeException cause = new RuntimeException("mock");
+        shard1.setException(cause);
+        shard2.set(Optional.absent());
+
+        try {
+            result.get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(cause, e.getCause());
+        }
+    }
+
+    private static ListenableFuture<Optional<NormalizedNode<?, ?>>> immediate(final NormalizedNode<?, ?> node) {
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> future = SettableFuture.create();
+        future.set(Optional.of(node));
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<NormalizedNode<?, ?>> children(
+            final ListenableFuture<Optional<NormalizedNode<?, ?>>> result) throws Exception {
+        assertTrue(result.isDone());
+        return (Collection<NormalizedNode<?, ?>>) result.get().get().getValue();
+    }
+}
@@ -8,24 +8,27 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.triemap.TrieMap;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * Implementations of a single RPC, indexed by context reference. The index is a {@link TrieMap}, whose immutable
+ * snapshots share structure, hence adding or removing a few contexts does not need to copy the entire index, which is
+ * important for routed RPCs with a large number of contexts. Published indices are never modified.
+ */
 abstract class AbstractDOMRpcRoutingTableEntry {
     private final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
     private final SchemaPath schemaPath;
@@ -41,7 +44,8 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     final List<DOMRpcImplementation> getImplementations(final YangInstanceIdentifier context) {
-        return impls.get(context);
+        // TrieMap does not allow null keys
+        return context == null ? null : impls.get(context);
     }
 
     final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
@@ -49,64 +53,82 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     final boolean containsContext(final YangInstanceIdentifier contextReference) {
-        return impls.containsKey(contextReference);
+        return contextReference != null && impls.containsKey(contextReference);
     }
 
     final Set<YangInstanceIdentifier> registeredIdentifiers(final DOMRpcAvailabilityListener l) {
         return Maps.filterValues(impls, list -> list.stream().anyMatch(l::acceptsImplementation)).keySet();
     }
 
+    /**
+     * Create a mutable index of implementations.
+     *
+     * @param impls Initial implementations
+     * @return A mutable copy of impls
+     */
+    static TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> mutableImplementations(
+            final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
+        if (impls instanceof TrieMap) {
+            // Constant time, nodes are copied lazily as they are modified
+            return ((TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>>) impls).mutableSnapshot();
+        }
+
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> ret = TrieMap.create();
+        ret.putAll(impls);
+        return ret;
+    }
+
     /**
      *
      * @param implementation
-     * @param newRpcs List of new RPCs, must be mutable
+     * @param newRpcs List of new RPCs
      * @return
      */
     final AbstractDOMRpcRoutingTableEntry add(final DOMRpcImplementation implementation,
             final List<YangInstanceIdentifier> newRpcs) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (newRpcs.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = mutableImplementations(impls);
+        for (final YangInstanceIdentifier ii : newRpcs) {
+            final List<DOMRpcImplementation> prev = vb.get(ii);
+            if (prev != null) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(prev.size() + 1);
+                i.addAll(prev);
                 i.add(implementation);
 
                 // New implementation is at the end, this will move it to be the last among implementations
                 // with equal cost -- relying on sort() being stable.
                 i.sort(Comparator.comparingLong(DOMRpcImplementation::invocationCost));
-                vb.put(ve.getKey(), i);
+                vb.put(ii, i);
             } else {
-                vb.put(ve);
+                final List<DOMRpcImplementation> impl = new ArrayList<>(1);
+                impl.add(implementation);
+                vb.put(ii, impl);
             }
         }
-        for(final YangInstanceIdentifier ii : newRpcs) {
-            final List<DOMRpcImplementation> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii, impl);
-        }
 
-        return newInstance(vb.build());
+        return newInstance(vb.immutableSnapshot());
     }
 
     final AbstractDOMRpcRoutingTableEntry remove(final DOMRpcImplementation implementation,
             final List<YangInstanceIdentifier> removed) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = mutableImplementations(impls);
+        for (final YangInstanceIdentifier ii : removed) {
+            final List<DOMRpcImplementation> prev = vb.get(ii);
+            if (prev != null) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(prev);
                 i.remove(implementation);
                 // We could trimToSize(), but that may perform another copy just to get rid
                 // of a single element. That is probably not worth the trouble.
                 if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
+                    vb.put(ii, i);
+                } else {
+                    vb.remove(ii);
                 }
-            } else {
-                vb.put(ve);
             }
         }
 
-        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.build();
-        return v.isEmpty() ? null : newInstance(v);
+        // TrieMap.size() needs to traverse the entire map, we only need to know whether there is any entry
+        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.immutableSnapshot();
+        return v.entrySet().iterator().hasNext() ? newInstance(v) : null;
     }
 
     protected abstract CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input);
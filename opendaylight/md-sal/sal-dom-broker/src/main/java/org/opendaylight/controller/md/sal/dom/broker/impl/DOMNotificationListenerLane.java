@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationRouter.OverflowPolicy;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationListenerStats;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A listener registration which has its own bounded queue of notifications pending delivery. The queue is drained
+ * by a task submitted to a shared executor, hence a slow listener only holds up its own notifications, which are
+ * still delivered in the order they were published. What happens when the queue is full is controlled by
+ * {@link OverflowPolicy}.
+ *
+ * @param <T> listener type
+ */
+abstract class DOMNotificationListenerLane<T extends DOMNotificationListener> extends AbstractListenerRegistration<T>
+        implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationListenerLane.class);
+
+    // Maximum number of notifications delivered before we yield the thread to other lanes
+    private static final int MAX_DRAIN_BATCH = 64;
+
+    private static final class QueuedNotification {
+        final long enqueuedAt;
+        DOMNotification notification;
+
+        QueuedNotification(final DOMNotification notification, final long enqueuedAt) {
+            this.notification = notification;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final DurationStatisticsTracker latencyTracker = DurationStatisticsTracker.createConcurrent();
+    @GuardedBy("this")
+    private final Deque<QueuedNotification> queue = new ArrayDeque<>();
+    private final OverflowPolicy overflowPolicy;
+    private final Executor executor;
+    private final int capacity;
+
+    @GuardedBy("this")
+    private boolean scheduled;
+    @GuardedBy("this")
+    private boolean closed;
+    private volatile long droppedNotifications;
+    private volatile long coalescedNotifications;
+
+    DOMNotificationListenerLane(final T listener, final Executor executor, final int capacity,
+            final OverflowPolicy overflowPolicy) {
+        super(listener);
+        Preconditions.checkArgument(capacity > 0, "Invalid lane capacity %s", capacity);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Enqueue a notification for delivery. This method does not block unless the lane is full and its overflow
+     * policy is {@link OverflowPolicy#BLOCK}.
+     *
+     * @param notification Notification to deliver
+     */
+    void offer(final DOMNotification notification) {
+        final QueuedNotification queued = new QueuedNotification(notification, System.nanoTime());
+        final boolean schedule;
+
+        synchronized (this) {
+            while (queue.size() >= capacity) {
+                if (closed) {
+                    return;
+                }
+
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            LOG.warn("Interrupted while waiting for listener {}, dropping notification {}",
+                                getInstance(), notification, e);
+                            Thread.currentThread().interrupt();
+                            droppedNotifications++;
+                            return;
+                        }
+                        break;
+                    case COALESCE:
+                        if (coalesce(notification)) {
+                            coalescedNotifications++;
+                            return;
+                        }
+                        dropOldest();
+                        break;
+                    case DROP_OLDEST:
+                        dropOldest();
+                        break;
+                    default:
+                        throw new IllegalStateException("Unhandled policy " + overflowPolicy);
+                }
+            }
+
+            if (closed) {
+                return;
+            }
+
+            queue.add(queued);
+            schedule = !scheduled;
+            scheduled = true;
+        }
+
+        if (schedule) {
+            scheduleDrain();
+        }
+    }
+
+    @GuardedBy("this")
+    private boolean coalesce(final DOMNotification notification) {
+        // Replace the pending notification of the same type, retaining its position in the queue
+        for (QueuedNotification queued : queue) {
+            if (notification.getType().equals(queued.notification.getType())) {
+                LOG.trace("Listener {} coalesced notification {} into {}", getInstance(), queued.notification,
+                    notification);
+                queued.notification = notification;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @GuardedBy("this")
+    private void dropOldest() {
+        final QueuedNotification dropped = queue.poll();
+        LOG.debug("Listener {} is not keeping up, dropped notification {}", getInstance(), dropped.notification);
+        droppedNotifications++;
+    }
+
+    private void scheduleDrain() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Failed to schedule delivery to listener {}, discarding pending notifications", getInstance(), e);
+            synchronized (this) {
+                droppedNotifications += queue.size();
+                queue.clear();
+                scheduled = false;
+                notifyAll();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void run() {
+        final T listener = getInstance();
+
+        for (int i = 0; i < MAX_DRAIN_BATCH; ++i) {
+            final QueuedNotification next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    scheduled = false;
+                    return;
+                }
+
+                if (overflowPolicy == OverflowPolicy.BLOCK) {
+                    notifyAll();
+                }
+            }
+
+            try {
+                LOG.trace("Notifying listener {}", listener);
+                listener.onNotification(next.notification);
+                LOG.trace("Listener notification completed");
+            } catch (Exception e) {
+                LOG.error("Delivery of notification {} caused an error in listener {}", next.notification, listener,
+                    e);
+            }
+
+            latencyTracker.addDuration(System.nanoTime() - next.enqueuedAt);
+        }
+
+        // We have more work, but let other lanes make progress
+        scheduleDrain();
+    }
+
+    NotificationListenerStats getStats() {
+        final int queueDepth;
+        synchronized (this) {
+            queueDepth = queue.size();
+        }
+
+        return new NotificationListenerStats(String.valueOf(getInstance()), queueDepth, capacity,
+            latencyTracker.getTotalDurations(), droppedNotifications, coalescedNotifications,
+            latencyTracker.getDisplayableAverageDuration(), latencyTracker.getDisplayableLongestDuration());
+    }
+
+    @Override
+    protected final void removeRegistration() {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            notifyAll();
+        }
+
+        removeLane();
+    }
+
+    /**
+     * Invoked when this registration is closed, after any pending notifications have been discarded.
+     */
+    protected abstract void removeLane();
+}
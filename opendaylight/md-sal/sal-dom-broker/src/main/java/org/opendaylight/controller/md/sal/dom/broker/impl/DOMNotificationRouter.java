@@ -23,15 +23,18 @@ import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationListenerStats;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListenerRegistry;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -54,10 +57,35 @@ import org.slf4j.LoggerFactory;
  * The fully-blocking {@link #publish(long, DOMNotification, Collection)} and non-blocking {@link #offerNotification(DOMNotification)}
  * are realized using the Disruptor's native operations. The bounded-blocking {@link #offerNotification(DOMNotification, long, TimeUnit)}
  * is realized by arming a background wakeup interrupt.
+ *
+ * Optionally each listener registration can be given its own bounded dispatch lane, see {@link DOMNotificationListenerLane}.
+ * In that mode the first handler only hands notifications over to the lanes, so that a slow listener does not hold up
+ * delivery to other listeners, and the returned future completes once the notification has been queued to all lanes.
+ * What happens when a lane is full is controlled by {@link OverflowPolicy}.
  */
 public final class DOMNotificationRouter implements AutoCloseable, DOMNotificationPublishService,
         DOMNotificationService, DOMNotificationSubscriptionListenerRegistry {
 
+    /**
+     * Policy applied when a listener's dispatch lane is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait for the listener to make room. This holds up delivery to all other listeners, but no notifications
+         * are lost.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest notification pending delivery to the listener.
+         */
+        DROP_OLDEST,
+        /**
+         * Replace a pending notification of the same type with the new one. If there is no such notification, drop
+         * the oldest one.
+         */
+        COALESCE,
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationRouter.class);
     private static final ListenableFuture<Void> NO_LISTENERS = Futures.immediateFuture(null);
     private static final WaitStrategy DEFAULT_STRATEGY = PhasedBackoffWaitStrategy.withLock(1L, 30L, TimeUnit.MILLISECONDS);
@@ -68,12 +96,17 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
 
     private final Disruptor<DOMNotificationRouterEvent> disruptor;
     private final ExecutorService executor;
+    private final OverflowPolicy overflowPolicy;
+    private final int listenerQueueDepth;
     private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners = ImmutableMultimap.of();
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners = ListenerRegistry.create();
 
     @SuppressWarnings("unchecked")
-    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
+    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy,
+            final int listenerQueueDepth, final OverflowPolicy overflowPolicy) {
         this.executor = Preconditions.checkNotNull(executor);
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+        this.listenerQueueDepth = listenerQueueDepth;
 
         disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI, strategy);
         disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
@@ -84,30 +117,54 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     public static DOMNotificationRouter create(final int queueDepth) {
         final ExecutorService executor = Executors.newCachedThreadPool();
 
-        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY);
+        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY, 0, OverflowPolicy.BLOCK);
     }
 
     public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime, final TimeUnit unit) {
+        return create(queueDepth, spinTime, parkTime, unit, 0, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create a new router.
+     *
+     * @param queueDepth Depth of the shared dispatch queue, has to be a power of two
+     * @param spinTime Time to spin waiting for notifications to arrive before parking
+     * @param parkTime Time to park waiting for notifications to arrive before blocking
+     * @param unit Time unit of spinTime and parkTime
+     * @param listenerQueueDepth Depth of each listener's dispatch lane, zero to deliver notifications to all listeners
+     *                           from the shared dispatcher
+     * @param overflowPolicy Policy to apply when a listener's dispatch lane is full
+     * @return A new router
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
+            final TimeUnit unit, final int listenerQueueDepth, final OverflowPolicy overflowPolicy) {
         Preconditions.checkArgument(Long.lowestOneBit(queueDepth) == Long.highestOneBit(queueDepth),
                 "Queue depth %s is not power-of-two", queueDepth);
+        Preconditions.checkArgument(listenerQueueDepth >= 0, "Invalid listener queue depth %s", listenerQueueDepth);
         final ExecutorService executor = Executors.newCachedThreadPool();
         final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
 
-        return new DOMNotificationRouter(executor, queueDepth, strategy);
+        return new DOMNotificationRouter(executor, queueDepth, strategy, listenerQueueDepth, overflowPolicy);
     }
 
     @Override
     public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener, final Collection<SchemaPath> types) {
-        final ListenerRegistration<T> reg = new AbstractListenerRegistration<T>(listener) {
-            @Override
-            protected void removeRegistration() {
-                final ListenerRegistration<T> me = this;
-
-                synchronized (DOMNotificationRouter.this) {
-                    replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners, input -> input != me)));
+        final ListenerRegistration<T> reg;
+        if (listenerQueueDepth > 0) {
+            reg = new DOMNotificationListenerLane<T>(listener, executor, listenerQueueDepth, overflowPolicy) {
+                @Override
+                protected void removeLane() {
+                    removeListener(this);
                 }
-            }
-        };
+            };
+        } else {
+            reg = new AbstractListenerRegistration<T>(listener) {
+                @Override
+                protected void removeRegistration() {
+                    removeListener(this);
+                }
+            };
+        }
 
         if (!types.isEmpty()) {
             final Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b = ImmutableMultimap.builder();
@@ -128,6 +185,26 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         return registerNotificationListener(listener, Arrays.asList(types));
     }
 
+    private synchronized void removeListener(final ListenerRegistration<?> reg) {
+        replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners, input -> input != reg)));
+    }
+
+    /**
+     * Returns the delivery statistics of listeners which have their own dispatch lane.
+     *
+     * @return List of listener statistics, empty if listener dispatch lanes are not enabled
+     */
+    public List<NotificationListenerStats> getListenerStats() {
+        final Set<DOMNotificationListenerLane<?>> lanes = new LinkedHashSet<>();
+        for (final ListenerRegistration<? extends DOMNotificationListener> reg : listeners.values()) {
+            if (reg instanceof DOMNotificationListenerLane) {
+                lanes.add((DOMNotificationListenerLane<?>) reg);
+            }
+        }
+
+        return lanes.stream().map(DOMNotificationListenerLane::getStats).collect(Collectors.toList());
+    }
+
     /**
      * Swaps registered listeners and triggers notification update
      *
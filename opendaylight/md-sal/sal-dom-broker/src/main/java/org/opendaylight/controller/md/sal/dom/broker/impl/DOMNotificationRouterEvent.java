@@ -44,6 +44,12 @@ final class DOMNotificationRouterEvent {
     void deliverNotification() {
         LOG.trace("Start delivery of notification {}", notification);
         for (ListenerRegistration<? extends DOMNotificationListener> r : subscribers) {
+            if (r instanceof DOMNotificationListenerLane) {
+                // The listener has its own lane, just hand the notification over
+                ((DOMNotificationListenerLane<?>) r).offer(notification);
+                continue;
+            }
+
             final DOMNotificationListener listener = r.getInstance();
             if (listener != null) {
                 try {
@@ -13,10 +13,6 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.MapDifference.ValueDifference;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
@@ -76,7 +72,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.remove(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation));
+        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation, rpcs));
     }
 
     @Override
@@ -86,7 +82,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.add(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyAdded(newTable, implementation));
+        listenerNotifier.execute(() -> notifyAdded(newTable, implementation, rpcs));
 
         return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
             @Override
@@ -106,15 +102,17 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         listeners = ImmutableList.copyOf(Collections2.filter(listeners, i -> !reg.equals(i)));
     }
 
-    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+            final Set<DOMRpcIdentifier> rpcs) {
         for (Registration<?> l : listeners) {
-            l.addRpc(newTable, impl);
+            l.addRpc(newTable, impl, rpcs);
         }
     }
 
-    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+            final Set<DOMRpcIdentifier> rpcs) {
         for (Registration<?> l : listeners) {
-            l.removeRpc(newTable, impl);
+            l.removeRpc(newTable, impl, rpcs);
         }
     }
 
@@ -174,22 +172,22 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             }
         }
 
-        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        /*
+         * Only the identifiers touched by an implementation can change their availability, hence we examine only
+         * those instead of comparing complete tables, which would be expensive with a large number of contexts.
+         */
+        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+                final Set<DOMRpcIdentifier> changed) {
             final T l = getInstance();
             if (!l.acceptsImplementation(impl)) {
                 return;
             }
 
             final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
             final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
-                added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
+            for (DOMRpcIdentifier id : changed) {
+                if (!isAvailable(prevRpcs, id) && isAvailable(rpcs, id)) {
+                    added.add(id);
                 }
             }
 
@@ -199,22 +197,18 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             }
         }
 
-        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+                final Set<DOMRpcIdentifier> changed) {
             final T l = getInstance();
             if (!l.acceptsImplementation(impl)) {
                 return;
             }
 
             final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
             final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
-                removed.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
-                    removed.add(DOMRpcIdentifier.create(e.getKey(), i));
+            for (DOMRpcIdentifier id : changed) {
+                if (isAvailable(prevRpcs, id) && !isAvailable(rpcs, id)) {
+                    removed.add(id);
                 }
             }
 
@@ -223,5 +217,11 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
                 l.onRpcUnavailable(removed);
             }
         }
+
+        private static boolean isAvailable(final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs,
+                final DOMRpcIdentifier id) {
+            final Set<YangInstanceIdentifier> contexts = rpcs.get(id.getType());
+            return contexts != null && contexts.contains(id.getContextReference());
+        }
     }
 }
@@ -29,6 +29,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.broker.spi.rpc.RpcRoutingStrategy;
+import org.opendaylight.yangtools.triemap.TrieMap;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -79,13 +80,13 @@ final class DOMRpcRoutingTable {
 
         // Finally add whatever is left in the decomposed multimap
         for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
-            final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
+            final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = TrieMap.create();
             final List<DOMRpcImplementation> v = Collections.singletonList(implementation);
             for (YangInstanceIdentifier i : e.getValue()) {
                 vb.put(i, v);
             }
 
-            mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), vb.build()));
+            mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), vb.immutableSnapshot()));
         }
 
         return new DOMRpcRoutingTable(mb.build(), schemaContext);
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class containing a snapshot of the delivery statistics of a single notification listener which has its own
+ * dispatch lane.
+ */
+public class NotificationListenerStats {
+    private final String listener;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long deliveredNotifications;
+    private final long droppedNotifications;
+    private final long coalescedNotifications;
+    private final String averageDeliveryTime;
+    private final String longestDeliveryTime;
+
+    @ConstructorProperties({"listener", "queueDepth", "queueCapacity", "deliveredNotifications",
+        "droppedNotifications", "coalescedNotifications", "averageDeliveryTime", "longestDeliveryTime"})
+    public NotificationListenerStats(final String listener, final int queueDepth, final int queueCapacity,
+            final long deliveredNotifications, final long droppedNotifications, final long coalescedNotifications,
+            final String averageDeliveryTime, final String longestDeliveryTime) {
+        this.listener = listener;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.deliveredNotifications = deliveredNotifications;
+        this.droppedNotifications = droppedNotifications;
+        this.coalescedNotifications = coalescedNotifications;
+        this.averageDeliveryTime = averageDeliveryTime;
+        this.longestDeliveryTime = longestDeliveryTime;
+    }
+
+    public String getListener() {
+        return listener;
+    }
+
+    /**
+     * Returns the number of notifications waiting to be delivered to the listener.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getDeliveredNotifications() {
+        return deliveredNotifications;
+    }
+
+    public long getDroppedNotifications() {
+        return droppedNotifications;
+    }
+
+    public long getCoalescedNotifications() {
+        return coalescedNotifications;
+    }
+
+    /**
+     * Returns the average time from a notification being queued to the listener having processed it, in the
+     * appropriate scaled units.
+     */
+    public String getAverageDeliveryTime() {
+        return averageDeliveryTime;
+    }
+
+    /**
+     * Returns the longest time from a notification being queued to the listener having processed it, in the
+     * appropriate scaled units, along with the date/time that it occurred.
+     */
+    public String getLongestDeliveryTime() {
+        return longestDeliveryTime;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationListenerStats [listener=" + listener + ", queueDepth=" + queueDepth + ", queueCapacity="
+                + queueCapacity + ", deliveredNotifications=" + deliveredNotifications + ", droppedNotifications="
+                + droppedNotifications + ", coalescedNotifications=" + coalescedNotifications
+                + ", averageDeliveryTime=" + averageDeliveryTime + ", longestDeliveryTime=" + longestDeliveryTime
+                + "]";
+    }
+}
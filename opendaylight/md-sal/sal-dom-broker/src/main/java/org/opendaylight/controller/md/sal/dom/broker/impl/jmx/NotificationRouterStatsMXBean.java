@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.util.List;
+
+/**
+ * MXBean interface for retrieving notification delivery statistics.
+ */
+public interface NotificationRouterStatsMXBean {
+
+    /**
+     * Returns the delivery statistics of each listener which has its own dispatch lane. Listeners served by the
+     * shared dispatcher are not reported.
+     */
+    List<NotificationListenerStats> getListenerStats();
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationRouter.OverflowPolicy;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationListenerStats;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Unit tests for DOMNotificationRouter.
+ */
+public class DOMNotificationRouterTest {
+    private static final SchemaPath TYPE_A = SchemaPath.create(true, QName.create("urn:test", "2017-01-01", "a"));
+    private static final SchemaPath TYPE_B = SchemaPath.create(true, QName.create("urn:test", "2017-01-01", "b"));
+
+    private DOMNotificationRouter router;
+
+    @After
+    public void tearDown() {
+        if (router != null) {
+            router.close();
+        }
+    }
+
+    @Test
+    public void testSharedDispatch() throws Exception {
+        router = DOMNotificationRouter.create(16);
+
+        final RecordingListener listener = new RecordingListener(1);
+        router.registerNotificationListener(listener, TYPE_A);
+
+        final DOMNotification notification = notification(TYPE_A);
+        router.offerNotification(notification).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Collections.singletonList(notification), listener.received);
+        assertTrue(router.getListenerStats().isEmpty());
+    }
+
+    @Test
+    public void testSlowListenerDoesNotStallOthers() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 4, OverflowPolicy.BLOCK);
+
+        final BlockingListener slow = new BlockingListener(1);
+        final RecordingListener fast = new RecordingListener(2);
+        router.registerNotificationListener(slow, TYPE_A);
+        router.registerNotificationListener(fast, TYPE_A);
+
+        router.offerNotification(notification(TYPE_A)).get(5, TimeUnit.SECONDS);
+        router.offerNotification(notification(TYPE_A)).get(5, TimeUnit.SECONDS);
+
+        assertTrue("Fast listener was not notified", fast.latch.await(5, TimeUnit.SECONDS));
+        assertTrue("Slow listener was not notified", slow.entered.await(5, TimeUnit.SECONDS));
+        slow.release.countDown();
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 2, OverflowPolicy.DROP_OLDEST);
+
+        final BlockingListener listener = new BlockingListener(3);
+        router.registerNotificationListener(listener, TYPE_A);
+
+        final DOMNotification first = notification(TYPE_A);
+        router.offerNotification(first).get(5, TimeUnit.SECONDS);
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+
+        final DOMNotification second = notification(TYPE_A);
+        final DOMNotification third = notification(TYPE_A);
+        final DOMNotification fourth = notification(TYPE_A);
+        router.offerNotification(second).get(5, TimeUnit.SECONDS);
+        router.offerNotification(third).get(5, TimeUnit.SECONDS);
+        router.offerNotification(fourth).get(5, TimeUnit.SECONDS);
+
+        final NotificationListenerStats stats = router.getListenerStats().get(0);
+        assertEquals(2, stats.getQueueDepth());
+        assertEquals(2, stats.getQueueCapacity());
+        assertEquals(1, stats.getDroppedNotifications());
+
+        listener.release.countDown();
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(listOf(first, third, fourth), listener.received);
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 1, OverflowPolicy.COALESCE);
+
+        final BlockingListener listener = new BlockingListener(2);
+        router.registerNotificationListener(listener, TYPE_A, TYPE_B);
+
+        final DOMNotification first = notification(TYPE_A);
+        router.offerNotification(first).get(5, TimeUnit.SECONDS);
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+
+        final DOMNotification second = notification(TYPE_A);
+        final DOMNotification third = notification(TYPE_A);
+        final DOMNotification fourth = notification(TYPE_B);
+        router.offerNotification(second).get(5, TimeUnit.SECONDS);
+        router.offerNotification(third).get(5, TimeUnit.SECONDS);
+        router.offerNotification(fourth).get(5, TimeUnit.SECONDS);
+
+        final NotificationListenerStats stats = router.getListenerStats().get(0);
+        assertEquals(1, stats.getCoalescedNotifications());
+        assertEquals(1, stats.getDroppedNotifications());
+
+        listener.release.countDown();
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(listOf(first, fourth), listener.received);
+    }
+
+    @Test
+    public void testCloseLaneRegistration() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 4, OverflowPolicy.BLOCK);
+
+        final RecordingListener listener = new RecordingListener(1);
+        router.registerNotificationListener(listener, TYPE_A).close();
+
+        assertTrue(router.getListenerStats().isEmpty());
+        router.offerNotification(notification(TYPE_A)).get(5, TimeUnit.SECONDS);
+        assertTrue(listener.received.isEmpty());
+    }
+
+    private static DOMNotification notification(final SchemaPath type) {
+        final DOMNotification notification = mock(DOMNotification.class);
+        doReturn(type).when(notification).getType();
+        return notification;
+    }
+
+    private static List<DOMNotification> listOf(final DOMNotification... notifications) {
+        final List<DOMNotification> list = new ArrayList<>();
+        Collections.addAll(list, notifications);
+        return list;
+    }
+
+    private static class RecordingListener implements DOMNotificationListener {
+        final List<DOMNotification> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch;
+
+        RecordingListener(final int expected) {
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            received.add(notification);
+            latch.countDown();
+        }
+    }
+
+    private static class BlockingListener implements DOMNotificationListener {
+        final List<DOMNotification> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch delivered;
+
+        BlockingListener(final int expected) {
+            delivered = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            received.add(notification);
+            entered.countDown();
+            Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+            delivered.countDown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRoutingTableTest {
+    private static final QName RPC = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final QName INPUT = QName.create(RPC, "input");
+    private static final QName CONTEXT = QName.create(RPC, "context");
+    private static final QName NODE = QName.create(RPC, "node");
+    private static final SchemaPath RPC_PATH = SchemaPath.create(true, RPC);
+
+    private static YangInstanceIdentifier context(final int index) {
+        return YangInstanceIdentifier.of(NODE).node(QName.create(NODE, "node" + index));
+    }
+
+    private static List<YangInstanceIdentifier> contexts(final int from, final int to) {
+        final List<YangInstanceIdentifier> ret = new ArrayList<>();
+        for (int i = from; i < to; ++i) {
+            ret.add(context(i));
+        }
+        return ret;
+    }
+
+    private static ContainerNode input(final YangInstanceIdentifier context) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(INPUT))
+                .withChild(ImmutableNodes.leafNode(CONTEXT, context)).build();
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        final RpcDefinition def = mock(RpcDefinition.class);
+        doReturn(RPC_PATH).when(def).getPath();
+
+        final DOMRpcImplementation first = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation second = mock(DOMRpcImplementation.class);
+
+        final AbstractDOMRpcRoutingTableEntry empty = new RoutedDOMRpcRoutingTableEntry(def,
+            YangInstanceIdentifier.of(CONTEXT), ImmutableMap.of());
+        final AbstractDOMRpcRoutingTableEntry withFirst = empty.add(first, contexts(0, 1000));
+        final AbstractDOMRpcRoutingTableEntry withBoth = withFirst.add(second, contexts(500, 1500));
+
+        // Previous versions are not affected by updates
+        assertFalse(empty.containsContext(context(0)));
+        assertTrue(withFirst.containsContext(context(999)));
+        assertFalse(withFirst.containsContext(context(1000)));
+        assertTrue(withBoth.containsContext(context(1499)));
+
+        withBoth.invokeRpc(input(context(1200)));
+        verify(second).invokeRpc(DOMRpcIdentifier.create(RPC_PATH, context(1200)), input(context(1200)));
+        verify(first, never()).invokeRpc(DOMRpcIdentifier.create(RPC_PATH, context(1200)), input(context(1200)));
+
+        final AbstractDOMRpcRoutingTableEntry withSecond = withBoth.remove(first, contexts(0, 1000));
+        assertFalse(withSecond.containsContext(context(0)));
+        assertTrue(withSecond.containsContext(context(500)));
+        assertTrue(withBoth.containsContext(context(0)));
+        assertNull(withSecond.getImplementations(null));
+
+        withSecond.invokeRpc(input(context(700)));
+        verify(second).invokeRpc(DOMRpcIdentifier.create(RPC_PATH, context(700)), input(context(700)));
+
+        assertNull(withSecond.remove(second, contexts(500, 1500)));
+    }
+}
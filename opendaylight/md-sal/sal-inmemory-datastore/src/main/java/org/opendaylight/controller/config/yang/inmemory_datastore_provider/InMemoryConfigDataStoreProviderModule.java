@@ -39,7 +39,8 @@ public class InMemoryConfigDataStoreProviderModule extends org.opendaylight.cont
             LogicalDatastoreType.CONFIGURATION, getSchemaServiceDependency(), getDebugTransactions(),
             InMemoryDOMDataStoreConfigProperties.create(getMaxDataChangeExecutorPoolSize(),
                 getMaxDataChangeExecutorQueueSize(), getMaxDataChangeListenerQueueSize(),
-                getMaxDataStoreExecutorQueueSize()));
+                getMaxDataStoreExecutorQueueSize(), getPersistenceDirectory(),
+                getPersistenceSnapshotInterval().intValue()));
 
         InMemoryDataStoreStats statsBean = new InMemoryDataStoreStats("InMemoryConfigDataStore", dataStore);
         dataStore.setCloseable(statsBean);
@@ -39,7 +39,8 @@ public class InMemoryOperationalDataStoreProviderModule extends org.opendaylight
             LogicalDatastoreType.OPERATIONAL, getSchemaServiceDependency(), getDebugTransactions(),
             InMemoryDOMDataStoreConfigProperties.create(getMaxDataChangeExecutorPoolSize(),
                 getMaxDataChangeExecutorQueueSize(), getMaxDataChangeListenerQueueSize(),
-                getMaxDataStoreExecutorQueueSize()));
+                getMaxDataStoreExecutorQueueSize(), getPersistenceDirectory(),
+                getPersistenceSnapshotInterval().intValue()));
 
         InMemoryDataStoreStats statsBean = new InMemoryDataStoreStats("InMemoryOperationalDataStore", dataStore);
 
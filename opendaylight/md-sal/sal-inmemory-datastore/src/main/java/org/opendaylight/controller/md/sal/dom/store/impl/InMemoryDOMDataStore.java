@@ -9,13 +9,21 @@ package org.opendaylight.controller.md.sal.dom.store.impl;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeListener;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.store.impl.persist.DataStoreJournal;
 import org.opendaylight.controller.md.sal.dom.store.impl.tree.ListenerTree;
 import org.opendaylight.controller.sal.core.spi.data.DOMStore;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
@@ -67,6 +75,8 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
                 }
             };
 
+    private static final ListenableFuture<Void> SUCCESSFUL_FUTURE = Futures.immediateFuture(null);
+
     private final DataTree dataTree;
     private final ListenerTree listenerTree = ListenerTree.create();
     private final AtomicLong txCounter = new AtomicLong(0);
@@ -76,6 +86,8 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     private final ExecutorService dataChangeListenerExecutor;
     private final boolean debugTransactions;
     private final String name;
+    private final DataStoreJournal journal;
+    private final Object commitLock = new Object();
 
     private volatile AutoCloseable closeable;
 
@@ -87,9 +99,26 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     public InMemoryDOMDataStore(final String name, final LogicalDatastoreType type,
             final ExecutorService dataChangeListenerExecutor,
             final int maxDataChangeListenerQueueSize, final boolean debugTransactions) {
+        this(name, type, dataChangeListenerExecutor, maxDataChangeListenerQueueSize, debugTransactions, null);
+    }
+
+    /**
+     * Creates a data store whose commits are persisted in a journal. The state recovered from the journal is
+     * applied once the data store receives its first schema context. If it cannot be applied, the data store starts
+     * with empty state and the journal files are set aside.
+     *
+     * <p>
+     * The journal is written ahead of the commits: each candidate is committed to the data tree only once it is
+     * durable, hence data is never visible to readers and listeners before it would survive a restart. If the
+     * candidate cannot be journaled, the commit fails without being applied.
+     */
+    public InMemoryDOMDataStore(final String name, final LogicalDatastoreType type,
+            final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
+            final boolean debugTransactions, @Nullable final DataStoreJournal journal) {
         this.name = Preconditions.checkNotNull(name);
         this.dataChangeListenerExecutor = Preconditions.checkNotNull(dataChangeListenerExecutor);
         this.debugTransactions = debugTransactions;
+        this.journal = journal;
 
         dataChangeListenerNotificationManager =
                 new QueuedNotificationManager<>(this.dataChangeListenerExecutor,
@@ -145,10 +174,40 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     @Override
     public synchronized void onGlobalContextUpdated(final SchemaContext ctx) {
         dataTree.setSchemaContext(ctx);
+
+        if (journal != null) {
+            recoverJournal();
+        }
+    }
+
+    @GuardedBy("this")
+    private void recoverJournal() {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        try {
+            if (!journal.recover(modification)) {
+                return;
+            }
+
+            modification.ready();
+            dataTree.validate(modification);
+            final DataTreeCandidate candidate = dataTree.prepare(modification);
+            dataTree.commit(candidate);
+            publishChange(candidate);
+            LOG.info("{}: Recovered state from journal", name);
+        } catch (IOException | DataValidationFailedException | RuntimeException e) {
+            // Do not let the next snapshot overwrite the state we failed to recover
+            LOG.error("{}: Failed to recover state from journal, setting journal aside and starting with empty state",
+                name, e);
+            journal.setAside();
+        }
     }
 
     @Override
     public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+
         ExecutorServiceUtil.tryGracefulShutdown(dataChangeListenerExecutor, 30, TimeUnit.SECONDS);
 
         if(closeable != null) {
@@ -240,8 +299,43 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
         return dataTree.prepare(modification);
     }
 
-    synchronized void commit(final DataTreeCandidate candidate) {
-        dataTree.commit(candidate);
+    ListenableFuture<Void> commit(final DataTreeCandidate candidate) {
+        if (journal == null) {
+            synchronized (this) {
+                dataTree.commit(candidate);
+                publishChange(candidate);
+            }
+            return SUCCESSFUL_FUTURE;
+        }
+
+        // Candidates have to be journaled in the order in which they are committed
+        synchronized (commitLock) {
+            try {
+                Uninterruptibles.getUninterruptibly(journal.append(candidate));
+            } catch (ExecutionException e) {
+                LOG.error("{}: Failed to journal candidate, aborting commit", name, e.getCause());
+                return Futures.immediateFailedFuture(e.getCause());
+            }
+
+            synchronized (this) {
+                dataTree.commit(candidate);
+                publishChange(candidate);
+            }
+
+            // The snapshot has to reflect exactly the candidates journaled so far
+            if (journal.isSnapshotDue()) {
+                final Optional<NormalizedNode<?, ?>> root =
+                        dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY);
+                if (root.isPresent()) {
+                    journal.snapshot(root.get());
+                }
+            }
+        }
+        return SUCCESSFUL_FUTURE;
+    }
+
+    @GuardedBy("this")
+    private void publishChange(final DataTreeCandidate candidate) {
         changePublisher.publishChange(candidate);
         ResolveDataChangeEventsTask.create(candidate, listenerTree).resolve(dataChangeListenerNotificationManager);
     }
@@ -8,6 +8,8 @@
 
 package org.opendaylight.controller.md.sal.dom.store.impl;
 
+import javax.annotation.Nullable;
+
 /**
  * Holds configuration properties when creating an {@link InMemoryDOMDataStore} instance via the
  * {@link InMemoryDOMDataStoreFactory}
@@ -21,6 +23,7 @@ public class InMemoryDOMDataStoreConfigProperties {
     public static final int DEFAULT_MAX_DATA_CHANGE_EXECUTOR_POOL_SIZE = 20;
     public static final int DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE = 1000;
     public static final int DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE = 5000;
+    public static final int DEFAULT_PERSISTENCE_SNAPSHOT_INTERVAL = 10000;
 
     private static final InMemoryDOMDataStoreConfigProperties DEFAULT =
             create(DEFAULT_MAX_DATA_CHANGE_EXECUTOR_POOL_SIZE,
@@ -32,6 +35,8 @@ public class InMemoryDOMDataStoreConfigProperties {
     private final int maxDataChangeExecutorPoolSize;
     private final int maxDataChangeListenerQueueSize;
     private final int maxDataStoreExecutorQueueSize;
+    private final String persistenceDirectory;
+    private final int persistenceSnapshotInterval;
 
     /**
      * Constructs an instance with the given property values.
@@ -50,14 +55,40 @@ public class InMemoryDOMDataStoreConfigProperties {
             int maxDataStoreExecutorQueueSize) {
         return new InMemoryDOMDataStoreConfigProperties(maxDataChangeExecutorPoolSize,
                 maxDataChangeExecutorQueueSize, maxDataChangeListenerQueueSize,
-                maxDataStoreExecutorQueueSize);
+                maxDataStoreExecutorQueueSize, null, DEFAULT_PERSISTENCE_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Constructs an instance with the given property values.
+     *
+     * @param maxDataChangeExecutorPoolSize
+     *            maximum thread pool size for the data change notification executor.
+     * @param maxDataChangeExecutorQueueSize
+     *            maximum queue size for the data change notification executor.
+     * @param maxDataChangeListenerQueueSize
+     *            maximum queue size for the data change listeners.
+     * @param maxDataStoreExecutorQueueSize
+     *            maximum queue size for the data store executor.
+     * @param persistenceDirectory
+     *            directory in which the data store persists its state. If null or empty, the data store
+     *            is not persisted.
+     * @param persistenceSnapshotInterval
+     *            number of persisted commits after which a snapshot is taken.
+     */
+    public static InMemoryDOMDataStoreConfigProperties create(int maxDataChangeExecutorPoolSize,
+            int maxDataChangeExecutorQueueSize, int maxDataChangeListenerQueueSize,
+            int maxDataStoreExecutorQueueSize, @Nullable String persistenceDirectory,
+            int persistenceSnapshotInterval) {
+        return new InMemoryDOMDataStoreConfigProperties(maxDataChangeExecutorPoolSize,
+                maxDataChangeExecutorQueueSize, maxDataChangeListenerQueueSize,
+                maxDataStoreExecutorQueueSize, persistenceDirectory, persistenceSnapshotInterval);
     }
 
     public static InMemoryDOMDataStoreConfigProperties create(int maxDataChangeExecutorPoolSize,
             int maxDataChangeExecutorQueueSize, int maxDataChangeListenerQueueSize) {
         return new InMemoryDOMDataStoreConfigProperties(maxDataChangeExecutorPoolSize,
                 maxDataChangeExecutorQueueSize, maxDataChangeListenerQueueSize,
-                DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE);
+                DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE, null, DEFAULT_PERSISTENCE_SNAPSHOT_INTERVAL);
     }
 
     /**
@@ -69,11 +100,14 @@ public class InMemoryDOMDataStoreConfigProperties {
 
     private InMemoryDOMDataStoreConfigProperties(int maxDataChangeExecutorPoolSize,
             int maxDataChangeExecutorQueueSize, int maxDataChangeListenerQueueSize,
-            int maxDataStoreExecutorQueueSize) {
+            int maxDataStoreExecutorQueueSize, String persistenceDirectory, int persistenceSnapshotInterval) {
         this.maxDataChangeExecutorQueueSize = maxDataChangeExecutorQueueSize;
         this.maxDataChangeExecutorPoolSize = maxDataChangeExecutorPoolSize;
         this.maxDataChangeListenerQueueSize = maxDataChangeListenerQueueSize;
         this.maxDataStoreExecutorQueueSize = maxDataStoreExecutorQueueSize;
+        this.persistenceDirectory = persistenceDirectory == null || persistenceDirectory.isEmpty() ? null
+                : persistenceDirectory;
+        this.persistenceSnapshotInterval = persistenceSnapshotInterval;
     }
 
     /**
@@ -103,4 +137,19 @@ public class InMemoryDOMDataStoreConfigProperties {
     public int getMaxDataStoreExecutorQueueSize() {
         return maxDataStoreExecutorQueueSize;
     }
+
+    /**
+     * Returns the directory in which the data store persists its state, or null if it is not persisted.
+     */
+    @Nullable
+    public String getPersistenceDirectory() {
+        return persistenceDirectory;
+    }
+
+    /**
+     * Returns the number of persisted commits after which a snapshot is taken.
+     */
+    public int getPersistenceSnapshotInterval() {
+        return persistenceSnapshotInterval;
+    }
 }
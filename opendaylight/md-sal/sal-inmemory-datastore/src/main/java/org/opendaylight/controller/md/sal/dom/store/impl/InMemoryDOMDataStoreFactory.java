@@ -7,9 +7,12 @@
  */
 package org.opendaylight.controller.md.sal.dom.store.impl;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.store.impl.persist.DataStoreJournal;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
 import org.opendaylight.yangtools.util.concurrent.SpecialExecutors;
@@ -142,8 +145,21 @@ public final class InMemoryDOMDataStoreFactory {
         ExecutorService dataChangeListenerExecutor = SpecialExecutors.newBlockingBoundedFastThreadPool(
                 dclExecutorMaxPoolSize, dclExecutorMaxQueueSize, name + "-DCL" );
 
+        // The journal recovers the persisted state when opened, it is applied once the schema context is known
+        final String persistenceDirectory = actualProperties.getPersistenceDirectory();
+        DataStoreJournal journal = null;
+        if (persistenceDirectory != null) {
+            try {
+                journal = DataStoreJournal.open(Paths.get(persistenceDirectory, name),
+                    actualProperties.getPersistenceSnapshotInterval());
+            } catch (IOException e) {
+                dataChangeListenerExecutor.shutdown();
+                throw new IllegalStateException("Failed to open journal for data store " + name, e);
+            }
+        }
+
         final InMemoryDOMDataStore dataStore = new InMemoryDOMDataStore(name, type, dataChangeListenerExecutor,
-                actualProperties.getMaxDataChangeListenerQueueSize(), debugTransactions);
+                actualProperties.getMaxDataChangeListenerQueueSize(), debugTransactions, journal);
 
         if (schemaService != null) {
             schemaService.registerSchemaContextListener(dataStore);
@@ -100,10 +100,10 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
 
         /*
          * The commit has to occur atomically with regard to listener
-         * registrations.
+         * registrations. If the store is persisted, the candidate is made durable before it is
+         * committed.
          */
-        store.commit(candidate);
-        return SUCCESSFUL_FUTURE;
+        return store.commit(candidate);
     }
 }
 
@@ -58,7 +58,7 @@ public final class ResolveDataChangeEventsTask {
             collectedEvents = ArrayListMultimap.create();
 
             // Run through the tree
-            final ResolveDataChangeState s = ResolveDataChangeState.initial(candidate.getRootPath(), w.getRootNode());
+            final ResolveDataChangeState s = ResolveDataChangeState.initial(candidate.getRootPath(), listenerRoot.getIndexRoot());
             resolveAnyChangeEvent(s, candidate.getRootNode());
 
             /*
@@ -171,6 +171,12 @@ public final class ResolveDataChangeEventsTask {
             return false;
         }
 
+        // Nobody is interested in this leaf, do not bother building the event
+        if (!state.needsProcessing()) {
+            LOG.trace("Not processing replaced leaf {}", state.getPath());
+            return true;
+        }
+
         LOG.trace("Resolving leaf replace event for {} , before {}, after {}", state.getPath(), beforeData, afterData);
         DOMImmutableDataChangeEvent event = DOMImmutableDataChangeEvent.builder(DataChangeScope.BASE).addUpdated(state.getPath(), beforeData, afterData).build();
         state.addEvent(event);
@@ -18,12 +18,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
-import org.opendaylight.controller.md.sal.dom.spi.RegistrationTreeNode;
 import org.opendaylight.controller.md.sal.dom.store.impl.DOMImmutableDataChangeEvent.Builder;
+import org.opendaylight.controller.md.sal.dom.store.impl.tree.ListenerIndexNode;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -46,7 +43,7 @@ final class ResolveDataChangeState {
      */
     private final Collection<Builder> inheritedOne;
     private final YangInstanceIdentifier nodeId;
-    private final Collection<RegistrationTreeNode<DataChangeListenerRegistration<?>>> nodes;
+    private final Collection<ListenerIndexNode> nodes;
 
     private final Map<DataChangeListenerRegistration<?>, Builder> subBuilders;
     private final Map<DataChangeListenerRegistration<?>, Builder> oneBuilders;
@@ -54,57 +51,60 @@ final class ResolveDataChangeState {
 
     private ResolveDataChangeState(final YangInstanceIdentifier nodeId,
             final Iterable<Builder> inheritedSub, final Collection<Builder> inheritedOne,
-            final Collection<RegistrationTreeNode<DataChangeListenerRegistration<?>>> nodes) {
+            final Collection<ListenerIndexNode> nodes) {
         this.nodeId = Preconditions.checkNotNull(nodeId);
         this.nodes = Preconditions.checkNotNull(nodes);
         this.inheritedSub = Preconditions.checkNotNull(inheritedSub);
         this.inheritedOne = Preconditions.checkNotNull(inheritedOne);
 
         /*
-         * Collect the nodes which need to be propagated from us to the child.
+         * Collect the nodes which need to be propagated from us to the child. The index has the registrations
+         * already grouped by scope, so we only allocate builders for scopes which are actually present.
          */
-        final Map<DataChangeListenerRegistration<?>, Builder> sub = new HashMap<>();
-        final Map<DataChangeListenerRegistration<?>, Builder> one = new HashMap<>();
-        final Map<DataChangeListenerRegistration<?>, Builder> base = new HashMap<>();
-        for (RegistrationTreeNode<DataChangeListenerRegistration<?>> n : nodes) {
-            for (DataChangeListenerRegistration<?> l : n.getRegistrations()) {
-                final Builder b = DOMImmutableDataChangeEvent.builder(DataChangeScope.BASE);
-                switch (l.getScope()) {
-                case BASE:
-                    base.put(l, b);
-                    break;
-                case ONE:
-                    one.put(l, b);
-                    break;
-                case SUBTREE:
-                    sub.put(l, b);
-                    break;
-                }
+        if (nodes.isEmpty()) {
+            baseBuilders = Collections.emptyMap();
+            oneBuilders = Collections.emptyMap();
+            subBuilders = Collections.emptyMap();
+        } else {
+            Map<DataChangeListenerRegistration<?>, Builder> base = Collections.emptyMap();
+            Map<DataChangeListenerRegistration<?>, Builder> one = Collections.emptyMap();
+            Map<DataChangeListenerRegistration<?>, Builder> sub = Collections.emptyMap();
+            for (ListenerIndexNode n : nodes) {
+                base = addBuilders(base, n.getBaseRegistrations());
+                one = addBuilders(one, n.getOneRegistrations());
+                sub = addBuilders(sub, n.getSubtreeRegistrations());
             }
-        }
 
-        baseBuilders = maybeEmpty(base);
-        oneBuilders = maybeEmpty(one);
-        subBuilders = maybeEmpty(sub);
+            baseBuilders = base;
+            oneBuilders = one;
+            subBuilders = sub;
+        }
     }
 
-    private static <K, V> Map<K, V> maybeEmpty(final Map<K, V> map) {
-        if (map.isEmpty()) {
-            return Collections.emptyMap();
+    private static Map<DataChangeListenerRegistration<?>, Builder> addBuilders(
+            final Map<DataChangeListenerRegistration<?>, Builder> map,
+            final Collection<DataChangeListenerRegistration<?>> registrations) {
+        if (registrations.isEmpty()) {
+            return map;
+        }
+
+        final Map<DataChangeListenerRegistration<?>, Builder> ret = map.isEmpty() ? new HashMap<>() : map;
+        for (DataChangeListenerRegistration<?> l : registrations) {
+            ret.put(l, DOMImmutableDataChangeEvent.builder(DataChangeScope.BASE));
         }
-        return map;
+        return ret;
     }
 
     /**
      * Create an initial state handle at a particular root node.
      *
      * @param rootId root instance identifier
-     * @param registrationTreeNode root node
+     * @param indexRoot root node of the listener index
      * @return
      */
-    public static ResolveDataChangeState initial(final YangInstanceIdentifier rootId, final RegistrationTreeNode<DataChangeListenerRegistration<?>> registrationTreeNode) {
+    public static ResolveDataChangeState initial(final YangInstanceIdentifier rootId, final ListenerIndexNode indexRoot) {
         return new ResolveDataChangeState(rootId, Collections.<Builder>emptyList(),
-            Collections.<Builder>emptyList(), Collections.singletonList(registrationTreeNode));
+            Collections.<Builder>emptyList(), Collections.singletonList(indexRoot));
     }
 
     /**
@@ -254,27 +254,16 @@ final class ResolveDataChangeState {
         LOG.trace("Collected events {}", map);
     }
 
-    private static Collection<RegistrationTreeNode<DataChangeListenerRegistration<?>>> getListenerChildrenWildcarded(final Collection<RegistrationTreeNode<DataChangeListenerRegistration<?>>> parentNodes,
+    private static Collection<ListenerIndexNode> getListenerChildrenWildcarded(final Collection<ListenerIndexNode> parentNodes,
             final PathArgument child) {
         if (parentNodes.isEmpty()) {
             return Collections.emptyList();
         }
 
-        final List<RegistrationTreeNode<DataChangeListenerRegistration<?>>> result = new ArrayList<>();
-        if (child instanceof NodeWithValue || child instanceof NodeIdentifierWithPredicates) {
-            NodeIdentifier wildcardedIdentifier = new NodeIdentifier(child.getNodeType());
-            addChildNodes(result, parentNodes, wildcardedIdentifier);
-        }
-        addChildNodes(result, parentNodes, child);
-        return result;
-    }
-
-    private static void addChildNodes(final List<RegistrationTreeNode<DataChangeListenerRegistration<?>>> result, final Collection<RegistrationTreeNode<DataChangeListenerRegistration<?>>> parentNodes, final PathArgument childIdentifier) {
-        for (RegistrationTreeNode<DataChangeListenerRegistration<?>> node : parentNodes) {
-            RegistrationTreeNode<DataChangeListenerRegistration<?>> child = node.getExactChild(childIdentifier);
-            if (child != null) {
-                result.add(child);
-            }
+        final List<ListenerIndexNode> result = new ArrayList<>(2);
+        for (ListenerIndexNode node : parentNodes) {
+            node.addMatchingChildren(child, result);
         }
+        return result.isEmpty() ? Collections.emptyList() : result;
     }
 }
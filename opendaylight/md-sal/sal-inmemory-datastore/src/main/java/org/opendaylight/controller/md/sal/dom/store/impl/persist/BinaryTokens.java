@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.persist;
+
+/**
+ * Tokens used by {@link NormalizedNodeBinaryOutput} and {@link NormalizedNodeBinaryInput}. These are part of the
+ * on-disk format, hence existing values must never be changed.
+ */
+final class BinaryTokens {
+    // Marks the first occurrence of a QName or QNameModule, subsequent occurrences use its index
+    static final int NEW_REFERENCE = -1;
+
+    // Node types
+    static final byte CONTAINER = 1;
+    static final byte MAP = 2;
+    static final byte ORDERED_MAP = 3;
+    static final byte MAP_ENTRY = 4;
+    static final byte LEAF = 5;
+    static final byte LEAF_SET = 6;
+    static final byte ORDERED_LEAF_SET = 7;
+    static final byte LEAF_SET_ENTRY = 8;
+    static final byte AUGMENTATION = 9;
+    static final byte CHOICE = 10;
+    static final byte UNKEYED_LIST = 11;
+    static final byte UNKEYED_LIST_ENTRY = 12;
+
+    // Path argument types
+    static final byte NODE_IDENTIFIER = 1;
+    static final byte NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    static final byte NODE_WITH_VALUE = 3;
+    static final byte AUGMENTATION_IDENTIFIER = 4;
+
+    // Leaf value types
+    static final byte NULL_VALUE = 0;
+    static final byte STRING_VALUE = 1;
+    static final byte BOOLEAN_VALUE = 2;
+    static final byte BYTE_VALUE = 3;
+    static final byte SHORT_VALUE = 4;
+    static final byte INT_VALUE = 5;
+    static final byte LONG_VALUE = 6;
+    static final byte BIG_INTEGER_VALUE = 7;
+    static final byte BIG_DECIMAL_VALUE = 8;
+    static final byte QNAME_VALUE = 9;
+    static final byte BINARY_VALUE = 10;
+    static final byte BITS_VALUE = 11;
+    static final byte INSTANCE_IDENTIFIER_VALUE = 12;
+
+    // DataTreeCandidateNode modification types, same as used by the distributed datastore
+    static final byte DELETE = 0;
+    static final byte SUBTREE_MODIFIED = 1;
+    static final byte UNMODIFIED = 2;
+    static final byte WRITE = 3;
+    static final byte APPEARED = 4;
+    static final byte DISAPPEARED = 5;
+
+    private BinaryTokens() {
+        throw new UnsupportedOperationException();
+    }
+}
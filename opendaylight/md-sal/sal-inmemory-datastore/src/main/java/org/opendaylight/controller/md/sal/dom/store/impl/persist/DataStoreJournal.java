@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.persist;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-ahead journal of the {@link DataTreeCandidate}s of a data store, backed by an append-only journal file and a
+ * periodic snapshot of the entire data tree, both kept in a per-store directory. Candidates are appended before they
+ * are committed to the data tree and the data store waits for them to become durable, hence a candidate which cannot
+ * be journaled is never committed.
+ *
+ * <p>
+ * Candidates are encoded, written and forced to disk by a dedicated thread. Every {@code snapshotInterval} records
+ * the data store hands in its current root, which is written out in place of the pending records and truncates the
+ * journal, bounding both its size and the time needed to recover.
+ *
+ * <p>
+ * A journal record consists of its length, its sequence number, the encoded candidate and a CRC32 checksum. Recovery
+ * does not need the schema context, hence both files are read and verified when the journal is opened, stopping at
+ * the first torn or corrupted record. The recovered state is then applied via {@link #recover(DataTreeModification)}
+ * once the data store has a schema context. Should that fail, the files are set aside via {@link #setAside()}, so
+ * that they are not overwritten by subsequent snapshots.
+ */
+public final class DataStoreJournal implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(DataStoreJournal.class);
+    private static final String JOURNAL_FILE = "journal.bin";
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    private static final String SET_ASIDE_SUFFIX = ".failed-";
+    private static final int SNAPSHOT_MAGIC = 0x4f444c53;
+    // Length and checksum surrounding each journal record body
+    private static final int RECORD_OVERHEAD = 8;
+    private static final Object SHUTDOWN = new Object();
+    private static final Object SET_ASIDE = new Object();
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Path directory;
+    private final FileChannel journal;
+    private final int snapshotInterval;
+    private final Thread writer;
+
+    @GuardedBy("this")
+    private long nextSequence;
+    @GuardedBy("this")
+    private int recordsSinceSnapshot;
+    @GuardedBy("this")
+    private boolean closed;
+
+    // Recovered state, released once applied
+    private NormalizedNode<?, ?> recoveredRoot;
+    private List<byte[]> recoveredRecords;
+
+    private volatile IOException failure;
+
+    private DataStoreJournal(final Path directory, final FileChannel journal, final int snapshotInterval,
+            final long lastSequence, final NormalizedNode<?, ?> recoveredRoot, final List<byte[]> recoveredRecords) {
+        this.directory = directory;
+        this.journal = journal;
+        this.snapshotInterval = snapshotInterval;
+        this.nextSequence = lastSequence + 1;
+        this.recordsSinceSnapshot = recoveredRecords.size();
+        this.recoveredRoot = recoveredRoot;
+        this.recoveredRecords = recoveredRecords;
+
+        writer = new Thread(this::runWriter, "journal-" + directory.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens the journal in the specified directory, creating it if needed, and reads the state persisted in it.
+     *
+     * @param directory directory holding the journal and snapshot files
+     * @param snapshotInterval number of journal records after which a snapshot should be taken
+     * @return an open journal
+     * @throws IOException if the directory cannot be accessed or the snapshot is corrupted
+     */
+    public static DataStoreJournal open(@Nonnull final Path directory, final int snapshotInterval)
+            throws IOException {
+        Preconditions.checkArgument(snapshotInterval > 0, "Invalid snapshot interval %s", snapshotInterval);
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_TEMP_FILE));
+
+        NormalizedNode<?, ?> root = null;
+        long lastSequence = 0;
+        final Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(snapshotFile)));
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Invalid snapshot file " + snapshotFile);
+            }
+
+            lastSequence = in.readLong();
+            final byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            if (in.readInt() != checksum(payload)) {
+                throw new IOException("Snapshot file " + snapshotFile + " is corrupted");
+            }
+
+            root = new NormalizedNodeBinaryInput(new DataInputStream(new ByteArrayInputStream(payload)))
+                    .readNormalizedNode();
+        }
+
+        final FileChannel channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final List<byte[]> records = new ArrayList<>();
+        try {
+            final ByteBuffer buf = ByteBuffer.allocate((int) channel.size());
+            while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                // Keep reading
+            }
+            buf.flip();
+
+            while (buf.remaining() >= RECORD_OVERHEAD) {
+                final int start = buf.position();
+                final int length = buf.getInt();
+                if (length < Long.BYTES || length > buf.remaining() - Integer.BYTES) {
+                    buf.position(start);
+                    break;
+                }
+
+                final byte[] body = new byte[length];
+                buf.get(body);
+                if (buf.getInt() != checksum(body)) {
+                    buf.position(start);
+                    break;
+                }
+
+                final long sequence = ByteBuffer.wrap(body).getLong();
+                if (sequence > lastSequence) {
+                    records.add(body);
+                    lastSequence = sequence;
+                }
+            }
+
+            if (buf.hasRemaining()) {
+                LOG.warn("Discarding {} bytes of incomplete or corrupted records at the end of journal {}",
+                    buf.remaining(), directory);
+                channel.truncate(buf.position());
+                channel.force(true);
+            }
+            channel.position(buf.position());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        LOG.info("Opened journal {}: snapshot {}, {} journal records, last sequence {}", directory,
+            root != null ? "present" : "absent", records.size(), lastSequence);
+        return new DataStoreJournal(directory, channel, snapshotInterval, lastSequence, root, records);
+    }
+
+    /**
+     * Applies the recovered state to a modification. Subsequent invocations do nothing.
+     *
+     * @param modification modification of the empty data tree
+     * @return true if any state has been applied
+     * @throws IOException if a journal record cannot be decoded
+     */
+    public synchronized boolean recover(@Nonnull final DataTreeModification modification) throws IOException {
+        final NormalizedNode<?, ?> root = recoveredRoot;
+        final List<byte[]> records = recoveredRecords;
+        if (root == null && (records == null || records.isEmpty())) {
+            return false;
+        }
+
+        recoveredRoot = null;
+        recoveredRecords = null;
+        if (root != null) {
+            modification.write(YangInstanceIdentifier.EMPTY, root);
+        }
+        for (byte[] record : records) {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, Long.BYTES,
+                record.length - Long.BYTES));
+            DataTreeCandidateCodec.applyDataTreeCandidate(new NormalizedNodeBinaryInput(in), modification);
+        }
+        return true;
+    }
+
+    /**
+     * Appends a candidate about to be committed to the journal. Candidates must be appended in commit order.
+     *
+     * @param candidate prepared candidate
+     * @return a future completing once the candidate is durable
+     */
+    public synchronized ListenableFuture<Void> append(@Nonnull final DataTreeCandidate candidate) {
+        if (closed) {
+            return Futures.immediateFailedFuture(new IOException("Journal " + directory + " has been closed"));
+        }
+        final IOException cause = failure;
+        if (cause != null) {
+            return Futures.immediateFailedFuture(cause);
+        }
+
+        final Record record = new Record(nextSequence++, candidate);
+        recordsSinceSnapshot++;
+        queue.add(record);
+        return record.future;
+    }
+
+    /**
+     * Checks whether enough records have been appended since the last snapshot for a new one to be taken.
+     *
+     * @return true if {@link #snapshot(NormalizedNode)} should be invoked
+     */
+    public synchronized boolean isSnapshotDue() {
+        return recordsSinceSnapshot >= snapshotInterval;
+    }
+
+    /**
+     * Takes a snapshot of the data tree, replacing all previously appended records.
+     *
+     * @param root data tree root after the last appended candidate has been applied
+     */
+    public synchronized void snapshot(@Nonnull final NormalizedNode<?, ?> root) {
+        recordsSinceSnapshot = 0;
+        queue.add(new Snapshot(nextSequence - 1, root));
+    }
+
+    /**
+     * Moves the current journal and snapshot files aside, so that the state they hold is preserved for inspection
+     * instead of being replaced by the next snapshot. This is done in order with the appended candidates.
+     */
+    public synchronized void setAside() {
+        recordsSinceSnapshot = 0;
+        queue.add(SET_ASIDE);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(SHUTDOWN);
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for journal {} to be flushed", directory, e);
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close journal {}", directory, e);
+        }
+    }
+
+    private void runWriter() {
+        final List<Object> batch = new ArrayList<>();
+        final List<SettableFuture<Void>> futures = new ArrayList<>();
+        final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        boolean shutdown = false;
+
+        while (!shutdown) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                LOG.warn("Journal {} writer interrupted, shutting down", directory, e);
+                failure = new IOException("Journal writer interrupted", e);
+                shutdown = true;
+            }
+            queue.drainTo(batch);
+
+            try {
+                for (Object item : batch) {
+                    if (item instanceof Record) {
+                        final Record record = (Record) item;
+                        futures.add(record.future);
+                        if (failure == null) {
+                            writeRecord(records, body, record);
+                        }
+                    } else if (item instanceof Snapshot) {
+                        if (failure == null) {
+                            // The snapshot supersedes whatever we have buffered
+                            records.reset();
+                            writeSnapshot((Snapshot) item, body);
+                        }
+                    } else if (item == SET_ASIDE) {
+                        if (failure == null) {
+                            // Records buffered so far belong to the state being set aside
+                            flushRecords(records);
+                            records.reset();
+                            setAsideFiles();
+                        }
+                    } else if (item == SHUTDOWN) {
+                        shutdown = true;
+                    }
+                }
+
+                if (failure != null) {
+                    throw failure;
+                }
+                flushRecords(records);
+                futures.forEach(future -> future.set(null));
+            } catch (IOException | RuntimeException e) {
+                // Once a record is lost the journal cannot be replayed consistently, hence we stop accepting more
+                if (failure == null) {
+                    LOG.error("Failed to write journal {}, subsequent commits will fail", directory, e);
+                    failure = e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+                final IOException cause = failure;
+                futures.forEach(future -> future.setException(cause));
+            }
+
+            batch.clear();
+            futures.clear();
+            records.reset();
+        }
+
+        // Fail anything which raced with close()
+        final IOException closed = new IOException("Journal " + directory + " has been closed");
+        failure = closed;
+        final List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (Object item : remaining) {
+            if (item instanceof Record) {
+                ((Record) item).future.setException(closed);
+            }
+        }
+    }
+
+    private void flushRecords(final ByteArrayOutputStream records) throws IOException {
+        if (records.size() != 0) {
+            final ByteBuffer buf = ByteBuffer.wrap(records.toByteArray());
+            while (buf.hasRemaining()) {
+                journal.write(buf);
+            }
+            journal.force(false);
+        }
+    }
+
+    private void setAsideFiles() throws IOException {
+        final String suffix = SET_ASIDE_SUFFIX + System.currentTimeMillis();
+
+        // The journal file stays open, hence we copy it and truncate it only once the snapshot has been moved. Should
+        // we crash in between, the next recovery fails the same way and sets the files aside again.
+        final Path journalCopy = directory.resolve(JOURNAL_FILE + suffix);
+        Files.copy(directory.resolve(JOURNAL_FILE), journalCopy);
+        try (FileChannel channel = FileChannel.open(journalCopy, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        final Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            Files.move(snapshotFile, directory.resolve(SNAPSHOT_FILE + suffix), StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        journal.truncate(0);
+        journal.position(0);
+        journal.force(true);
+        LOG.warn("Journal {} files have been set aside with suffix {}", directory, suffix);
+    }
+
+    private static void writeRecord(final ByteArrayOutputStream records, final ByteArrayOutputStream body,
+            final Record record) throws IOException {
+        body.reset();
+        final DataOutputStream out = new DataOutputStream(body);
+        out.writeLong(record.sequence);
+        DataTreeCandidateCodec.writeDataTreeCandidate(new NormalizedNodeBinaryOutput(out), record.candidate);
+
+        final byte[] bytes = body.toByteArray();
+        final DataOutputStream recordsOut = new DataOutputStream(records);
+        recordsOut.writeInt(bytes.length);
+        recordsOut.write(bytes);
+        recordsOut.writeInt(checksum(bytes));
+    }
+
+    private void writeSnapshot(final Snapshot snapshot, final ByteArrayOutputStream body) throws IOException {
+        body.reset();
+        new NormalizedNodeBinaryOutput(new DataOutputStream(body)).writeNormalizedNode(snapshot.root);
+        final byte[] payload = body.toByteArray();
+
+        final Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buf = ByteBuffer.allocate(payload.length + 20);
+            buf.putInt(SNAPSHOT_MAGIC).putLong(snapshot.sequence).putInt(payload.length).put(payload)
+                .putInt(checksum(payload)).flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+
+        // All records are covered by the snapshot now. Should we crash before the truncation is durable, recovery
+        // skips them based on their sequence.
+        journal.truncate(0);
+        journal.position(0);
+        journal.force(true);
+        LOG.debug("Journal {} snapshot at sequence {} written, {} bytes", directory, snapshot.sequence,
+            payload.length);
+    }
+
+    private static int checksum(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static final class Record {
+        final SettableFuture<Void> future = SettableFuture.create();
+        final DataTreeCandidate candidate;
+        final long sequence;
+
+        Record(final long sequence, final DataTreeCandidate candidate) {
+            this.sequence = sequence;
+            this.candidate = candidate;
+        }
+    }
+
+    private static final class Snapshot {
+        final NormalizedNode<?, ?> root;
+        final long sequence;
+
+        Snapshot(final long sequence, final NormalizedNode<?, ?> root) {
+            this.sequence = sequence;
+            this.root = root;
+        }
+    }
+}
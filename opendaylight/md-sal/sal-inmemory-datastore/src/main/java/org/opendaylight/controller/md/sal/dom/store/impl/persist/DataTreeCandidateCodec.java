@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.persist;
+
+import java.io.IOException;
+import java.util.Collection;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+
+/**
+ * Serialization of {@link DataTreeCandidate}s into the journal. Only the after-image of the modification is retained,
+ * which is all that is needed to replay it. Unlike the distributed datastore's equivalent, a candidate is never
+ * materialized on the way back: it is applied to a {@link DataTreeModification} as it is being read.
+ */
+final class DataTreeCandidateCodec {
+    private DataTreeCandidateCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    static void writeDataTreeCandidate(final NormalizedNodeBinaryOutput out, final DataTreeCandidate candidate)
+            throws IOException {
+        out.writeYangInstanceIdentifier(candidate.getRootPath());
+
+        final DataTreeCandidateNode node = candidate.getRootNode();
+        switch (node.getModificationType()) {
+            case APPEARED:
+                out.output().writeByte(BinaryTokens.APPEARED);
+                writeChildren(out, node.getChildNodes());
+                break;
+            case DELETE:
+                out.output().writeByte(BinaryTokens.DELETE);
+                break;
+            case DISAPPEARED:
+                out.output().writeByte(BinaryTokens.DISAPPEARED);
+                writeChildren(out, node.getChildNodes());
+                break;
+            case SUBTREE_MODIFIED:
+                out.output().writeByte(BinaryTokens.SUBTREE_MODIFIED);
+                writeChildren(out, node.getChildNodes());
+                break;
+            case UNMODIFIED:
+                out.output().writeByte(BinaryTokens.UNMODIFIED);
+                break;
+            case WRITE:
+                out.output().writeByte(BinaryTokens.WRITE);
+                out.writeNormalizedNode(node.getDataAfter().get());
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + node.getModificationType());
+        }
+    }
+
+    private static void writeChildren(final NormalizedNodeBinaryOutput out,
+            final Collection<DataTreeCandidateNode> children) throws IOException {
+        out.output().writeInt(children.size());
+        for (DataTreeCandidateNode child : children) {
+            writeNode(out, child);
+        }
+    }
+
+    private static void writeNode(final NormalizedNodeBinaryOutput out, final DataTreeCandidateNode node)
+            throws IOException {
+        switch (node.getModificationType()) {
+            case APPEARED:
+                out.output().writeByte(BinaryTokens.APPEARED);
+                out.writePathArgument(node.getIdentifier());
+                writeChildren(out, node.getChildNodes());
+                break;
+            case DELETE:
+                out.output().writeByte(BinaryTokens.DELETE);
+                out.writePathArgument(node.getIdentifier());
+                break;
+            case DISAPPEARED:
+                out.output().writeByte(BinaryTokens.DISAPPEARED);
+                out.writePathArgument(node.getIdentifier());
+                writeChildren(out, node.getChildNodes());
+                break;
+            case SUBTREE_MODIFIED:
+                out.output().writeByte(BinaryTokens.SUBTREE_MODIFIED);
+                out.writePathArgument(node.getIdentifier());
+                writeChildren(out, node.getChildNodes());
+                break;
+            case UNMODIFIED:
+                out.output().writeByte(BinaryTokens.UNMODIFIED);
+                break;
+            case WRITE:
+                out.output().writeByte(BinaryTokens.WRITE);
+                out.writeNormalizedNode(node.getDataAfter().get());
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + node.getModificationType());
+        }
+    }
+
+    static void applyDataTreeCandidate(final NormalizedNodeBinaryInput in, final DataTreeModification modification)
+            throws IOException {
+        final YangInstanceIdentifier rootPath = in.readYangInstanceIdentifier();
+        final byte type = in.input().readByte();
+        switch (type) {
+            case BinaryTokens.APPEARED:
+            case BinaryTokens.DISAPPEARED:
+            case BinaryTokens.SUBTREE_MODIFIED:
+                applyChildren(in, rootPath, modification);
+                break;
+            case BinaryTokens.DELETE:
+                modification.delete(rootPath);
+                break;
+            case BinaryTokens.WRITE:
+                modification.write(rootPath, in.readNormalizedNode());
+                break;
+            case BinaryTokens.UNMODIFIED:
+                break;
+            default:
+                throw new IOException("Unhandled node type " + type);
+        }
+    }
+
+    private static void applyChildren(final NormalizedNodeBinaryInput in, final YangInstanceIdentifier parentPath,
+            final DataTreeModification modification) throws IOException {
+        final int size = in.input().readInt();
+        for (int i = 0; i < size; ++i) {
+            applyNode(in, parentPath, modification);
+        }
+    }
+
+    private static void applyNode(final NormalizedNodeBinaryInput in, final YangInstanceIdentifier parentPath,
+            final DataTreeModification modification) throws IOException {
+        final byte type = in.input().readByte();
+        switch (type) {
+            case BinaryTokens.APPEARED:
+            case BinaryTokens.DISAPPEARED:
+            case BinaryTokens.SUBTREE_MODIFIED:
+                applyChildren(in, parentPath.node(in.readPathArgument()), modification);
+                break;
+            case BinaryTokens.DELETE:
+                modification.delete(parentPath.node(in.readPathArgument()));
+                break;
+            case BinaryTokens.UNMODIFIED:
+                break;
+            case BinaryTokens.WRITE:
+                final NormalizedNode<?, ?> data = in.readNormalizedNode();
+                modification.write(parentPath.node(data.getIdentifier()), data);
+                break;
+            default:
+                throw new IOException("Unhandled node type " + type);
+        }
+    }
+}
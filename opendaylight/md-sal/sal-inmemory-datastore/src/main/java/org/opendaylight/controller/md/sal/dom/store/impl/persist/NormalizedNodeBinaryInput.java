@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.persist;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+
+/**
+ * Reads {@link NormalizedNode}s, path arguments and leaf values written by {@link NormalizedNodeBinaryOutput}.
+ * Instances are not thread-safe.
+ */
+final class NormalizedNodeBinaryInput {
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+    private final DataInput in;
+
+    NormalizedNodeBinaryInput(final DataInput in) {
+        this.in = in;
+    }
+
+    DataInput input() {
+        return in;
+    }
+
+    NormalizedNode<?, ?> readNormalizedNode() throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case BinaryTokens.CONTAINER:
+                return readChildren(Builders.containerBuilder(), new NodeIdentifier(readQName()));
+            case BinaryTokens.MAP_ENTRY:
+                return readChildren(Builders.mapEntryBuilder(), readPredicates());
+            case BinaryTokens.LEAF:
+                return Builders.leafBuilder().withNodeIdentifier(new NodeIdentifier(readQName()))
+                        .withValue(readValue()).build();
+            case BinaryTokens.LEAF_SET_ENTRY:
+                return readLeafSetEntry();
+            case BinaryTokens.MAP:
+                return readEntries(Builders.mapBuilder(), MapEntryNode.class);
+            case BinaryTokens.ORDERED_MAP:
+                return readEntries(Builders.orderedMapBuilder(), MapEntryNode.class);
+            case BinaryTokens.LEAF_SET:
+                return readLeafSet(Builders.leafSetBuilder());
+            case BinaryTokens.ORDERED_LEAF_SET:
+                return readLeafSet(Builders.orderedLeafSetBuilder());
+            case BinaryTokens.AUGMENTATION:
+                return readChildren(Builders.augmentationBuilder(), new AugmentationIdentifier(readQNames()));
+            case BinaryTokens.CHOICE:
+                return readChildren(Builders.choiceBuilder(), new NodeIdentifier(readQName()));
+            case BinaryTokens.UNKEYED_LIST:
+                return readEntries(Builders.unkeyedListBuilder(), UnkeyedListEntryNode.class);
+            case BinaryTokens.UNKEYED_LIST_ENTRY:
+                return readChildren(Builders.unkeyedListEntryBuilder(), new NodeIdentifier(readQName()));
+            default:
+                throw new IOException("Unhandled node type " + type);
+        }
+    }
+
+    private <I extends PathArgument, R extends DataContainerNode<I>> R readChildren(
+            final DataContainerNodeBuilder<I, R> builder, final I identifier) throws IOException {
+        builder.withNodeIdentifier(identifier);
+
+        final int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            builder.withChild(checkType(readNormalizedNode(), DataContainerChild.class));
+        }
+        return builder.build();
+    }
+
+    private <V extends NormalizedNode<?, ?>, R extends NormalizedNode<NodeIdentifier, ?>> R readEntries(
+            final CollectionNodeBuilder<V, R> builder, final Class<V> entryType) throws IOException {
+        builder.withNodeIdentifier(new NodeIdentifier(readQName()));
+
+        final int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            builder.withChild(checkType(readNormalizedNode(), entryType));
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private LeafSetNode<Object> readLeafSet(final ListNodeBuilder<Object, LeafSetEntryNode<Object>> builder)
+            throws IOException {
+        builder.withNodeIdentifier(new NodeIdentifier(readQName()));
+
+        final int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            builder.withChild(checkType(readNormalizedNode(), LeafSetEntryNode.class));
+        }
+        return builder.build();
+    }
+
+    private LeafSetEntryNode<Object> readLeafSetEntry() throws IOException {
+        final QName name = readQName();
+        final Object value = readValue();
+        return Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(name, value)).withValue(value)
+                .build();
+    }
+
+    private static <T> T checkType(final NormalizedNode<?, ?> node, final Class<T> type) throws IOException {
+        if (!type.isInstance(node)) {
+            throw new IOException("Unexpected node " + node + ", expecting " + type.getSimpleName());
+        }
+        return type.cast(node);
+    }
+
+    YangInstanceIdentifier readYangInstanceIdentifier() throws IOException {
+        final int size = in.readInt();
+        final List<PathArgument> args = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            args.add(readPathArgument());
+        }
+        return YangInstanceIdentifier.create(args);
+    }
+
+    PathArgument readPathArgument() throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case BinaryTokens.NODE_IDENTIFIER:
+                return new NodeIdentifier(readQName());
+            case BinaryTokens.NODE_IDENTIFIER_WITH_PREDICATES:
+                return readPredicates();
+            case BinaryTokens.NODE_WITH_VALUE:
+                return new NodeWithValue<>(readQName(), readValue());
+            case BinaryTokens.AUGMENTATION_IDENTIFIER:
+                return new AugmentationIdentifier(readQNames());
+            default:
+                throw new IOException("Unhandled path argument type " + type);
+        }
+    }
+
+    private NodeIdentifierWithPredicates readPredicates() throws IOException {
+        final QName name = readQName();
+        final int size = in.readInt();
+        final ImmutableMap.Builder<QName, Object> keys = ImmutableMap.builder();
+        for (int i = 0; i < size; ++i) {
+            keys.put(readQName(), readValue());
+        }
+        return new NodeIdentifierWithPredicates(name, keys.build());
+    }
+
+    private ImmutableSet<QName> readQNames() throws IOException {
+        final int size = in.readInt();
+        final ImmutableSet.Builder<QName> ret = ImmutableSet.builder();
+        for (int i = 0; i < size; ++i) {
+            ret.add(readQName());
+        }
+        return ret.build();
+    }
+
+    private QName readQName() throws IOException {
+        final int code = in.readInt();
+        if (code != BinaryTokens.NEW_REFERENCE) {
+            return lookup(qnames, code, "QName");
+        }
+
+        final QName qname = QName.create(readModule(), readString()).intern();
+        qnames.add(qname);
+        return qname;
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int code = in.readInt();
+        if (code != BinaryTokens.NEW_REFERENCE) {
+            return lookup(modules, code, "QNameModule");
+        }
+
+        final String namespace = readString();
+        final URI uri;
+        try {
+            uri = new URI(namespace);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid QNameModule namespace " + namespace, e);
+        }
+
+        final Date revision = in.readBoolean() ? new Date(in.readLong()) : null;
+        final QNameModule module = QNameModule.create(uri, revision);
+        modules.add(module);
+        return module;
+    }
+
+    private static <T> T lookup(final List<T> dictionary, final int index, final String what) throws IOException {
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IOException(String.format("Invalid %s reference %s", what, index));
+        }
+        return dictionary.get(index);
+    }
+
+    private String readString() throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Object readValue() throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case BinaryTokens.NULL_VALUE:
+                return null;
+            case BinaryTokens.STRING_VALUE:
+                return readString();
+            case BinaryTokens.BOOLEAN_VALUE:
+                return in.readBoolean();
+            case BinaryTokens.BYTE_VALUE:
+                return in.readByte();
+            case BinaryTokens.SHORT_VALUE:
+                return in.readShort();
+            case BinaryTokens.INT_VALUE:
+                return in.readInt();
+            case BinaryTokens.LONG_VALUE:
+                return in.readLong();
+            case BinaryTokens.BIG_INTEGER_VALUE:
+                return new BigInteger(readString());
+            case BinaryTokens.BIG_DECIMAL_VALUE:
+                return new BigDecimal(readString());
+            case BinaryTokens.QNAME_VALUE:
+                return readQName();
+            case BinaryTokens.BINARY_VALUE:
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            case BinaryTokens.BITS_VALUE:
+                final int size = in.readInt();
+                final ImmutableSet.Builder<String> bits = ImmutableSet.builder();
+                for (int i = 0; i < size; ++i) {
+                    bits.add(readString());
+                }
+                return bits.build();
+            case BinaryTokens.INSTANCE_IDENTIFIER_VALUE:
+                return readYangInstanceIdentifier();
+            default:
+                throw new IOException("Unhandled value type " + type);
+        }
+    }
+}
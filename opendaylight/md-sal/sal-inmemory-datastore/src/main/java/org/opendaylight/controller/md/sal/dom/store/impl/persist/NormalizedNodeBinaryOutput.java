@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.persist;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+
+/**
+ * Writes {@link NormalizedNode}s, path arguments and leaf values in the compact binary format understood by
+ * {@link NormalizedNodeBinaryInput}. QNames and their modules are written once and referred to by index afterwards,
+ * hence each instance must be paired with exactly one reader instance. Instances are not thread-safe.
+ */
+final class NormalizedNodeBinaryOutput {
+    private final Map<QNameModule, Integer> modules = new HashMap<>();
+    private final Map<QName, Integer> qnames = new HashMap<>();
+    private final DataOutput out;
+
+    NormalizedNodeBinaryOutput(final DataOutput out) {
+        this.out = out;
+    }
+
+    DataOutput output() {
+        return out;
+    }
+
+    void writeNormalizedNode(final NormalizedNode<?, ?> node) throws IOException {
+        if (node instanceof ContainerNode) {
+            out.writeByte(BinaryTokens.CONTAINER);
+            writeQName(node.getNodeType());
+            writeChildren((DataContainerNode<?>) node);
+        } else if (node instanceof MapEntryNode) {
+            out.writeByte(BinaryTokens.MAP_ENTRY);
+            writePredicates(((MapEntryNode) node).getIdentifier());
+            writeChildren((MapEntryNode) node);
+        } else if (node instanceof LeafNode) {
+            out.writeByte(BinaryTokens.LEAF);
+            writeQName(node.getNodeType());
+            writeValue(node.getValue());
+        } else if (node instanceof LeafSetEntryNode) {
+            out.writeByte(BinaryTokens.LEAF_SET_ENTRY);
+            writeQName(node.getNodeType());
+            writeValue(node.getValue());
+        } else if (node instanceof OrderedMapNode) {
+            out.writeByte(BinaryTokens.ORDERED_MAP);
+            writeQName(node.getNodeType());
+            writeNodes(((OrderedMapNode) node).getValue());
+        } else if (node instanceof MapNode) {
+            out.writeByte(BinaryTokens.MAP);
+            writeQName(node.getNodeType());
+            writeNodes(((MapNode) node).getValue());
+        } else if (node instanceof OrderedLeafSetNode) {
+            out.writeByte(BinaryTokens.ORDERED_LEAF_SET);
+            writeQName(node.getNodeType());
+            writeNodes(((OrderedLeafSetNode<?>) node).getValue());
+        } else if (node instanceof LeafSetNode) {
+            out.writeByte(BinaryTokens.LEAF_SET);
+            writeQName(node.getNodeType());
+            writeNodes(((LeafSetNode<?>) node).getValue());
+        } else if (node instanceof AugmentationNode) {
+            out.writeByte(BinaryTokens.AUGMENTATION);
+            writeQNames(((AugmentationNode) node).getIdentifier().getPossibleChildNames());
+            writeChildren((AugmentationNode) node);
+        } else if (node instanceof ChoiceNode) {
+            out.writeByte(BinaryTokens.CHOICE);
+            writeQName(node.getNodeType());
+            writeChildren((ChoiceNode) node);
+        } else if (node instanceof UnkeyedListNode) {
+            out.writeByte(BinaryTokens.UNKEYED_LIST);
+            writeQName(node.getNodeType());
+            writeNodes(((UnkeyedListNode) node).getValue());
+        } else if (node instanceof UnkeyedListEntryNode) {
+            out.writeByte(BinaryTokens.UNKEYED_LIST_ENTRY);
+            writeQName(node.getNodeType());
+            writeChildren((UnkeyedListEntryNode) node);
+        } else {
+            throw new IOException("Unsupported node " + node);
+        }
+    }
+
+    private void writeChildren(final DataContainerNode<?> node) throws IOException {
+        writeNodes(node.getValue());
+    }
+
+    private void writeNodes(final Collection<? extends NormalizedNode<?, ?>> nodes) throws IOException {
+        out.writeInt(nodes.size());
+        for (NormalizedNode<?, ?> node : nodes) {
+            writeNormalizedNode(node);
+        }
+    }
+
+    void writeYangInstanceIdentifier(final YangInstanceIdentifier path) throws IOException {
+        final Collection<PathArgument> args = path.getPathArguments();
+        out.writeInt(args.size());
+        for (PathArgument arg : args) {
+            writePathArgument(arg);
+        }
+    }
+
+    void writePathArgument(final PathArgument arg) throws IOException {
+        if (arg instanceof NodeIdentifier) {
+            out.writeByte(BinaryTokens.NODE_IDENTIFIER);
+            writeQName(arg.getNodeType());
+        } else if (arg instanceof NodeIdentifierWithPredicates) {
+            out.writeByte(BinaryTokens.NODE_IDENTIFIER_WITH_PREDICATES);
+            writePredicates((NodeIdentifierWithPredicates) arg);
+        } else if (arg instanceof NodeWithValue) {
+            out.writeByte(BinaryTokens.NODE_WITH_VALUE);
+            writeQName(arg.getNodeType());
+            writeValue(((NodeWithValue<?>) arg).getValue());
+        } else if (arg instanceof AugmentationIdentifier) {
+            out.writeByte(BinaryTokens.AUGMENTATION_IDENTIFIER);
+            writeQNames(((AugmentationIdentifier) arg).getPossibleChildNames());
+        } else {
+            throw new IOException("Unsupported path argument " + arg);
+        }
+    }
+
+    private void writePredicates(final NodeIdentifierWithPredicates identifier) throws IOException {
+        writeQName(identifier.getNodeType());
+
+        final Map<QName, Object> keys = identifier.getKeyValues();
+        out.writeInt(keys.size());
+        for (Entry<QName, Object> e : keys.entrySet()) {
+            writeQName(e.getKey());
+            writeValue(e.getValue());
+        }
+    }
+
+    private void writeQNames(final Set<QName> set) throws IOException {
+        out.writeInt(set.size());
+        for (QName qname : set) {
+            writeQName(qname);
+        }
+    }
+
+    private void writeQName(final QName qname) throws IOException {
+        final Integer code = qnames.get(qname);
+        if (code != null) {
+            out.writeInt(code);
+            return;
+        }
+
+        qnames.put(qname, qnames.size());
+        out.writeInt(BinaryTokens.NEW_REFERENCE);
+        writeModule(qname.getModule());
+        writeString(qname.getLocalName());
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer code = modules.get(module);
+        if (code != null) {
+            out.writeInt(code);
+            return;
+        }
+
+        modules.put(module, modules.size());
+        out.writeInt(BinaryTokens.NEW_REFERENCE);
+        writeString(module.getNamespace().toString());
+
+        final Date revision = module.getRevision();
+        out.writeBoolean(revision != null);
+        if (revision != null) {
+            out.writeLong(revision.getTime());
+        }
+    }
+
+    private void writeString(final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(BinaryTokens.NULL_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(BinaryTokens.STRING_VALUE);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BinaryTokens.BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BinaryTokens.BYTE_VALUE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeByte(BinaryTokens.SHORT_VALUE);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(BinaryTokens.INT_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(BinaryTokens.LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BinaryTokens.BIG_INTEGER_VALUE);
+            writeString(value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BinaryTokens.BIG_DECIMAL_VALUE);
+            writeString(value.toString());
+        } else if (value instanceof QName) {
+            out.writeByte(BinaryTokens.QNAME_VALUE);
+            writeQName((QName) value);
+        } else if (value instanceof byte[]) {
+            out.writeByte(BinaryTokens.BINARY_VALUE);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (value instanceof Set) {
+            out.writeByte(BinaryTokens.BITS_VALUE);
+            final Set<?> bits = (Set<?>) value;
+            out.writeInt(bits.size());
+            for (Object bit : bits) {
+                writeString(bit.toString());
+            }
+        } else if (value instanceof YangInstanceIdentifier) {
+            out.writeByte(BinaryTokens.INSTANCE_IDENTIFIER_VALUE);
+            writeYangInstanceIdentifier((YangInstanceIdentifier) value);
+        } else {
+            throw new IOException("Unsupported value " + value + " of " + value.getClass());
+        }
+    }
+}
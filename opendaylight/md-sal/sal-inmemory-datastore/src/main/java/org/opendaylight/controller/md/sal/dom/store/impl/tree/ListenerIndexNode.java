@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.dom.store.impl.DataChangeListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * A node in the index of data change listener registrations maintained by {@link ListenerTree}. Unlike the generic
+ * registration tree, registrations are kept grouped by their scope and children registered via a plain
+ * {@link NodeIdentifier}, which also act as wildcards for list and leaf-list entries, are kept separate from children
+ * registered for a particular entry. Looking up the children matching a path argument therefore costs at most two
+ * hash lookups without any allocation, regardless of how many registrations exist.
+ *
+ * <p>
+ * Nodes which have neither registrations nor children are removed from their parent, hence the presence of a node
+ * implies there is at least one registration in its subtree.
+ *
+ * <p>
+ * Data returned from an instance of this class is consistent only as long as the snapshot of the {@link ListenerTree}
+ * through which it was reached remains unclosed.
+ */
+@Beta
+public final class ListenerIndexNode {
+    private final Map<QName, ListenerIndexNode> identifierChildren = new HashMap<>();
+    private final Map<PathArgument, ListenerIndexNode> entryChildren = new HashMap<>();
+    private final List<DataChangeListenerRegistration<?>> baseRegistrations = new ArrayList<>(1);
+    private final Collection<DataChangeListenerRegistration<?>> publicBaseRegistrations =
+            Collections.unmodifiableCollection(baseRegistrations);
+    private final List<DataChangeListenerRegistration<?>> oneRegistrations = new ArrayList<>(1);
+    private final Collection<DataChangeListenerRegistration<?>> publicOneRegistrations =
+            Collections.unmodifiableCollection(oneRegistrations);
+    private final List<DataChangeListenerRegistration<?>> subtreeRegistrations = new ArrayList<>(1);
+    private final Collection<DataChangeListenerRegistration<?>> publicSubtreeRegistrations =
+            Collections.unmodifiableCollection(subtreeRegistrations);
+    private final ListenerIndexNode parent;
+    private final PathArgument identifier;
+
+    ListenerIndexNode(final ListenerIndexNode parent, final PathArgument identifier) {
+        this.parent = parent;
+        this.identifier = identifier;
+    }
+
+    public PathArgument getIdentifier() {
+        return identifier;
+    }
+
+    public Collection<DataChangeListenerRegistration<?>> getBaseRegistrations() {
+        return publicBaseRegistrations;
+    }
+
+    public Collection<DataChangeListenerRegistration<?>> getOneRegistrations() {
+        return publicOneRegistrations;
+    }
+
+    public Collection<DataChangeListenerRegistration<?>> getSubtreeRegistrations() {
+        return publicSubtreeRegistrations;
+    }
+
+    /**
+     * Add the children matching a particular path argument to a collection. For list and leaf-list entries this
+     * includes the child matching all entries, followed by the child matching the specific entry.
+     *
+     * @param arg Child identifier
+     * @param result Collection to which matching children are added
+     */
+    public void addMatchingChildren(@Nonnull final PathArgument arg,
+            @Nonnull final Collection<ListenerIndexNode> result) {
+        if (arg instanceof NodeIdentifier) {
+            addIfPresent(identifierChildren.get(arg.getNodeType()), result);
+        } else {
+            if (arg instanceof NodeIdentifierWithPredicates || arg instanceof NodeWithValue) {
+                addIfPresent(identifierChildren.get(arg.getNodeType()), result);
+            }
+            addIfPresent(entryChildren.get(arg), result);
+        }
+    }
+
+    private static void addIfPresent(final ListenerIndexNode child, final Collection<ListenerIndexNode> result) {
+        if (child != null) {
+            result.add(child);
+        }
+    }
+
+    ListenerIndexNode ensureChild(@Nonnull final PathArgument arg) {
+        Preconditions.checkNotNull(arg);
+        if (arg instanceof NodeIdentifier) {
+            return identifierChildren.computeIfAbsent(arg.getNodeType(), qname -> new ListenerIndexNode(this, arg));
+        }
+        return entryChildren.computeIfAbsent(arg, key -> new ListenerIndexNode(this, key));
+    }
+
+    void addRegistration(@Nonnull final DataChangeListenerRegistration<?> registration) {
+        registrationsFor(registration).add(registration);
+    }
+
+    void removeRegistration(@Nonnull final DataChangeListenerRegistration<?> registration) {
+        registrationsFor(registration).remove(registration);
+        removeThisIfUnused();
+    }
+
+    private List<DataChangeListenerRegistration<?>> registrationsFor(
+            final DataChangeListenerRegistration<?> registration) {
+        switch (registration.getScope()) {
+            case BASE:
+                return baseRegistrations;
+            case ONE:
+                return oneRegistrations;
+            case SUBTREE:
+                return subtreeRegistrations;
+            default:
+                throw new IllegalArgumentException("Unhandled scope " + registration.getScope());
+        }
+    }
+
+    private void removeThisIfUnused() {
+        if (parent != null && baseRegistrations.isEmpty() && oneRegistrations.isEmpty()
+                && subtreeRegistrations.isEmpty() && identifierChildren.isEmpty() && entryChildren.isEmpty()) {
+            parent.removeChild(identifier);
+        }
+    }
+
+    private void removeChild(final PathArgument arg) {
+        if (arg instanceof NodeIdentifier) {
+            identifierChildren.remove(arg.getNodeType());
+        } else {
+            entryChildren.remove(arg);
+        }
+        removeThisIfUnused();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier)
+                .add("registrations", baseRegistrations.size() + oneRegistrations.size() + subtreeRegistrations.size())
+                .add("children", identifierChildren.size() + entryChildren.size()).toString();
+    }
+}
@@ -13,6 +13,7 @@ import org.opendaylight.controller.md.sal.dom.spi.AbstractRegistrationTree;
 import org.opendaylight.controller.md.sal.dom.spi.RegistrationTreeNode;
 import org.opendaylight.controller.md.sal.dom.store.impl.DataChangeListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
@@ -22,6 +23,9 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  * @author Robert Varga
  */
 public final class ListenerTree extends AbstractRegistrationTree<DataChangeListenerRegistration<?>> {
+    // Protected by the same lock as the registration tree
+    private final ListenerIndexNode indexRoot = new ListenerIndexNode(null, null);
+
     private ListenerTree() {
         // Private to disallow direct instantiation
     }
@@ -50,6 +54,12 @@ public final class ListenerTree extends AbstractRegistrationTree<DataChangeListe
         takeLock();
         try {
             final RegistrationTreeNode<DataChangeListenerRegistration<?>> node = findNodeFor(path.getPathArguments());
+            ListenerIndexNode walkIndex = indexRoot;
+            for (PathArgument arg : path.getPathArguments()) {
+                walkIndex = walkIndex.ensureChild(arg);
+            }
+            final ListenerIndexNode indexNode = walkIndex;
+
             DataChangeListenerRegistration<L> reg = new DataChangeListenerRegistrationImpl<L>(listener) {
                 @Override
                 public DataChangeScope getScope() {
@@ -73,11 +83,18 @@ public final class ListenerTree extends AbstractRegistrationTree<DataChangeListe
                      *       While this does not directly violate the ListenerRegistration
                      *       contract, it is probably not going to be liked by the users.
                      */
+                    ListenerTree.this.takeLock();
+                    try {
+                        indexNode.removeRegistration(this);
+                    } finally {
+                        ListenerTree.this.releaseLock();
+                    }
                     ListenerTree.this.removeRegistration(node, this);
                 }
             };
 
             addRegistration(node, reg);
+            indexNode.addRegistration(reg);
             return reg;
         } finally {
             // Always release the lock
@@ -85,6 +102,17 @@ public final class ListenerTree extends AbstractRegistrationTree<DataChangeListe
         }
     }
 
+    /**
+     * Return the root of the registration index, grouping registrations by scope and separating wildcard children
+     * from children matching a particular list entry. The index may be walked only while holding a snapshot
+     * obtained from {@link #takeSnapshot()}.
+     *
+     * @return Root index node
+     */
+    public ListenerIndexNode getIndexRoot() {
+        return indexRoot;
+    }
+
     /**
      * Obtain a tree walking context. This context ensures a consistent view of
      * the listener registrations. The context should be closed as soon as it
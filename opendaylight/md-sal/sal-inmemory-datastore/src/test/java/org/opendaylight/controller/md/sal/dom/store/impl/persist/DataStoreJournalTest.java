@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStore;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class DataStoreJournalTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private SchemaContext schemaContext;
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        schemaContext = TestModel.createTestContext();
+        directory = folder.getRoot().toPath().resolve("test");
+    }
+
+    private InMemoryDOMDataStore createStore(final int snapshotInterval) throws IOException {
+        final InMemoryDOMDataStore store = new InMemoryDOMDataStore("test", LogicalDatastoreType.CONFIGURATION,
+            MoreExecutors.newDirectExecutorService(), 1000, false, DataStoreJournal.open(directory, snapshotInterval));
+        store.onGlobalContextUpdated(schemaContext);
+        return store;
+    }
+
+    private static void commit(final InMemoryDOMDataStore store, final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> data) throws Exception {
+        final DOMStoreWriteTransaction tx = store.newWriteOnlyTransaction();
+        tx.write(path, data);
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    private static void populate(final InMemoryDOMDataStore store, final int entries) throws Exception {
+        commit(store, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        commit(store, TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        for (int i = 0; i < entries; ++i) {
+            final MapEntryNode entry = ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i)
+                    .withChild(ImmutableNodes.leafNode(TestModel.TWO_QNAME, "two-" + i)).build();
+            commit(store, TestModel.OUTER_LIST_PATH.node(entry.getIdentifier()), entry);
+        }
+    }
+
+    private static Optional<NormalizedNode<?, ?>> read(final InMemoryDOMDataStore store,
+            final YangInstanceIdentifier path) throws Exception {
+        return store.newReadOnlyTransaction().read(path).get();
+    }
+
+    private void verifyRecovered(final int snapshotInterval) throws Exception {
+        final InMemoryDOMDataStore store = createStore(snapshotInterval);
+        populate(store, 5);
+        final Optional<NormalizedNode<?, ?>> expected = read(store, TestModel.TEST_PATH);
+        store.close();
+
+        final InMemoryDOMDataStore recovered = createStore(snapshotInterval);
+        assertEquals(expected, read(recovered, TestModel.TEST_PATH));
+
+        // Commits on top of the recovered state are persisted as well
+        commit(recovered, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        recovered.close();
+
+        final InMemoryDOMDataStore again = createStore(snapshotInterval);
+        assertEquals(Optional.of(ImmutableNodes.containerNode(TestModel.TEST_QNAME)),
+            read(again, TestModel.TEST_PATH));
+        again.close();
+    }
+
+    @Test
+    public void testRecoveryFromJournal() throws Exception {
+        verifyRecovered(1000);
+        assertFalse(Files.exists(directory.resolve("snapshot.bin")));
+    }
+
+    @Test
+    public void testRecoveryFromSnapshotAndJournal() throws Exception {
+        verifyRecovered(3);
+        assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+    }
+
+    @Test
+    public void testTornJournalTail() throws Exception {
+        final InMemoryDOMDataStore store = createStore(1000);
+        populate(store, 3);
+        final Optional<NormalizedNode<?, ?>> expected = read(store, TestModel.TEST_PATH);
+        store.close();
+
+        // Simulate a crash in the middle of writing a record
+        final Path journal = directory.resolve("journal.bin");
+        final long size = Files.size(journal);
+        Files.write(journal, new byte[] { 0, 0, 1, 0, 42, 42 }, StandardOpenOption.APPEND);
+
+        final InMemoryDOMDataStore recovered = createStore(1000);
+        assertEquals(expected, read(recovered, TestModel.TEST_PATH));
+        assertEquals(size, Files.size(journal));
+        recovered.close();
+    }
+
+    @Test
+    public void testFailedRecoverySetsJournalAside() throws Exception {
+        final InMemoryDOMDataStore store = createStore(1000);
+        populate(store, 3);
+        store.close();
+
+        // Append a record which passes the checksum, but cannot be decoded
+        final byte[] body = ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(Long.MAX_VALUE).putInt(-1).array();
+        final CRC32 crc = new CRC32();
+        crc.update(body);
+        final Path journal = directory.resolve("journal.bin");
+        Files.write(journal, ByteBuffer.allocate(body.length + 8).putInt(body.length).put(body)
+            .putInt((int) crc.getValue()).array(), StandardOpenOption.APPEND);
+        final long size = Files.size(journal);
+
+        final InMemoryDOMDataStore recovered = createStore(1);
+        assertFalse(read(recovered, TestModel.TEST_PATH).isPresent());
+
+        // This commit triggers a snapshot, which must not replace the state we failed to recover
+        commit(recovered, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        recovered.close();
+
+        final Path[] setAside;
+        try (Stream<Path> files = Files.list(directory)) {
+            setAside = files.filter(file -> file.getFileName().toString().startsWith("journal.bin.failed-"))
+                    .toArray(Path[]::new);
+        }
+        assertEquals(1, setAside.length);
+        assertEquals(size, Files.size(setAside[0]));
+        assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+    }
+
+    @Test
+    public void testFailedAppendAbortsCommit() throws Exception {
+        final DataStoreJournal journal = DataStoreJournal.open(directory, 1000);
+        final InMemoryDOMDataStore store = new InMemoryDOMDataStore("test", LogicalDatastoreType.CONFIGURATION,
+            MoreExecutors.newDirectExecutorService(), 1000, false, journal);
+        store.onGlobalContextUpdated(schemaContext);
+        journal.close();
+
+        try {
+            commit(store, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            fail("Commit should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        // The candidate has not been journaled, hence it must not be visible either
+        assertFalse(read(store, TestModel.TEST_PATH).isPresent());
+        store.close();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.impl.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataChangeListener;
+import org.opendaylight.controller.md.sal.dom.spi.RegistrationTreeSnapshot;
+import org.opendaylight.controller.md.sal.dom.store.impl.DataChangeListenerRegistration;
+import org.opendaylight.controller.md.sal.dom.store.impl.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+public class ListenerIndexNodeTest {
+    private static final NodeIdentifier TEST_ID = new NodeIdentifier(TestModel.TEST_QNAME);
+    private static final NodeIdentifier OUTER_LIST_ID = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+    private static final NodeIdentifierWithPredicates OUTER_ENTRY_1 =
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final NodeIdentifierWithPredicates OUTER_ENTRY_2 =
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+
+    private ListenerTree tree;
+
+    @Before
+    public void setUp() {
+        tree = ListenerTree.create();
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataChangeListenerRegistration<?> register(final YangInstanceIdentifier path,
+            final DataChangeScope scope) {
+        return tree.registerDataChangeListener(path, mock(AsyncDataChangeListener.class), scope);
+    }
+
+    private static List<ListenerIndexNode> matching(final ListenerIndexNode node, final PathArgument arg) {
+        final List<ListenerIndexNode> ret = new ArrayList<>();
+        node.addMatchingChildren(arg, ret);
+        return ret;
+    }
+
+    private static ListenerIndexNode single(final ListenerIndexNode node, final PathArgument arg) {
+        final List<ListenerIndexNode> children = matching(node, arg);
+        assertEquals("Matching children of " + node + " for " + arg, 1, children.size());
+        return children.get(0);
+    }
+
+    @Test
+    public void testScopes() {
+        final DataChangeListenerRegistration<?> base = register(TestModel.TEST_PATH, DataChangeScope.BASE);
+        final DataChangeListenerRegistration<?> one = register(TestModel.TEST_PATH, DataChangeScope.ONE);
+        final DataChangeListenerRegistration<?> subtree = register(TestModel.TEST_PATH, DataChangeScope.SUBTREE);
+
+        try (RegistrationTreeSnapshot<?> snapshot = tree.takeSnapshot()) {
+            final ListenerIndexNode node = single(tree.getIndexRoot(), TEST_ID);
+            assertEquals(TEST_ID, node.getIdentifier());
+            assertEquals(1, node.getBaseRegistrations().size());
+            assertSame(base, node.getBaseRegistrations().iterator().next());
+            assertEquals(1, node.getOneRegistrations().size());
+            assertSame(one, node.getOneRegistrations().iterator().next());
+            assertEquals(1, node.getSubtreeRegistrations().size());
+            assertSame(subtree, node.getSubtreeRegistrations().iterator().next());
+        }
+    }
+
+    @Test
+    public void testWildcardAndExactMatching() {
+        final DataChangeListenerRegistration<?> wildcard = register(
+            TestModel.OUTER_LIST_PATH.node(TestModel.OUTER_LIST_QNAME), DataChangeScope.SUBTREE);
+        final DataChangeListenerRegistration<?> exact = register(TestModel.OUTER_LIST_PATH.node(OUTER_ENTRY_1),
+            DataChangeScope.SUBTREE);
+
+        try (RegistrationTreeSnapshot<?> snapshot = tree.takeSnapshot()) {
+            final ListenerIndexNode list = single(single(tree.getIndexRoot(), TEST_ID), OUTER_LIST_ID);
+            assertTrue(list.getSubtreeRegistrations().isEmpty());
+
+            // The wildcard comes first, followed by the exact match
+            final List<ListenerIndexNode> entry1 = matching(list, OUTER_ENTRY_1);
+            assertEquals(2, entry1.size());
+            assertSame(wildcard, entry1.get(0).getSubtreeRegistrations().iterator().next());
+            assertSame(exact, entry1.get(1).getSubtreeRegistrations().iterator().next());
+
+            // Other entries match only the wildcard
+            final ListenerIndexNode entry2 = single(list, OUTER_ENTRY_2);
+            assertSame(wildcard, entry2.getSubtreeRegistrations().iterator().next());
+
+            // A plain identifier matches only the wildcard as well
+            assertSame(entry2, single(list, OUTER_LIST_ID));
+
+            // Nothing is registered for the container itself
+            assertTrue(matching(tree.getIndexRoot(), OUTER_LIST_ID).isEmpty());
+        }
+    }
+
+    @Test
+    public void testPruning() {
+        final YangInstanceIdentifier entryPath = TestModel.OUTER_LIST_PATH.node(OUTER_ENTRY_1);
+        final DataChangeListenerRegistration<?> parentReg = register(TestModel.TEST_PATH, DataChangeScope.BASE);
+        final DataChangeListenerRegistration<?> entryReg1 = register(entryPath, DataChangeScope.ONE);
+        final DataChangeListenerRegistration<?> entryReg2 = register(entryPath, DataChangeScope.SUBTREE);
+
+        // The entry node is kept as long as it has a registration
+        entryReg1.close();
+        try (RegistrationTreeSnapshot<?> snapshot = tree.takeSnapshot()) {
+            final ListenerIndexNode list = single(single(tree.getIndexRoot(), TEST_ID), OUTER_LIST_ID);
+            final ListenerIndexNode entry = single(list, OUTER_ENTRY_1);
+            assertTrue(entry.getOneRegistrations().isEmpty());
+            assertSame(entryReg2, entry.getSubtreeRegistrations().iterator().next());
+        }
+
+        // Removing the last registration prunes the nodes up to the first node with a registration
+        entryReg2.close();
+        try (RegistrationTreeSnapshot<?> snapshot = tree.takeSnapshot()) {
+            final ListenerIndexNode test = single(tree.getIndexRoot(), TEST_ID);
+            assertSame(parentReg, test.getBaseRegistrations().iterator().next());
+            assertTrue(matching(test, OUTER_LIST_ID).isEmpty());
+        }
+
+        parentReg.close();
+        try (RegistrationTreeSnapshot<?> snapshot = tree.takeSnapshot()) {
+            assertTrue(matching(tree.getIndexRoot(), TEST_ID).isEmpty());
+        }
+    }
+}
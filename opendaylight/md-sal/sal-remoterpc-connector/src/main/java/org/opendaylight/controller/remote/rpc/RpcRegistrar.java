@@ -7,16 +7,25 @@
  */
 package org.opendaylight.controller.remote.rpc;
 
+import akka.actor.ActorRef;
 import akka.actor.Address;
 import akka.actor.Props;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
@@ -28,7 +37,13 @@ import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndp
  * @author Robert Varga
  */
 final class RpcRegistrar extends AbstractUntypedActor {
-    private final Map<Address, DOMRpcImplementationRegistration<?>> regs = new HashMap<>();
+    /*
+     * Maximum number of RPCs covered by a single registration. Unregistering some of them requires the rest to be
+     * registered again, hence this bounds the cost of an update which removes a single RPC of a remote node.
+     */
+    private static final int MAX_REGISTRATION_SIZE = 1000;
+
+    private final Map<Address, EndpointRegistration> regs = new HashMap<>();
     private final DOMRpcProviderService rpcProviderService;
     private final RemoteRpcProviderConfig config;
 
@@ -44,8 +59,10 @@ final class RpcRegistrar extends AbstractUntypedActor {
 
     @Override
     public void postStop() throws Exception {
-        regs.values().forEach(DOMRpcImplementationRegistration::close);
+        final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>();
+        regs.values().forEach(reg -> reg.unregisterAll(prevRegs));
         regs.clear();
+        prevRegs.forEach(DOMRpcImplementationRegistration::close);
 
         super.postStop();
     }
@@ -62,30 +79,39 @@ final class RpcRegistrar extends AbstractUntypedActor {
     private void updateRemoteEndpoints(final Map<Address, Optional<RemoteRpcEndpoint>> endpoints) {
         /*
          * Updating RPC providers is a two-step process. We first add the newly-discovered RPCs and then close
-         * the old registration. This minimizes churn observed by listeners, as they will not observe RPC
+         * the old registrations. This minimizes churn observed by listeners, as they will not observe RPC
          * unavailability which would occur if we were to do it the other way around.
          *
          * Note that when an RPC moves from one remote node to another, we also do not want to expose the gap,
          * hence we register all new implementations before closing all registrations.
+         *
+         * A remote node can expose a large number of routed RPCs, hence we only touch the RPCs which have actually
+         * changed as long as the node's router stays the same.
          */
-        final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>(endpoints.size());
+        final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>();
 
         for (Entry<Address, Optional<RemoteRpcEndpoint>> e : endpoints.entrySet()) {
             LOG.debug("Updating RPC registrations for {}", e.getKey());
 
-            final DOMRpcImplementationRegistration<?> prevReg;
+            final EndpointRegistration prevReg = regs.get(e.getKey());
             final Optional<RemoteRpcEndpoint> maybeEndpoint = e.getValue();
             if (maybeEndpoint.isPresent()) {
                 final RemoteRpcEndpoint endpoint = maybeEndpoint.get();
-                final RemoteRpcImplementation impl = new RemoteRpcImplementation(endpoint.getRouter(), config);
-                prevReg = regs.put(e.getKey(), rpcProviderService.registerRpcImplementation(impl,
-                    endpoint.getRpcs()));
+                if (prevReg != null && prevReg.router.equals(endpoint.getRouter())) {
+                    prevReg.update(endpoint.getRpcs(), prevRegs);
+                    continue;
+                }
+
+                final EndpointRegistration reg = new EndpointRegistration(endpoint.getRouter(),
+                    new RemoteRpcImplementation(endpoint.getRouter(), config));
+                reg.register(endpoint.getRpcs());
+                regs.put(e.getKey(), reg);
             } else {
-                prevReg = regs.remove(e.getKey());
+                regs.remove(e.getKey());
             }
 
             if (prevReg != null) {
-                prevRegs.add(prevReg);
+                prevReg.unregisterAll(prevRegs);
             }
         }
 
@@ -93,4 +119,79 @@ final class RpcRegistrar extends AbstractUntypedActor {
             r.close();
         }
     }
+
+    /**
+     * A group of RPCs registered together. The registration is replaced when some of them are removed.
+     */
+    private static final class RegistrationGroup {
+        final Set<DOMRpcIdentifier> rpcs;
+        DOMRpcImplementationRegistration<?> reg;
+
+        RegistrationGroup(final Set<DOMRpcIdentifier> rpcs, final DOMRpcImplementationRegistration<?> reg) {
+            this.rpcs = rpcs;
+            this.reg = reg;
+        }
+    }
+
+    /**
+     * The RPCs registered for a single remote node, split into groups of at most {@link #MAX_REGISTRATION_SIZE}.
+     */
+    private final class EndpointRegistration {
+        private final Map<DOMRpcIdentifier, RegistrationGroup> groups = new HashMap<>();
+        private final RemoteRpcImplementation impl;
+        private final ActorRef router;
+
+        EndpointRegistration(final ActorRef router, final RemoteRpcImplementation impl) {
+            this.router = Preconditions.checkNotNull(router);
+            this.impl = Preconditions.checkNotNull(impl);
+        }
+
+        void register(final Collection<DOMRpcIdentifier> rpcs) {
+            for (List<DOMRpcIdentifier> batch : Iterables.partition(rpcs, MAX_REGISTRATION_SIZE)) {
+                final Set<DOMRpcIdentifier> set = ImmutableSet.copyOf(batch);
+                final RegistrationGroup group = new RegistrationGroup(new HashSet<>(set),
+                    rpcProviderService.registerRpcImplementation(impl, set));
+                batch.forEach(rpc -> groups.put(rpc, group));
+            }
+        }
+
+        void update(final Set<DOMRpcIdentifier> rpcs, final Collection<DOMRpcImplementationRegistration<?>> prevRegs) {
+            final List<DOMRpcIdentifier> added = new ArrayList<>();
+            for (DOMRpcIdentifier rpc : rpcs) {
+                if (!groups.containsKey(rpc)) {
+                    added.add(rpc);
+                }
+            }
+
+            // Every group losing an RPC has the rest of its RPCs registered again
+            final Set<RegistrationGroup> changed = Sets.newIdentityHashSet();
+            if (groups.size() + added.size() != rpcs.size()) {
+                final Iterator<Entry<DOMRpcIdentifier, RegistrationGroup>> it = groups.entrySet().iterator();
+                while (it.hasNext()) {
+                    final Entry<DOMRpcIdentifier, RegistrationGroup> entry = it.next();
+                    if (!rpcs.contains(entry.getKey())) {
+                        entry.getValue().rpcs.remove(entry.getKey());
+                        changed.add(entry.getValue());
+                        it.remove();
+                    }
+                }
+            }
+
+            for (RegistrationGroup group : changed) {
+                prevRegs.add(group.reg);
+                if (!group.rpcs.isEmpty()) {
+                    group.reg = rpcProviderService.registerRpcImplementation(impl, ImmutableSet.copyOf(group.rpcs));
+                }
+            }
+
+            register(added);
+        }
+
+        void unregisterAll(final Collection<DOMRpcImplementationRegistration<?>> prevRegs) {
+            final Set<RegistrationGroup> all = Sets.newIdentityHashSet();
+            all.addAll(groups.values());
+            all.forEach(group -> prevRegs.add(group.reg));
+            groups.clear();
+        }
+    }
 }
@@ -13,6 +13,7 @@ import akka.serialization.Serialization;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.Externalizable;
 import java.io.IOException;
@@ -29,6 +30,7 @@ import org.opendaylight.controller.cluster.datastore.node.utils.stream.Normalize
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketData;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDataDelta;
 
 public final class RoutingTable implements BucketData<RoutingTable>, Serializable {
     private static final class Proxy implements Externalizable {
@@ -54,24 +56,14 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         public void writeExternal(final ObjectOutput out) throws IOException {
             out.writeObject(Serialization.serializedActorPath(rpcInvoker));
 
-            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out);
-            nnout.writeInt(rpcs.size());
-            for (DOMRpcIdentifier id : rpcs) {
-                nnout.writeSchemaPath(id.getType());
-                nnout.writeYangInstanceIdentifier(id.getContextReference());
-            }
+            writeRpcs(NormalizedNodeInputOutput.newDataOutput(out), rpcs);
         }
 
         @Override
         public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
             rpcInvoker = JavaSerializer.currentSystem().value().provider().resolveActorRef((String) in.readObject());
 
-            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
-            final int size = nnin.readInt();
-            rpcs = new ArrayList<>(size);
-            for (int i = 0; i < size; ++i) {
-                rpcs.add(DOMRpcIdentifier.create(nnin.readSchemaPath(), nnin.readYangInstanceIdentifier()));
-            }
+            rpcs = readRpcs(NormalizedNodeInputOutput.newDataInput(in));
         }
 
         private Object readResolve() {
@@ -95,6 +87,22 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return Optional.of(rpcInvoker);
     }
 
+    @Override
+    public Optional<BucketDataDelta<RoutingTable>> deltaFrom(final RoutingTable previous) {
+        if (!rpcInvoker.equals(previous.rpcInvoker)) {
+            return Optional.empty();
+        }
+
+        final Set<DOMRpcIdentifier> added = Sets.difference(rpcs, previous.rpcs);
+        final Set<DOMRpcIdentifier> removed = Sets.difference(previous.rpcs, rpcs);
+        // Sending the whole table is cheaper if most of it has changed
+        if (added.size() + removed.size() >= rpcs.size()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new RoutingTableDelta(added, removed));
+    }
+
     public Set<DOMRpcIdentifier> getRoutes() {
         return rpcs;
     }
@@ -115,6 +123,31 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return new RoutingTable(rpcInvoker, newRpcs);
     }
 
+    RoutingTable updateRpcs(final Collection<DOMRpcIdentifier> toAdd, final Collection<DOMRpcIdentifier> toRemove) {
+        final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
+        newRpcs.removeAll(toRemove);
+        newRpcs.addAll(toAdd);
+        return new RoutingTable(rpcInvoker, newRpcs);
+    }
+
+    static void writeRpcs(final NormalizedNodeDataOutput out, final Collection<DOMRpcIdentifier> rpcs)
+            throws IOException {
+        out.writeInt(rpcs.size());
+        for (DOMRpcIdentifier id : rpcs) {
+            out.writeSchemaPath(id.getType());
+            out.writeYangInstanceIdentifier(id.getContextReference());
+        }
+    }
+
+    static Collection<DOMRpcIdentifier> readRpcs(final NormalizedNodeDataInput in) throws IOException {
+        final int size = in.readInt();
+        final Collection<DOMRpcIdentifier> rpcs = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            rpcs.add(DOMRpcIdentifier.create(in.readSchemaPath(), in.readYangInstanceIdentifier()));
+        }
+        return rpcs;
+    }
+
     private Object writeReplace() {
         return new Proxy(this);
     }
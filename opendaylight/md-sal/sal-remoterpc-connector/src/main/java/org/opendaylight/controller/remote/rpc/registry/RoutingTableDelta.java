@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import com.google.common.collect.ImmutableSet;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Set;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDataDelta;
+
+/**
+ * Routes added to and removed from a {@link RoutingTable} between two successive versions of a bucket.
+ */
+final class RoutingTableDelta implements BucketDataDelta<RoutingTable> {
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+        private Collection<DOMRpcIdentifier> added;
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+        private Collection<DOMRpcIdentifier> removed;
+
+        // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+        // be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final RoutingTableDelta delta) {
+            added = delta.added;
+            removed = delta.removed;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out);
+            RoutingTable.writeRpcs(nnout, added);
+            RoutingTable.writeRpcs(nnout, removed);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            added = RoutingTable.readRpcs(nnin);
+            removed = RoutingTable.readRpcs(nnin);
+        }
+
+        private Object readResolve() {
+            return new RoutingTableDelta(added, removed);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final Set<DOMRpcIdentifier> added;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final Set<DOMRpcIdentifier> removed;
+
+    RoutingTableDelta(final Collection<DOMRpcIdentifier> added, final Collection<DOMRpcIdentifier> removed) {
+        this.added = ImmutableSet.copyOf(added);
+        this.removed = ImmutableSet.copyOf(removed);
+    }
+
+    Set<DOMRpcIdentifier> getAdded() {
+        return added;
+    }
+
+    Set<DOMRpcIdentifier> getRemoved() {
+        return removed;
+    }
+
+    @Override
+    public RoutingTable applyTo(final RoutingTable data) {
+        return data.updateRpcs(added, removed);
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingTableDelta{" + "added=" + added + ", removed=" + removed + '}';
+    }
+}
@@ -26,4 +26,16 @@ public interface BucketData<T extends BucketData<T>> extends Immutable {
      * @return Optional ActorRef.
      */
     Optional<ActorRef> getWatchActor();
+
+    /**
+     * Compute the delta which transforms a previous version of this data into this data. Implementations which can
+     * produce compact deltas allow buckets to be updated incrementally, without shipping the entire bucket to
+     * the other nodes. The default implementation does not support deltas.
+     *
+     * @param previous Previous version of data
+     * @return Optional delta, empty if the whole data needs to be sent
+     */
+    default Optional<BucketDataDelta<T>> deltaFrom(final T previous) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * The difference between two successive versions of a bucket's {@link BucketData}, as produced by
+ * {@link BucketData#deltaFrom(BucketData)}. Deltas are gossiped instead of whole buckets where possible, hence they
+ * should be considerably more compact than the data itself.
+ *
+ * @param <T> Type of bucket data
+ */
+public interface BucketDataDelta<T extends BucketData<T>> extends Immutable, Serializable {
+    /**
+     * Apply this delta to the version of data it was computed against.
+     *
+     * @param data Previous version of data
+     * @return Resulting data
+     */
+    @Nonnull T applyTo(@Nonnull T data);
+}
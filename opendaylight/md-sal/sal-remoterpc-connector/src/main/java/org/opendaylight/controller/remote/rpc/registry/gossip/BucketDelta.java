@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import java.io.Serializable;
+
+/**
+ * A {@link BucketDataDelta} which transforms a bucket from one version to the next one. It can only be applied to
+ * a bucket whose version matches {@link #getFromVersion()}.
+ *
+ * @param <T> Type of bucket data
+ */
+final class BucketDelta<T extends BucketData<T>> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final BucketDataDelta<T> delta;
+    private final long fromVersion;
+    private final long version;
+
+    BucketDelta(final long fromVersion, final long version, final BucketDataDelta<T> delta) {
+        Preconditions.checkArgument(fromVersion < version, "Invalid version range %s-%s", fromVersion, version);
+        this.fromVersion = fromVersion;
+        this.version = version;
+        this.delta = Preconditions.checkNotNull(delta);
+    }
+
+    long getFromVersion() {
+        return fromVersion;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    T applyTo(final T data) {
+        return delta.applyTo(data);
+    }
+
+    @Override
+    public String toString() {
+        return "BucketDelta{" + "fromVersion=" + fromVersion + ", version=" + version + ", delta=" + delta + '}';
+    }
+}
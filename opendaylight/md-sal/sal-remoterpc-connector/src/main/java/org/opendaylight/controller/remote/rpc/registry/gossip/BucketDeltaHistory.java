@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A bounded history of deltas between successive versions of a single bucket. It is used to bring a remote node's
+ * copy of the bucket up to date without shipping the entire bucket. Once the remote version falls out of the history,
+ * the whole bucket needs to be sent.
+ *
+ * @param <T> Type of bucket data
+ */
+final class BucketDeltaHistory<T extends BucketData<T>> {
+    // Enough to cover a few gossip rounds' worth of changes
+    private static final int MAX_DELTAS = 64;
+
+    private final Deque<BucketDelta<T>> deltas = new ArrayDeque<>();
+
+    /**
+     * Record a delta. If it does not follow the last recorded delta, the history is restarted.
+     *
+     * @param delta Delta to record
+     */
+    void append(final BucketDelta<T> delta) {
+        final BucketDelta<T> last = deltas.peekLast();
+        if (last != null && last.getVersion() != delta.getFromVersion()) {
+            deltas.clear();
+        }
+
+        deltas.addLast(delta);
+        if (deltas.size() > MAX_DELTAS) {
+            deltas.removeFirst();
+        }
+    }
+
+    void clear() {
+        deltas.clear();
+    }
+
+    /**
+     * Assemble the deltas needed to transform a particular version to the specified version.
+     *
+     * @param fromVersion Version known to the recipient
+     * @param version Target version
+     * @return Deltas to apply in order, or empty if the history does not cover the requested range
+     */
+    Optional<List<BucketDelta<T>>> deltasFrom(final long fromVersion, final long version) {
+        final BucketDelta<T> last = deltas.peekLast();
+        if (last == null || last.getVersion() != version || fromVersion >= version) {
+            return Optional.empty();
+        }
+
+        final Iterator<BucketDelta<T>> it = deltas.iterator();
+        while (it.hasNext()) {
+            final BucketDelta<T> delta = it.next();
+            if (delta.getFromVersion() == fromVersion) {
+                final ImmutableList.Builder<BucketDelta<T>> builder = ImmutableList.builder();
+                builder.add(delta);
+                it.forEachRemaining(builder::add);
+                return Optional.of(builder.build());
+            }
+        }
+
+        return Optional.empty();
+    }
+}
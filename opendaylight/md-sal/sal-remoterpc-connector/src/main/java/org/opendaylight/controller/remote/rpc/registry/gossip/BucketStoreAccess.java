@@ -21,6 +21,7 @@ import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -41,14 +42,14 @@ public final class BucketStoreAccess {
     }
 
     <T extends BucketData<T>> void getBucketsByMembers(final Collection<Address> members,
-            final Consumer<Map<Address, Bucket<T>>> callback) {
-        Patterns.ask(context.parent(), getBucketsByMembersMessage(members), timeout)
+            final Map<Address, Long> remoteVersions, final Consumer<BucketUpdates<T>> callback) {
+        Patterns.ask(context.parent(), getBucketsByMembersMessage(members, remoteVersions), timeout)
             .onComplete(new OnComplete<Object>() {
                 @SuppressWarnings("unchecked")
                 @Override
                 public void onComplete(final Throwable failure, final Object success) {
                     if (failure == null) {
-                        callback.accept((Map<Address, Bucket<T>>) success);
+                        callback.accept((BucketUpdates<T>) success);
                     }
                 }
             }, context.dispatcher());
@@ -67,8 +68,10 @@ public final class BucketStoreAccess {
     }
 
     @SuppressWarnings("unchecked")
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
-        context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets), ActorRef.noSender());
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, List<BucketDelta<?>>> deltas) {
+        context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets, deltas),
+            ActorRef.noSender());
     }
 
     void removeRemoteBucket(final Address addr) {
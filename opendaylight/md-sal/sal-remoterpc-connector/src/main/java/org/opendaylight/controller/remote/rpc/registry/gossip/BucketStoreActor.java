@@ -32,6 +32,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -72,6 +73,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     private final SetMultimap<ActorRef, Address> watchedActors = HashMultimap.create(1, 1);
 
+    /**
+     * Recent deltas of remote buckets, which allow us to pass them on incrementally.
+     */
+    private final Map<Address, BucketDeltaHistory<T>> remoteHistories = new HashMap<>();
+
     private final RemoteRpcProviderConfig config;
     private final String persistenceId;
 
@@ -94,16 +100,18 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         this.persistenceId = Preconditions.checkNotNull(persistenceId);
     }
 
-    static ExecuteInActor getBucketsByMembersMessage(final Collection<Address> members) {
-        return actor -> actor.getBucketsByMembers(members);
+    static ExecuteInActor getBucketsByMembersMessage(final Collection<Address> members,
+            final Map<Address, Long> remoteVersions) {
+        return actor -> actor.getBucketsByMembers(members, remoteVersions);
     }
 
     static ExecuteInActor removeBucketMessage(final Address addr) {
         return actor -> actor.removeBucket(addr);
     }
 
-    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets) {
-        return actor -> actor.updateRemoteBuckets(buckets);
+    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets,
+            final Map<Address, List<BucketDelta<?>>> deltas) {
+        return actor -> actor.updateRemoteBuckets(buckets, deltas);
     }
 
     public final T getLocalData() {
@@ -257,26 +265,48 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
     }
 
     /**
-     * Helper to collect buckets for requested members.
+     * Helper to collect buckets for requested members. Buckets whose version known to the requester is covered by
+     * our delta history are reported as deltas, the rest as whole buckets.
      *
      * @param members requested members
+     * @param remoteVersions bucket versions known to the requester
      */
-    private void getBucketsByMembers(final Collection<Address> members) {
-        Map<Address, Bucket<T>> buckets = new HashMap<>();
+    private void getBucketsByMembers(final Collection<Address> members, final Map<Address, Long> remoteVersions) {
+        final Map<Address, Bucket<T>> buckets = new HashMap<>();
+        final Map<Address, List<BucketDelta<T>>> deltas = new HashMap<>();
 
         //first add the local bucket if asked
         if (members.contains(selfAddress)) {
-            buckets.put(selfAddress, getLocalBucket().snapshot());
+            final LocalBucket<T> local = getLocalBucket();
+            final Long remoteVersion = remoteVersions.get(selfAddress);
+            final Optional<List<BucketDelta<T>>> localDeltas = remoteVersion == null ? Optional.empty()
+                    : local.deltasFrom(remoteVersion);
+            if (localDeltas.isPresent()) {
+                deltas.put(selfAddress, localDeltas.get());
+            } else {
+                buckets.put(selfAddress, local.snapshot());
+            }
         }
 
         //then get buckets for requested remote nodes
         for (Address address : members) {
-            if (remoteBuckets.containsKey(address)) {
-                buckets.put(address, remoteBuckets.get(address));
+            final Bucket<T> bucket = remoteBuckets.get(address);
+            if (bucket == null) {
+                continue;
+            }
+
+            final Long remoteVersion = remoteVersions.get(address);
+            final BucketDeltaHistory<T> history = remoteHistories.get(address);
+            final Optional<List<BucketDelta<T>>> remoteDeltas = remoteVersion == null || history == null
+                    ? Optional.empty() : history.deltasFrom(remoteVersion, bucket.getVersion());
+            if (remoteDeltas.isPresent()) {
+                deltas.put(address, remoteDeltas.get());
+            } else {
+                buckets.put(address, bucket);
             }
         }
 
-        getSender().tell(buckets, getSelf());
+        getSender().tell(new BucketUpdates<>(buckets, deltas), getSelf());
     }
 
     private void removeBucket(final Address addr) {
@@ -286,6 +316,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
             onBucketRemoved(addr, bucket);
         }
         versions.remove(addr);
+        remoteHistories.remove(addr);
     }
 
     /**
@@ -296,13 +327,40 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     @VisibleForTesting
     void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets) {
-        LOG.debug("{}: receiveUpdateRemoteBuckets: {}", selfAddress, receivedBuckets);
-        if (receivedBuckets == null || receivedBuckets.isEmpty()) {
+        updateRemoteBuckets(receivedBuckets, ImmutableMap.of());
+    }
+
+    /**
+     * Update local copy of remote buckets where local copy's version is older, either by replacing them with received
+     * buckets or by applying received deltas.
+     *
+     * @param receivedBuckets buckets sent by remote
+     *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     * @param receivedDeltas bucket deltas sent by remote
+     *                       {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    @VisibleForTesting
+    void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets,
+            final Map<Address, List<BucketDelta<?>>> receivedDeltas) {
+        LOG.debug("{}: receiveUpdateRemoteBuckets: {} deltas: {}", selfAddress, receivedBuckets, receivedDeltas);
+        if ((receivedBuckets == null || receivedBuckets.isEmpty()) && receivedDeltas.isEmpty()) {
             //nothing to do
             return;
         }
 
-        final Map<Address, Bucket<T>> newBuckets = new HashMap<>(receivedBuckets.size());
+        final Map<Address, Bucket<T>> newBuckets = new HashMap<>();
+        if (receivedBuckets != null) {
+            applyReceivedBuckets(receivedBuckets, newBuckets);
+        }
+        applyReceivedDeltas(receivedDeltas, newBuckets);
+
+        LOG.debug("State after update - Local Bucket [{}], Remote Buckets [{}]", localBucket, remoteBuckets);
+
+        onBucketsUpdated(newBuckets);
+    }
+
+    private void applyReceivedBuckets(final Map<Address, Bucket<?>> receivedBuckets,
+            final Map<Address, Bucket<T>> newBuckets) {
         for (Entry<Address, Bucket<?>> entry : receivedBuckets.entrySet()) {
             final Address addr = entry.getKey();
 
@@ -326,24 +384,71 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
                     remoteVersion);
                 continue;
             }
-            newBuckets.put(addr, receivedBucket);
-            versions.put(addr, remoteVersion);
-            final Bucket<T> prevBucket = remoteBuckets.put(addr, receivedBucket);
-
-            // Deal with DeathWatch subscriptions
-            final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
-            final Optional<ActorRef> curRef = receivedBucket.getWatchActor();
-            if (!curRef.equals(prevRef)) {
-                prevRef.ifPresent(ref -> removeWatch(addr, ref));
-                curRef.ifPresent(ref -> addWatch(addr, ref));
+
+            // We do not know how the received bucket relates to our history
+            remoteHistories.remove(addr);
+            updateBucket(addr, receivedBucket, newBuckets);
+        }
+    }
+
+    private void applyReceivedDeltas(final Map<Address, List<BucketDelta<?>>> receivedDeltas,
+            final Map<Address, Bucket<T>> newBuckets) {
+        for (Entry<Address, List<BucketDelta<?>>> entry : receivedDeltas.entrySet()) {
+            final Address addr = entry.getKey();
+
+            if (selfAddress.equals(addr)) {
+                // Remote cannot update our bucket
+                continue;
             }
 
-            LOG.debug("Updating bucket from {} to version {}", entry.getKey(), remoteVersion);
+            final Bucket<T> bucket = remoteBuckets.get(addr);
+            if (bucket == null) {
+                LOG.debug("Ignoring deltas from {}, we do not have its bucket", addr);
+                continue;
+            }
+
+            final BucketDeltaHistory<T> history = remoteHistories.computeIfAbsent(addr,
+                key -> new BucketDeltaHistory<>());
+            T data = bucket.getData();
+            long version = bucket.getVersion();
+            for (BucketDelta<?> received : entry.getValue()) {
+                @SuppressWarnings("unchecked")
+                final BucketDelta<T> delta = (BucketDelta<T>) received;
+                if (delta.getVersion() <= version) {
+                    // Already applied
+                    continue;
+                }
+                if (delta.getFromVersion() != version) {
+                    // The remote will send the entire bucket once it learns our version
+                    LOG.debug("Version gap in deltas from {} (local {} delta {})", addr, version, delta);
+                    break;
+                }
+
+                data = delta.applyTo(data);
+                version = delta.getVersion();
+                history.append(delta);
+            }
+
+            if (version != bucket.getVersion()) {
+                updateBucket(addr, new BucketImpl<>(version, data), newBuckets);
+            }
         }
+    }
 
-        LOG.debug("State after update - Local Bucket [{}], Remote Buckets [{}]", localBucket, remoteBuckets);
+    private void updateBucket(final Address addr, final Bucket<T> bucket, final Map<Address, Bucket<T>> newBuckets) {
+        newBuckets.put(addr, bucket);
+        versions.put(addr, bucket.getVersion());
+        final Bucket<T> prevBucket = remoteBuckets.put(addr, bucket);
+
+        // Deal with DeathWatch subscriptions
+        final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
+        final Optional<ActorRef> curRef = bucket.getWatchActor();
+        if (!curRef.equals(prevRef)) {
+            prevRef.ifPresent(ref -> removeWatch(addr, ref));
+            curRef.ifPresent(ref -> addWatch(addr, ref));
+        }
 
-        onBucketsUpdated(newBuckets);
+        LOG.debug("Updating bucket from {} to version {}", addr, bucket.getVersion());
     }
 
     private void addWatch(final Address addr, final ActorRef ref) {
@@ -367,6 +472,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
 
         for (Address addr : watchedActors.removeAll(message.getActor())) {
             versions.remove(addr);
+            remoteHistories.remove(addr);
             final Bucket<T> bucket = remoteBuckets.remove(addr);
             if (bucket != null) {
                 LOG.debug("Source actor dead, removing bucket {} from ", bucket, addr);
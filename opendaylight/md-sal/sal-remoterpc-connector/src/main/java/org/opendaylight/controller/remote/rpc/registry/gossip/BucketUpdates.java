@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import akka.actor.Address;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of {@link BucketStoreActor} to a request for buckets newer than those known to a remote node. Buckets
+ * which the remote node can bring up to date incrementally are reported as deltas, the others as whole buckets.
+ *
+ * @param <T> Type of bucket data
+ */
+final class BucketUpdates<T extends BucketData<T>> {
+    private final Map<Address, Bucket<T>> buckets;
+    private final Map<Address, List<BucketDelta<T>>> deltas;
+
+    BucketUpdates(final Map<Address, Bucket<T>> buckets, final Map<Address, List<BucketDelta<T>>> deltas) {
+        this.buckets = ImmutableMap.copyOf(buckets);
+        this.deltas = ImmutableMap.copyOf(deltas);
+    }
+
+    Map<Address, Bucket<T>> getBuckets() {
+        return buckets;
+    }
+
+    Map<Address, List<BucketDelta<T>>> getDeltas() {
+        return deltas;
+    }
+
+    @Override
+    public String toString() {
+        return "BucketUpdates{" + "buckets=" + buckets + ", deltas=" + deltas + '}';
+    }
+}
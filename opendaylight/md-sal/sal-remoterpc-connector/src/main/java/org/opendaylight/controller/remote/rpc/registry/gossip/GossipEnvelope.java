@@ -9,20 +9,31 @@ package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import akka.actor.Address;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 
 final class GossipEnvelope implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private final Map<Address, Bucket<?>> buckets;
+    private final Map<Address, List<BucketDelta<?>>> deltas;
     private final Address from;
     private final Address to;
 
     GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets) {
+        this(from, to, buckets, ImmutableMap.of());
+    }
+
+    GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends List<? extends BucketDelta<?>>> deltas) {
         this.to = Preconditions.checkNotNull(to);
         this.buckets = ImmutableMap.copyOf(buckets);
+        final ImmutableMap.Builder<Address, List<BucketDelta<?>>> builder = ImmutableMap.builder();
+        deltas.forEach((addr, list) -> builder.put(addr, ImmutableList.copyOf(list)));
+        this.deltas = builder.build();
         this.from = from;
     }
 
@@ -30,6 +41,10 @@ final class GossipEnvelope implements Serializable {
         return buckets;
     }
 
+    Map<Address, List<BucketDelta<?>>> deltas() {
+        return deltas;
+    }
+
     Address from() {
         return from;
     }
@@ -37,4 +52,9 @@ final class GossipEnvelope implements Serializable {
     Address to() {
         return to;
     }
+
+    private Object readResolve() {
+        // Envelopes sent by nodes which do not support deltas do not carry them
+        return deltas != null ? this : new GossipEnvelope(from, to, buckets);
+    }
 }
\ No newline at end of file
@@ -18,15 +18,30 @@ final class GossipStatus implements Serializable {
     private final Map<Address, Long> versions;
     private final Address from;
 
+    /*
+     * Nodes which do not support deltas do not send this field, hence it reads as false when the status comes from
+     * one of them.
+     */
+    private final boolean deltasSupported;
+
     GossipStatus(final Address from, final Map<Address, Long> versions) {
+        this(from, versions, true);
+    }
+
+    GossipStatus(final Address from, final Map<Address, Long> versions, final boolean deltasSupported) {
         this.versions = ImmutableMap.copyOf(versions);
         this.from = from;
+        this.deltasSupported = deltasSupported;
     }
 
     Address from() {
         return from;
     }
 
+    boolean deltasSupported() {
+        return deltasSupported;
+    }
+
     Map<Address, Long> versions() {
         return versions;
     }
@@ -20,6 +20,7 @@ import akka.cluster.Member;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -303,10 +304,14 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         }
 
         if (!localIsNewer.isEmpty()) {
+            // Nodes which do not support deltas need whole buckets, which we send if we do not know their versions
+            final Map<Address, Long> knownVersions = status.deltasSupported() ? remoteVersions : ImmutableMap.of();
+
             //send newer buckets to remote
-            bucketStore.getBucketsByMembers(localIsNewer, buckets -> {
-                LOG.trace("Buckets to send from {}: {}", selfAddress, buckets);
-                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), buckets), getSelf());
+            bucketStore.getBucketsByMembers(localIsNewer, knownVersions, updates -> {
+                LOG.trace("Buckets to send from {}: {}", selfAddress, updates);
+                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), updates.getBuckets(),
+                    updates.getDeltas()), getSelf());
             });
         }
     }
@@ -324,18 +329,21 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return;
         }
 
-        updateRemoteBuckets(envelope.buckets());
+        updateRemoteBuckets(envelope.buckets(), envelope.deltas());
     }
 
     /**
      * Helper to send received buckets to bucket store.
      *
      * @param buckets map of Buckets to update
+     * @param deltas map of bucket deltas to apply
      */
     @VisibleForTesting
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, List<BucketDelta<?>>> deltas) {
         // filter this so we only handle buckets for known peers
-        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey));
+        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey),
+            Maps.filterKeys(deltas, peers::containsKey));
     }
 
     /**
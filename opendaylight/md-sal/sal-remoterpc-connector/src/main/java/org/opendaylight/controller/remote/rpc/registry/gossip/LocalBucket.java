@@ -8,6 +8,8 @@
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Local bucket implementation. Unlike a full-blown {@link Bucket}, this class is mutable and tracks when it has been
@@ -29,6 +31,11 @@ final class LocalBucket<T extends BucketData<T>> {
     // We bump versions only if we took a snapshot since last data update
     private boolean bumpVersion;
 
+    // Deltas between successive snapshots, and the last snapshot they are based on
+    private final BucketDeltaHistory<T> history = new BucketDeltaHistory<>();
+    private T snapshotData;
+    private long snapshotVersion;
+
     LocalBucket(final int incarnation, final T data) {
         Preconditions.checkArgument(incarnation >= 0);
         this.version = ((long)incarnation) << Integer.SIZE;
@@ -44,10 +51,42 @@ final class LocalBucket<T extends BucketData<T>> {
     }
 
     Bucket<T> snapshot() {
-        bumpVersion = true;
+        takeSnapshot();
         return new BucketImpl<>(version, data);
     }
 
+    /**
+     * Return the deltas needed to bring a remote copy of this bucket to the current version. Since the remote
+     * version has to be communicated to the remote node, this takes a snapshot just like {@link #snapshot()}.
+     *
+     * @param remoteVersion Version known to the remote node
+     * @return Deltas to apply in order, or empty if the whole bucket needs to be sent
+     */
+    Optional<List<BucketDelta<T>>> deltasFrom(final long remoteVersion) {
+        takeSnapshot();
+        return history.deltasFrom(remoteVersion, version);
+    }
+
+    private void takeSnapshot() {
+        bumpVersion = true;
+        if (snapshotData != null && snapshotVersion == version) {
+            return;
+        }
+
+        // Versions are bumped only after a snapshot has been taken, hence the previous snapshot is the previous version
+        if (snapshotData != null) {
+            final Optional<BucketDataDelta<T>> delta = data.deltaFrom(snapshotData);
+            if (delta.isPresent()) {
+                history.append(new BucketDelta<>(snapshotVersion, version, delta.get()));
+            } else {
+                history.clear();
+            }
+        }
+
+        snapshotData = data;
+        snapshotVersion = version;
+    }
+
     boolean setData(final T data) {
         this.data = Preconditions.checkNotNull(data);
         if (!bumpVersion) {
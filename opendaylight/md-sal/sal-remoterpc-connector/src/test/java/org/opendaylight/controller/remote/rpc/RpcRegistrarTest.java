@@ -14,6 +14,7 @@ import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
@@ -136,4 +137,42 @@ public class RpcRegistrarTest {
 
         Mockito.verifyNoMoreInteractions(service, oldReg, newReg);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHandleReceiveIncrementalUpdateEndpoint() throws Exception {
+        final DOMRpcIdentifier firstId = firstEndpoint.getRpcs().iterator().next();
+        final DOMRpcIdentifier secondId = secondEndpoint.getRpcs().iterator().next();
+        final DOMRpcIdentifier thirdId = DOMRpcIdentifier.create(
+                SchemaPath.create(true, QName.create("third:identifier", "baz")));
+        final ActorRef router = firstEndpoint.getRouter();
+
+        final DOMRpcImplementationRegistration<?> bothReg = Mockito.mock(DOMRpcImplementationRegistration.class);
+        final DOMRpcImplementationRegistration<?> thirdReg = Mockito.mock(DOMRpcImplementationRegistration.class);
+        Mockito.doReturn(bothReg).when(service).registerRpcImplementation(Mockito.any(RemoteRpcImplementation.class),
+            Mockito.eq(ImmutableSet.of(firstId, secondId)));
+        Mockito.doReturn(thirdReg).when(service).registerRpcImplementation(Mockito.any(RemoteRpcImplementation.class),
+            Mockito.eq(ImmutableSet.of(thirdId)));
+
+        final InOrder inOrder = Mockito.inOrder(service, oldReg, newReg, bothReg, thirdReg);
+
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress,
+            Optional.of(new RemoteRpcEndpoint(router, ImmutableSet.of(firstId, secondId))))), ActorRef.noSender());
+        inOrder.verify(service).registerRpcImplementation(Mockito.any(RemoteRpcImplementation.class),
+            Mockito.eq(ImmutableSet.of(firstId, secondId)));
+
+        // The first RPC is replaced by the third one, the second one is registered again on its own
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress,
+            Optional.of(new RemoteRpcEndpoint(router, ImmutableSet.of(secondId, thirdId))))), ActorRef.noSender());
+        inOrder.verify(service).registerRpcImplementation(Mockito.any(RemoteRpcImplementation.class),
+            Mockito.eq(secondEndpoint.getRpcs()));
+        inOrder.verify(service).registerRpcImplementation(Mockito.any(RemoteRpcImplementation.class),
+            Mockito.eq(ImmutableSet.of(thirdId)));
+        inOrder.verify(bothReg).close();
+
+        // Unchanged RPCs are left alone
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress,
+            Optional.of(new RemoteRpcEndpoint(router, ImmutableSet.of(secondId, thirdId))))), ActorRef.noSender());
+
+        Mockito.verifyNoMoreInteractions(service, oldReg, newReg, bothReg, thirdReg);
+    }
+}
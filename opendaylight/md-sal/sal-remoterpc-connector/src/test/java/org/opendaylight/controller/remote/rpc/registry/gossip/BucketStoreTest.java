@@ -13,9 +13,11 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.typesafe.config.ConfigFactory;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.AfterClass;
@@ -40,6 +42,15 @@ public class BucketStoreTest {
         }
     }
 
+    private static final class TDelta implements BucketDataDelta<T> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public T applyTo(final T data) {
+            return new T();
+        }
+    }
+
     private static ActorSystem system;
 
     @BeforeClass
@@ -133,15 +144,52 @@ public class BucketStoreTest {
 
     }
 
+    /**
+     * Given remote bucket deltas, should apply them to the local copy of remote buckets.
+     */
+    @Test
+    public void testReceiveRemoteDeltas() {
+        final BucketStoreActor<T> store = createStore("testDeltaStore");
+
+        final Address a1 = new Address("tcp", "system1");
+        final Address a2 = new Address("tcp", "system2");
+        final T data = new T();
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(5L, data)));
+
+        // Deltas for unknown buckets are ignored
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.<Address, List<BucketDelta<?>>>of(a2,
+            ImmutableList.of(new BucketDelta<>(0L, 1L, new TDelta()))));
+        Assert.assertFalse(store.getRemoteBuckets().containsKey(a2));
+
+        // Deltas we already have are skipped, the rest applied in order
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.<Address, List<BucketDelta<?>>>of(a1,
+            ImmutableList.of(new BucketDelta<>(4L, 5L, new TDelta()), new BucketDelta<>(5L, 6L, new TDelta()),
+                new BucketDelta<>(6L, 7L, new TDelta()))));
+        Bucket<T> bucket = store.getRemoteBuckets().get(a1);
+        Assert.assertEquals(7L, bucket.getVersion());
+        Assert.assertNotSame(data, bucket.getData());
+        Assert.assertEquals(Long.valueOf(7L), store.getVersions().get(a1));
+
+        // Deltas which do not follow our version are ignored
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.<Address, List<BucketDelta<?>>>of(a1,
+            ImmutableList.of(new BucketDelta<>(8L, 9L, new TDelta()))));
+        bucket = store.getRemoteBuckets().get(a1);
+        Assert.assertEquals(7L, bucket.getVersion());
+    }
+
     /**
      * Create BucketStore actor and returns the underlying instance of BucketStore class.
      *
      * @return instance of BucketStore class
      */
     private static BucketStoreActor<T> createStore() {
+        return createStore("testStore");
+    }
+
+    private static BucketStoreActor<T> createStore(final String name) {
         final Props props = Props.create(TestingBucketStoreActor.class,
                 new RemoteRpcProviderConfig(system.settings().config()), "testing-store",new T());
-        return TestActorRef.<BucketStoreActor<T>>create(system, props, "testStore").underlyingActor();
+        return TestActorRef.<BucketStoreActor<T>>create(system, props, name).underlyingActor();
     }
 
     private static final class TestingBucketStoreActor extends BucketStoreActor<T> {
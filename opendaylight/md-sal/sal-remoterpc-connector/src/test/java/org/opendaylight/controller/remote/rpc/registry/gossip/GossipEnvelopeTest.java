@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.Address;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Field;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for GossipEnvelope.
+ */
+public class GossipEnvelopeTest {
+    private static final Address FROM = new Address("tcp", "from");
+    private static final Address TO = new Address("tcp", "to");
+
+    @Test
+    public void testSerialization() {
+        final GossipEnvelope expected = new GossipEnvelope(FROM, TO, ImmutableMap.of(),
+            ImmutableMap.of(FROM, ImmutableList.<BucketDelta<?>>of()));
+
+        final GossipEnvelope actual = (GossipEnvelope) SerializationUtils.clone(expected);
+
+        assertEquals("from", FROM, actual.from());
+        assertEquals("to", TO, actual.to());
+        assertEquals("deltas", expected.deltas(), actual.deltas());
+    }
+
+    @Test
+    public void testSerializationWithoutDeltas() throws Exception {
+        // Mimic an envelope sent by a node which does not know about deltas
+        final GossipEnvelope envelope = new GossipEnvelope(FROM, TO, ImmutableMap.of());
+        final Field deltas = GossipEnvelope.class.getDeclaredField("deltas");
+        deltas.setAccessible(true);
+        deltas.set(envelope, null);
+
+        final GossipEnvelope actual = (GossipEnvelope) SerializationUtils.clone(envelope);
+
+        assertNotNull("deltas", actual.deltas());
+        assertTrue("deltas", actual.deltas().isEmpty());
+        assertEquals("to", TO, actual.to());
+    }
+}
@@ -94,10 +94,10 @@ public class GossiperTest {
     @SuppressWarnings("unchecked")
     @Test
     public void testReceiveGossipWhenNotAddressedToSelfShouldIgnore() {
-        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap());
+        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap(), anyMap());
         Address notSelf = new Address("tcp", "not-self");
         mockGossiper.receiveGossip(new GossipEnvelope(notSelf, notSelf, mock(Map.class)));
-        verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap());
+        verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap(), anyMap());
     }
 
     /**
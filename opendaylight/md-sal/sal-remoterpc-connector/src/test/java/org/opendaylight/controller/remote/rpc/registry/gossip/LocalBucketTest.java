@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Brocade Communications Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import akka.actor.ActorRef;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class LocalBucketTest {
+
+    private static final class Data implements BucketData<Data> {
+        final int value;
+        final boolean supportsDeltas;
+
+        Data(final int value, final boolean supportsDeltas) {
+            this.value = value;
+            this.supportsDeltas = supportsDeltas;
+        }
+
+        @Override
+        public Optional<ActorRef> getWatchActor() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<BucketDataDelta<Data>> deltaFrom(final Data previous) {
+            return supportsDeltas ? Optional.of(new SetValue(value)) : Optional.empty();
+        }
+    }
+
+    private static final class SetValue implements BucketDataDelta<Data> {
+        private static final long serialVersionUID = 1L;
+
+        private final int value;
+
+        SetValue(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Data applyTo(final Data data) {
+            return new Data(value, true);
+        }
+    }
+
+    @Test
+    public void testDeltasFrom() {
+        final LocalBucket<Data> bucket = new LocalBucket<>(0, new Data(0, true));
+        final long initial = bucket.snapshot().getVersion();
+
+        // Data updates without an intervening snapshot share a version
+        bucket.setData(new Data(1, true));
+        bucket.setData(new Data(2, true));
+        assertEquals(initial + 1, bucket.snapshot().getVersion());
+
+        bucket.setData(new Data(3, true));
+        List<BucketDelta<Data>> deltas = bucket.deltasFrom(initial).get();
+        assertEquals(2, deltas.size());
+        assertEquals(initial, deltas.get(0).getFromVersion());
+        assertEquals(initial + 2, deltas.get(1).getVersion());
+
+        Data data = new Data(0, true);
+        for (BucketDelta<Data> delta : deltas) {
+            data = delta.applyTo(data);
+        }
+        assertEquals(3, data.value);
+
+        assertEquals(1, bucket.deltasFrom(initial + 1).get().size());
+        assertFalse(bucket.deltasFrom(initial + 2).isPresent());
+        assertFalse(bucket.deltasFrom(initial - 1).isPresent());
+
+        // Data which cannot produce a delta forces the whole bucket to be sent
+        bucket.setData(new Data(4, false));
+        assertFalse(bucket.deltasFrom(initial).isPresent());
+        assertFalse(bucket.deltasFrom(initial + 2).isPresent());
+
+        bucket.setData(new Data(5, true));
+        assertEquals(1, bucket.deltasFrom(initial + 3).get().size());
+    }
+}